@@ -0,0 +1,141 @@
+package towersim;
+
+import towersim.batch.BatchExecutor;
+import towersim.batch.BatchStatistics;
+import towersim.batch.Scenario;
+import towersim.control.SimulationMode;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Entry point for running a batch of independent scenarios, as described by a scenario file,
+ * and printing aggregate statistics of the runs.
+ */
+public class BatchRunner {
+
+    /**
+     * Runs the scenarios in a scenario file.
+     * <p>
+     * Usage: {@code scenario_file [--threads N] [--event-driven]}
+     * <p>
+     * The format of the scenario file is described in Scenario. Scenarios are run on N worker
+     * threads (by default, one per available processor), optionally in
+     * SimulationMode.EVENT_DRIVEN mode.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: scenario_file [--threads N] [--event-driven]");
+            System.err.println("Each line of the scenario file is: name ticks tick_file"
+                    + " aircraft_file queues_file terminalsWithGates_file [emergency ...]");
+            System.exit(1);
+        }
+
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        SimulationMode mode = SimulationMode.TICK_BY_TICK;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        numThreads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--event-driven":
+                        mode = SimulationMode.EVENT_DRIVEN;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.err.println("Missing value for option " + args[args.length - 1]);
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+
+        long startTime = System.nanoTime();
+        BatchStatistics statistics;
+        try (BufferedReader reader = new BufferedReader(new FileReader(args[0]))) {
+            statistics = new BatchExecutor(numThreads, mode).run(new ScenarioIterator(reader));
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error reading scenario file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid scenario file: " + e.getMessage());
+            System.exit(1);
+            return;
+        } catch (InterruptedException e) {
+            System.err.println("Interrupted while running scenarios");
+            System.exit(1);
+            return;
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.println(statistics);
+        System.out.printf(Locale.ROOT, "Batch time: %.3f s on %d threads (%.1f runs/s)%n",
+                seconds, numThreads,
+                (statistics.getNumSucceeded() + statistics.getNumFailed()) / seconds);
+    }
+
+    /**
+     * Reads scenarios lazily from a scenario file, one line at a time, so that the whole file
+     * is never held in memory.
+     */
+    private static class ScenarioIterator implements Iterator<Scenario> {
+        /** Reader of the scenario file */
+        private final BufferedReader reader;
+
+        /** Next scenario line, or null if the end of the file has been reached */
+        private String nextLine;
+
+        /**
+         * Creates a new iterator over the scenarios read from the given reader.
+         * @param reader - reader of the scenario file
+         */
+        private ScenarioIterator(BufferedReader reader) {
+            this.reader = reader;
+            this.nextLine = this.readScenarioLine();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextLine != null;
+        }
+
+        @Override
+        public Scenario next() {
+            if (this.nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            Scenario scenario = Scenario.parse(this.nextLine);
+            this.nextLine = this.readScenarioLine();
+            return scenario;
+        }
+
+        /**
+         * Returns the next line of the file that describes a scenario.
+         * @return next scenario line, or null at the end of the file
+         */
+        private String readScenarioLine() {
+            try {
+                String line = this.reader.readLine();
+                while (line != null && Scenario.isIgnored(line)) {
+                    line = this.reader.readLine();
+                }
+                return line;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package towersim;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.federation.Federation;
+import towersim.federation.HandoffRouter;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Entry point for running a federation of airports that hand aircraft off to each other,
+ * without a GUI.
+ */
+public class FederationRunner {
+
+    /**
+     * Runs a federation of airports in a ring, each loaded from its own four save files.
+     * <p>
+     * Usage: {@code ticks threads tick_file aircraft_file queues_file terminalsWithGates_file
+     * [tick_file aircraft_file queues_file terminalsWithGates_file ...]}
+     * <p>
+     * Each aircraft that takes off is handed off to the next airport in the order given. After
+     * the run, a summary of each airport is printed along with a digest of the state of every
+     * aircraft, which is the same for any number of threads.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 6 || (args.length - 2) % 4 != 0) {
+            System.err.println("Usage: ticks threads tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file [tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file ...]");
+            System.exit(1);
+        }
+
+        long ticks;
+        int numThreads;
+        try {
+            ticks = Long.parseLong(args[0]);
+            numThreads = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        List<ControlTower> towers = new ArrayList<>();
+        try {
+            for (int i = 2; i < args.length; i += 4) {
+                towers.add(ControlTowerInitialiser.createControlTower(new FileReader(args[i]),
+                        new FileReader(args[i + 1]), new FileReader(args[i + 2]),
+                        new FileReader(args[i + 3])));
+            }
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+
+        Federation federation = new Federation(towers,
+                HandoffRouter.ring(towers.size()));
+        long startTime = System.nanoTime();
+        try {
+            federation.run(ticks, numThreads);
+        } catch (InterruptedException e) {
+            System.err.println("Interrupted while running federation");
+            System.exit(1);
+        }
+        double seconds = Math.max(System.nanoTime() - startTime, 1) / 1e9;
+
+        long digest = 17;
+        for (int airport = 0; airport < federation.getNumAirports(); airport++) {
+            ControlTower tower = federation.getTower(airport);
+            System.out.printf("Airport %d: %s, %d handoffs%n", airport, tower,
+                    federation.getNumHandoffs(airport));
+            for (Aircraft aircraft : tower.getAircraft()) {
+                digest = 31 * digest + aircraft.encode().hashCode();
+            }
+        }
+        System.out.printf(Locale.ROOT, "Ran %d ticks of %d airports on %d threads in %.3f s"
+                + " (%.1f airport ticks/s)%n", ticks, towers.size(), numThreads, seconds,
+                ticks * towers.size() / seconds);
+        System.out.printf("State digest: %016x%n", digest);
+    }
+}
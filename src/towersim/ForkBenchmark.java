@@ -0,0 +1,106 @@
+package towersim;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.SimulationMode;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Entry point for measuring the cost of forking a control tower for what-if evaluation.
+ */
+public class ForkBenchmark {
+    /** Number of ticks each fork is run for if no number is given */
+    private static final long DEFAULT_TICKS = 50;
+
+    /** Number of forks evaluated in each simulation mode if no number is given */
+    private static final int DEFAULT_FORKS = 20;
+
+    /**
+     * Forks the loaded control tower repeatedly in each SimulationMode, runs each fork on and
+     * then restores the control tower from the fork, printing the time taken by each step.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file [ticks [forks]]}
+     * <p>
+     * For each mode, the mean time to fork, to run the fork for the given number of ticks and
+     * to restore from the fork are printed, along with the time to fork per aircraft and the
+     * number of what-if evaluations (a fork and its run) that could be made per second. The
+     * first fork in each mode is not measured, so that the code has been loaded.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 4 || args.length > 6) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file [ticks [forks]]");
+            System.exit(1);
+        }
+
+        ControlTower tower;
+        long ticks;
+        int forks;
+        try {
+            ticks = args.length >= 5 ? Long.parseLong(args[4]) : DEFAULT_TICKS;
+            forks = args.length == 6 ? Integer.parseInt(args[5]) : DEFAULT_FORKS;
+            tower = ControlTowerInitialiser.createControlTower(new FileReader(args[0]),
+                    new FileReader(args[1]), new FileReader(args[2]), new FileReader(args[3]));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number of ticks or forks: " + e.getMessage());
+            System.exit(1);
+            return;
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        if (ticks < 0 || forks < 1) {
+            System.err.println("Number of ticks cannot be negative and at least one fork is"
+                    + " required");
+            System.exit(1);
+        }
+
+        int numGates = 0;
+        for (Terminal terminal : tower.getTerminals()) {
+            numGates += terminal.getGates().size();
+        }
+        int numAircraft = tower.getAircraft().size();
+        System.out.printf("%d aircraft, %d gates; %d forks of %d ticks per mode%n",
+                numAircraft, numGates, forks, ticks);
+        System.out.printf("%-13s %10s %12s %10s %12s %11s%n", "mode", "fork ms",
+                "ns/aircraft", "run ms", "restore ms", "what-ifs/s");
+        for (SimulationMode mode : SimulationMode.values()) {
+            ControlTower parent = tower.fork();
+            parent.setSimulationMode(mode);
+            long forkNanos = 0;
+            long runNanos = 0;
+            long restoreNanos = 0;
+            for (int i = 0; i <= forks; i++) {
+                long start = System.nanoTime();
+                ControlTower fork = parent.fork();
+                long forked = System.nanoTime();
+                for (long tick = 0; tick < ticks; tick++) {
+                    fork.tick();
+                }
+                long ran = System.nanoTime();
+                parent.restore(fork);
+                long restored = System.nanoTime();
+                if (i > 0) {
+                    forkNanos += forked - start;
+                    runNanos += ran - forked;
+                    restoreNanos += restored - ran;
+                }
+            }
+
+            System.out.printf(Locale.ROOT, "%-13s %10.3f %12.1f %10.3f %12.3f %11.1f%n", mode,
+                    forkNanos / 1e6 / forks,
+                    numAircraft == 0 ? 0.0 : (double) forkNanos / forks / numAircraft,
+                    runNanos / 1e6 / forks, restoreNanos / 1e6 / forks,
+                    forks * 1e9 / (forkNanos + runNanos));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package towersim;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.GateAssignment;
+import towersim.control.GateAssignmentStrategy;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Entry point for comparing the built-in gate assignment strategies on the same control tower.
+ */
+public class GateAssignmentBenchmark {
+    /** Number of ticks run if no limit is given */
+    private static final long DEFAULT_TICKS = 1000;
+
+    /**
+     * Runs a fork of the loaded control tower with each GateAssignment strategy and prints the
+     * cost of choosing gates and the resulting throughput.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file [ticks]}
+     * <p>
+     * For each strategy, the time spent choosing gates per call, the number of failed gate
+     * searches, landings, takeoffs, the mean length of the landing queue and the spread between
+     * the most and least occupied terminals at the end of the run are printed.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != 4 && args.length != 5) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file [ticks]");
+            System.exit(1);
+        }
+
+        ControlTower tower;
+        long ticks;
+        try {
+            ticks = args.length == 5 ? Long.parseLong(args[4]) : DEFAULT_TICKS;
+            tower = ControlTowerInitialiser.createControlTower(new FileReader(args[0]),
+                    new FileReader(args[1]), new FileReader(args[2]), new FileReader(args[3]));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number of ticks: " + args[4]);
+            System.exit(1);
+            return;
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+
+        System.out.printf("%-15s %12s %9s %9s %9s %12s %7s %9s%n", "strategy", "ns/choice",
+                "failures", "landings", "takeoffs", "mean queue", "spread", "run s");
+        for (GateAssignment assignment : GateAssignment.values()) {
+            ControlTower fork = tower.fork();
+            TimedStrategy strategy = new TimedStrategy(assignment.create());
+            fork.setGateAssignmentStrategy(strategy);
+
+            long startLandings = fork.getNumLandings();
+            long startTakeoffs = fork.getNumTakeoffs();
+            long totalQueued = 0;
+            long startTime = System.nanoTime();
+            for (long tick = 0; tick < ticks; tick++) {
+                fork.tick();
+                totalQueued += fork.getLandingQueue().size();
+            }
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            System.out.printf(Locale.ROOT, "%-15s %12.1f %9d %9d %9d %12.1f %6d%% %9.3f%n",
+                    assignment, strategy.calls == 0 ? 0.0 : (double) strategy.nanos
+                            / strategy.calls, strategy.failures,
+                    fork.getNumLandings() - startLandings, fork.getNumTakeoffs() - startTakeoffs,
+                    ticks == 0 ? 0.0 : (double) totalQueued / ticks, occupancySpread(fork),
+                    seconds);
+        }
+    }
+
+    /**
+     * Returns the difference between the highest and lowest occupancy levels of the terminals
+     * that have gates.
+     * @param tower - control tower to inspect
+     * @return occupancy spread in percentage points
+     */
+    private static int occupancySpread(ControlTower tower) {
+        int lowest = 100;
+        int highest = 0;
+        for (Terminal terminal : tower.getTerminals()) {
+            if (!terminal.getGates().isEmpty()) {
+                lowest = Math.min(lowest, terminal.calculateOccupancyLevel());
+                highest = Math.max(highest, terminal.calculateOccupancyLevel());
+            }
+        }
+        return Math.max(highest - lowest, 0);
+    }
+
+    /**
+     * Gate assignment strategy that measures the time spent by another strategy in choosing
+     * gates.
+     */
+    private static final class TimedStrategy implements GateAssignmentStrategy {
+        /** Strategy being measured */
+        private final GateAssignmentStrategy strategy;
+
+        /** Number of gate choices made */
+        private long calls;
+
+        /** Number of gate choices that found no suitable gate */
+        private long failures;
+
+        /** Total time spent choosing gates, in nanoseconds */
+        private long nanos;
+
+        /**
+         * Creates a new timed wrapper around the given strategy.
+         * @param strategy - strategy to measure
+         */
+        private TimedStrategy(GateAssignmentStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override
+        public Gate chooseGate(ControlTower tower, Aircraft aircraft)
+                throws NoSuitableGateException {
+            long start = System.nanoTime();
+            try {
+                return this.strategy.chooseGate(tower, aircraft);
+            } catch (NoSuitableGateException e) {
+                this.failures++;
+                throw e;
+            } finally {
+                this.nanos += System.nanoTime() - start;
+                this.calls++;
+            }
+        }
+
+        @Override
+        public void gateOccupied(ControlTower tower, Gate gate) {
+            this.strategy.gateOccupied(tower, gate);
+        }
+
+        @Override
+        public void gateReleased(ControlTower tower, Gate gate) {
+            this.strategy.gateReleased(tower, gate);
+        }
+
+        @Override
+        public GateAssignmentStrategy copy() {
+            return new TimedStrategy(this.strategy.copy());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package towersim;
+
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.control.TrafficGenerator;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Entry point for generating synthetic save files with TrafficGenerator.
+ */
+public class GeneratorRunner {
+
+    /**
+     * Generates the four save files.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file [options]}
+     * <p>
+     * Where the options are
+     * <ul>
+     * <li>{@code --seed S} seed of the generator (default 0)</li>
+     * <li>{@code --aircraft N} number of aircraft (default 1000)</li>
+     * <li>{@code --models NAME=W,...} relative weight of each named model; models not named
+     * keep a weight of one</li>
+     * <li>{@code --patterns P;...} task cycles, each an encoded task list such as
+     * {@code LAND,WAIT,LOAD@50,TAKEOFF,AWAY}, separated by semicolons</li>
+     * <li>{@code --terminals A H G} number of airplane terminals, helicopter terminals and
+     * gates per terminal (default 10 2 6)</li>
+     * <li>{@code --occupancy F} probability that each gate is initially occupied
+     * (default 0.5)</li>
+     * <li>{@code --tick T} number of ticks elapsed (default 0)</li>
+     * </ul>
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file [--seed S] [--aircraft N] [--models NAME=W,...]"
+                    + " [--patterns P;...] [--terminals A H G] [--occupancy F] [--tick T]");
+            System.err.println("Example: /tmp/tick.txt /tmp/aircraft.txt /tmp/queues.txt"
+                    + " /tmp/terminals.txt --seed 42 --aircraft 1000000"
+                    + " --terminals 20000 5000 6");
+            System.exit(1);
+        }
+
+        TrafficGenerator generator = null;
+        try {
+            String[] options = Arrays.copyOfRange(args, 4, args.length);
+            generator = new TrafficGenerator(seedOf(options));
+            for (int i = 0; i < options.length; i++) {
+                switch (options[i]) {
+                    case "--seed":
+                        i++;
+                        break;
+                    case "--aircraft":
+                        generator.setNumAircraft(Integer.parseInt(options[++i]));
+                        break;
+                    case "--models":
+                        for (String weight : options[++i].split(",")) {
+                            String[] parts = weight.split("=");
+                            if (parts.length != 2
+                                    || AircraftCharacteristics.lookup(parts[0]) == null) {
+                                throw new IllegalArgumentException("Invalid model weight "
+                                        + weight);
+                            }
+                            generator.setModelWeight(AircraftCharacteristics.lookup(parts[0]),
+                                    Double.parseDouble(parts[1]));
+                        }
+                        break;
+                    case "--patterns":
+                        generator.setTaskPatterns(Arrays.asList(options[++i].split(";")));
+                        break;
+                    case "--terminals":
+                        generator.setTerminals(Integer.parseInt(options[++i]),
+                                Integer.parseInt(options[++i]), Integer.parseInt(options[++i]));
+                        break;
+                    case "--occupancy":
+                        generator.setGateOccupancy(Double.parseDouble(options[++i]));
+                        break;
+                    case "--tick":
+                        generator.setTicksElapsed(Long.parseLong(options[++i]));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + options[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.err.println("Missing value for option " + args[args.length - 1]);
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            generator.generate(new FileWriter(args[0]), new FileWriter(args[1]),
+                    new FileWriter(args[2]), new FileWriter(args[3]));
+        } catch (IOException e) {
+            System.err.println("Error writing to file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("Generated %s in %.3f s%n", String.join(", ",
+                Arrays.copyOfRange(args, 0, 4)), (System.nanoTime() - startTime) / 1e9);
+    }
+
+    /**
+     * Returns the seed given by the {@code --seed} option, or 0 if there is none.
+     * @param options command line options
+     * @return seed of the generator
+     */
+    private static long seedOf(String[] options) {
+        for (int i = 0; i < options.length - 1; i++) {
+            if (options[i].equals("--seed")) {
+                return Long.parseLong(options[i + 1]);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,349 @@
+package towersim;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerSaver;
+import towersim.control.GateAssignment;
+import towersim.control.RunwayPolicy;
+import towersim.control.SimulationMode;
+import towersim.control.TickProfiler;
+import towersim.events.EventLogFormat;
+import towersim.events.EventLogWriter;
+import towersim.events.OverflowPolicy;
+import towersim.management.HeadlessControl;
+import towersim.management.MetricsServer;
+import towersim.management.TowerManagement;
+import towersim.util.MalformedSaveException;
+
+import javax.management.JMException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Entry point for running the Control Tower Simulation without a GUI.
+ * <p>
+ * The control tower is loaded from the four save files and ticked as fast as possible, either
+ * for a fixed number of ticks or until a stopping condition holds. Throughput and a summary of
+ * the final state are then printed, and the final state can optionally be saved.
+ */
+public class HeadlessRunner {
+    /** Number of ticks run if no limit is given */
+    private static final long DEFAULT_MAX_TICKS = 1000;
+
+    /** Number of nanoseconds in a second */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Runs the simulation headlessly.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file [options]}
+     * <p>
+     * Where the four files are as described in Launcher.main(String[]), and the options are
+     * <ul>
+     * <li>{@code --ticks N} run for at most N ticks (default 1000)</li>
+     * <li>{@code --until CONDITION} stop as soon as the condition holds after a tick, where
+     * CONDITION is one of {@code idle} (no aircraft queued or loading), {@code landings:K} (at
+     * least K aircraft have landed) or {@code takeoffs:K} (at least K aircraft have taken off)
+     * </li>
+     * <li>{@code --event-driven} advance the control tower in SimulationMode.EVENT_DRIVEN
+     * mode</li>
+     * <li>{@code --gates STRATEGY} choose gates with the given GateAssignment strategy, e.g.
+     * {@code LEAST_OCCUPIED} (default FIRST_FIT)</li>
+     * <li>{@code --runway POLICY} schedule the runway with the given RunwayPolicy, e.g.
+     * {@code QUEUE_WEIGHTED} (default ALTERNATING)</li>
+     * <li>{@code --profile} time each phase of every tick and print the distribution of
+     * durations</li>
+     * <li>{@code --jmx NAME} register a TowerMXBean named NAME, through which the run can be
+     * monitored, paused, slowed down and saved (to the {@code --save} files) while it runs</li>
+     * <li>{@code --metrics PORT} serve metrics in the Prometheus text format at
+     * {@code http://127.0.0.1:PORT/metrics} while the run lasts; implies {@code --profile}</li>
+     * <li>{@code --event-log FILE} write a log of every event to FILE, as CSV if its name ends
+     * in {@code .csv} and in EventLogFormat.BINARY otherwise</li>
+     * <li>{@code --event-log-overflow POLICY} handle events logged faster than they can be
+     * written with the given OverflowPolicy (default BLOCK)</li>
+     * <li>{@code --save tick_file aircraft_file queues_file terminalsWithGates_file} save the
+     * final state to the four given files</li>
+     * </ul>
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file [--ticks N] [--until CONDITION]"
+                    + " [--event-driven] [--gates STRATEGY] [--runway POLICY] [--profile]"
+                    + " [--jmx NAME] [--metrics PORT] [--event-log FILE]"
+                    + " [--event-log-overflow POLICY]"
+                    + " [--save tick_file aircraft_file queues_file terminalsWithGates_file]");
+            System.err.println("Example: saves/tick_default.txt saves/aircraft_default.txt"
+                    + " saves/queues_default.txt saves/terminalsWithGates_default.txt"
+                    + " --ticks 100000 --until idle");
+            System.exit(1);
+        }
+
+        long maxTicks = DEFAULT_MAX_TICKS;
+        Predicate<ControlTower> stopCondition = tower -> false;
+        String conditionName = null;
+        boolean eventDriven = false;
+        GateAssignment gateAssignment = GateAssignment.FIRST_FIT;
+        RunwayPolicy runwayPolicy = RunwayPolicy.ALTERNATING;
+        boolean profile = false;
+        String jmxName = null;
+        int metricsPort = -1;
+        String eventLogFile = null;
+        OverflowPolicy eventLogOverflow = OverflowPolicy.BLOCK;
+        String[] saveFiles = null;
+        try {
+            for (int i = 4; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--ticks":
+                        maxTicks = Long.parseLong(args[++i]);
+                        if (maxTicks < 0) {
+                            throw new IllegalArgumentException("Tick limit cannot be negative");
+                        }
+                        break;
+                    case "--until":
+                        conditionName = args[++i];
+                        stopCondition = parseCondition(conditionName);
+                        break;
+                    case "--event-driven":
+                        eventDriven = true;
+                        break;
+                    case "--gates":
+                        gateAssignment = GateAssignment.valueOf(args[++i]);
+                        break;
+                    case "--runway":
+                        runwayPolicy = RunwayPolicy.valueOf(args[++i]);
+                        break;
+                    case "--profile":
+                        profile = true;
+                        break;
+                    case "--jmx":
+                        jmxName = args[++i];
+                        break;
+                    case "--metrics":
+                        metricsPort = Integer.parseInt(args[++i]);
+                        if (metricsPort < 0 || metricsPort > 65535) {
+                            throw new IllegalArgumentException("Invalid port " + metricsPort);
+                        }
+                        profile = true;
+                        break;
+                    case "--event-log":
+                        eventLogFile = args[++i];
+                        break;
+                    case "--event-log-overflow":
+                        eventLogOverflow = OverflowPolicy.valueOf(args[++i]);
+                        break;
+                    case "--save":
+                        saveFiles = new String[] {args[++i], args[++i], args[++i], args[++i]};
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.err.println("Missing value for option " + args[args.length - 1]);
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+
+        ControlTower tower;
+        try {
+            tower = ControlTowerInitialiser.createControlTower(new FileReader(args[0]),
+                    new FileReader(args[1]), new FileReader(args[2]), new FileReader(args[3]));
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        if (eventDriven) {
+            tower.setSimulationMode(SimulationMode.EVENT_DRIVEN);
+        }
+        tower.setGateAssignmentStrategy(gateAssignment.create());
+        tower.setRunwayScheduler(runwayPolicy.create());
+        if (profile) {
+            tower.setProfiler(new TickProfiler());
+        }
+
+        HeadlessControl control = null;
+        if (jmxName != null) {
+            control = new HeadlessControl(tower, saveFiles);
+            try {
+                new TowerManagement(tower, control).register(jmxName);
+            } catch (JMException e) {
+                System.err.println("Error registering management bean: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        EventLogWriter eventLog = null;
+        if (eventLogFile != null) {
+            try {
+                eventLog = new EventLogWriter(new FileOutputStream(eventLogFile),
+                        eventLogFile.endsWith(".csv") ? EventLogFormat.CSV
+                                : EventLogFormat.BINARY, eventLogOverflow);
+            } catch (IOException e) {
+                System.err.println("Error opening event log: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            tower.setEventLog(eventLog);
+        }
+
+        MetricsServer metrics = null;
+        if (metricsPort >= 0) {
+            try {
+                metrics = new MetricsServer(tower, metricsPort);
+            } catch (IOException e) {
+                System.err.println("Error starting metrics server: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            metrics.start();
+            System.out.println("Serving metrics at http://127.0.0.1:" + metrics.getPort()
+                    + MetricsServer.PATH);
+        }
+
+        long startTicks = tower.getTicksElapsed();
+        long startLandings = tower.getNumLandings();
+        long startTakeoffs = tower.getNumTakeoffs();
+        long startTime = System.nanoTime();
+        long ticksRun = run(tower, maxTicks, stopCondition, control);
+        long elapsedNanos = System.nanoTime() - startTime;
+        if (metrics != null) {
+            metrics.stop(0);
+        }
+        if (eventLog != null) {
+            tower.setEventLog(null);
+            try {
+                eventLog.close();
+            } catch (IOException e) {
+                System.err.println("Error writing event log: " + e.getMessage());
+            }
+        }
+
+        long landings = tower.getNumLandings() - startLandings;
+        long takeoffs = tower.getNumTakeoffs() - startTakeoffs;
+        double seconds = Math.max(elapsedNanos, 1) / NANOS_PER_SECOND;
+        boolean stoppedEarly = ticksRun < maxTicks;
+
+        System.out.printf(Locale.ROOT, "Ran %d ticks (tick %d to %d) in %.3f s, stopped by %s%n",
+                ticksRun, startTicks, tower.getTicksElapsed(), seconds,
+                stoppedEarly ? "condition '" + conditionName + "'" : "tick limit");
+        System.out.printf(Locale.ROOT, "Throughput: %.1f ticks/s, %.1f landings/s,"
+                + " %.1f takeoffs/s%n", ticksRun / seconds, landings / seconds,
+                takeoffs / seconds);
+        System.out.printf(Locale.ROOT, "Landings: %d, takeoffs: %d%n", landings, takeoffs);
+        System.out.println("Runway (" + runwayPolicy + "): " + tower.getRunwayStatistics());
+        System.out.println("Final state: " + tower);
+        if (profile) {
+            System.out.print(tower.getProfiler());
+        }
+        if (eventLog != null) {
+            System.out.printf("Event log: %d records written, %d dropped%n",
+                    eventLog.getWrittenRecords(), eventLog.getDroppedRecords());
+        }
+
+        if (saveFiles != null) {
+            try {
+                ControlTowerSaver.saveAs(tower, new FileWriter(saveFiles[0]),
+                        new FileWriter(saveFiles[1]), new FileWriter(saveFiles[2]),
+                        new FileWriter(saveFiles[3]));
+            } catch (IOException e) {
+                System.err.println("Error saving to file. Stack trace below:");
+                e.printStackTrace();
+                System.exit(1);
+            }
+            System.out.println("Saved final state to " + String.join(", ", saveFiles));
+        }
+    }
+
+    /**
+     * Ticks the given control tower until the tick limit is reached or the stopping condition
+     * holds, whichever happens first. The condition is checked after each tick.
+     *
+     * @param tower control tower to tick
+     * @param maxTicks maximum number of ticks to run
+     * @param stopCondition condition that stops the run once it holds
+     * @return number of ticks run
+     */
+    public static long run(ControlTower tower, long maxTicks,
+            Predicate<ControlTower> stopCondition) {
+        return run(tower, maxTicks, stopCondition, null);
+    }
+
+    /**
+     * Ticks the given control tower until the tick limit is reached or the stopping condition
+     * holds, whichever happens first, letting the given control pause and pace the run and
+     * carry out actions requested by other threads before each tick. The control is closed
+     * when the run ends, which also happens if the thread is interrupted.
+     *
+     * @param tower control tower to tick
+     * @param maxTicks maximum number of ticks to run
+     * @param stopCondition condition that stops the run once it holds
+     * @param control control of the run, or null to tick as fast as possible
+     * @return number of ticks run
+     */
+    public static long run(ControlTower tower, long maxTicks,
+            Predicate<ControlTower> stopCondition, HeadlessControl control) {
+        long ticksRun = 0;
+        try {
+            while (ticksRun < maxTicks) {
+                if (control != null) {
+                    control.beforeTick();
+                }
+                tower.tick();
+                ticksRun++;
+                if (stopCondition.test(tower)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (control != null) {
+                control.close();
+            }
+        }
+        return ticksRun;
+    }
+
+    /**
+     * Returns the stopping condition described by the given text, as accepted by the
+     * {@code --until} option of main(String[]).
+     *
+     * @param condition text describing the condition
+     * @return stopping condition
+     * @throws IllegalArgumentException if the text does not describe a known condition
+     */
+    public static Predicate<ControlTower> parseCondition(String condition) {
+        if (condition.equals("idle")) {
+            return tower -> tower.getLandingQueue().size() == 0
+                    && tower.getTakeoffQueue().size() == 0
+                    && tower.getNumLoadingAircraft() == 0;
+        }
+        String[] parts = condition.split(":");
+        if (parts.length == 2) {
+            long target;
+            try {
+                target = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid count in condition " + condition);
+            }
+            if (parts[0].equals("landings")) {
+                return tower -> tower.getNumLandings() >= target;
+            } else if (parts[0].equals("takeoffs")) {
+                return tower -> tower.getNumTakeoffs() >= target;
+            }
+        }
+        throw new IllegalArgumentException("Unknown condition " + condition
+                + " (expected idle, landings:K or takeoffs:K)");
+    }
+}
@@ -5,8 +5,11 @@ import javafx.application.Platform;
 import javafx.stage.Stage;
 import towersim.display.View;
 import towersim.display.ViewModel;
+import towersim.management.TowerManagement;
 import towersim.util.MalformedSaveException;
 
+import javax.management.JMException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.List;
 
@@ -15,6 +18,11 @@ import java.util.List;
  * @given
  */
 public class Launcher extends Application {
+    /** Name of the TowerMXBean through which the GUI's simulation is managed */
+    private static final String MANAGEMENT_NAME = "GUI";
+
+    /** View model of the running GUI, or null before it has started */
+    private ViewModel viewModel;
 
     /**
      * <b>Note</b>: you do not need to write this constructor, it is generated automatically and
@@ -25,7 +33,8 @@ public class Launcher extends Application {
     /**
      * Launches the GUI.
      * <p>
-     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file}
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file
+     * [--record input_log_file]}
      * <p>
      * Where
      * <ul>
@@ -36,15 +45,17 @@ public class Launcher extends Application {
      * and list of loading aircraft</li>
      * <li>{@code terminalsWithGates_file} is the path to the file containing the terminals and
      * their gates</li>
+     * <li>{@code input_log_file}, if given, is the path to write a log of the inputs made
+     * while the GUI runs, which can be replayed with ReplayRunner</li>
      * </ul>
      *
      * @param args command line arguments
      * @given
      */
     public static void main(String[] args) {
-        if (args.length != 4) {
+        if (args.length != 4 && !(args.length == 6 && args[4].equals("--record"))) {
             System.err.println("Usage: tick_file aircraft_file queues_file"
-                    + " terminalsWithGates_file\n");
+                    + " terminalsWithGates_file [--record input_log_file]\n");
             System.err.println("You did not specify the names of the four required save files"
                     + " from which to load.");
             System.err.println("To do this, you need to add four command line arguments to your "
@@ -68,7 +79,12 @@ public class Launcher extends Application {
 
         View view;
         try {
-            view = new View(stage, new ViewModel(params));
+            viewModel = new ViewModel(params);
+            if (params.size() == 6) {
+                viewModel.getInputRecorder().startRecording(
+                        new FileOutputStream(params.get(5)));
+            }
+            view = new View(stage, viewModel);
         } catch (MalformedSaveException | IOException e) {
             System.err.println("Error loading from file. Stack trace below:");
             e.printStackTrace();
@@ -77,6 +93,25 @@ public class Launcher extends Application {
             return;
         }
 
+        try {
+            new TowerManagement(viewModel.getControlTower(), view.createSimulationControl())
+                    .register(MANAGEMENT_NAME);
+        } catch (JMException e) {
+            System.err.println("Management bean not registered: " + e.getMessage());
+        }
+
         view.run();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Finishes writing the input log, if inputs are being recorded.
+     */
+    @Override
+    public void stop() throws IOException {
+        if (viewModel != null) {
+            viewModel.getInputRecorder().close();
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package towersim;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.replay.InputReplayer;
+import towersim.replay.ReplayResult;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Entry point for replaying a recorded input log without a GUI.
+ */
+public class ReplayRunner {
+
+    /**
+     * Replays an input log recorded by the GUI as fast as possible.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file input_log_file
+     * [--no-verify]}
+     * <p>
+     * The four save files must hold the state the recording started from, and the input log is
+     * the file given to {@code --record} when launching the GUI. Unless {@code --no-verify} is
+     * given, the state after every tick is checked against the digest recorded in the log. The
+     * program exits with status 2 if the replay diverges from the recording.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != 5 && !(args.length == 6 && args[5].equals("--no-verify"))) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file input_log_file [--no-verify]");
+            System.exit(1);
+        }
+
+        ReplayResult result;
+        try (InputStream log = new FileInputStream(args[4])) {
+            ControlTower tower = ControlTowerInitialiser.createControlTower(
+                    new FileReader(args[0]), new FileReader(args[1]),
+                    new FileReader(args[2]), new FileReader(args[3]));
+            result = InputReplayer.replay(tower, log, args.length == 5);
+            System.out.println(tower);
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        System.out.println(result);
+        if (!result.isReproduced()) {
+            System.exit(2);
+        }
+    }
+}
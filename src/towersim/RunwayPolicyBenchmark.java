@@ -0,0 +1,83 @@
+package towersim;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.RunwayPolicy;
+import towersim.control.RunwayStatistics;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Entry point for comparing the built-in runway scheduling policies on the same control tower.
+ */
+public class RunwayPolicyBenchmark {
+    /** Number of ticks run if no limit is given */
+    private static final long DEFAULT_TICKS = 1000;
+
+    /**
+     * Runs a fork of the loaded control tower with each RunwayPolicy and prints the resulting
+     * runway statistics.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file [ticks]}
+     * <p>
+     * For each policy, the movements per runway slot, unused slots, landings, takeoffs, mean
+     * and longest waits in each queue and the lengths of the queues at the end of the run are
+     * printed. The policy with the most movements per slot is reported last.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != 4 && args.length != 5) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file [ticks]");
+            System.exit(1);
+        }
+
+        ControlTower tower;
+        long ticks;
+        try {
+            ticks = args.length == 5 ? Long.parseLong(args[4]) : DEFAULT_TICKS;
+            tower = ControlTowerInitialiser.createControlTower(new FileReader(args[0]),
+                    new FileReader(args[1]), new FileReader(args[2]), new FileReader(args[3]));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number of ticks: " + args[4]);
+            System.exit(1);
+            return;
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+
+        System.out.printf("%-15s %10s %8s %9s %9s %15s %15s %11s%n", "policy", "moves/slot",
+                "unused", "landings", "takeoffs", "land wait", "takeoff wait", "queued");
+        RunwayPolicy best = null;
+        double bestMovements = -1;
+        for (RunwayPolicy policy : RunwayPolicy.values()) {
+            ControlTower fork = tower.fork();
+            fork.setRunwayScheduler(policy.create());
+            for (long tick = 0; tick < ticks; tick++) {
+                fork.tick();
+            }
+
+            RunwayStatistics statistics = fork.getRunwayStatistics();
+            System.out.printf(Locale.ROOT, "%-15s %10.3f %8d %9d %9d %8.1f (%4d) %8.1f (%4d)"
+                    + " %5d/%5d%n", policy, statistics.getMovementsPerSlot(),
+                    statistics.getUnusedSlots(), statistics.getLandings(),
+                    statistics.getTakeoffs(), statistics.getMeanLandingWait(),
+                    statistics.getMaxLandingWait(), statistics.getMeanTakeoffWait(),
+                    statistics.getMaxTakeoffWait(), fork.getLandingQueue().size(),
+                    fork.getTakeoffQueue().size());
+            if (statistics.getMovementsPerSlot() > bestMovements) {
+                best = policy;
+                bestMovements = statistics.getMovementsPerSlot();
+            }
+        }
+        System.out.printf(Locale.ROOT, "Most movements per slot: %s (%.3f)%n", best,
+                bestMovements);
+    }
+}
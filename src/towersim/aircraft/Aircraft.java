@@ -2,15 +2,12 @@ package towersim.aircraft;
 
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
+import towersim.util.Centilitres;
 import towersim.util.EmergencyState;
 import towersim.util.Encodable;
 import towersim.util.OccupancyLevel;
 import towersim.util.Tickable;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Objects;
-
 /**
  * Represents an aircraft whose movement is managed by the system.
  * @ass1
@@ -23,6 +20,11 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     public static final double LITRE_OF_FUEL_WEIGHT = 0.8;
 
+    /**
+     * ID held by an aircraft that has not been registered with a control tower.
+     */
+    public static final int UNASSIGNED_ID = -1;
+
     /** Unique callsign to identify the aircraft */
     private String callsign;
 
@@ -32,12 +34,15 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
     /** List of tasks representing the aircraft's desired operations */
     private TaskList tasks;
 
-    /** Current amount of fuel onboard, in litres */
-    private double fuelAmount;
+    /** Current amount of fuel onboard, in centilitres */
+    private long fuelCentilitres;
 
     /** Whether the aircraft is currently in a state of emergency */
     private boolean emergency;
 
+    /** Dense ID assigned by the control tower managing this aircraft */
+    private int id;
+
     /**
      * Creates a new aircraft with the given callsign, task list, fuel capacity and amount.
      * <p>
@@ -46,6 +51,9 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * If the given fuel amount is less than zero or greater than the aircraft's maximum fuel
      * capacity as defined in the aircraft's characteristics, then an
      * {@code IllegalArgumentException} should be thrown.
+     * <p>
+     * Fuel is stored to the nearest centilitre, so the given amount is rounded to two decimal
+     * places.
      *
      * @param callsign        unique callsign
      * @param characteristics characteristics that describe this aircraft
@@ -59,16 +67,40 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
         if (fuelAmount < 0) {
             throw new IllegalArgumentException("Amount of fuel onboard cannot be negative");
         }
+
         if (fuelAmount > characteristics.fuelCapacity) {
             throw new IllegalArgumentException("Amount of fuel onboard cannot exceed capacity");
         }
         this.callsign = callsign;
         this.characteristics = characteristics;
         this.tasks = tasks;
-        this.fuelAmount = fuelAmount;
+        this.fuelCentilitres = Centilitres.fromLitres(fuelAmount);
         this.emergency = false;
+        this.id = UNASSIGNED_ID;
+    }
+
+    /**
+     * Creates a copy of the given aircraft in its current state, with its own task list.
+     * The copy is not registered with any control tower.
+     * @param original - aircraft to copy
+     */
+    protected Aircraft(Aircraft original) {
+        this.callsign = original.callsign;
+        this.characteristics = original.characteristics;
+        this.tasks = original.tasks.copy();
+        this.fuelCentilitres = original.fuelCentilitres;
+        this.emergency = original.emergency;
+        this.id = UNASSIGNED_ID;
     }
 
+    /**
+     * Returns an independent copy of this aircraft in its current state, e.g. for use in a
+     * forked control tower. Changes to the copy do not affect this aircraft, and vice versa.
+     * The copy is not registered with any control tower.
+     * @return copy of this aircraft
+     */
+    public abstract Aircraft copy();
+
     /**
      * Returns the callsign of the aircraft.
      *
@@ -79,6 +111,30 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
         return callsign;
     }
 
+    /**
+     * Returns the dense ID assigned to this aircraft when it was registered with a control
+     * tower, or UNASSIGNED_ID if it has not been registered.
+     * IDs are not part of the aircraft's identity; they are not considered by equals(Object)
+     * and are not saved by encode().
+     * @return aircraft ID
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Assigns the given ID to this aircraft.
+     * This should only be called by the control tower that the aircraft is registered with.
+     * @param id - non-negative ID unique within the registering control tower
+     * @throws IllegalArgumentException if id &lt; 0
+     */
+    public void assignId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Aircraft ID cannot be negative");
+        }
+        this.id = id;
+    }
+
     /**
      * Returns the current amount of fuel onboard, in litres.
      *
@@ -86,7 +142,16 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getFuelAmount() {
-        return fuelAmount;
+        return Centilitres.toLitres(this.fuelCentilitres);
+    }
+
+    /**
+     * Returns the current amount of fuel onboard, in centilitres.
+     *
+     * @return exact current fuel amount
+     */
+    public long getFuelCentilitres() {
+        return this.fuelCentilitres;
     }
 
     /**
@@ -109,7 +174,8 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public int getFuelPercentRemaining() {
-        return (int) Math.round(100 * fuelAmount / this.characteristics.fuelCapacity);
+        return (int) Math.round(100.0 * this.fuelCentilitres
+                / this.characteristics.fuelCapacityCentilitres);
     }
 
     /**
@@ -126,7 +192,8 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getTotalWeight() {
-        return this.getCharacteristics().emptyWeight + this.fuelAmount * LITRE_OF_FUEL_WEIGHT;
+        return this.getCharacteristics().emptyWeight
+                + this.getFuelAmount() * LITRE_OF_FUEL_WEIGHT;
     }
 
     /**
@@ -149,6 +216,16 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     public abstract int getLoadingTime();
 
+    /**
+     * Returns the loading schedule for the load percentage of the aircraft's current task.
+     * <p>
+     * The schedule gives the loading time returned by {@link #getLoadingTime()} along with the
+     * amounts of cargo and fuel loaded on each tick, so these need not be recalculated every tick.
+     *
+     * @return loading schedule for the current task
+     */
+    public abstract LoadingSchedule getLoadingSchedule();
+
     /**
      * Unloads the aircraft of all cargo (passengers/freight) it is currently carrying.
      * This action should be performed instantly. After calling unload(),
@@ -172,6 +249,10 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * (returned by {@link #getLoadingTime()}) is 3, the amount of fuel should increase by
      * 40 litres each tick. Note that refuelling should not result in the aircraft's fuel onboard
      * exceeding its maximum fuel capacity.
+     * <p>
+     * Fuel is tracked in whole centilitres. Capacities are whole litres, so each {@code AWAY} tick
+     * burns an exact amount; when the capacity does not divide evenly by the loading time, each
+     * {@code LOAD} tick adds the share rounded up to the next centilitre.
      * @ass1
      */
     @Override
@@ -180,18 +261,38 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
 
         // fuel amount drops by 10% of capacity each AWAY tick
         if (currentTaskType == TaskType.AWAY) {
-            this.fuelAmount -= this.characteristics.fuelCapacity / 10;
+            this.fuelCentilitres -= this.characteristics.awayBurnCentilitres;
             // fuel amount can't go below 0
-            if (this.fuelAmount < 0) {
-                this.fuelAmount = 0;
+            if (this.fuelCentilitres < 0) {
+                this.fuelCentilitres = 0;
             }
         }
 
         // loading replenishes fuelCapacity/loadingTime of maximum fuel capacity
         if (currentTaskType == TaskType.LOAD) {
-            this.fuelAmount = Math.min(this.characteristics.fuelCapacity,
-                    this.fuelAmount + this.characteristics.fuelCapacity / getLoadingTime());
+            this.fuelCentilitres = Math.min(this.characteristics.fuelCapacityCentilitres,
+                    this.fuelCentilitres + this.getLoadingSchedule().getFuelPerTick());
+        }
+    }
+
+    /**
+     * Advances the aircraft through the given number of {@code AWAY} ticks at once.
+     * <p>
+     * This has the same effect as calling {@link #tick()} and then moving to the next task the
+     * given number of times, provided the current task and the tasks that follow it are
+     * {@code AWAY} tasks for at least that many ticks (see TaskList.getCurrentRunLength()).
+     * @param ticks - number of consecutive {@code AWAY} ticks to advance through
+     * @throws IllegalArgumentException if ticks &lt; 0
+     */
+    public void advanceAway(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of ticks");
         }
+        // fuel only decreases while away, so flooring once at the end matches flooring each tick;
+        // ten AWAY ticks empty even a full tank, which also keeps the product from overflowing
+        long burned = this.characteristics.awayBurnCentilitres * Math.min(ticks, 10);
+        this.fuelCentilitres = Math.max(0, this.fuelCentilitres - burned);
+        this.tasks.moveForward(ticks);
     }
 
     /**
@@ -211,9 +312,11 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
         } else if (!(obj instanceof Aircraft)) {
             return false;
         } else {
-            // two equal aircrafts have the same callsign and characteristics
-            return ((Aircraft) obj).callsign.equals(this.callsign) && ((Aircraft) obj)
-                    .characteristics.toString().equals(this.getCharacteristics().toString());
+            // two equal aircrafts have the same callsign and characteristics; the catalogue
+            // creates each model of characteristics exactly once, so they can be compared by
+            // reference
+            return ((Aircraft) obj).characteristics == this.characteristics
+                    && ((Aircraft) obj).callsign.equals(this.callsign);
         }
     }
 
@@ -226,7 +329,9 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public int hashCode() {
-        return Objects.hash(this.callsign, this.characteristics);
+        // the value of Objects.hash(callsign, characteristics), without allocating a varargs
+        // array on each call
+        return 31 * (31 + this.callsign.hashCode()) + this.characteristics.hashCode();
     }
 
     /**
@@ -262,7 +367,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * callsign:model:taskListEncoded:fuelAmount:emergency
      * where:
      * callsign is the aircraft's callsign
-     * model is the Enum.name() of the aircraft's AircraftCharacteristics
+     * model is the name() of the aircraft's AircraftCharacteristics
      * taskListEncoded is the encode() representation of the aircraft's task list
      * (see TaskList.encode())
      * fuelAmount is the aircraft's current amount of fuel onboard, formatted to exactly
@@ -276,12 +381,10 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public String encode() {
-        // fuelAmount formatted to exactly two decimal places
-        BigDecimal twoDecimalFuelAmount = new BigDecimal(this.fuelAmount)
-                .setScale(2, RoundingMode.UP);
-
+        // fuel is held in centilitres, so it is formatted exactly to two decimal places
         return this.getCallsign() + ":" + this.characteristics.name() + ":"
-                + this.tasks.encode() + ":" + twoDecimalFuelAmount + ":" + this.emergency;
+                + this.tasks.encode() + ":" + Centilitres.format(this.fuelCentilitres) + ":"
+                + this.emergency;
     }
 
     /**
@@ -1,12 +1,39 @@
 package towersim.aircraft;
 
+import towersim.util.Centilitres;
+import towersim.util.MalformedSaveException;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Stores information about particular models of aircraft.
  * <p>
  * Characteristics of an individual aircraft include the type of aircraft, its empty weight, fuel
  * capacity, etc.
+ * <p>
+ * Models are not hard-coded; they are read from a catalogue data file when this class is first
+ * used. The catalogue is the {@code aircraft_models.txt} resource alongside this class, unless
+ * the {@code towersim.aircraftModels} system property gives the path of another catalogue file.
+ * Each non-blank line of the catalogue that does not start with {@code #} describes one model:
+ * <pre>name:type:emptyWeight:fuelCapacity:passengerCapacity:freightCapacity</pre>
+ * Models are numbered by a dense ordinal in the order they appear in the catalogue, and can be
+ * looked up by ordinal or by name in constant time.
+ * <p>
+ * The catalogue must contain at least the following models, which are also available as
+ * constants of this class:
  * <table border="1">
- * <caption>Enum definitions</caption>
+ * <caption>Built-in models</caption>
  * <tr><th>AircraftCharacteristics</th>
  * <th>Aircraft type (AircraftType)</th>
  * <th>Empty weight (kilograms)</th>
@@ -27,47 +54,64 @@ package towersim.aircraft;
  * <td>0</td><td>9100</td></tr>
  * </table>
  * <p>
- * <b>NOTE:</b> You do <b>not</b> need to implement the {@code values()} or
- * {@code valueOf(String)} methods as part of the assignment. Their implementations are generated
- * automatically by the compiler.
+ * Each model also carries values derived from its characteristics that would otherwise be
+ * recalculated on every tick, such as its per-tick fuel burn and its loading schedules.
  * @ass1
  */
-public enum AircraftCharacteristics {
+public final class AircraftCharacteristics {
+    /** Name of the system property that overrides the location of the model catalogue */
+    public static final String CATALOGUE_PROPERTY = "towersim.aircraftModels";
+
+    /** Name of the default model catalogue resource, relative to this class */
+    private static final String CATALOGUE_RESOURCE = "aircraft_models.txt";
+
+    /** Number of colon-separated fields in each line of the catalogue */
+    private static final int NUM_FIELDS = 6;
+
+    /** Largest load percentage for which loading schedules are precomputed */
+    private static final int MAX_SCHEDULED_PERCENT = 100;
+
+    /** All models in the catalogue, indexed by ordinal */
+    private static final AircraftCharacteristics[] MODELS = loadCatalogue();
+
+    /** All models in the catalogue, keyed by name */
+    private static final Map<String, AircraftCharacteristics> MODELS_BY_NAME = indexByName();
+
     /**
      * Narrow-body twin-jet airliner.
      * @ass1
      */
-    AIRBUS_A320(AircraftType.AIRPLANE, 42600, 27200, 150, 0),
+    public static final AircraftCharacteristics AIRBUS_A320 = builtIn("AIRBUS_A320");
 
     /**
      * Wide-body quad-jet freighter.
      * @ass1
      */
-    BOEING_747_8F(AircraftType.AIRPLANE, 197131, 226117, 0, 137756),
+    public static final AircraftCharacteristics BOEING_747_8F = builtIn("BOEING_747_8F");
 
     /**
      * Four-seater light helicopter.
      * @ass1
      */
-    ROBINSON_R44(AircraftType.HELICOPTER, 658, 190, 4, 0),
+    public static final AircraftCharacteristics ROBINSON_R44 = builtIn("ROBINSON_R44");
 
     /**
      * Long range, wide-body twin-jet airliner.
      * @ass1
      */
-    BOEING_787(AircraftType.AIRPLANE, 119950, 126206, 242, 0),
+    public static final AircraftCharacteristics BOEING_787 = builtIn("BOEING_787");
 
     /**
      * Twin-jet regional airliner.
      * @ass1
      */
-    FOKKER_100(AircraftType.AIRPLANE, 24375, 13365, 97, 0),
+    public static final AircraftCharacteristics FOKKER_100 = builtIn("FOKKER_100");
 
     /**
      * Twin-engine heavy-lift helicopter.
      * @ass1
      */
-    SIKORSKY_SKYCRANE(AircraftType.HELICOPTER, 8724, 3328, 0, 9100);
+    public static final AircraftCharacteristics SIKORSKY_SKYCRANE = builtIn("SIKORSKY_SKYCRANE");
 
     /**
      * Type of aircraft.
@@ -87,6 +131,11 @@ public enum AircraftCharacteristics {
      */
     public final double fuelCapacity;
 
+    /**
+     * Maximum amount of fuel able to be carried, in centilitres.
+     */
+    public final long fuelCapacityCentilitres;
+
     /**
      * Maximum number of passengers able to be carried.
      * @ass1
@@ -100,20 +149,291 @@ public enum AircraftCharacteristics {
     public final int freightCapacity;
 
     /**
-     * Creates a new AircraftCharacteristics enum constant.
+     * Weight of the aircraft with a full tank of fuel and no load, in kilograms.
+     */
+    public final double fullTankWeight;
+
+    /**
+     * Amount of fuel burned on each AWAY tick (10% of fuel capacity), in centilitres.
+     */
+    public final long awayBurnCentilitres;
+
+    /** Unique name of the model, as written in save files */
+    private final String name;
+
+    /** Position of the model in the catalogue */
+    private final int ordinal;
+
+    /** Passenger loading schedules, indexed by load percentage */
+    private final LoadingSchedule[] passengerSchedules;
+
+    /** Freight loading schedules, indexed by load percentage */
+    private final LoadingSchedule[] freightSchedules;
+
+    /**
+     * Creates a new aircraft model and precomputes its derived values.
      *
+     * @param name unique name of the model
+     * @param ordinal position of the model in the catalogue
      * @param type type of aircraft
      * @param emptyWeight empty weight
      * @param fuelCapacity maximum amount of fuel
      * @param passengerCapacity maximum number of passengers
      * @param freightCapacity maximum amount of freight
      */
-    AircraftCharacteristics(AircraftType type, int emptyWeight, int fuelCapacity,
-            int passengerCapacity, int freightCapacity) {
+    private AircraftCharacteristics(String name, int ordinal, AircraftType type, int emptyWeight,
+            int fuelCapacity, int passengerCapacity, int freightCapacity) {
+        this.name = name;
+        this.ordinal = ordinal;
         this.type = type;
         this.emptyWeight = emptyWeight;
         this.fuelCapacity = fuelCapacity;
+        this.fuelCapacityCentilitres = fuelCapacity * Centilitres.PER_LITRE;
         this.passengerCapacity = passengerCapacity;
         this.freightCapacity = freightCapacity;
+        this.fullTankWeight = emptyWeight + this.fuelCapacity * Aircraft.LITRE_OF_FUEL_WEIGHT;
+        // capacities are whole litres, so a tenth of the capacity is a whole number of centilitres
+        this.awayBurnCentilitres = this.fuelCapacityCentilitres / 10;
+
+        this.passengerSchedules = new LoadingSchedule[MAX_SCHEDULED_PERCENT + 1];
+        this.freightSchedules = new LoadingSchedule[MAX_SCHEDULED_PERCENT + 1];
+        for (int percent = 0; percent <= MAX_SCHEDULED_PERCENT; percent++) {
+            this.passengerSchedules[percent] =
+                    LoadingSchedule.computePassengerSchedule(this, percent);
+            this.freightSchedules[percent] = LoadingSchedule.computeFreightSchedule(this, percent);
+        }
+    }
+
+    /**
+     * Returns all models in the catalogue, in ordinal order.
+     * Modifying the returned array does not affect the catalogue.
+     *
+     * @return array of all aircraft models
+     */
+    public static AircraftCharacteristics[] values() {
+        return Arrays.copyOf(MODELS, MODELS.length);
+    }
+
+    /**
+     * Returns the number of models in the catalogue.
+     *
+     * @return number of aircraft models
+     */
+    public static int count() {
+        return MODELS.length;
+    }
+
+    /**
+     * Returns the model with the given ordinal.
+     *
+     * @param ordinal position of the model in the catalogue
+     * @return aircraft model with the given ordinal
+     * @throws IndexOutOfBoundsException if ordinal &lt; 0 or ordinal &ge; count()
+     */
+    public static AircraftCharacteristics fromOrdinal(int ordinal) {
+        return MODELS[ordinal];
+    }
+
+    /**
+     * Returns the model with the given name, or null if there is no such model.
+     *
+     * @param name name of the model
+     * @return aircraft model with the given name, or null
+     */
+    public static AircraftCharacteristics lookup(String name) {
+        return MODELS_BY_NAME.get(name);
+    }
+
+    /**
+     * Returns the model with the given name.
+     *
+     * @param name name of the model
+     * @return aircraft model with the given name
+     * @throws IllegalArgumentException if there is no model with the given name
+     */
+    public static AircraftCharacteristics valueOf(String name) {
+        AircraftCharacteristics model = lookup(name);
+        if (model == null) {
+            throw new IllegalArgumentException("No aircraft model named " + name);
+        }
+        return model;
+    }
+
+    /**
+     * Returns the name of this model, as written in save files.
+     *
+     * @return model name
+     */
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * Returns the position of this model in the catalogue, from 0 to count() - 1.
+     *
+     * @return model ordinal
+     */
+    public int ordinal() {
+        return this.ordinal;
+    }
+
+    /**
+     * Returns the ratio of the given number of passengers to this model's passenger capacity as
+     * a percentage, rounded to the nearest percentage point. Returns 0 if this model carries no
+     * passengers.
+     *
+     * @param numPassengers number of passengers onboard
+     * @return passenger occupancy level as a percentage
+     */
+    public int passengerOccupancy(int numPassengers) {
+        return occupancy(numPassengers, this.passengerCapacity);
+    }
+
+    /**
+     * Returns the ratio of the given amount of freight to this model's freight capacity as a
+     * percentage, rounded to the nearest percentage point. Returns 0 if this model carries no
+     * freight.
+     *
+     * @param freightAmount amount of freight onboard, in kilograms
+     * @return freight occupancy level as a percentage
+     */
+    public int freightOccupancy(int freightAmount) {
+        return occupancy(freightAmount, this.freightCapacity);
+    }
+
+    /**
+     * Returns the human-readable string representation of this model, which is its name.
+     *
+     * @return model name
+     */
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Returns the precomputed passenger loading schedule for the given load percentage,
+     * or null if the percentage is not between 0 and 100.
+     */
+    LoadingSchedule getPassengerSchedule(int loadPercent) {
+        if (loadPercent < 0 || loadPercent > MAX_SCHEDULED_PERCENT) {
+            return null;
+        }
+        return this.passengerSchedules[loadPercent];
+    }
+
+    /**
+     * Returns the precomputed freight loading schedule for the given load percentage,
+     * or null if the percentage is not between 0 and 100.
+     */
+    LoadingSchedule getFreightSchedule(int loadPercent) {
+        if (loadPercent < 0 || loadPercent > MAX_SCHEDULED_PERCENT) {
+            return null;
+        }
+        return this.freightSchedules[loadPercent];
+    }
+
+    /**
+     * Returns amount * 100 / capacity rounded half up, using exact integer arithmetic.
+     */
+    private static int occupancy(int amount, int capacity) {
+        if (capacity == 0) {
+            return 0;
+        }
+        return (int) ((amount * 200L + capacity) / (2L * capacity));
+    }
+
+    /** Reads the catalogue from the configured file or the default resource */
+    private static AircraftCharacteristics[] loadCatalogue() {
+        String path = System.getProperty(CATALOGUE_PROPERTY);
+        try {
+            if (path != null) {
+                try (Reader reader = new FileReader(path, StandardCharsets.UTF_8)) {
+                    return readCatalogue(reader);
+                }
+            }
+            InputStream stream =
+                    AircraftCharacteristics.class.getResourceAsStream(CATALOGUE_RESOURCE);
+            if (stream == null) {
+                throw new IllegalStateException("Aircraft model catalogue "
+                        + CATALOGUE_RESOURCE + " not found");
+            }
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                return readCatalogue(reader);
+            }
+        } catch (IOException | MalformedSaveException e) {
+            throw new IllegalStateException("Could not load aircraft model catalogue", e);
+        }
+    }
+
+    /**
+     * Reads models from the given catalogue, numbering them in the order they appear.
+     *
+     * @param reader reader positioned at the start of the catalogue
+     * @return models indexed by ordinal
+     * @throws IOException if an IOException is encountered when reading from the reader
+     * @throws MalformedSaveException if a line of the catalogue is invalid, or two models share
+     * the same name
+     */
+    private static AircraftCharacteristics[] readCatalogue(Reader reader)
+            throws IOException, MalformedSaveException {
+        List<AircraftCharacteristics> models = new ArrayList<>();
+        Map<String, AircraftCharacteristics> names = new HashMap<>();
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = bufferedReader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(":", -1);
+            if (parts.length != NUM_FIELDS || parts[0].isEmpty()) {
+                throw new MalformedSaveException("Invalid aircraft model on line " + lineNumber);
+            }
+            AircraftCharacteristics model;
+            try {
+                model = new AircraftCharacteristics(parts[0], models.size(),
+                        AircraftType.valueOf(parts[1]),
+                        readNonNegative(parts[2]), readNonNegative(parts[3]),
+                        readNonNegative(parts[4]), readNonNegative(parts[5]));
+            } catch (IllegalArgumentException e) {
+                throw new MalformedSaveException("Invalid aircraft model on line " + lineNumber,
+                        e);
+            }
+            if (names.put(model.name, model) != null) {
+                throw new MalformedSaveException("Duplicate aircraft model " + model.name);
+            }
+            models.add(model);
+        }
+        return models.toArray(new AircraftCharacteristics[0]);
+    }
+
+    /** Parses a non-negative integer field of the catalogue */
+    private static int readNonNegative(String field) {
+        int value = Integer.parseInt(field);
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+        return value;
+    }
+
+    /** Builds the name index of the loaded catalogue */
+    private static Map<String, AircraftCharacteristics> indexByName() {
+        Map<String, AircraftCharacteristics> byName = new HashMap<>();
+        for (AircraftCharacteristics model : MODELS) {
+            byName.put(model.name, model);
+        }
+        return byName;
+    }
+
+    /** Returns the named model, which every catalogue is required to contain */
+    private static AircraftCharacteristics builtIn(String name) {
+        AircraftCharacteristics model = lookup(name);
+        if (model == null) {
+            throw new IllegalStateException("Aircraft model catalogue is missing " + name);
+        }
+        return model;
     }
 }
@@ -44,6 +44,23 @@ public class FreightAircraft extends Aircraft {
         this.freightAmount = freightAmount;
     }
 
+    /**
+     * Creates a copy of the given freight aircraft in its current state.
+     * @param original - aircraft to copy
+     */
+    private FreightAircraft(FreightAircraft original) {
+        super(original);
+        this.freightAmount = original.freightAmount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Aircraft copy() {
+        return new FreightAircraft(this);
+    }
+
     /**
      * Unloads the aircraft of all cargo (passengers/freight) it is currently carrying.
      * This action should be performed instantly. After calling unload(), OccupancyLevel.
@@ -97,15 +114,19 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int getLoadingTime() {
-        int freightToLoad = this.getFreightToLoad();
-
-        if (freightToLoad < 1000) {
-            return 1;
-        } else if (freightToLoad <= 50000) {
-            return 2;
-        } else {
-            return 3;
-        }
+        return this.getLoadingSchedule().getLoadingTime();
+    }
+
+    /**
+     * Returns the precomputed schedule for loading freight onto this aircraft, based on the
+     * current task's load percentage.
+     *
+     * @return freight loading schedule for the current task
+     */
+    @Override
+    public LoadingSchedule getLoadingSchedule() {
+        return LoadingSchedule.forFreight(this.getCharacteristics(),
+                this.getTaskList().getCurrentTask().getLoadPercent());
     }
 
     /**
@@ -122,21 +143,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.freightAmount * 100
-                / this.getCharacteristics().freightCapacity);
-    }
-
-    /**
-     * Returns the total amount of freight to be loaded onto the aircraft based on the current
-     * task's load percentage.
-     *
-     * @return total freight to be loaded, in kilograms
-     * @ass1
-     */
-    private int getFreightToLoad() {
-        int freightCapacity = this.getCharacteristics().freightCapacity;
-        double loadRatio = (double) this.getTaskList().getCurrentTask().getLoadPercent() / 100;
-        return (int) Math.round(freightCapacity * loadRatio);
+        return this.getCharacteristics().freightOccupancy(this.freightAmount);
     }
 
     /**
@@ -170,8 +177,7 @@ public class FreightAircraft extends Aircraft {
         super.tick();
 
         if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
-            int freightToLoadThisTick = (int) Math.round(this.getFreightToLoad()
-                    / (double) this.getLoadingTime());
+            int freightToLoadThisTick = this.getLoadingSchedule().getCargoPerTick();
             this.freightAmount = Math.min(this.freightAmount + freightToLoadThisTick,
                     this.getCharacteristics().freightCapacity);
         }
@@ -183,7 +189,7 @@ public class FreightAircraft extends Aircraft {
      * callsign:model:taskListEncoded:fuelAmount:emergency:freightAmount
      * where:
      * callsign is the aircraft's callsign
-     * model is the Enum.name() of the aircraft's AircraftCharacteristics
+     * model is the name() of the aircraft's AircraftCharacteristics
      * taskListEncoded is the encode() representation of the aircraft's task list
      * (see TaskList.encode())
      * fuelAmount is the aircraft's current amount of fuel onboard, formatted to exactly two
@@ -0,0 +1,126 @@
+package towersim.aircraft;
+
+/**
+ * Describes how an aircraft is loaded at the gate for a given model and load percentage: the
+ * number of ticks loading takes, and how much cargo and fuel is added on each of those ticks.
+ * <p>
+ * Schedules are immutable. Each aircraft model precomputes its schedules for load percentages
+ * between 0 and 100 when the model catalogue is loaded, so the LOAD phase of an aircraft's tick
+ * is a table lookup rather than a recalculation.
+ */
+public final class LoadingSchedule {
+    /** Number of ticks required to load the aircraft */
+    private final int loadingTime;
+
+    /** Amount of cargo (passengers or kilograms of freight) loaded on each loading tick */
+    private final int cargoPerTick;
+
+    /** Centilitres of fuel added on each loading tick */
+    private final long fuelPerTick;
+
+    /**
+     * Creates a new loading schedule.
+     * @param loadingTime - number of ticks required to load
+     * @param cargoPerTick - cargo loaded on each tick
+     * @param fuelPerTick - fuel added on each tick, in centilitres
+     */
+    private LoadingSchedule(int loadingTime, int cargoPerTick, long fuelPerTick) {
+        this.loadingTime = loadingTime;
+        this.cargoPerTick = cargoPerTick;
+        this.fuelPerTick = fuelPerTick;
+    }
+
+    /**
+     * Returns the schedule for loading passengers onto an aircraft with the given
+     * characteristics, as described in PassengerAircraft.getLoadingTime() and
+     * PassengerAircraft.tick().
+     * @param characteristics - characteristics of the aircraft being loaded
+     * @param loadPercent - load percentage of the aircraft's LOAD task
+     * @return passenger loading schedule
+     */
+    public static LoadingSchedule forPassengers(AircraftCharacteristics characteristics,
+            int loadPercent) {
+        LoadingSchedule schedule = characteristics.getPassengerSchedule(loadPercent);
+        return schedule != null ? schedule
+                : computePassengerSchedule(characteristics, loadPercent);
+    }
+
+    /**
+     * Returns the schedule for loading freight onto an aircraft with the given characteristics,
+     * as described in FreightAircraft.getLoadingTime() and FreightAircraft.tick().
+     * @param characteristics - characteristics of the aircraft being loaded
+     * @param loadPercent - load percentage of the aircraft's LOAD task
+     * @return freight loading schedule
+     */
+    public static LoadingSchedule forFreight(AircraftCharacteristics characteristics,
+            int loadPercent) {
+        LoadingSchedule schedule = characteristics.getFreightSchedule(loadPercent);
+        return schedule != null ? schedule
+                : computeFreightSchedule(characteristics, loadPercent);
+    }
+
+    /**
+     * Returns the number of ticks required to load the aircraft.
+     * @return loading time, in ticks
+     */
+    public int getLoadingTime() {
+        return this.loadingTime;
+    }
+
+    /**
+     * Returns the amount of cargo loaded on each loading tick, before capping at the aircraft's
+     * capacity.
+     * @return number of passengers or kilograms of freight loaded per tick
+     */
+    public int getCargoPerTick() {
+        return this.cargoPerTick;
+    }
+
+    /**
+     * Returns the amount of fuel added on each loading tick, before capping at the aircraft's
+     * fuel capacity. Capacities that do not divide evenly by the loading time are rounded up to
+     * the next centilitre, so that loading always fills the aircraft's tank.
+     * @return centilitres of fuel added per tick
+     */
+    public long getFuelPerTick() {
+        return this.fuelPerTick;
+    }
+
+    /** Calculates a passenger schedule using the passenger loading rules */
+    static LoadingSchedule computePassengerSchedule(
+            AircraftCharacteristics characteristics, int loadPercent) {
+        int passengersToLoad = amountToLoad(characteristics.passengerCapacity, loadPercent);
+        int loadingTime = (int) Math.max(1, Math.round(Math.log10(passengersToLoad)));
+        return new LoadingSchedule(loadingTime,
+                (int) Math.round(passengersToLoad / (double) loadingTime),
+                fuelPerTick(characteristics, loadingTime));
+    }
+
+    /** Calculates a freight schedule using the freight loading time table */
+    static LoadingSchedule computeFreightSchedule(
+            AircraftCharacteristics characteristics, int loadPercent) {
+        int freightToLoad = amountToLoad(characteristics.freightCapacity, loadPercent);
+        int loadingTime;
+        if (freightToLoad < 1000) {
+            loadingTime = 1;
+        } else if (freightToLoad <= 50000) {
+            loadingTime = 2;
+        } else {
+            loadingTime = 3;
+        }
+        return new LoadingSchedule(loadingTime,
+                (int) Math.round(freightToLoad / (double) loadingTime),
+                fuelPerTick(characteristics, loadingTime));
+    }
+
+    /** Returns the fuel capacity divided by the loading time, rounded up to a whole centilitre */
+    private static long fuelPerTick(AircraftCharacteristics characteristics, int loadingTime) {
+        return (characteristics.fuelCapacityCentilitres + loadingTime - 1) / loadingTime;
+    }
+
+    /** Returns the capacity multiplied by the load ratio, rounded to the nearest whole unit */
+    private static int amountToLoad(int capacity, int loadPercent) {
+        double loadRatio = (double) loadPercent / 100;
+        return (int) Math.round(capacity * loadRatio);
+    }
+}
@@ -50,6 +50,23 @@ public class PassengerAircraft extends Aircraft {
         this.numPassengers = numPassengers;
     }
 
+    /**
+     * Creates a copy of the given passenger aircraft in its current state.
+     * @param original - aircraft to copy
+     */
+    private PassengerAircraft(PassengerAircraft original) {
+        super(original);
+        this.numPassengers = original.numPassengers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Aircraft copy() {
+        return new PassengerAircraft(this);
+    }
+
     /**
      * Unloads the aircraft of all cargo (passengers/freight) it is currently carrying.
      * This action should be performed instantly. After calling unload(),
@@ -105,7 +122,19 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int getLoadingTime() {
-        return (int) Math.max(1, Math.round(Math.log10(this.getPassengersToLoad())));
+        return this.getLoadingSchedule().getLoadingTime();
+    }
+
+    /**
+     * Returns the precomputed schedule for loading passengers onto this aircraft, based on the
+     * current task's load percentage.
+     *
+     * @return passenger loading schedule for the current task
+     */
+    @Override
+    public LoadingSchedule getLoadingSchedule() {
+        return LoadingSchedule.forPassengers(this.getCharacteristics(),
+                this.getTaskList().getCurrentTask().getLoadPercent());
     }
 
     /**
@@ -122,21 +151,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.numPassengers * 100
-                / this.getCharacteristics().passengerCapacity);
-    }
-
-    /**
-     * Returns the total number of passengers to be loaded onto the aircraft based on the current
-     * task's load percentage.
-     *
-     * @return total number of passengers to be loaded
-     * @ass1
-     */
-    private int getPassengersToLoad() {
-        int passengerCapacity = this.getCharacteristics().passengerCapacity;
-        double loadRatio = (double) this.getTaskList().getCurrentTask().getLoadPercent() / 100;
-        return (int) Math.round(passengerCapacity * loadRatio);
+        return this.getCharacteristics().passengerOccupancy(this.numPassengers);
     }
 
     /**
@@ -170,8 +185,7 @@ public class PassengerAircraft extends Aircraft {
         super.tick();
 
         if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
-            int paxToLoadThisTick = (int) Math.round(this.getPassengersToLoad()
-                    / (double) this.getLoadingTime());
+            int paxToLoadThisTick = this.getLoadingSchedule().getCargoPerTick();
             this.numPassengers = Math.min(this.numPassengers + paxToLoadThisTick,
                     this.getCharacteristics().passengerCapacity);
         }
@@ -183,7 +197,7 @@ public class PassengerAircraft extends Aircraft {
      * callsign:model:taskListEncoded:fuelAmount:emergency:numPassengers
      * where:
      * callsign is the aircraft's callsign
-     * model is the Enum.name() of the aircraft's AircraftCharacteristics
+     * model is the name() of the aircraft's AircraftCharacteristics
      * taskListEncoded is the encode() representation of the aircraft's task list (see
      * TaskList.encode())
      * fuelAmount is the aircraft's current amount of fuel onboard, formatted to exactly two
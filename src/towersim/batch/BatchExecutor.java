@@ -0,0 +1,101 @@
+package towersim.batch;
+
+import towersim.control.SimulationMode;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch of independent scenarios concurrently on a fixed number of worker threads.
+ * <p>
+ * Each scenario builds and runs its own control tower, so runs share no mutable state; the only
+ * shared object is the BatchStatistics that results are folded into as each run completes.
+ * Scenarios are taken from an iterator only as worker threads become free, with at most a
+ * fixed number waiting for a thread, so the memory used stays flat however many scenarios the
+ * batch contains and however slowly they are run.
+ */
+public class BatchExecutor {
+    /** Number of scenarios allowed to wait for a free worker thread, per thread */
+    private static final int PENDING_PER_THREAD = 2;
+
+    /** Number of worker threads */
+    private final int numThreads;
+
+    /** Simulation mode in which each control tower is run */
+    private final SimulationMode mode;
+
+    /**
+     * Creates a new batch executor.
+     * @param numThreads - number of worker threads to run scenarios on
+     * @param mode - simulation mode in which each control tower is run
+     * @throws IllegalArgumentException if numThreads is less than one
+     */
+    public BatchExecutor(int numThreads, SimulationMode mode) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is required");
+        }
+        this.numThreads = numThreads;
+        this.mode = mode;
+    }
+
+    /**
+     * Runs every scenario given by the iterator and returns the aggregate statistics of the
+     * runs. Scenarios that cannot be run, e.g. because their save files are invalid, are
+     * counted as failures rather than stopping the batch.
+     * <p>
+     * The iterator is only used by the calling thread. This method returns once every scenario
+     * has finished running.
+     * @param scenarios - scenarios to run
+     * @return aggregate statistics of the runs
+     * @throws InterruptedException if the calling thread is interrupted while waiting for runs
+     */
+    public BatchStatistics run(Iterator<Scenario> scenarios) throws InterruptedException {
+        BatchStatistics statistics = new BatchStatistics();
+        Semaphore slots = new Semaphore(this.numThreads * (1 + PENDING_PER_THREAD));
+        ExecutorService workers = Executors.newFixedThreadPool(this.numThreads,
+                new WorkerThreadFactory());
+        try {
+            while (scenarios.hasNext()) {
+                Scenario scenario = scenarios.next();
+                slots.acquire();
+                workers.execute(() -> {
+                    try {
+                        statistics.accept(scenario.run(this.mode));
+                    } catch (Exception e) {
+                        statistics.acceptFailure(scenario, e);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            // keep waiting; long batches may take many minutes to drain
+        }
+        return statistics;
+    }
+
+    /**
+     * Creates named daemon worker threads, so that an abandoned batch does not keep the JVM
+     * alive.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        /** Number of threads created so far */
+        private final AtomicInteger numCreated = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "batch-worker-"
+                    + this.numCreated.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package towersim.batch;
+
+import java.util.Locale;
+
+/**
+ * Aggregate statistics over the results of a batch of scenario runs.
+ * <p>
+ * Results are folded in as they arrive and then discarded, so the memory used does not depend
+ * on the number of runs. Each statistic keeps its count, minimum, maximum, mean and variance,
+ * updated with Welford's method so that the mean and variance stay accurate over many runs.
+ * <p>
+ * A BatchStatistics instance is safe to update from several threads at once.
+ */
+public class BatchStatistics {
+    /** Number of landings per run */
+    private final Statistic landings = new Statistic();
+
+    /** Number of takeoffs per run */
+    private final Statistic takeoffs = new Statistic();
+
+    /** Landings per tick of each run */
+    private final Statistic landingRate = new Statistic();
+
+    /** Longest landing queue of each run */
+    private final Statistic maxLandingQueueSize = new Statistic();
+
+    /** Longest takeoff queue of each run */
+    private final Statistic maxTakeoffQueueSize = new Statistic();
+
+    /** Time taken by each run, in milliseconds */
+    private final Statistic elapsedMillis = new Statistic();
+
+    /** Number of runs that failed, e.g. because their save files were invalid */
+    private long numFailed = 0;
+
+    /** Message describing the first failure, or null if no run has failed */
+    private String firstFailure = null;
+
+    /**
+     * Folds the given result into these statistics.
+     * @param result - result of a successful run
+     */
+    public synchronized void accept(ScenarioResult result) {
+        this.landings.accept(result.getLandings());
+        this.takeoffs.accept(result.getTakeoffs());
+        this.landingRate.accept(result.getTicks() == 0 ? 0
+                : (double) result.getLandings() / result.getTicks());
+        this.maxLandingQueueSize.accept(result.getMaxLandingQueueSize());
+        this.maxTakeoffQueueSize.accept(result.getMaxTakeoffQueueSize());
+        this.elapsedMillis.accept(result.getElapsedNanos() / 1e6);
+    }
+
+    /**
+     * Records that the given scenario could not be run.
+     * @param scenario - scenario that failed
+     * @param cause - exception thrown by the run
+     */
+    public synchronized void acceptFailure(Scenario scenario, Exception cause) {
+        this.numFailed++;
+        if (this.firstFailure == null) {
+            this.firstFailure = scenario.getName() + ": " + cause;
+        }
+    }
+
+    /**
+     * Returns the number of runs that completed successfully.
+     * @return number of successful runs
+     */
+    public synchronized long getNumSucceeded() {
+        return this.landings.count;
+    }
+
+    /**
+     * Returns the number of runs that failed.
+     * @return number of failed runs
+     */
+    public synchronized long getNumFailed() {
+        return this.numFailed;
+    }
+
+    /**
+     * Returns the mean number of landings per successful run.
+     * @return mean landings, or 0 if no run has succeeded
+     */
+    public synchronized double getMeanLandings() {
+        return this.landings.mean;
+    }
+
+    /**
+     * Returns the mean number of takeoffs per successful run.
+     * @return mean takeoffs, or 0 if no run has succeeded
+     */
+    public synchronized double getMeanTakeoffs() {
+        return this.takeoffs.mean;
+    }
+
+    /**
+     * Returns the human-readable summary of these statistics, one statistic per line.
+     * @return summary of statistics
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "Runs: %d succeeded, %d failed", this.landings.count, this.numFailed));
+        if (this.firstFailure != null) {
+            summary.append(System.lineSeparator()).append("First failure: ")
+                    .append(this.firstFailure);
+        }
+        summary.append(System.lineSeparator()).append(this.landings.format("Landings"));
+        summary.append(System.lineSeparator()).append(this.takeoffs.format("Takeoffs"));
+        summary.append(System.lineSeparator())
+                .append(this.landingRate.format("Landings per tick"));
+        summary.append(System.lineSeparator())
+                .append(this.maxLandingQueueSize.format("Max landing queue"));
+        summary.append(System.lineSeparator())
+                .append(this.maxTakeoffQueueSize.format("Max takeoff queue"));
+        summary.append(System.lineSeparator())
+                .append(this.elapsedMillis.format("Run time (ms)"));
+        return summary.toString();
+    }
+
+    /**
+     * Running count, minimum, maximum, mean and variance of a series of values.
+     */
+    private static class Statistic {
+        /** Number of values seen */
+        private long count = 0;
+
+        /** Smallest value seen */
+        private double min = Double.POSITIVE_INFINITY;
+
+        /** Largest value seen */
+        private double max = Double.NEGATIVE_INFINITY;
+
+        /** Mean of the values seen */
+        private double mean = 0;
+
+        /** Sum of squared differences from the mean */
+        private double sumSquares = 0;
+
+        /**
+         * Folds the given value into this statistic.
+         * @param value - value to add
+         */
+        private void accept(double value) {
+            this.count++;
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+            double delta = value - this.mean;
+            this.mean += delta / this.count;
+            this.sumSquares += delta * (value - this.mean);
+        }
+
+        /**
+         * Returns a one-line summary of this statistic.
+         * @param label - label describing the values
+         * @return summary of this statistic
+         */
+        private String format(String label) {
+            if (this.count == 0) {
+                return label + ": no data";
+            }
+            double stdDev = this.count > 1 ? Math.sqrt(this.sumSquares / (this.count - 1)) : 0;
+            return String.format(Locale.ROOT, "%s: mean %.3f, sd %.3f, min %.3f, max %.3f",
+                    label, this.mean, stdDev, this.min, this.max);
+        }
+    }
+}
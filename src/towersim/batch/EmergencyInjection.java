@@ -0,0 +1,102 @@
+package towersim.batch;
+
+/**
+ * A state of emergency declared part-way through a scenario, either on a single aircraft or on
+ * every terminal of the airport.
+ * <p>
+ * The emergency is declared before the scenario's tick number {@code start} (counting from zero
+ * at the start of the run) and cleared before tick number {@code end}. Emergency injections are
+ * immutable, so they can be shared between scenarios.
+ */
+public final class EmergencyInjection {
+    /** Callsign of the aircraft in a state of emergency, or null for all terminals */
+    private final String callsign;
+
+    /** Tick of the run before which the emergency is declared */
+    private final long start;
+
+    /** Tick of the run before which the emergency is cleared */
+    private final long end;
+
+    /**
+     * Creates a new emergency injection.
+     * @param callsign - callsign of the aircraft to declare an emergency on, or null to declare
+     *                 an emergency on all terminals
+     * @param start - tick of the run before which the emergency is declared
+     * @param end - tick of the run before which the emergency is cleared
+     * @throws IllegalArgumentException if start is negative or end is not after start
+     */
+    public EmergencyInjection(String callsign, long start, long end) {
+        if (start < 0 || end <= start) {
+            throw new IllegalArgumentException("Invalid emergency period " + start + "-" + end);
+        }
+        this.callsign = callsign;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns the emergency injection described by the given text, which is either
+     * {@code terminals@start-end} or {@code CALLSIGN@start-end}.
+     * @param text - text describing the emergency injection
+     * @return decoded emergency injection
+     * @throws IllegalArgumentException if the text is not in the format above
+     */
+    public static EmergencyInjection parse(String text) {
+        String[] parts = text.split("@");
+        String[] period = parts.length == 2 ? parts[1].split("-") : new String[0];
+        if (period.length != 2 || parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Invalid emergency " + text
+                    + " (expected terminals@start-end or CALLSIGN@start-end)");
+        }
+        try {
+            return new EmergencyInjection(parts[0].equals("terminals") ? null : parts[0],
+                    Long.parseLong(period[0]), Long.parseLong(period[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid emergency period in " + text);
+        }
+    }
+
+    /**
+     * Returns the callsign of the aircraft in a state of emergency.
+     * @return callsign, or null if the emergency is declared on all terminals
+     */
+    public String getCallsign() {
+        return this.callsign;
+    }
+
+    /**
+     * Returns true if the emergency is declared on all terminals rather than on an aircraft.
+     * @return true if a terminal emergency; false otherwise
+     */
+    public boolean isTerminalEmergency() {
+        return this.callsign == null;
+    }
+
+    /**
+     * Returns the tick of the run before which the emergency is declared.
+     * @return start tick
+     */
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns the tick of the run before which the emergency is cleared.
+     * @return end tick
+     */
+    public long getEnd() {
+        return this.end;
+    }
+
+    /**
+     * Returns the human-readable string representation of this emergency injection, in the
+     * format accepted by parse(String).
+     * @return string representation of this emergency injection
+     */
+    @Override
+    public String toString() {
+        return (this.callsign == null ? "terminals" : this.callsign) + "@" + this.start + "-"
+                + this.end;
+    }
+}
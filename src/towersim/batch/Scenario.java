@@ -0,0 +1,218 @@
+package towersim.batch;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.SimulationMode;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes one independent simulation run of a batch: the save files the control tower is
+ * loaded from, how many ticks to run for and which emergencies to inject along the way.
+ * <p>
+ * A scenario only describes a run; every call to run() loads a fresh control tower, so
+ * scenarios are immutable and never share mutable state with each other or with other runs of
+ * the same scenario. Different fleets and gate layouts are described by different save files.
+ * <p>
+ * Scenarios can be read from a scenario file, one per line, in the format
+ * <pre>name ticks tick_file aircraft_file queues_file terminalsWithGates_file [emergency ...]</pre>
+ * where fields are separated by whitespace and each emergency is in the format accepted by
+ * EmergencyInjection.parse(String). Blank lines and lines starting with {@code #} are ignored.
+ */
+public final class Scenario {
+    /** Number of fields in a scenario line before the optional emergencies */
+    private static final int NUM_REQUIRED_FIELDS = 6;
+
+    /** Name identifying this scenario in results */
+    private final String name;
+
+    /** Number of ticks to run for */
+    private final long ticks;
+
+    /** Paths of the tick, aircraft, queues and terminalsWithGates save files */
+    private final String[] saveFiles;
+
+    /** Emergencies to declare and clear during the run */
+    private final List<EmergencyInjection> emergencies;
+
+    /**
+     * Creates a new scenario.
+     * @param name - name identifying the scenario in results
+     * @param ticks - number of ticks to run for
+     * @param tickFile - path of the file containing the number of ticks elapsed
+     * @param aircraftFile - path of the file containing the list of aircraft
+     * @param queuesFile - path of the file containing the takeoff/landing queues and loading map
+     * @param terminalsWithGatesFile - path of the file containing the terminals and their gates
+     * @param emergencies - emergencies to inject during the run
+     * @throws IllegalArgumentException if ticks is negative
+     */
+    public Scenario(String name, long ticks, String tickFile, String aircraftFile,
+            String queuesFile, String terminalsWithGatesFile,
+            List<EmergencyInjection> emergencies) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Number of ticks cannot be negative");
+        }
+        this.name = name;
+        this.ticks = ticks;
+        this.saveFiles = new String[] {tickFile, aircraftFile, queuesFile,
+            terminalsWithGatesFile};
+        this.emergencies = List.copyOf(emergencies);
+    }
+
+    /**
+     * Returns the scenario described by the given line of a scenario file.
+     * @param line - line describing the scenario, in the format described above
+     * @return decoded scenario
+     * @throws IllegalArgumentException if the line is not in the format described above
+     */
+    public static Scenario parse(String line) {
+        String[] fields = line.trim().split("\\s+");
+        if (fields.length < NUM_REQUIRED_FIELDS) {
+            throw new IllegalArgumentException("Expected at least " + NUM_REQUIRED_FIELDS
+                    + " fields in scenario: " + line);
+        }
+        long ticks;
+        try {
+            ticks = Long.parseLong(fields[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number of ticks in scenario: " + line);
+        }
+        List<EmergencyInjection> emergencies = new ArrayList<>();
+        for (int i = NUM_REQUIRED_FIELDS; i < fields.length; i++) {
+            emergencies.add(EmergencyInjection.parse(fields[i]));
+        }
+        return new Scenario(fields[0], ticks, fields[2], fields[3], fields[4], fields[5],
+                emergencies);
+    }
+
+    /**
+     * Returns true if the given line of a scenario file should be ignored.
+     * @param line - line of a scenario file
+     * @return true if the line is blank or a comment; false otherwise
+     */
+    public static boolean isIgnored(String line) {
+        String trimmed = line.trim();
+        return trimmed.isEmpty() || trimmed.startsWith("#");
+    }
+
+    /**
+     * Returns the name identifying this scenario.
+     * @return name of scenario
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the number of ticks this scenario runs for.
+     * @return number of ticks
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Returns the emergencies injected during this scenario.
+     * @return unmodifiable list of emergencies
+     */
+    public List<EmergencyInjection> getEmergencies() {
+        return this.emergencies;
+    }
+
+    /**
+     * Loads a fresh control tower from this scenario's save files and runs it.
+     * <p>
+     * Emergencies are declared and cleared between ticks. Emergencies on callsigns that do not
+     * belong to any aircraft of the control tower are ignored.
+     * @param mode - simulation mode in which to run the control tower
+     * @return result of the run
+     * @throws IOException if an IOException occurs when reading the save files
+     * @throws MalformedSaveException if the save files are invalid
+     */
+    public ScenarioResult run(SimulationMode mode) throws IOException, MalformedSaveException {
+        long startTime = System.nanoTime();
+        ControlTower tower;
+        // thousands of scenarios may be run, so close the files rather than leaving it to GC
+        try (FileReader tickReader = new FileReader(this.saveFiles[0]);
+                FileReader aircraftReader = new FileReader(this.saveFiles[1]);
+                FileReader queuesReader = new FileReader(this.saveFiles[2]);
+                FileReader terminalsReader = new FileReader(this.saveFiles[3])) {
+            tower = ControlTowerInitialiser.createControlTower(tickReader, aircraftReader,
+                    queuesReader, terminalsReader);
+        }
+        tower.setSimulationMode(mode);
+
+        Map<String, Aircraft> aircraftByCallsign = new HashMap<>();
+        if (!this.emergencies.isEmpty()) {
+            for (Aircraft aircraft : tower.getAircraft()) {
+                aircraftByCallsign.put(aircraft.getCallsign(), aircraft);
+            }
+        }
+
+        long startLandings = tower.getNumLandings();
+        long startTakeoffs = tower.getNumTakeoffs();
+        int maxLandingQueue = tower.getLandingQueue().size();
+        int maxTakeoffQueue = tower.getTakeoffQueue().size();
+        for (long tick = 0; tick < this.ticks; tick++) {
+            if (!this.emergencies.isEmpty()) {
+                this.injectEmergencies(tick, tower, aircraftByCallsign);
+            }
+            tower.tick();
+            maxLandingQueue = Math.max(maxLandingQueue, tower.getLandingQueue().size());
+            maxTakeoffQueue = Math.max(maxTakeoffQueue, tower.getTakeoffQueue().size());
+        }
+
+        return new ScenarioResult(this.name, this.ticks,
+                tower.getNumLandings() - startLandings, tower.getNumTakeoffs() - startTakeoffs,
+                maxLandingQueue, maxTakeoffQueue, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Declares or clears the emergencies that start or end before the given tick of the run.
+     * @param tick - tick of the run about to be run
+     * @param tower - control tower being run
+     * @param aircraftByCallsign - aircraft of the control tower by callsign
+     */
+    private void injectEmergencies(long tick, ControlTower tower,
+            Map<String, Aircraft> aircraftByCallsign) {
+        for (EmergencyInjection emergency : this.emergencies) {
+            boolean declare = emergency.getStart() == tick;
+            if (!declare && emergency.getEnd() != tick) {
+                continue;
+            }
+            if (emergency.isTerminalEmergency()) {
+                for (Terminal terminal : tower.getTerminals()) {
+                    tower.setEmergency(terminal, declare);
+                }
+            } else {
+                Aircraft aircraft = aircraftByCallsign.get(emergency.getCallsign());
+                if (aircraft != null) {
+                    tower.setEmergency(aircraft, declare);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the human-readable string representation of this scenario, in the format accepted
+     * by parse(String).
+     * @return string representation of this scenario
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(this.name + " " + this.ticks + " "
+                + String.join(" ", this.saveFiles));
+        for (EmergencyInjection emergency : this.emergencies) {
+            line.append(" ").append(emergency);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package towersim.batch;
+
+/**
+ * Outcome of a single run of a scenario.
+ * <p>
+ * Results are immutable and small, so they can be handed from the thread that ran the scenario
+ * to the thread that aggregates them.
+ */
+public final class ScenarioResult {
+    /** Name of the scenario that was run */
+    private final String name;
+
+    /** Number of ticks run */
+    private final long ticks;
+
+    /** Number of aircraft that landed during the run */
+    private final long landings;
+
+    /** Number of aircraft that took off during the run */
+    private final long takeoffs;
+
+    /** Longest landing queue seen after any tick of the run */
+    private final int maxLandingQueueSize;
+
+    /** Longest takeoff queue seen after any tick of the run */
+    private final int maxTakeoffQueueSize;
+
+    /** Time taken to load and run the scenario, in nanoseconds */
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new scenario result.
+     * @param name - name of the scenario that was run
+     * @param ticks - number of ticks run
+     * @param landings - number of aircraft that landed during the run
+     * @param takeoffs - number of aircraft that took off during the run
+     * @param maxLandingQueueSize - longest landing queue seen during the run
+     * @param maxTakeoffQueueSize - longest takeoff queue seen during the run
+     * @param elapsedNanos - time taken to load and run the scenario, in nanoseconds
+     */
+    public ScenarioResult(String name, long ticks, long landings, long takeoffs,
+            int maxLandingQueueSize, int maxTakeoffQueueSize, long elapsedNanos) {
+        this.name = name;
+        this.ticks = ticks;
+        this.landings = landings;
+        this.takeoffs = takeoffs;
+        this.maxLandingQueueSize = maxLandingQueueSize;
+        this.maxTakeoffQueueSize = maxTakeoffQueueSize;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the name of the scenario that was run.
+     * @return name of scenario
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the number of ticks run.
+     * @return number of ticks
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Returns the number of aircraft that landed during the run.
+     * @return number of landings
+     */
+    public long getLandings() {
+        return this.landings;
+    }
+
+    /**
+     * Returns the number of aircraft that took off during the run.
+     * @return number of takeoffs
+     */
+    public long getTakeoffs() {
+        return this.takeoffs;
+    }
+
+    /**
+     * Returns the longest landing queue seen after any tick of the run.
+     * @return maximum landing queue size
+     */
+    public int getMaxLandingQueueSize() {
+        return this.maxLandingQueueSize;
+    }
+
+    /**
+     * Returns the longest takeoff queue seen after any tick of the run.
+     * @return maximum takeoff queue size
+     */
+    public int getMaxTakeoffQueueSize() {
+        return this.maxTakeoffQueueSize;
+    }
+
+    /**
+     * Returns the time taken to load and run the scenario.
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the human-readable string representation of this result.
+     * @return string representation of this result
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d ticks, %d landings, %d takeoffs, max queues %d LAND %d "
+                + "TAKEOFF", this.name, this.ticks, this.landings, this.takeoffs,
+                this.maxLandingQueueSize, this.maxTakeoffQueueSize);
+    }
+}
@@ -3,6 +3,8 @@ package towersim.control;
 import towersim.aircraft.Aircraft;
 import towersim.util.Encodable;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -14,6 +16,11 @@ import java.util.List;
  * of the AircraftQueue.
  */
 public abstract class AircraftQueue implements Encodable {
+    /**
+     * IDs of the registered aircraft currently in the queue, used for fast membership checks
+     */
+    private final BitSet memberIds = new BitSet();
+
     /**
      * Adds the given aircraft to the queue.
      * @param aircraft - aircraft to add to queue
@@ -43,6 +50,22 @@ public abstract class AircraftQueue implements Encodable {
      */
     public abstract List<Aircraft> getAircraftInOrder();
 
+    /**
+     * Returns a list of the first aircraft in the queue, in order, e.g. to show the front of a
+     * long queue. Subclasses that can find the front of the queue without putting the whole
+     * queue in order should override this method.
+     * @param count - largest number of aircraft to return
+     * @return list of at most count aircraft from the front of the queue, in queue order
+     * @throws IllegalArgumentException if count is negative
+     */
+    public List<Aircraft> getFirstAircraftInOrder(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        List<Aircraft> inOrder = this.getAircraftInOrder();
+        return new ArrayList<>(inOrder.subList(0, Math.min(count, inOrder.size())));
+    }
+
     /**
      * Returns true if the given aircraft is in the queue.
      * @param aircraft - aircraft to find in queue
@@ -50,6 +73,71 @@ public abstract class AircraftQueue implements Encodable {
      */
     public abstract boolean containsAircraft(Aircraft aircraft);
 
+    /**
+     * Returns the number of aircraft in the queue.
+     * @return number of aircraft waiting in the queue
+     */
+    public int size() {
+        return this.getAircraftInOrder().size();
+    }
+
+    /**
+     * Records that the given aircraft has been added to the queue.
+     * Subclasses should call this whenever an aircraft is added.
+     * @param aircraft - aircraft added to the queue
+     */
+    protected void markMember(Aircraft aircraft) {
+        if (aircraft.getId() != Aircraft.UNASSIGNED_ID) {
+            this.memberIds.set(aircraft.getId());
+        }
+    }
+
+    /**
+     * Records that the given aircraft has been removed from the queue.
+     * Subclasses should call this whenever an aircraft is removed.
+     * @param aircraft - aircraft removed from the queue
+     */
+    protected void unmarkMember(Aircraft aircraft) {
+        if (aircraft.getId() != Aircraft.UNASSIGNED_ID) {
+            this.memberIds.clear(aircraft.getId());
+        }
+    }
+
+    /**
+     * Returns true if the given registered aircraft has been recorded as being in the queue.
+     * The result is only meaningful if the aircraft's ID has been assigned.
+     * @param aircraft - registered aircraft to look up
+     * @return true if recorded as a member; false otherwise
+     */
+    protected boolean isMarkedMember(Aircraft aircraft) {
+        return this.memberIds.get(aircraft.getId());
+    }
+
+    /**
+     * Returns the IDs of the aircraft in the queue, in queue order.
+     * @return IDs of the queued aircraft, in queue order
+     */
+    int[] getIdsInOrder() {
+        List<Aircraft> queueAircraft = this.getAircraftInOrder();
+        int[] ids = new int[queueAircraft.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = queueAircraft.get(i).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Rebuilds the membership index from the aircraft currently in the queue.
+     * Called by the control tower once it has assigned IDs to aircraft that were added to the
+     * queue before being registered.
+     */
+    void indexMembers() {
+        this.memberIds.clear();
+        for (Aircraft aircraft : this.getAircraftInOrder()) {
+            this.markMember(aircraft);
+        }
+    }
+
     /**
      * Returns the human-readable string representation of this aircraft queue.
      * The format of the string to return is
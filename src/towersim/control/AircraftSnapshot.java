@@ -0,0 +1,173 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.tasks.TaskType;
+import towersim.util.Centilitres;
+
+/**
+ * Immutable record of the state of one aircraft at the end of a tick, as published in a
+ * TowerSnapshot.
+ */
+public final class AircraftSnapshot {
+    /** ID of the aircraft in its control tower */
+    private final int id;
+
+    /** Callsign of the aircraft */
+    private final String callsign;
+
+    /** Characteristics of the aircraft */
+    private final AircraftCharacteristics characteristics;
+
+    /** Type of the aircraft's current task */
+    private final TaskType currentTaskType;
+
+    /** Fuel onboard, in centilitres */
+    private final long fuelCentilitres;
+
+    /** Whether the aircraft has declared an emergency */
+    private final boolean emergency;
+
+    /** Ticks of loading remaining, or 0 if the aircraft is not loading */
+    private final int loadingTicksRemaining;
+
+    /** Number of the terminal the aircraft is parked at, or -1 if not at a gate */
+    private final int terminalNumber;
+
+    /** Number of the gate the aircraft is parked at, or -1 if not at a gate */
+    private final int gateNumber;
+
+    /**
+     * Creates a snapshot of the given aircraft's current state.
+     * @param aircraft - aircraft to record
+     * @param loadingTicksRemaining - ticks of loading remaining, or 0 if not loading
+     * @param terminalNumber - number of the terminal it is parked at, or -1
+     * @param gateNumber - number of the gate it is parked at, or -1
+     */
+    AircraftSnapshot(Aircraft aircraft, int loadingTicksRemaining, int terminalNumber,
+            int gateNumber) {
+        this.id = aircraft.getId();
+        this.callsign = aircraft.getCallsign();
+        this.characteristics = aircraft.getCharacteristics();
+        this.currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
+        this.fuelCentilitres = aircraft.getFuelCentilitres();
+        this.emergency = aircraft.hasEmergency();
+        this.loadingTicksRemaining = loadingTicksRemaining;
+        this.terminalNumber = terminalNumber;
+        this.gateNumber = gateNumber;
+    }
+
+    /**
+     * Returns true if this snapshot still describes the given aircraft, so that it can be shared
+     * by the next TowerSnapshot.
+     * @param aircraft - aircraft to compare
+     * @param loadingTicks - ticks of loading remaining, or 0 if not loading
+     * @param terminal - number of the terminal it is parked at, or -1
+     * @param gate - number of the gate it is parked at, or -1
+     * @return true if the state is unchanged; false otherwise
+     */
+    boolean describes(Aircraft aircraft, int loadingTicks, int terminal, int gate) {
+        return this.callsign == aircraft.getCallsign()
+                && this.fuelCentilitres == aircraft.getFuelCentilitres()
+                && this.currentTaskType == aircraft.getTaskList().getCurrentTask().getType()
+                && this.emergency == aircraft.hasEmergency()
+                && this.loadingTicksRemaining == loadingTicks
+                && this.terminalNumber == terminal
+                && this.gateNumber == gate
+                && this.id == aircraft.getId()
+                && this.characteristics == aircraft.getCharacteristics();
+    }
+
+    /**
+     * Returns the ID of the aircraft in its control tower.
+     * @return aircraft ID
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the callsign of the aircraft.
+     * @return callsign
+     */
+    public String getCallsign() {
+        return this.callsign;
+    }
+
+    /**
+     * Returns the characteristics of the aircraft.
+     * @return aircraft characteristics
+     */
+    public AircraftCharacteristics getCharacteristics() {
+        return this.characteristics;
+    }
+
+    /**
+     * Returns the type of the aircraft's current task.
+     * @return current task type
+     */
+    public TaskType getCurrentTaskType() {
+        return this.currentTaskType;
+    }
+
+    /**
+     * Returns the amount of fuel onboard, in litres.
+     * @return fuel amount
+     */
+    public double getFuelAmount() {
+        return Centilitres.toLitres(this.fuelCentilitres);
+    }
+
+    /**
+     * Returns the percentage of fuel remaining, rounded as by Aircraft.getFuelPercentRemaining().
+     * @return percentage of fuel remaining
+     */
+    public int getFuelPercentRemaining() {
+        return (int) Math.round(100.0 * this.fuelCentilitres
+                / this.characteristics.fuelCapacityCentilitres);
+    }
+
+    /**
+     * Returns true if the aircraft had declared an emergency.
+     * @return true if in a state of emergency; false otherwise
+     */
+    public boolean hasEmergency() {
+        return this.emergency;
+    }
+
+    /**
+     * Returns the number of ticks of loading remaining.
+     * @return ticks of loading remaining, or 0 if the aircraft is not loading
+     */
+    public int getLoadingTicksRemaining() {
+        return this.loadingTicksRemaining;
+    }
+
+    /**
+     * Returns the number of the terminal the aircraft is parked at.
+     * @return terminal number, or -1 if the aircraft is not parked at a gate
+     */
+    public int getTerminalNumber() {
+        return this.terminalNumber;
+    }
+
+    /**
+     * Returns the number of the gate the aircraft is parked at.
+     * @return gate number, or -1 if the aircraft is not parked at a gate
+     */
+    public int getGateNumber() {
+        return this.gateNumber;
+    }
+
+    /**
+     * Returns the human-readable string representation of this snapshot.
+     * For example: "ABC123 (LAND, 42% fuel)".
+     * @return string representation of this snapshot
+     */
+    @Override
+    public String toString() {
+        return this.callsign + " (" + this.currentTaskType + ", "
+                + this.getFuelPercentRemaining() + "% fuel" + (this.emergency ? ", emergency" : "")
+                + ")";
+    }
+}
@@ -1,12 +1,15 @@
 package towersim.control;
 
 import towersim.aircraft.Aircraft;
-import towersim.aircraft.AircraftType;
+import towersim.events.EventLogWriter;
+import towersim.events.TowerEventStream;
+import towersim.events.TowerEventType;
 import towersim.ground.AirplaneTerminal;
 import towersim.ground.Gate;
 import towersim.ground.HelicopterTerminal;
 import towersim.ground.Terminal;
 import towersim.tasks.TaskType;
+import towersim.util.DenseIntMap;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 import towersim.util.Tickable;
@@ -27,7 +30,10 @@ public class ControlTower implements Tickable {
      */
     private long ticksElapsed;
 
-    /** List of all aircraft managed by the control tower. */
+    /**
+     * List of all aircraft managed by the control tower. Each aircraft's ID is its index in
+     * this list.
+     */
     private final List<Aircraft> aircraft;
 
     /**
@@ -41,9 +47,13 @@ public class ControlTower implements Tickable {
     private TakeoffQueue takeoffQueue;
 
     /**
-     * mapping of aircraft that are loading cargo to the number of ticks remaining for loading
+     * mapping of IDs of aircraft that are loading cargo to the number of ticks remaining for
+     * loading
      */
-    private Map<Aircraft, Integer> loadingAircraft;
+    private final DenseIntMap loadingAircraft;
+
+    /** Gates occupied by managed aircraft, indexed by aircraft ID; null if not at a gate */
+    private Gate[] gateOfAircraft;
 
     /** List of all terminals in the airport. */
     private final List<Terminal> terminals;
@@ -53,17 +63,68 @@ public class ControlTower implements Tickable {
      */
     private long tickNumbers;
 
+    /** Number of aircraft landed since the tower was created */
+    private long numLandings;
+
+    /** Number of aircraft that have taken off since the tower was created */
+    private long numTakeoffs;
+
+    /** Number of attempts to land an aircraft that failed because no gate was suitable */
+    private long numRejectedLandings;
+
+    /** Number of emergencies declared through setEmergency since the tower was created */
+    private long numEmergenciesDeclared;
+
+    /** Engine used to advance the simulation in event-driven mode; null in tick-by-tick mode */
+    private EventDrivenEngine engine;
+
+    /** Strategy choosing the gates that aircraft park at */
+    private GateAssignmentStrategy gateAssignment;
+
+    /** Scheduler choosing how the runway is used on each tick */
+    private RunwayScheduler runwayScheduler;
+
+    /** Throughput and queue waiting time of the runway */
+    private RunwayStatistics runwayStatistics;
+
+    /** Builds the published state snapshots; null if snapshots are not published */
+    private SnapshotPublisher snapshotPublisher;
+
+    /** Latest published state snapshot; null if snapshots are not published */
+    private volatile TowerSnapshot snapshot;
+
+    /** Stream of events happening at this control tower; null until first requested */
+    private TowerEventStream events;
+
+    /** Log every event happening at this control tower is written to; null if not logged */
+    private EventLogWriter eventLog;
+
+    /** Profiler timing the phases of each tick; null if ticks are not profiled */
+    private volatile TickProfiler profiler;
+
+    /** Counters describing this control tower for other threads, updated after each tick */
+    private final TowerCounters counters;
+
+    /** Number of changes made to this control tower other than by ticking */
+    private long changeCount;
+
+    /** Whether tick() is currently advancing this control tower tick by tick */
+    private boolean ticking;
+
     /**
      * Creates a new ControlTower.
      * The number of ticks elapsed, list of aircraft, landing queue, takeoff queue and map of
      * loading aircraft to loading times should all be set to the values passed as parameters.
      * The list of terminals should be initialised as an empty list.
+     * Every aircraft in the given list is registered with the control tower and assigned an ID
+     * equal to its index in the list.
      * @param ticksElapsed - number of ticks that have elapsed since the tower was first created
      * @param aircraft - list of aircraft managed by the control tower
      * @param landingQueue - queue of aircraft waiting to land
      * @param takeoffQueue - queue of aircraft waiting to take off
      * @param loadingAircraft - mapping of aircraft that are loading cargo to the number
      *                        of ticks remaining for loading
+     * @throws IllegalArgumentException if a loading aircraft is not in the list of aircraft
      */
     public ControlTower(long ticksElapsed, List<Aircraft> aircraft, LandingQueue landingQueue,
                         TakeoffQueue takeoffQueue, Map<Aircraft, Integer> loadingAircraft) {
@@ -71,9 +132,41 @@ public class ControlTower implements Tickable {
         this.aircraft = aircraft;
         this.landingQueue = landingQueue;
         this.takeoffQueue = takeoffQueue;
-        this.loadingAircraft = loadingAircraft;
+        this.loadingAircraft = new DenseIntMap();
+        this.gateOfAircraft = new Gate[Math.max(1, aircraft.size())];
         this.terminals = new ArrayList<>();
         this.tickNumbers = 0;
+        this.numLandings = 0;
+        this.numTakeoffs = 0;
+        this.numRejectedLandings = 0;
+        this.numEmergenciesDeclared = 0;
+        this.counters = new TowerCounters();
+        this.engine = null;
+        this.gateAssignment = GateAssignment.FIRST_FIT.create();
+        this.runwayScheduler = RunwayPolicy.ALTERNATING.create();
+        this.runwayStatistics = new RunwayStatistics();
+        this.snapshotPublisher = null;
+        this.snapshot = null;
+        this.events = null;
+        this.profiler = null;
+        this.changeCount = 0;
+        this.ticking = false;
+
+        // register the aircraft, then index the queues that were filled before registration
+        for (int i = 0; i < aircraft.size(); i++) {
+            aircraft.get(i).assignId(i);
+        }
+        this.landingQueue.indexMembers();
+        this.takeoffQueue.indexMembers();
+        for (int i = 0; i < aircraft.size(); i++) {
+            if (this.landingQueue.containsAircraft(aircraft.get(i))
+                    || this.takeoffQueue.containsAircraft(aircraft.get(i))) {
+                this.runwayStatistics.aircraftQueued(i, ticksElapsed);
+            }
+        }
+        for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+            this.loadingAircraft.put(this.idOf(entry.getKey()), entry.getValue());
+        }
     }
 
     /**
@@ -83,7 +176,14 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public void addTerminal(Terminal terminal) {
+        this.changeCount++;
         this.terminals.add(terminal);
+        // index any managed aircraft already parked in the new terminal
+        for (Gate gate : terminal.getGates()) {
+            if (gate.isOccupied() && this.isManaged(gate.getAircraftAtGate())) {
+                this.recordGate(gate.getAircraftAtGate(), gate);
+            }
+        }
     }
 
     /**
@@ -116,19 +216,60 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public void addAircraft(Aircraft aircraft) throws NoSuitableGateException {
+        this.prepareForExternalChange();
         TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
+        Gate gate = null;
         if (currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD) {
-            Gate gate = findUnoccupiedGate(aircraft);
+            gate = findUnoccupiedGate(aircraft);
             try {
                 gate.parkAircraft(aircraft);
             } catch (NoSpaceException ignored) {
                 // not possible, gate unoccupied
             }
         }
+        aircraft.assignId(this.aircraft.size());
         this.aircraft.add(aircraft);
+        if (gate != null) {
+            this.recordGate(aircraft, gate);
+        }
         this.placeAircraftInQueues(aircraft);
     }
 
+    /**
+     * Removes the given aircraft from the jurisdiction of this control tower, e.g. when it
+     * is handed off to another airport.
+     * <p>
+     * If the aircraft is parked at a gate, it leaves the gate. To keep aircraft IDs dense, each
+     * aircraft added after the removed aircraft moves down one ID, so getAircraft() stays in the
+     * order aircraft were added. Removal therefore takes time proportional to the number of
+     * aircraft added after the removed aircraft.
+     * @param aircraft - aircraft to remove
+     * @throws IllegalArgumentException if the aircraft is not managed by this control tower
+     * @throws IllegalStateException if the aircraft is waiting in the landing or takeoff queue,
+     * or is loading
+     */
+    public void removeAircraft(Aircraft aircraft) {
+        this.prepareForExternalChange();
+        int id = this.idOf(aircraft);
+        if (this.landingQueue.containsAircraft(aircraft)
+                || this.takeoffQueue.containsAircraft(aircraft)
+                || this.loadingAircraft.containsKey(id)) {
+            throw new IllegalStateException("Aircraft " + aircraft.getCallsign()
+                    + " cannot be removed while queued or loading");
+        }
+        Gate gate = this.findGateOfAircraft(aircraft);
+        if (gate != null) {
+            gate.aircraftLeaves();
+        }
+        this.recordGate(aircraft, null);
+
+        // close the gap, so that the remaining aircraft keep the order they were added in
+        this.aircraft.remove(id);
+        for (int fromId = id + 1; fromId <= this.aircraft.size(); fromId++) {
+            this.moveAircraft(this.aircraft.get(fromId - 1), fromId, fromId - 1);
+        }
+    }
+
     /**
      * Finds the gate where the given aircraft is parked, and returns null if the aircraft is
      * not parked at any gate in any terminal.
@@ -138,6 +279,13 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findGateOfAircraft(Aircraft aircraft) {
+        if (this.isManaged(aircraft) && aircraft.getId() < this.gateOfAircraft.length) {
+            Gate indexedGate = this.gateOfAircraft[aircraft.getId()];
+            if (indexedGate != null && indexedGate.getAircraftAtGate() == aircraft) {
+                return indexedGate;
+            }
+        }
+        // not indexed, e.g. if the gate was changed without going through the control tower
         for (Terminal terminal : this.terminals) {
             for (Gate gate : terminal.getGates()) {
                 if (Objects.equals(gate.getAircraftAtGate(), aircraft)) {
@@ -160,9 +308,46 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public List<Aircraft> getAircraft() {
+        this.synchronise();
         return new ArrayList<>(this.aircraft);
     }
 
+    /**
+     * Returns the aircraft with the given ID, e.g. the aircraft an event concerns.
+     * @param id - ID of the aircraft, from 0 to the number of managed aircraft minus one
+     * @return aircraft with the given ID
+     * @throws IndexOutOfBoundsException if no managed aircraft has the given ID
+     */
+    public Aircraft getAircraft(int id) {
+        this.synchronise();
+        return this.aircraft.get(id);
+    }
+
+    /**
+     * Returns the first managed aircraft whose current task is of the given type, in the order
+     * of getAircraft(), e.g. to show some of the aircraft that are away. Aircraft are examined
+     * and brought up to date one at a time, only until enough have been found, so the fleet is
+     * neither copied nor synchronised as a whole.
+     * @param type - type of current task to look for
+     * @param count - largest number of aircraft to return
+     * @return list of at most count aircraft with a current task of the given type
+     * @throws IllegalArgumentException if count is negative
+     */
+    public List<Aircraft> getFirstAircraftWithTask(TaskType type, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        List<Aircraft> found = new ArrayList<>(Math.min(count, this.aircraft.size()));
+        for (int id = 0; id < this.aircraft.size() && found.size() < count; id++) {
+            Aircraft aircraft = this.aircraft.get(id);
+            this.synchronise(aircraft);
+            if (aircraft.getTaskList().getCurrentTask().getType() == type) {
+                found.add(aircraft);
+            }
+        }
+        return found;
+    }
+
     /**
      * Returns the number of ticks that have elapsed for this control tower.
      * If the control tower was created with a non-zero number of elapsed ticks, this number
@@ -191,12 +376,67 @@ public class ControlTower implements Tickable {
         return this.takeoffQueue;
     }
 
+    /**
+     * Returns the number of aircraft that have landed at the airport since this control tower
+     * was created.
+     * @return number of landings
+     */
+    public long getNumLandings() {
+        return this.numLandings;
+    }
+
+    /**
+     * Returns the number of aircraft that have taken off from the airport since this control
+     * tower was created.
+     * @return number of takeoffs
+     */
+    public long getNumTakeoffs() {
+        return this.numTakeoffs;
+    }
+
+    /**
+     * Returns the number of attempts to land an aircraft that failed because no suitable gate
+     * was free, since this control tower was created.
+     * @return number of rejected landings
+     */
+    public long getNumRejectedLandings() {
+        return this.numRejectedLandings;
+    }
+
+    /**
+     * Returns the number of emergencies declared on aircraft and terminals through
+     * setEmergency(Aircraft, boolean) and setEmergency(Terminal, boolean) since this control
+     * tower was created.
+     * @return number of emergencies declared
+     */
+    public long getNumEmergenciesDeclared() {
+        return this.numEmergenciesDeclared;
+    }
+
     /**
      * Returns the mapping of loading aircraft to their remaining load times.
+     * The returned map is ordered by aircraft callsign (lexicographically).
+     * Adding or removing entries from the returned map should not affect the control tower.
      * @return loading aircraft map
      */
     public Map<Aircraft, Integer> getLoadingAircraft() {
-        return this.loadingAircraft;
+        this.synchronise();
+        Map<Aircraft, Integer> loadingAircraftByCallsign = new TreeMap<>(Comparator
+                .comparing(Aircraft::getCallsign));
+        for (int id = this.loadingAircraft.firstKey(); id >= 0;
+                id = this.loadingAircraft.nextKey(id)) {
+            loadingAircraftByCallsign.put(this.aircraft.get(id),
+                    this.loadingAircraft.getOrDefault(id, 0));
+        }
+        return loadingAircraftByCallsign;
+    }
+
+    /**
+     * Returns the number of aircraft currently loading at a gate.
+     * @return number of loading aircraft
+     */
+    public int getNumLoadingAircraft() {
+        return this.loadingAircraft.size();
     }
 
     /**
@@ -214,6 +454,11 @@ public class ControlTower implements Tickable {
      * <p>
      * If no unoccupied gates could be found across all compatible terminals, a
      * {@code NoSuitableGateException} should be thrown.
+     * <p>
+     * The gate is chosen by the control tower's gate assignment strategy (see
+     * setGateAssignmentStrategy(GateAssignmentStrategy)); the default strategy,
+     * GateAssignment.FIRST_FIT, chooses gates as described above. Finding a gate does not
+     * change the state of the control tower.
      *
      * @param aircraft aircraft for which to find gate
      * @return gate for given aircraft if one exists
@@ -221,27 +466,54 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findUnoccupiedGate(Aircraft aircraft) throws NoSuitableGateException {
-        AircraftType aircraftType = aircraft.getCharacteristics().type;
-        for (Terminal terminal : terminals) {
-            // terminal in a state of emergency should not be considered
-            if (!(terminal.hasEmergency())) {
-                /*
-                 * Only check for available gates at terminals that are of the same aircraft type as
-                 * the aircraft
-                 */
-                if ((terminal instanceof AirplaneTerminal && aircraftType == AircraftType.AIRPLANE)
-                        || (terminal instanceof HelicopterTerminal
-                        && aircraftType == AircraftType.HELICOPTER)) {
-                    try {
-                        // This terminal found a gate, return it
-                        return terminal.findUnoccupiedGate();
-                    } catch (NoSuitableGateException e) {
-                        // If this terminal has no unoccupied gates, try the next one
-                    }
-                }
-            }
-        }
-        throw new NoSuitableGateException("No gate available for aircraft");
+        return this.gateAssignment.chooseGate(this, aircraft);
+    }
+
+    /**
+     * Sets the strategy used to choose the gates that aircraft park at when they land or are
+     * added. Control towers use GateAssignment.FIRST_FIT, as described by
+     * findUnoccupiedGate(Aircraft), unless set otherwise.
+     * @param strategy - gate assignment strategy, not used by any other control tower
+     */
+    public void setGateAssignmentStrategy(GateAssignmentStrategy strategy) {
+        this.gateAssignment = strategy;
+    }
+
+    /**
+     * Returns the strategy used to choose the gates that aircraft park at.
+     * @return gate assignment strategy
+     */
+    public GateAssignmentStrategy getGateAssignmentStrategy() {
+        return this.gateAssignment;
+    }
+
+    /**
+     * Sets the scheduler choosing how the runway is used on each tick, and resets the runway
+     * statistics so that they describe the new scheduler. Control towers use
+     * RunwayPolicy.ALTERNATING, as described by tick(), unless set otherwise.
+     * @param scheduler - runway scheduler
+     */
+    public void setRunwayScheduler(RunwayScheduler scheduler) {
+        this.changeCount++;
+        this.runwayScheduler = scheduler;
+        this.runwayStatistics.reset();
+    }
+
+    /**
+     * Returns the scheduler choosing how the runway is used on each tick.
+     * @return runway scheduler
+     */
+    public RunwayScheduler getRunwayScheduler() {
+        return this.runwayScheduler;
+    }
+
+    /**
+     * Returns the throughput and queue waiting time of the runway since the runway scheduler
+     * was last set.
+     * @return runway statistics
+     */
+    public RunwayStatistics getRunwayStatistics() {
+        return this.runwayStatistics;
     }
 
     /**
@@ -260,8 +532,9 @@ public class ControlTower implements Tickable {
      * @return true if an aircraft was successfully landed and parked; false otherwise
      */
     public boolean tryLandAircraft() {
+        this.prepareForExternalChange();
         // no aircraft in the landing queue
-        if (this.landingQueue.getAircraftInOrder().isEmpty()) {
+        if (this.landingQueue.size() == 0) {
             return false;
         } else {
             try {
@@ -275,13 +548,21 @@ public class ControlTower implements Tickable {
                 } catch (NoSpaceException ignored) {
                     // do nothing
                 }
+                this.recordGate(removedAircraft, suitableGate);
+                if (this.isManaged(removedAircraft)) {
+                    this.runwayStatistics.aircraftLanded(removedAircraft.getId(),
+                            this.ticksElapsed);
+                }
+                this.emit(TowerEventType.AIRCRAFT_LANDED, removedAircraft, null);
                 // unload passengers or freight
                 removedAircraft.unload();
                 // move aircraft to the next task
                 removedAircraft.getTaskList().moveToNextTask();
+                this.numLandings++;
                 return true;
             } catch (NoSuitableGateException e) {
                 // if no suitable gate
+                this.numRejectedLandings++;
                 return false;
             }
         }
@@ -294,10 +575,68 @@ public class ControlTower implements Tickable {
      * the queue and it should move to the next task in its task list.
      */
     public void tryTakeOffAircraft() {
-        if (this.takeoffQueue.getAircraftInOrder().size() != 0) {
+        this.prepareForExternalChange();
+        if (this.takeoffQueue.size() != 0) {
             this.takeoffQueue.peekAircraft().getTaskList().moveToNextTask();
-            this.takeoffQueue.removeAircraft();
+            Aircraft departed = this.takeoffQueue.removeAircraft();
+            if (this.isManaged(departed)) {
+                this.runwayStatistics.aircraftTookOff(departed.getId(), this.ticksElapsed);
+            }
+            this.emit(TowerEventType.AIRCRAFT_TOOK_OFF, departed, null);
+            this.numTakeoffs++;
+        }
+    }
+
+    /**
+     * Uses the runway for the current tick in the way chosen by the runway scheduler, and
+     * records the outcome in the runway statistics.
+     * @return aircraft that landed or took off, or null if the runway was not used
+     */
+    Aircraft useRunway() {
+        RunwayUse use = this.runwayScheduler.chooseRunwayUse(this, this.tickNumbers);
+        Aircraft moved;
+        switch (use) {
+            case LAND_FIRST:
+                moved = this.landNext();
+                if (moved == null) {
+                    moved = this.takeOffNext();
+                }
+                break;
+            case TAKEOFF_FIRST:
+                moved = this.takeOffNext();
+                if (moved == null) {
+                    moved = this.landNext();
+                }
+                break;
+            case LAND_ONLY:
+                moved = this.landNext();
+                break;
+            case TAKEOFF_ONLY:
+            default:
+                moved = this.takeOffNext();
+                break;
         }
+        this.runwayStatistics.slotEnded(moved != null);
+        return moved;
+    }
+
+    /**
+     * Lands the aircraft at the front of the landing queue if possible.
+     * @return aircraft that landed, or null if none could land
+     */
+    private Aircraft landNext() {
+        Aircraft landing = this.landingQueue.peekAircraft();
+        return this.tryLandAircraft() ? landing : null;
+    }
+
+    /**
+     * Lets the aircraft at the front of the takeoff queue take off, if any.
+     * @return aircraft that took off, or null if none was waiting
+     */
+    private Aircraft takeOffNext() {
+        Aircraft takingOff = this.takeoffQueue.peekAircraft();
+        this.tryTakeOffAircraft();
+        return takingOff;
     }
 
     /**
@@ -309,30 +648,42 @@ public class ControlTower implements Tickable {
      * parked at and should move on to its next task.
      */
     public void loadAircraft() {
-        // put all aircraft will be removed into removedAircraft list
-        List<Aircraft> removedAircraft = new ArrayList<Aircraft>();
-
-        for (Map.Entry<Aircraft, Integer> loadAircraft : this.loadingAircraft.entrySet()) {
+        this.prepareForExternalChange();
+        for (int id = this.loadingAircraft.firstKey(); id >= 0;
+                id = this.loadingAircraft.nextKey(id)) {
             // time remaining decremented by one tick
-            loadAircraft.setValue(loadAircraft.getValue() - 1);
-            if (loadAircraft.getValue() == 0) {
-                removedAircraft.add(loadAircraft.getKey());
-                // finish loading aircraft should leave the gate and move to next task
-                this.findGateOfAircraft(loadAircraft.getKey()).aircraftLeaves();
-                loadAircraft.getKey().getTaskList().moveToNextTask();
+            int ticksRemaining = this.loadingAircraft.getOrDefault(id, 0) - 1;
+            if (ticksRemaining == 0) {
+                // removing the current key does not affect iteration to the next key
+                this.finishLoading(id);
+            } else {
+                this.loadingAircraft.put(id, ticksRemaining);
             }
         }
+    }
 
-        // remove finished loading aircraft from the loading map
-        for (Aircraft aircraft : removedAircraft) {
-            this.loadingAircraft.remove(aircraft);
+    /**
+     * Removes the aircraft with the given ID from the loading map once it has finished loading.
+     * The aircraft leaves the gate it is parked at and moves on to its next task.
+     * @param id - ID of the aircraft that finished loading
+     */
+    void finishLoading(int id) {
+        this.loadingAircraft.remove(id);
+        Aircraft finishedAircraft = this.aircraft.get(id);
+        Gate gate = this.findGateOfAircraft(finishedAircraft);
+        if (gate != null) {
+            gate.aircraftLeaves();
         }
+        this.recordGate(finishedAircraft, null);
+        finishedAircraft.getTaskList().moveToNextTask();
+        this.emit(TowerEventType.LOADING_COMPLETED, finishedAircraft, null);
     }
 
     /**
      * Calls placeAircraftInQueues(Aircraft) on all aircraft managed by the control tower.
      */
     public void placeAllAircraftInQueues() {
+        this.prepareForExternalChange();
         for (Aircraft aircraftControlled : this.aircraft) {
             this.placeAircraftInQueues(aircraftControlled);
         }
@@ -350,18 +701,548 @@ public class ControlTower implements Tickable {
      * @param aircraft - aircraft to move to appropriate queue
      */
     public void placeAircraftInQueues(Aircraft aircraft) {
+        this.prepareForExternalChange();
         // current task type is LAND
         if (aircraft.getTaskList().getCurrentTask().getType().equals(TaskType.LAND)
                 && !(this.landingQueue.containsAircraft(aircraft))) {
             this.landingQueue.addAircraft(aircraft);
+            this.recordQueued(aircraft);
+            this.emit(TowerEventType.LANDING_QUEUE_JOINED, aircraft, null);
         // current task type is TAKEOFF
         } else if (aircraft.getTaskList().getCurrentTask().getType().equals(TaskType.TAKEOFF)
                 && !(this.takeoffQueue.containsAircraft(aircraft))) {
             this.takeoffQueue.addAircraft(aircraft);
+            this.recordQueued(aircraft);
+            this.emit(TowerEventType.TAKEOFF_QUEUE_JOINED, aircraft, null);
         // current task type is LOAD
         } else if (aircraft.getTaskList().getCurrentTask().getType().equals(TaskType.LOAD)
-                && !(this.loadingAircraft.containsKey(aircraft))) {
-            this.loadingAircraft.put(aircraft, aircraft.getLoadingTime());
+                && !(this.loadingAircraft.containsKey(this.idOf(aircraft)))) {
+            this.loadingAircraft.put(aircraft.getId(), aircraft.getLoadingTime());
+            this.emit(TowerEventType.LOADING_STARTED, aircraft, null);
+        }
+    }
+
+    /**
+     * Returns an independent copy of this control tower in its current state, for evaluating
+     * what would happen if the simulation were changed or run on.
+     * <p>
+     * The fork has its own copies of every aircraft, queue, the loading map, terminals and
+     * gates, so changes to the fork and to this control tower never affect each other.
+     * Immutable state is shared rather than copied: aircraft models, task sequences (only the
+     * position in each task list is copied) and loading schedules. The fork uses the same
+     * simulation mode, and continues counting ticks, landings and takeoffs from this control
+     * tower's values.
+     * <p>
+     * The copy is made eagerly, in time and memory proportional to the number of aircraft and
+     * gates, rather than sharing structure with this control tower until it is first written.
+     * Copying on write would not make forks cheaper in practice: in TICK_BY_TICK mode the first
+     * tick writes every aircraft, and both towers hand out their live aircraft, queues and
+     * terminals, any of which callers may change. ForkBenchmark measures the cost of forking
+     * against that of the what-if evaluation it serves.
+     * @return forked control tower
+     */
+    public ControlTower fork() {
+        this.synchronise();
+        List<Aircraft> forkAircraft = new ArrayList<>(this.aircraft.size());
+        for (Aircraft original : this.aircraft) {
+            forkAircraft.add(original.copy());
+        }
+
+        // queues are rebuilt from the copies, which share their originals' IDs
+        LandingQueue forkLandingQueue = new LandingQueue();
+        for (Aircraft original : this.landingQueue.getAircraftInArrivalOrder()) {
+            forkLandingQueue.addAircraft(forkAircraft.get(this.idOf(original)));
+        }
+        TakeoffQueue forkTakeoffQueue = new TakeoffQueue();
+        for (Aircraft original : this.takeoffQueue.getAircraftInOrder()) {
+            forkTakeoffQueue.addAircraft(forkAircraft.get(this.idOf(original)));
+        }
+
+        ControlTower fork = new ControlTower(this.ticksElapsed, forkAircraft, forkLandingQueue,
+                forkTakeoffQueue, Collections.emptyMap());
+        for (int id = this.loadingAircraft.firstKey(); id >= 0;
+                id = this.loadingAircraft.nextKey(id)) {
+            fork.loadingAircraft.put(id, this.loadingAircraft.getOrDefault(id, 0));
+        }
+        for (Terminal original : this.terminals) {
+            Terminal copy = original instanceof HelicopterTerminal
+                    ? new HelicopterTerminal(original.getTerminalNumber())
+                    : new AirplaneTerminal(original.getTerminalNumber());
+            if (original.hasEmergency()) {
+                copy.declareEmergency();
+            }
+            for (Gate gate : original.getGates()) {
+                Gate gateCopy = new Gate(gate.getGateNumber());
+                Aircraft parked = gate.getAircraftAtGate();
+                try {
+                    if (parked != null) {
+                        gateCopy.parkAircraft(this.isManaged(parked)
+                                ? forkAircraft.get(parked.getId()) : parked.copy());
+                    }
+                    copy.addGate(gateCopy);
+                } catch (NoSpaceException ignored) {
+                    // not possible, the copy has the same number of gates as the original
+                }
+            }
+            fork.addTerminal(copy);
+        }
+        fork.tickNumbers = this.tickNumbers;
+        fork.numLandings = this.numLandings;
+        fork.numTakeoffs = this.numTakeoffs;
+        fork.numRejectedLandings = this.numRejectedLandings;
+        fork.numEmergenciesDeclared = this.numEmergenciesDeclared;
+        fork.gateAssignment = this.gateAssignment.copy();
+        fork.runwayScheduler = this.runwayScheduler;
+        fork.runwayStatistics = this.runwayStatistics.copy();
+        fork.setSimulationMode(this.getSimulationMode());
+        return fork;
+    }
+
+    /**
+     * Replaces the entire state of this control tower with a copy of the given control tower's
+     * state, e.g. to return to a snapshot taken earlier with fork().
+     * <p>
+     * Afterwards this control tower manages copies of the snapshot's aircraft, queues,
+     * terminals and gates, as if it had been forked from the snapshot, and the snapshot is left
+     * unchanged. It also takes a copy of the snapshot's gate assignment strategy, so that
+     * strategies which remember earlier choices carry on from the snapshot's choices. This
+     * control tower keeps its own simulation mode and runway scheduler. References to aircraft,
+     * queues and terminals obtained from this control tower before the call are no longer
+     * managed by it.
+     * @param snapshot - control tower whose state to copy
+     */
+    public void restore(ControlTower snapshot) {
+        this.prepareForExternalChange();
+        ControlTower copy = snapshot.fork();
+        this.ticksElapsed = copy.ticksElapsed;
+        this.aircraft.clear();
+        this.aircraft.addAll(copy.aircraft);
+        this.landingQueue = copy.landingQueue;
+        this.takeoffQueue = copy.takeoffQueue;
+        this.loadingAircraft.clear();
+        for (int id = copy.loadingAircraft.firstKey(); id >= 0;
+                id = copy.loadingAircraft.nextKey(id)) {
+            this.loadingAircraft.put(id, copy.loadingAircraft.getOrDefault(id, 0));
+        }
+        this.gateOfAircraft = copy.gateOfAircraft;
+        this.terminals.clear();
+        this.terminals.addAll(copy.terminals);
+        this.tickNumbers = copy.tickNumbers;
+        this.numLandings = copy.numLandings;
+        this.numTakeoffs = copy.numTakeoffs;
+        this.numRejectedLandings = copy.numRejectedLandings;
+        this.numEmergenciesDeclared = copy.numEmergenciesDeclared;
+        this.gateAssignment = copy.gateAssignment;
+        this.runwayStatistics = copy.runwayStatistics;
+        this.publishSnapshot();
+        this.publishCounters();
+    }
+
+    /**
+     * Sets whether this control tower publishes an immutable snapshot of its state at the end
+     * of every tick, for threads other than the one ticking it to read (see getSnapshot()).
+     * <p>
+     * Publishing is off by default. Each snapshot records the state of every aircraft, so in
+     * SimulationMode.EVENT_DRIVEN mode publishing brings every aircraft up to date on each
+     * tick, as tick-by-tick processing does.
+     * @param publishing - true to publish snapshots; false to stop publishing them
+     */
+    public void setPublishingSnapshots(boolean publishing) {
+        if (publishing && this.snapshotPublisher == null) {
+            this.snapshotPublisher = new SnapshotPublisher();
+            this.publishSnapshot();
+        } else if (!publishing) {
+            this.snapshotPublisher = null;
+            this.snapshot = null;
+        }
+    }
+
+    /**
+     * Returns true if this control tower publishes a snapshot of its state after every tick.
+     * @return true if publishing snapshots; false otherwise
+     */
+    public boolean isPublishingSnapshots() {
+        return this.snapshotPublisher != null;
+    }
+
+    /**
+     * Returns the most recently published snapshot of this control tower's state.
+     * <p>
+     * Unlike every other method of this class, this method may be called from any thread,
+     * without synchronisation, while another thread ticks the control tower. The snapshot
+     * returned is immutable and describes the state at the end of a single tick, or after the
+     * last call to publishSnapshot().
+     * @return latest snapshot, or null if snapshots are not published
+     */
+    public TowerSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Publishes a snapshot of this control tower's current state, e.g. after changing it
+     * other than by ticking so that readers need not wait for the next tick. Does nothing if
+     * snapshots are not published.
+     */
+    public void publishSnapshot() {
+        if (this.snapshotPublisher != null) {
+            this.synchronise();
+            this.snapshot = this.snapshotPublisher.build(this);
+        }
+    }
+
+    /**
+     * Sets how this control tower advances the simulation on each call to tick().
+     * Switching mode does not change the state of the simulation.
+     * @param mode - simulation mode to use
+     */
+    public void setSimulationMode(SimulationMode mode) {
+        if (mode == SimulationMode.EVENT_DRIVEN && this.engine == null) {
+            this.engine = new EventDrivenEngine(this);
+        } else if (mode == SimulationMode.TICK_BY_TICK && this.engine != null) {
+            this.engine.invalidate();
+            this.engine = null;
+        }
+    }
+
+    /**
+     * Returns how this control tower advances the simulation on each call to tick().
+     * Control towers use SimulationMode.TICK_BY_TICK unless set otherwise.
+     * @return current simulation mode
+     */
+    public SimulationMode getSimulationMode() {
+        return this.engine == null ? SimulationMode.TICK_BY_TICK : SimulationMode.EVENT_DRIVEN;
+    }
+
+    /**
+     * Brings every aircraft up to date with the current tick.
+     * In event-driven mode, aircraft part-way through a run of AWAY or WAIT tasks or through
+     * loading are only updated when observed; getAircraft() and getLoadingAircraft() call this
+     * method, and it should be called before inspecting aircraft references that were obtained
+     * earlier. In tick-by-tick mode, aircraft are always up to date and this has no effect.
+     */
+    public void synchronise() {
+        if (this.engine != null) {
+            this.engine.synchronise();
+        }
+    }
+
+    /**
+     * Brings the given aircraft up to date with the current tick, as synchronise() does for
+     * every aircraft, e.g. before showing an aircraft that is parked at a gate. Has no effect
+     * if the aircraft is not managed by this control tower.
+     * @param aircraft - aircraft to bring up to date
+     */
+    public void synchronise(Aircraft aircraft) {
+        if (this.engine != null && this.isManaged(aircraft)) {
+            this.engine.synchronise(aircraft.getId());
+        }
+    }
+
+    /**
+     * Declares or clears a state of emergency on the given aircraft, and publishes the change
+     * to the event stream.
+     * @param aircraft - aircraft whose state of emergency to change
+     * @param declared - true to declare an emergency; false to clear it
+     */
+    public void setEmergency(Aircraft aircraft, boolean declared) {
+        this.prepareForExternalChange();
+        if (declared) {
+            aircraft.declareEmergency();
+            this.numEmergenciesDeclared++;
+        } else {
+            aircraft.clearEmergency();
+        }
+        this.emit(declared ? TowerEventType.EMERGENCY_DECLARED
+                : TowerEventType.EMERGENCY_CLEARED, aircraft, null);
+    }
+
+    /**
+     * Declares or clears a state of emergency on the given terminal, and publishes the change
+     * to the event stream.
+     * @param terminal - terminal whose state of emergency to change
+     * @param declared - true to declare an emergency; false to clear it
+     */
+    public void setEmergency(Terminal terminal, boolean declared) {
+        this.prepareForExternalChange();
+        if (declared) {
+            terminal.declareEmergency();
+            this.numEmergenciesDeclared++;
+        } else {
+            terminal.clearEmergency();
+        }
+        this.emit(declared ? TowerEventType.EMERGENCY_DECLARED
+                : TowerEventType.EMERGENCY_CLEARED, -1, null, -1, terminal.getTerminalNumber());
+    }
+
+    /**
+     * Sets the profiler that times the phases of each tick, or switches profiling off if null.
+     * May be called from any thread; the change applies from the next tick.
+     * @param profiler - profiler to record timings in, or null
+     */
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Returns the profiler timing the phases of each tick.
+     * @return profiler, or null if ticks are not profiled
+     */
+    public TickProfiler getProfiler() {
+        return this.profiler;
+    }
+
+    /**
+     * Returns the counters describing this control tower, which any thread can read without
+     * locking. They are updated at the end of every tick and by publishCounters().
+     * @return counters of this control tower
+     */
+    public TowerCounters getCounters() {
+        return this.counters;
+    }
+
+    /**
+     * Updates the counters returned by getCounters() with the current state, e.g. after the
+     * control tower has been changed between ticks. Must only be called by the thread ticking
+     * the control tower.
+     */
+    public void publishCounters() {
+        this.counters.update(this);
+    }
+
+    /**
+     * Returns the stream of events happening at this control tower, creating it with
+     * TowerEventStream.DEFAULT_CAPACITY on the first call.
+     * <p>
+     * Events are published as the control tower changes: when aircraft join a queue, land,
+     * take off, start or finish loading, or are parked at or leave a gate, and when
+     * emergencies are set through setEmergency(Aircraft, boolean) or
+     * setEmergency(Terminal, boolean). Forks, and the states restored by
+     * restore(ControlTower), do not publish the events that led to them.
+     * @return event stream
+     */
+    public TowerEventStream getEventStream() {
+        if (this.events == null) {
+            this.events = new TowerEventStream(TowerEventStream.DEFAULT_CAPACITY);
+        }
+        return this.events;
+    }
+
+    /**
+     * Sets the log that every event happening at this control tower is appended to, whether
+     * or not it is published to the event stream, or stops logging events if null. The log
+     * is not closed when replaced; its owner must close it once the control tower is no longer
+     * ticked. Forks do not log events.
+     * @param eventLog - log to append events to, or null
+     */
+    public void setEventLog(EventLogWriter eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Returns the log that every event happening at this control tower is appended to.
+     * @return event log, or null if events are not logged
+     */
+    public EventLogWriter getEventLog() {
+        return this.eventLog;
+    }
+
+    /**
+     * Records that the state of this control tower has been changed without going through its
+     * methods, e.g. by declaring an emergency on one of its aircraft or terminals or adding a
+     * gate to one of its terminals, so that state derived from it is recomputed.
+     */
+    public void markChanged() {
+        this.prepareForExternalChange();
+    }
+
+    /**
+     * Returns the number of changes made to this control tower other than by ticking it.
+     * State derived from the control tower, such as a forecast, remains valid while this
+     * count and the number of ticks elapsed are unchanged. Changes made to aircraft or
+     * terminals directly are only counted if markChanged() is called.
+     * @return number of changes made other than by ticking
+     */
+    public long getChangeCount() {
+        return this.changeCount;
+    }
+
+    /**
+     * Brings every aircraft up to date and discards the event-driven schedule before the
+     * control tower is changed by anything other than its own engine, and counts the change
+     * unless it is made by tick().
+     */
+    private void prepareForExternalChange() {
+        boolean advancing = this.engine != null && this.engine.isAdvancing();
+        if (!this.ticking && !advancing) {
+            this.changeCount++;
+        }
+        if (this.engine != null && !advancing) {
+            this.engine.invalidate();
+        }
+    }
+
+    /**
+     * Returns the live list of aircraft managed by this control tower, indexed by ID.
+     * @return managed aircraft
+     */
+    List<Aircraft> getManagedAircraft() {
+        return this.aircraft;
+    }
+
+    /**
+     * Returns the live mapping of loading aircraft IDs to remaining loading ticks.
+     * @return loading map
+     */
+    DenseIntMap getLoadingMap() {
+        return this.loadingAircraft;
+    }
+
+    /**
+     * Returns the number of times tick() has been called on this control tower.
+     * @return number of ticks since creation
+     */
+    long getTickNumbers() {
+        return this.tickNumbers;
+    }
+
+    /**
+     * Advances the tick counters at the start of a tick.
+     */
+    void advanceClock() {
+        this.tickNumbers += 1;
+        this.ticksElapsed += 1;
+    }
+
+    /**
+     * Returns true if the given aircraft is registered with this control tower, in which case
+     * its ID is its index in getAircraft(). Unlike getAircraft(), this neither copies nor
+     * synchronises the aircraft.
+     * @param aircraft - aircraft to check
+     * @return true if the aircraft is managed by this control tower; false otherwise
+     */
+    public boolean isManaged(Aircraft aircraft) {
+        int id = aircraft.getId();
+        return id >= 0 && id < this.aircraft.size() && this.aircraft.get(id) == aircraft;
+    }
+
+    /**
+     * Returns the ID of the given aircraft, which must be managed by this control tower.
+     * @param aircraft - managed aircraft
+     * @return ID of the aircraft
+     * @throws IllegalArgumentException if the aircraft is not managed by this control tower
+     */
+    private int idOf(Aircraft aircraft) {
+        if (!this.isManaged(aircraft)) {
+            throw new IllegalArgumentException("Aircraft " + aircraft.getCallsign()
+                    + " is not managed by this control tower");
+        }
+        return aircraft.getId();
+    }
+
+    /**
+     * Gives a managed aircraft a new, vacant ID, carrying its queue, loading and gate state
+     * over to the new ID.
+     * @param aircraft - aircraft to move, already at its new position in the list of aircraft
+     * @param fromId - current ID of the aircraft
+     * @param toId - new ID of the aircraft, not held by any other aircraft
+     */
+    private void moveAircraft(Aircraft aircraft, int fromId, int toId) {
+        boolean landing = this.landingQueue.containsAircraft(aircraft);
+        boolean takingOff = this.takeoffQueue.containsAircraft(aircraft);
+        if (landing) {
+            this.landingQueue.unmarkMember(aircraft);
+        }
+        if (takingOff) {
+            this.takeoffQueue.unmarkMember(aircraft);
+        }
+        aircraft.assignId(toId);
+        this.runwayStatistics.aircraftMoved(fromId, toId);
+        if (landing) {
+            this.landingQueue.markMember(aircraft);
+        }
+        if (takingOff) {
+            this.takeoffQueue.markMember(aircraft);
+        }
+        if (fromId < this.gateOfAircraft.length) {
+            this.gateOfAircraft[toId] = this.gateOfAircraft[fromId];
+            this.gateOfAircraft[fromId] = null;
+        }
+        if (this.loadingAircraft.containsKey(fromId)) {
+            this.loadingAircraft.put(toId, this.loadingAircraft.getOrDefault(fromId, 0));
+            this.loadingAircraft.remove(fromId);
+        }
+    }
+
+    /**
+     * Records the tick the given aircraft joined the landing or takeoff queue in the runway
+     * statistics. Has no effect if the aircraft is not managed by this control tower.
+     * @param aircraft - aircraft that was queued
+     */
+    private void recordQueued(Aircraft aircraft) {
+        if (this.isManaged(aircraft)) {
+            this.runwayStatistics.aircraftQueued(aircraft.getId(), this.ticksElapsed);
+        }
+    }
+
+    /**
+     * Records that the given aircraft is parked at the given gate, or that it is no longer
+     * parked at any gate if the gate is null. Has no effect if the aircraft is not managed by
+     * this control tower.
+     * @param aircraft - aircraft whose gate changed
+     * @param gate - gate the aircraft is parked at, or null
+     */
+    private void recordGate(Aircraft aircraft, Gate gate) {
+        if (!this.isManaged(aircraft)) {
+            return;
+        }
+        int id = aircraft.getId();
+        if (id >= this.gateOfAircraft.length) {
+            this.gateOfAircraft = Arrays.copyOf(this.gateOfAircraft,
+                    Math.max(id + 1, this.gateOfAircraft.length * 2));
+        }
+        Gate previous = this.gateOfAircraft[id];
+        this.gateOfAircraft[id] = gate;
+        this.counters.gateChanged(previous, gate);
+        if (previous != null) {
+            this.gateAssignment.gateReleased(this, previous);
+            this.emit(TowerEventType.GATE_RELEASED, aircraft, previous);
+        }
+        if (gate != null) {
+            this.gateAssignment.gateOccupied(this, gate);
+            this.emit(TowerEventType.GATE_ASSIGNED, aircraft, gate);
+        }
+    }
+
+    /**
+     * Publishes an event concerning the given aircraft to the event stream, if events of its
+     * type are published, and appends it to the event log, if events are logged.
+     * @param type - kind of event
+     * @param aircraft - aircraft concerned
+     * @param gate - gate concerned, or null
+     */
+    private void emit(TowerEventType type, Aircraft aircraft, Gate gate) {
+        this.emit(type, aircraft.getId(), aircraft.getCallsign(),
+                gate == null ? -1 : gate.getGateNumber(), -1);
+    }
+
+    /**
+     * Publishes an event to the event stream, if events of its type are published, and
+     * appends it to the event log, if events are logged.
+     * @param type - kind of event
+     * @param aircraftId - ID of the aircraft concerned, or -1
+     * @param callsign - callsign of the aircraft concerned, or null
+     * @param gateNumber - number of the gate concerned, or -1
+     * @param terminalNumber - number of the terminal concerned, or -1
+     */
+    private void emit(TowerEventType type, int aircraftId, String callsign, int gateNumber,
+            int terminalNumber) {
+        if (this.events != null && this.events.isPublished(type)) {
+            this.events.publish(type, this.ticksElapsed, aircraftId, callsign, gateNumber,
+                    terminalNumber);
+        }
+        if (this.eventLog != null) {
+            this.eventLog.append(type, this.ticksElapsed, aircraftId, callsign, gateNumber,
+                    terminalNumber);
         }
     }
 
@@ -379,41 +1260,93 @@ public class ControlTower implements Tickable {
      * If this is not a tick where the control tower is attempting to land an aircraft, an
      * aircraft should be allowed to take off instead. This ensures that aircraft wishing to
      * take off and land are given an equal share of the runway.
+     * How the runway is used can be changed with setRunwayScheduler(RunwayScheduler); the
+     * behaviour above is that of the default RunwayPolicy.ALTERNATING.
      * Place all aircraft in their appropriate queues by calling placeAllAircraftInQueues().
      * Specified by:
      * tick in interface Tickable
      * <p>
      * Note that the actions performed by {@code tick()} are very simple at the moment and will be
      * expanded on in assignment 2.
+     * <p>
+     * In SimulationMode.EVENT_DRIVEN mode the same changes are made, but only aircraft whose
+     * state changes on this tick are visited (see setSimulationMode(SimulationMode)).
+     * <p>
+     * If snapshots are published, a snapshot of the state after the tick is published last
+     * (see setPublishingSnapshots(boolean)). If a profiler is set, the duration of each phase
+     * of the tick is recorded in it (see setProfiler(TickProfiler)).
      * @ass1
      */
     @Override
     public void tick() {
+        TickProfiler tickProfiler = this.profiler;
+        long start = tickProfiler == null ? 0 : System.nanoTime();
+        if (this.engine != null && this.engine.advance(tickProfiler, start)) {
+            this.finishTick(tickProfiler, start);
+            return;
+        }
         // increment every time tick() is called
-        this.tickNumbers += 1;
-        this.ticksElapsed += 1;
-
-        // Call tick() on all other sub-entities
-        for (Aircraft aircraft : this.aircraft) {
-            aircraft.tick();
-            if (aircraft.getTaskList().getCurrentTask().getType().equals(TaskType.AWAY)
-                    || aircraft.getTaskList().getCurrentTask().getType().equals(TaskType.WAIT)) {
-                aircraft.getTaskList().moveToNextTask();
+        this.advanceClock();
+        this.ticking = true;
+        long lap = start;
+        try {
+            // Call tick() on all other sub-entities
+            for (Aircraft aircraft : this.aircraft) {
+                aircraft.tick();
+                if (aircraft.getTaskList().getCurrentTask().getType().equals(TaskType.AWAY)
+                        || aircraft.getTaskList().getCurrentTask().getType()
+                        .equals(TaskType.WAIT)) {
+                    aircraft.getTaskList().moveToNextTask();
+                }
             }
-        }
+            lap = lap(tickProfiler, TickPhase.AIRCRAFT, lap);
 
-        this.loadAircraft();
+            this.loadAircraft();
+            lap = lap(tickProfiler, TickPhase.LOADING, lap);
 
-        if (this.tickNumbers % 2 == 0) {
-            if (!(this.tryLandAircraft())) {
-                this.tryTakeOffAircraft();
-            }
-        } else {
-            this.tryTakeOffAircraft();
+            this.useRunway();
+            lap = lap(tickProfiler, TickPhase.RUNWAY, lap);
+
+            // place all aircraft in appropriate queue
+            this.placeAllAircraftInQueues();
+            lap(tickProfiler, TickPhase.QUEUES, lap);
+        } finally {
+            this.ticking = false;
         }
+        this.finishTick(tickProfiler, start);
+    }
 
-        // place all aircraft in appropriate queue
-        this.placeAllAircraftInQueues();
+    /**
+     * Updates the counters with the state after a tick, publishes its snapshot if snapshots
+     * are published, and records the duration of the tick if it is being profiled.
+     * @param tickProfiler - profiler timing the tick, or null
+     * @param start - time the tick started, from System.nanoTime(), if being profiled
+     */
+    private void finishTick(TickProfiler tickProfiler, long start) {
+        this.counters.update(this);
+        if (this.snapshotPublisher != null) {
+            long lap = tickProfiler == null ? 0 : System.nanoTime();
+            this.publishSnapshot();
+            lap(tickProfiler, TickPhase.SNAPSHOT, lap);
+        }
+        lap(tickProfiler, TickPhase.TICK, start);
+    }
+
+    /**
+     * Records the time since the given lap started as the duration of the given phase, if a
+     * profiler is given, and returns the time the next lap starts.
+     * @param tickProfiler - profiler timing the tick, or null
+     * @param phase - phase that ended
+     * @param start - time the phase started, from System.nanoTime()
+     * @return current time, or 0 if no profiler is given
+     */
+    static long lap(TickProfiler tickProfiler, TickPhase phase, long start) {
+        if (tickProfiler == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        tickProfiler.record(phase, now - start);
+        return now;
     }
 
     /**
@@ -437,8 +1370,8 @@ public class ControlTower implements Tickable {
 
         humanReadableRepresentation.append(this.terminals.size()).append(" terminals, ")
                 .append(this.aircraft.size()).append(" total aircraft (")
-                .append(this.landingQueue.getAircraftInOrder().size()).append(" LAND, ")
-                .append(this.takeoffQueue.getAircraftInOrder().size()).append(" TAKEOFF, ")
+                .append(this.landingQueue.size()).append(" LAND, ")
+                .append(this.takeoffQueue.size()).append(" TAKEOFF, ")
                 .append(this.loadingAircraft.size()).append(" LOAD)");
         return humanReadableRepresentation.toString();
     }
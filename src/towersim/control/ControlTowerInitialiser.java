@@ -11,6 +11,7 @@ import towersim.ground.Terminal;
 import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
+import towersim.util.Centilitres;
 import towersim.util.MalformedSaveException;
 import towersim.util.NoSpaceException;
 
@@ -147,11 +148,12 @@ public class ControlTowerInitialiser {
                                   LandingQueue landingQueue, Map<Aircraft, Integer> loadingAircraft)
         throws MalformedSaveException, IOException {
         BufferedReader loadQueuesReader = new BufferedReader(reader);
+        Map<String, Aircraft> aircraftByCallsign = indexByCallsign(aircraft);
 
         // load the takeoff queue, landing queue and map of loading aircraft
-        readQueue(loadQueuesReader, aircraft, takeoffQueue);
-        readQueue(loadQueuesReader, aircraft, landingQueue);
-        readLoadingAircraft(loadQueuesReader, aircraft, loadingAircraft);
+        readQueue(loadQueuesReader, aircraftByCallsign, takeoffQueue);
+        readQueue(loadQueuesReader, aircraftByCallsign, landingQueue);
+        readLoadingAircraft(loadQueuesReader, aircraftByCallsign, loadingAircraft);
 
         loadQueuesReader.close();
     }
@@ -182,6 +184,7 @@ public class ControlTowerInitialiser {
         // A list of terminals with their gates read will be returned
         List<Terminal> verifiedTerminals = new ArrayList<Terminal>();
         BufferedReader loadTerminalsWithGatesReader = new BufferedReader(reader);
+        Map<String, Aircraft> aircraftByCallsign = indexByCallsign(aircraft);
         // first line of reader that contains the number of terminals in string format
         String terminalNumberLine = loadTerminalsWithGatesReader.readLine();
 
@@ -202,7 +205,7 @@ public class ControlTowerInitialiser {
                     throw new MalformedSaveException();
                 }
                 Terminal checkedTerminal = readTerminal(uncheckedTerminal,
-                        loadTerminalsWithGatesReader, aircraft);
+                        loadTerminalsWithGatesReader, aircraftByCallsign);
                 verifiedTerminals.add(checkedTerminal);
             }
             // if the real number of terminal is greater than the number of terminal
@@ -284,9 +287,10 @@ public class ControlTowerInitialiser {
      * The encoded string is invalid if any of the following conditions are true:
      * More/fewer colons (:) are detected in the string than expected.
      * The aircraft's AircraftCharacteristics is not valid, i.e. it is not one of those listed
-     * in AircraftCharacteristics.values().
+     * in AircraftCharacteristics.values() (the aircraft model catalogue).
      * The aircraft's fuel amount is not a double (i.e. cannot be parsed by
-     * Double.parseDouble(String)).
+     * Double.parseDouble(String)). Fuel amounts are read to the nearest centilitre using
+     * Centilitres.parse(String).
      * The aircraft's fuel amount is less than zero or greater than the aircraft's
      * maximum fuel capacity.
      * The amount of cargo (freight/passengers) onboard the aircraft is not an integer
@@ -319,11 +323,9 @@ public class ControlTowerInitialiser {
         String callsignOfAircraft = aircraftLineParts[0];
 
         // read the aircraftCharacteristic of aircraft
-        AircraftCharacteristics aircraftCharacteristics;
-        try {
-            aircraftCharacteristics = AircraftCharacteristics
-                    .valueOf(aircraftLineParts[1]);
-        } catch (IllegalArgumentException e) {
+        AircraftCharacteristics aircraftCharacteristics = AircraftCharacteristics
+                .lookup(aircraftLineParts[1]);
+        if (aircraftCharacteristics == null) {
             throw new MalformedSaveException();
         }
 
@@ -331,16 +333,18 @@ public class ControlTowerInitialiser {
         TaskList taskListOfAircraft = readTaskList(aircraftLineParts[2]);
 
         // read the fuel amount of aircraft
-        double fuelAmountOfAircraft;
+        long fuelCentilitresOfAircraft;
         try {
-            fuelAmountOfAircraft = Double.parseDouble(aircraftLineParts[3]);
+            fuelCentilitresOfAircraft = Centilitres.parse(aircraftLineParts[3]);
         } catch (NumberFormatException e) {
             throw new MalformedSaveException();
         }
-        if (fuelAmountOfAircraft < 0 || fuelAmountOfAircraft > aircraftCharacteristics
-                .fuelCapacity) {
+        if (fuelCentilitresOfAircraft < 0 || fuelCentilitresOfAircraft > aircraftCharacteristics
+                .fuelCapacityCentilitres) {
             throw new MalformedSaveException();
         }
+        // converting whole centilitres to litres and back is exact
+        double fuelAmountOfAircraft = Centilitres.toLitres(fuelCentilitresOfAircraft);
 
         // read the emergency state of aircraft
         boolean emergencyStateOfAircraft = Boolean.parseBoolean(aircraftLineParts[4]);
@@ -482,6 +486,22 @@ public class ControlTowerInitialiser {
      */
     public static void readQueue(BufferedReader reader, List<Aircraft> aircraft, AircraftQueue
             queue) throws IOException, MalformedSaveException {
+        readQueue(reader, indexByCallsign(aircraft), queue);
+    }
+
+    /**
+     * Reads an aircraft queue from the given reader instance, as described in
+     * readQueue(BufferedReader, List, AircraftQueue).
+     * @param reader - reader from which to load the aircraft queue
+     * @param aircraftByCallsign - all aircraft indexed by callsign, used when validating that
+     *                           callsigns exist
+     * @param queue - empty queue that aircraft will be added to
+     * @throws IOException - if an IOException is encountered when reading from the reader
+     * @throws MalformedSaveException - if the format of the text read from the reader
+     * is invalid
+     */
+    private static void readQueue(BufferedReader reader, Map<String, Aircraft>
+            aircraftByCallsign, AircraftQueue queue) throws IOException, MalformedSaveException {
         // read the first line of reader and put the content into the firstLine
         String firstLine = reader.readLine();
         if (firstLine == null) {
@@ -524,21 +544,13 @@ public class ControlTowerInitialiser {
                 if (secondLineParts.length != numberOfAircraft) {
                     throw new MalformedSaveException();
                 }
-                // This list contains callsign of all valid aircraft
-                List<String> callsignOfAircraft = new ArrayList<String>();
-                for (Aircraft validAircraft : aircraft) {
-                    callsignOfAircraft.add(validAircraft.getCallsign());
-                }
                 // add aircraft to the queue list and check validity
                 for (int i = 0; i < secondLineParts.length; i++) {
-                    if (!(callsignOfAircraft.contains(secondLineParts[i]))) {
+                    Aircraft verifiedAircraft = aircraftByCallsign.get(secondLineParts[i]);
+                    if (verifiedAircraft == null) {
                         throw new MalformedSaveException();
                     }
-                    for (Aircraft verifiedAircraft : aircraft) {
-                        if (verifiedAircraft.getCallsign().equals(secondLineParts[i])) {
-                            queue.addAircraft(verifiedAircraft);
-                        }
-                    }
+                    queue.addAircraft(verifiedAircraft);
                 }
             }
         }
@@ -578,6 +590,23 @@ public class ControlTowerInitialiser {
      */
     public static void readLoadingAircraft(BufferedReader reader, List<Aircraft> aircraft, Map
             <Aircraft, Integer> loadingAircraft) throws IOException, MalformedSaveException {
+        readLoadingAircraft(reader, indexByCallsign(aircraft), loadingAircraft);
+    }
+
+    /**
+     * Reads the map of currently loading aircraft from the given reader instance, as described
+     * in readLoadingAircraft(BufferedReader, List, Map).
+     * @param reader - reader from which to load the map of loading aircraft
+     * @param aircraftByCallsign - all aircraft indexed by callsign, used when validating that
+     *                           callsigns exist
+     * @param loadingAircraft - empty map that aircraft and their loading times will be added to
+     * @throws IOException - if an IOException is encountered when reading from the reader
+     * @throws MalformedSaveException - if the format of the text read from the reader is
+     * invalid
+     */
+    private static void readLoadingAircraft(BufferedReader reader, Map<String, Aircraft>
+            aircraftByCallsign, Map<Aircraft, Integer> loadingAircraft)
+            throws IOException, MalformedSaveException {
         // read the first line
         String firstLine = reader.readLine();
         if (firstLine == null) {
@@ -618,12 +647,8 @@ public class ControlTowerInitialiser {
                 if (callsignLoadingTime.length != 2) {
                     throw new MalformedSaveException();
                 }
-                // This list contains callsign of all valid aircraft
-                List<String> callsignOfAircraft = new ArrayList<String>();
-                for (Aircraft validAircraft : aircraft) {
-                    callsignOfAircraft.add(validAircraft.getCallsign());
-                }
-                if (!(callsignOfAircraft.contains(callsignLoadingTime[0]))) {
+                Aircraft verifiedAircraft = aircraftByCallsign.get(callsignLoadingTime[0]);
+                if (verifiedAircraft == null) {
                     throw new MalformedSaveException();
                 }
                 // the loading time remain
@@ -636,11 +661,7 @@ public class ControlTowerInitialiser {
                 if (ticksRemaining < 1) {
                     throw new MalformedSaveException();
                 }
-                for (Aircraft verifiedAircraft : aircraft) {
-                    if (verifiedAircraft.getCallsign().equals(callsignLoadingTime[0])) {
-                        loadingAircraft.put(verifiedAircraft, ticksRemaining);
-                    }
-                }
+                loadingAircraft.put(verifiedAircraft, ticksRemaining);
             }
         }
     }
@@ -672,6 +693,23 @@ public class ControlTowerInitialiser {
      */
     public static Terminal readTerminal(String line, BufferedReader reader, List<Aircraft> aircraft)
             throws IOException, MalformedSaveException {
+        return readTerminal(line, reader, indexByCallsign(aircraft));
+    }
+
+    /**
+     * Reads a terminal from the given string and reads its gates from the given reader
+     * instance, as described in readTerminal(String, BufferedReader, List).
+     * @param line - string containing the first line of the encoded terminal
+     * @param reader - reader from which to load the gates of the terminal (subsequent lines)
+     * @param aircraftByCallsign - all aircraft indexed by callsign, used when validating that
+     *                           callsigns exist
+     * @return decoded terminal with its gates added
+     * @throws IOException - if an IOException is encountered when reading from the reader
+     * @throws MalformedSaveException - if the format of the given string or the text read
+     * from the reader is invalid
+     */
+    private static Terminal readTerminal(String line, BufferedReader reader,
+            Map<String, Aircraft> aircraftByCallsign) throws IOException, MalformedSaveException {
         // check if the last character of line is ":", because in slit method
         // Trailing empty strings are therefore not included in the resulting array.
         if (line.endsWith(":")) {
@@ -724,7 +762,7 @@ public class ControlTowerInitialiser {
                     throw new MalformedSaveException();
                 }
                 try {
-                    newAirplaneTerminal.addGate(readGate(gateLine, aircraft));
+                    newAirplaneTerminal.addGate(readGate(gateLine, aircraftByCallsign));
                 } catch (NoSpaceException e) {
                     // do nothing
                 }
@@ -743,7 +781,7 @@ public class ControlTowerInitialiser {
                     throw new MalformedSaveException();
                 }
                 try {
-                    newHelicopterTerminal.addGate(readGate(gateLine, aircraft));
+                    newHelicopterTerminal.addGate(readGate(gateLine, aircraftByCallsign));
                 } catch (NoSpaceException e) {
                     // do nothing
                 }
@@ -771,6 +809,20 @@ public class ControlTowerInitialiser {
      */
     public static Gate readGate(String line, List<Aircraft> aircraft) throws
             MalformedSaveException {
+        return readGate(line, indexByCallsign(aircraft));
+    }
+
+    /**
+     * Reads a gate from its encoded representation in the given string, as described in
+     * readGate(String, List).
+     * @param line - string containing the encoded gate
+     * @param aircraftByCallsign - all aircraft indexed by callsign, used when validating that
+     *                           callsigns exist
+     * @return decoded gate instance
+     * @throws MalformedSaveException - if the format of the given string is invalid
+     */
+    private static Gate readGate(String line, Map<String, Aircraft> aircraftByCallsign)
+            throws MalformedSaveException {
         // check if the last character of line is ":", because in slit method
         // Trailing empty strings are therefore not included in the resulting array.
         if (line.endsWith(":")) {
@@ -803,20 +855,32 @@ public class ControlTowerInitialiser {
         } else {
             // define an gate is occupied by an aircraft
             Gate occupiedGate = new Gate(uncheckedGateNumber);
-            for (Aircraft verifiedAircraft : aircraft) {
-                if (verifiedAircraft.getCallsign().equals(gateParts[1])) {
-                    try {
-                        occupiedGate.parkAircraft(verifiedAircraft);
-                    } catch (NoSpaceException e) {
-                        // do nothing
-                    }
-                }
-            }
-            if (!(occupiedGate.isOccupied())) {
+            Aircraft verifiedAircraft = aircraftByCallsign.get(gateParts[1]);
+            if (verifiedAircraft == null) {
                 throw new MalformedSaveException();
             }
+            try {
+                occupiedGate.parkAircraft(verifiedAircraft);
+            } catch (NoSpaceException e) {
+                // do nothing
+            }
             return occupiedGate;
         }
     }
 
+    /**
+     * Returns the given aircraft indexed by callsign, so that callsigns read from a save file
+     * can be checked and resolved in constant time rather than by searching the whole list.
+     * If several aircraft share a callsign, the first of them is used.
+     * @param aircraft - list of all aircraft
+     * @return map from callsign to aircraft
+     */
+    private static Map<String, Aircraft> indexByCallsign(List<Aircraft> aircraft) {
+        Map<String, Aircraft> aircraftByCallsign = new HashMap<>(aircraft.size() * 2);
+        for (Aircraft verifiedAircraft : aircraft) {
+            aircraftByCallsign.putIfAbsent(verifiedAircraft.getCallsign(), verifiedAircraft);
+        }
+        return aircraftByCallsign;
+    }
+
 }
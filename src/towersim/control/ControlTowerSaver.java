@@ -0,0 +1,135 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Utility class that writes the state of a control tower to save files, in the format read by
+ * ControlTowerInitialiser.createControlTower(Reader, Reader, Reader, Reader).
+ */
+public class ControlTowerSaver {
+
+    /**
+     * Saves the given control tower to the four given writers, closing each writer once it has
+     * been written to.
+     * The format written to each writer is described in ViewModel.saveAs(Writer, Writer, Writer,
+     * Writer).
+     * @param tower - control tower to save
+     * @param tickWriter - writer to which the number of ticks elapsed will be written
+     * @param aircraftWriter - writer to which the list of aircraft will be written
+     * @param queuesWriter - writer to which the takeoff/landing queues and loading map will be
+     *                     written
+     * @param terminalsWithGatesWriter - writer to which the list of terminals and their gates
+     *                                 will be written
+     * @throws IOException if an IOException occurs when writing to the writers
+     */
+    public static void saveAs(ControlTower tower, Writer tickWriter, Writer aircraftWriter,
+            Writer queuesWriter, Writer terminalsWithGatesWriter) throws IOException {
+        writeTick(tower, tickWriter);
+        writeAircraft(tower, aircraftWriter);
+        writeQueues(tower, queuesWriter);
+        writeTerminalsWithGates(tower, terminalsWithGatesWriter);
+    }
+
+    /**
+     * Writes the number of ticks elapsed for the given control tower, then closes the writer.
+     * @param tower - control tower to save
+     * @param tickWriter - writer to which the number of ticks elapsed will be written
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void writeTick(ControlTower tower, Writer tickWriter) throws IOException {
+        try (BufferedWriter tick = new BufferedWriter(tickWriter)) {
+            tick.write(Long.toString(tower.getTicksElapsed()));
+        }
+    }
+
+    /**
+     * Writes the number of aircraft managed by the given control tower followed by each
+     * encoded aircraft on its own line, then closes the writer.
+     * @param tower - control tower to save
+     * @param aircraftWriter - writer to which the list of aircraft will be written
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void writeAircraft(ControlTower tower, Writer aircraftWriter)
+            throws IOException {
+        // the list is copied on each call, so only ask the tower for it once
+        List<Aircraft> aircraftOfTower = tower.getAircraft();
+        try (BufferedWriter aircraft = new BufferedWriter(aircraftWriter)) {
+            aircraft.write(Integer.toString(aircraftOfTower.size()));
+            // there is no line separator after the last aircraft
+            for (Aircraft current : aircraftOfTower) {
+                aircraft.newLine();
+                aircraft.write(current.encode());
+            }
+        }
+    }
+
+    /**
+     * Writes the takeoff queue, landing queue and loading map of the given control tower,
+     * then closes the writer.
+     * @param tower - control tower to save
+     * @param queuesWriter - writer to which the takeoff/landing queues and loading map will be
+     *                     written
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void writeQueues(ControlTower tower, Writer queuesWriter) throws IOException {
+        // the loading map is built on each call, so only ask the tower for it once
+        Map<Aircraft, Integer> loadingAircraftOfTower = tower.getLoadingAircraft();
+        try (BufferedWriter queues = new BufferedWriter(queuesWriter)) {
+            queues.write(withoutTrailingSeparator(tower.getTakeoffQueue().encode()));
+            queues.newLine();
+            queues.write(withoutTrailingSeparator(tower.getLandingQueue().encode()));
+            queues.newLine();
+            queues.write("LoadingAircraft:" + loadingAircraftOfTower.size());
+            // write the callsign:ticksRemaining pairs, separated by ","
+            if (!loadingAircraftOfTower.isEmpty()) {
+                queues.newLine();
+                StringJoiner loadingPairs = new StringJoiner(",");
+                for (Map.Entry<Aircraft, Integer> entry : loadingAircraftOfTower.entrySet()) {
+                    loadingPairs.add(entry.getKey().getCallsign() + ":" + entry.getValue());
+                }
+                queues.write(loadingPairs.toString());
+            }
+        }
+    }
+
+    /**
+     * Returns the given encoded queue or terminal without the line separator that
+     * AircraftQueue.encode() and Terminal.encode() leave after the header of an empty queue or
+     * a terminal without gates. ControlTowerInitialiser would otherwise read the resulting
+     * blank line as the next queue or terminal and reject the save.
+     * @param encoded - encoded queue or terminal
+     * @return encoded string without trailing line separators
+     */
+    private static String withoutTrailingSeparator(String encoded) {
+        return encoded.stripTrailing();
+    }
+
+    /**
+     * Writes the number of terminals managed by the given control tower followed by each
+     * encoded terminal (including its gates), then closes the writer.
+     * @param tower - control tower to save
+     * @param terminalsWithGatesWriter - writer to which the list of terminals and their gates
+     *                                 will be written
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void writeTerminalsWithGates(ControlTower tower,
+            Writer terminalsWithGatesWriter) throws IOException {
+        List<Terminal> terminalsOfTower = tower.getTerminals();
+        try (BufferedWriter terminalsWithGates = new BufferedWriter(terminalsWithGatesWriter)) {
+            terminalsWithGates.write(Integer.toString(terminalsOfTower.size()));
+            // there is no line separator after the last terminal
+            for (Terminal terminal : terminalsOfTower) {
+                terminalsWithGates.newLine();
+                terminalsWithGates.write(withoutTrailingSeparator(terminal.encode()));
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.util.NoSuitableGateException;
+
+import java.util.List;
+
+/**
+ * Chooses the unoccupied gate with the lowest cost for the aircraft, as given by a GateCost
+ * function, preferring gates in terminals added first and gates added first on ties.
+ * <p>
+ * Only terminals that have an unoccupied gate, as given by the index, are visited, and only
+ * their unoccupied gates are costed.
+ */
+public class CostBasedGateAssignment extends IndexedGateAssignment {
+    /** Cost of each position of a gate along its terminal, in occupancy percentage points */
+    private static final int GATE_POSITION_COST = 5;
+
+    /**
+     * Default cost of a gate: the occupancy level its terminal would have with the aircraft
+     * parked, plus GATE_POSITION_COST for each gate before it in the terminal. This balances
+     * terminals while preferring the gates nearest the start of each terminal.
+     */
+    public static final GateCost DEFAULT_COST = (terminal, position, aircraft) -> {
+        int occupied = 1;
+        for (Gate gate : terminal.getGates()) {
+            if (gate.isOccupied()) {
+                occupied++;
+            }
+        }
+        return 100.0 * occupied / terminal.getGates().size() + GATE_POSITION_COST * position;
+    };
+
+    /** Function giving the cost of parking an aircraft at a gate */
+    private final GateCost cost;
+
+    /**
+     * Creates a new cost-based strategy using the given cost function.
+     * @param cost - function giving the cost of parking an aircraft at a gate
+     */
+    public CostBasedGateAssignment(GateCost cost) {
+        this.cost = cost;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Gate chooseGate(ControlTower tower, Aircraft aircraft)
+            throws NoSuitableGateException {
+        this.ensureIndexed(tower);
+        AircraftType type = aircraft.getCharacteristics().type;
+        Gate cheapest = null;
+        double lowestCost = Double.POSITIVE_INFINITY;
+        for (int t = 0; t < this.terminals.size(); t++) {
+            if (!this.hasSuitableGate(t, type)) {
+                continue;
+            }
+            Terminal terminal = this.terminals.get(t);
+            List<Gate> gates = terminal.getGates();
+            for (int position = 0; position < gates.size(); position++) {
+                if (gates.get(position).isOccupied()) {
+                    continue;
+                }
+                double gateCost = this.cost.costOf(terminal, position, aircraft);
+                if (cheapest == null || gateCost < lowestCost) {
+                    cheapest = gates.get(position);
+                    lowestCost = gateCost;
+                }
+            }
+        }
+        if (cheapest == null) {
+            throw new NoSuitableGateException("No gate available for aircraft");
+        }
+        return cheapest;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GateAssignmentStrategy copy() {
+        return new CostBasedGateAssignment(this.cost);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void indexBuilt() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void freeGatesChanged(int terminal) {
+    }
+
+    /**
+     * Cost of parking an aircraft at an unoccupied gate. Lower costs are preferred.
+     */
+    @FunctionalInterface
+    public interface GateCost {
+
+        /**
+         * Returns the cost of parking the given aircraft at the gate at the given position in
+         * the given terminal.
+         * @param terminal - terminal containing the gate
+         * @param position - index of the gate in Terminal.getGates()
+         * @param aircraft - aircraft needing a gate
+         * @return cost of the gate; must not be NaN
+         */
+        double costOf(Terminal terminal, int position, Aircraft aircraft);
+    }
+}
@@ -0,0 +1,395 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.tasks.TaskType;
+import towersim.util.DenseIntMap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Advances a control tower in SimulationMode.EVENT_DRIVEN mode.
+ * <p>
+ * Between changes of task, an aircraft's state evolves in a fixed way: during a run of AWAY tasks
+ * it burns a fixed amount of fuel and moves to its next task each tick, during a run of WAIT
+ * tasks it only moves to its next task, and while loading it gains a fixed amount of fuel and
+ * cargo each tick. Aircraft waiting in the landing or takeoff queue do not change at all.
+ * The engine therefore schedules one event for the tick at which each run of AWAY or WAIT tasks
+ * ends and one for the tick at which loading completes, and on each tick only processes the
+ * events that are due, plus a single runway slot.
+ * <p>
+ * Aircraft part-way through a run are updated lazily: synchronise() applies all ticks that have
+ * elapsed since each such aircraft was last updated, and is called by the control tower before
+ * its aircraft or loading map are observed. The result is identical to ticking every aircraft.
+ * <p>
+ * The engine is built from the control tower's current state when it is first used. It can only
+ * be built when every aircraft with a LAND, TAKEOFF or LOAD task is in the corresponding queue or
+ * loading map, and no other aircraft are; until then, the control tower ticks normally, which
+ * establishes this.
+ */
+final class EventDrivenEngine {
+    /** Phase of an aircraft waiting in a queue, whose state does not change by itself */
+    private static final byte IDLE = 0;
+
+    /** Phase of an aircraft flying a run of AWAY tasks */
+    private static final byte AWAY = 1;
+
+    /** Phase of an aircraft waiting at its gate for a run of WAIT tasks */
+    private static final byte WAITING = 2;
+
+    /** Phase of an aircraft loading at its gate */
+    private static final byte LOADING = 3;
+
+    /** Tick used for phases that never end, e.g. a task list made only of AWAY tasks */
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /** Initial number of aircraft slots in the per-aircraft arrays */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Control tower being advanced */
+    private final ControlTower tower;
+
+    /** Scheduled ends of phases, earliest first */
+    private final PriorityQueue<PhaseEnd> events;
+
+    /** Current phase of each aircraft, indexed by aircraft ID */
+    private byte[] phase;
+
+    /** Tick up to which each aircraft's state has been applied, indexed by aircraft ID */
+    private long[] syncedTick;
+
+    /** Tick at which each aircraft's current phase ends, indexed by aircraft ID */
+    private long[] endTick;
+
+    /** Incremented whenever an aircraft changes phase, so that outdated events are ignored */
+    private int[] version;
+
+    /** IDs of aircraft whose phase changes their state on every tick */
+    private final BitSet activeIds;
+
+    /** IDs of aircraft whose task changed during the current tick and need placing in queues */
+    private final BitSet changedIds;
+
+    /** Whether the schedule reflects the control tower's current state */
+    private boolean valid;
+
+    /** Whether the engine is currently advancing the control tower */
+    private boolean advancing;
+
+    /**
+     * Creates a new engine for the given control tower. The schedule is built on the first
+     * call to advance(TickProfiler, long).
+     * @param tower - control tower to advance
+     */
+    EventDrivenEngine(ControlTower tower) {
+        this.tower = tower;
+        this.events = new PriorityQueue<>();
+        this.phase = new byte[DEFAULT_CAPACITY];
+        this.syncedTick = new long[DEFAULT_CAPACITY];
+        this.endTick = new long[DEFAULT_CAPACITY];
+        this.version = new int[DEFAULT_CAPACITY];
+        this.activeIds = new BitSet();
+        this.changedIds = new BitSet();
+        this.valid = false;
+        this.advancing = false;
+    }
+
+    /**
+     * Returns true if the engine is in the middle of advancing the control tower, in which case
+     * changes made to the control tower are the engine's own.
+     * @return true if advancing; false otherwise
+     */
+    boolean isAdvancing() {
+        return this.advancing;
+    }
+
+    /**
+     * Brings all aircraft part-way through a phase, and the loading map, up to date with the
+     * control tower's current tick.
+     */
+    void synchronise() {
+        if (!this.valid) {
+            return;
+        }
+        long now = this.tower.getTicksElapsed();
+        DenseIntMap loadingAircraft = this.tower.getLoadingMap();
+        for (int id = this.activeIds.nextSetBit(0); id >= 0;
+                id = this.activeIds.nextSetBit(id + 1)) {
+            this.catchUp(id, now);
+            if (this.phase[id] == LOADING) {
+                loadingAircraft.put(id, (int) (this.endTick[id] - now));
+            }
+        }
+    }
+
+    /**
+     * Brings the aircraft with the given ID up to date with the control tower's current tick,
+     * along with its entry in the loading map if it is loading.
+     * @param id - ID of the aircraft
+     */
+    void synchronise(int id) {
+        if (!this.valid || !this.activeIds.get(id)) {
+            return;
+        }
+        long now = this.tower.getTicksElapsed();
+        this.catchUp(id, now);
+        if (this.phase[id] == LOADING) {
+            this.tower.getLoadingMap().put(id, (int) (this.endTick[id] - now));
+        }
+    }
+
+    /**
+     * Brings all aircraft up to date and discards the schedule, so that it is rebuilt from the
+     * control tower's state on the next call to advance(TickProfiler, long). Called when the
+     * control tower is changed by something other than this engine.
+     */
+    void invalidate() {
+        this.synchronise();
+        this.valid = false;
+        this.events.clear();
+        this.activeIds.clear();
+        this.changedIds.clear();
+    }
+
+    /**
+     * Advances the control tower by one tick, with the same effect as ControlTower's
+     * tick-by-tick processing. Returns false without changing anything if the schedule could
+     * not be built from the control tower's current state, in which case the control tower
+     * should tick normally instead.
+     * @param profiler - profiler timing the phases of the tick, or null
+     * @param start - time the tick started, from System.nanoTime(), if being profiled
+     * @return true if the control tower was advanced; false otherwise
+     */
+    boolean advance(TickProfiler profiler, long start) {
+        if (!this.valid && !this.rebuild()) {
+            return false;
+        }
+        this.advancing = true;
+        try {
+            this.tower.advanceClock();
+            long now = this.tower.getTicksElapsed();
+
+            // aircraft finishing a run of AWAY or WAIT tasks, or finishing loading
+            while (!this.events.isEmpty() && this.events.peek().tick <= now) {
+                PhaseEnd event = this.events.poll();
+                int id = event.aircraftId;
+                if (event.version != this.version[id]) {
+                    continue;
+                }
+                this.catchUp(id, now);
+                if (this.phase[id] == LOADING) {
+                    this.tower.finishLoading(id);
+                }
+                this.setIdle(id);
+                this.changedIds.set(id);
+            }
+            long lap = ControlTower.lap(profiler, TickPhase.AIRCRAFT, start);
+
+            // runway: land or take off as chosen by the control tower's runway scheduler
+            Aircraft moved = this.tower.useRunway();
+            if (moved != null) {
+                this.changedIds.set(moved.getId());
+            }
+            lap = ControlTower.lap(profiler, TickPhase.RUNWAY, lap);
+
+            // aircraft are placed in queues in ID order, as placeAllAircraftInQueues() does
+            List<Aircraft> aircraft = this.tower.getManagedAircraft();
+            for (int id = this.changedIds.nextSetBit(0); id >= 0;
+                    id = this.changedIds.nextSetBit(id + 1)) {
+                this.tower.placeAircraftInQueues(aircraft.get(id));
+                this.schedule(id, now);
+            }
+            this.changedIds.clear();
+            ControlTower.lap(profiler, TickPhase.QUEUES, lap);
+        } finally {
+            this.advancing = false;
+        }
+        return true;
+    }
+
+    /**
+     * Builds the schedule from the control tower's current state.
+     * @return true if the schedule was built; false if the state is not suitable
+     */
+    private boolean rebuild() {
+        List<Aircraft> aircraft = this.tower.getManagedAircraft();
+        AircraftQueue landingQueue = this.tower.getLandingQueue();
+        AircraftQueue takeoffQueue = this.tower.getTakeoffQueue();
+        DenseIntMap loadingAircraft = this.tower.getLoadingMap();
+
+        int numLanding = 0;
+        int numTakingOff = 0;
+        for (int id = 0; id < aircraft.size(); id++) {
+            Aircraft current = aircraft.get(id);
+            TaskType type = current.getTaskList().getCurrentTask().getType();
+            boolean landing = landingQueue.containsAircraft(current);
+            boolean takingOff = takeoffQueue.containsAircraft(current);
+            boolean loading = loadingAircraft.containsKey(id);
+            if (landing != (type == TaskType.LAND) || takingOff != (type == TaskType.TAKEOFF)
+                    || loading != (type == TaskType.LOAD)
+                    || (loading && loadingAircraft.getOrDefault(id, 0) <= 0)) {
+                return false;
+            }
+            numLanding += landing ? 1 : 0;
+            numTakingOff += takingOff ? 1 : 0;
+        }
+        if (landingQueue.size() != numLanding || takeoffQueue.size() != numTakingOff) {
+            return false;
+        }
+
+        this.ensureCapacity(aircraft.size());
+        long now = this.tower.getTicksElapsed();
+        for (int id = 0; id < aircraft.size(); id++) {
+            this.schedule(id, now);
+        }
+        this.valid = true;
+        return true;
+    }
+
+    /**
+     * Starts the phase matching the given aircraft's current task, scheduling its end if
+     * the phase ends by itself.
+     * @param id - ID of the aircraft
+     * @param now - current tick
+     */
+    private void schedule(int id, long now) {
+        this.ensureCapacity(id + 1);
+        Aircraft aircraft = this.tower.getManagedAircraft().get(id);
+        this.version[id]++;
+        this.syncedTick[id] = now;
+        switch (aircraft.getTaskList().getCurrentTask().getType()) {
+            case AWAY:
+                this.startPhase(id, AWAY, this.runEnd(aircraft, now));
+                break;
+            case WAIT:
+                this.startPhase(id, WAITING, this.runEnd(aircraft, now));
+                break;
+            case LOAD:
+                this.startPhase(id, LOADING,
+                        now + this.tower.getLoadingMap().getOrDefault(id, 0));
+                break;
+            default:
+                this.setIdle(id);
+        }
+    }
+
+    /**
+     * Returns the tick at which the aircraft's current run of tasks of the same type ends.
+     * @param aircraft - aircraft on an AWAY or WAIT task
+     * @param now - current tick
+     * @return tick at which the aircraft moves on to a task of a different type, or NEVER
+     */
+    private long runEnd(Aircraft aircraft, long now) {
+        int runLength = aircraft.getTaskList().getCurrentRunLength();
+        if (runLength == aircraft.getTaskList().size()) {
+            return NEVER;
+        }
+        return now + runLength;
+    }
+
+    /**
+     * Records that the given aircraft is in a phase that changes its state every tick.
+     * @param id - ID of the aircraft
+     * @param newPhase - phase the aircraft is in
+     * @param end - tick at which the phase ends, or NEVER
+     */
+    private void startPhase(int id, byte newPhase, long end) {
+        this.phase[id] = newPhase;
+        this.endTick[id] = end;
+        this.activeIds.set(id);
+        if (end != NEVER) {
+            this.events.add(new PhaseEnd(end, id, this.version[id]));
+        }
+    }
+
+    /**
+     * Records that the given aircraft no longer changes by itself.
+     * @param id - ID of the aircraft
+     */
+    private void setIdle(int id) {
+        this.version[id]++;
+        this.phase[id] = IDLE;
+        this.endTick[id] = NEVER;
+        this.activeIds.clear(id);
+    }
+
+    /**
+     * Applies the ticks that have elapsed since the given aircraft was last updated.
+     * @param id - ID of the aircraft
+     * @param now - tick to bring the aircraft up to
+     */
+    private void catchUp(int id, long now) {
+        long elapsed = now - this.syncedTick[id];
+        if (elapsed <= 0) {
+            return;
+        }
+        Aircraft aircraft = this.tower.getManagedAircraft().get(id);
+        switch (this.phase[id]) {
+            case AWAY:
+                aircraft.advanceAway(elapsed);
+                break;
+            case WAITING:
+                // ticking an aircraft on a WAIT task does not change it
+                aircraft.getTaskList().moveForward(elapsed);
+                break;
+            case LOADING:
+                // loading lasts only a few ticks, so each one is applied in turn
+                for (long i = 0; i < elapsed; i++) {
+                    aircraft.tick();
+                }
+                break;
+            default:
+                break;
+        }
+        this.syncedTick[id] = now;
+    }
+
+    /**
+     * Grows the per-aircraft arrays to hold at least the given number of aircraft.
+     * @param capacity - number of aircraft
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.phase.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, this.phase.length * 2);
+        this.phase = Arrays.copyOf(this.phase, newCapacity);
+        this.syncedTick = Arrays.copyOf(this.syncedTick, newCapacity);
+        this.endTick = Arrays.copyOf(this.endTick, newCapacity);
+        this.version = Arrays.copyOf(this.version, newCapacity);
+    }
+
+    /**
+     * The scheduled end of an aircraft's phase. Ordered by tick, then by aircraft ID.
+     */
+    private static final class PhaseEnd implements Comparable<PhaseEnd> {
+        /** Tick at which the phase ends */
+        private final long tick;
+
+        /** ID of the aircraft whose phase ends */
+        private final int aircraftId;
+
+        /** Version of the aircraft's phase when this event was scheduled */
+        private final int version;
+
+        /**
+         * Creates a new phase end event.
+         * @param tick - tick at which the phase ends
+         * @param aircraftId - ID of the aircraft
+         * @param version - version of the aircraft's phase
+         */
+        private PhaseEnd(long tick, int aircraftId, int version) {
+            this.tick = tick;
+            this.aircraftId = aircraftId;
+            this.version = version;
+        }
+
+        @Override
+        public int compareTo(PhaseEnd other) {
+            int byTick = Long.compare(this.tick, other.tick);
+            return byTick != 0 ? byTick : Integer.compare(this.aircraftId, other.aircraftId);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.Gate;
+import towersim.util.NoSuitableGateException;
+
+import java.util.BitSet;
+
+/**
+ * Chooses the first unoccupied gate in the first suitable terminal, in the order terminals
+ * were added, as described by ControlTower.findUnoccupiedGate(Aircraft).
+ * <p>
+ * Terminals with an unoccupied gate are kept in a bit set per aircraft type, so the search
+ * skips full terminals instead of visiting each of their gates.
+ */
+final class FirstFitGateAssignment extends IndexedGateAssignment {
+    /** Terminals with an unoccupied gate that accept airplanes */
+    private final BitSet airplaneTerminals = new BitSet();
+
+    /** Terminals with an unoccupied gate that accept helicopters */
+    private final BitSet helicopterTerminals = new BitSet();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Gate chooseGate(ControlTower tower, Aircraft aircraft)
+            throws NoSuitableGateException {
+        this.ensureIndexed(tower);
+        AircraftType type = aircraft.getCharacteristics().type;
+        BitSet candidates = type == AircraftType.AIRPLANE
+                ? this.airplaneTerminals : this.helicopterTerminals;
+        for (int t = candidates.nextSetBit(0); t >= 0; t = candidates.nextSetBit(t + 1)) {
+            // terminals in a state of emergency are skipped but stay indexed
+            if (!this.terminals.get(t).hasEmergency()) {
+                return this.terminals.get(t).findUnoccupiedGate();
+            }
+        }
+        throw new NoSuitableGateException("No gate available for aircraft");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GateAssignmentStrategy copy() {
+        return new FirstFitGateAssignment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void indexBuilt() {
+        this.airplaneTerminals.clear();
+        this.helicopterTerminals.clear();
+        for (int t = 0; t < this.terminals.size(); t++) {
+            this.freeGatesChanged(t);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void freeGatesChanged(int terminal) {
+        boolean free = this.freeGates[terminal] > 0;
+        if (accepts(this.terminals.get(terminal), AircraftType.AIRPLANE)) {
+            this.airplaneTerminals.set(terminal, free);
+        } else if (accepts(this.terminals.get(terminal), AircraftType.HELICOPTER)) {
+            this.helicopterTerminals.set(terminal, free);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Lands aircraft in distress as soon as possible, and otherwise follows another scheduler.
+ * <p>
+ * Landing goes first whenever the aircraft at the front of the landing queue has declared an
+ * emergency or has fuel at or below the level LandingQueue treats as critical. Since the
+ * landing queue orders such aircraft first, only its front needs to be checked.
+ */
+public class FuelPriorityRunwayScheduler implements RunwayScheduler {
+    /** Scheduler followed when no aircraft is in distress */
+    private final RunwayScheduler otherwise;
+
+    /**
+     * Creates a new fuel-priority scheduler following the given scheduler when no aircraft is
+     * in distress.
+     * @param otherwise - scheduler to follow otherwise
+     */
+    public FuelPriorityRunwayScheduler(RunwayScheduler otherwise) {
+        this.otherwise = otherwise;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RunwayUse chooseRunwayUse(ControlTower tower, long tickNumber) {
+        Aircraft next = tower.getLandingQueue().peekAircraft();
+        if (next != null && (next.hasEmergency()
+                || next.getFuelPercentRemaining() <= LandingQueue.CRITICAL_FUEL_PERCENT)) {
+            return RunwayUse.LAND_FIRST;
+        }
+        return this.otherwise.chooseRunwayUse(tower, tickNumber);
+    }
+}
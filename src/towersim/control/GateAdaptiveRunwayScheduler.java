@@ -0,0 +1,55 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.Terminal;
+import towersim.util.NoSuitableGateException;
+
+import java.util.List;
+
+/**
+ * Adapts the share of runway slots given to landings to the availability of gates.
+ * <p>
+ * Landing goes first when the next aircraft to land can be given a gate and at least half of
+ * the gates it could use are unoccupied, or, when gates are scarcer, on the ticks the
+ * alternating policy would land. Otherwise takeoff goes first. The other queue uses the slot
+ * if the first cannot, so slots are not wasted on landings that have no gate.
+ * <p>
+ * Gates are counted from the occupied-gate counters of the control tower's TowerCounters,
+ * which are kept up to date as aircraft park and leave, so the gates are not scanned on each
+ * tick.
+ */
+public class GateAdaptiveRunwayScheduler implements RunwayScheduler {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RunwayUse chooseRunwayUse(ControlTower tower, long tickNumber) {
+        Aircraft next = tower.getLandingQueue().peekAircraft();
+        if (next == null) {
+            return RunwayUse.TAKEOFF_FIRST;
+        }
+        try {
+            tower.findUnoccupiedGate(next);
+        } catch (NoSuitableGateException e) {
+            return RunwayUse.TAKEOFF_FIRST;
+        }
+
+        AircraftType type = next.getCharacteristics().type;
+        List<Terminal> terminals = tower.getTerminals();
+        TowerCounters.TerminalCounters counters = tower.getCounters().countTerminals(tower);
+        int gates = 0;
+        int freeGates = 0;
+        for (int i = 0; i < terminals.size(); i++) {
+            Terminal terminal = terminals.get(i);
+            if (terminal.hasEmergency() || !IndexedGateAssignment.accepts(terminal, type)) {
+                continue;
+            }
+            gates += counters.getNumGates(i);
+            freeGates += counters.getNumGates(i) - counters.getNumOccupiedGates(i);
+        }
+        return 2 * freeGates >= gates || tickNumber % 2 == 0
+                ? RunwayUse.LAND_FIRST : RunwayUse.TAKEOFF_FIRST;
+    }
+}
@@ -0,0 +1,48 @@
+package towersim.control;
+
+/**
+ * Built-in gate assignment strategies that a control tower can be configured with.
+ */
+public enum GateAssignment {
+    /**
+     * The first unoccupied gate in the first suitable terminal, in the order terminals were
+     * added. This is the default.
+     */
+    FIRST_FIT,
+
+    /**
+     * The first unoccupied gate in the suitable terminal with the lowest occupancy level,
+     * spreading aircraft evenly over terminals.
+     */
+    LEAST_OCCUPIED,
+
+    /**
+     * The first unoccupied gate in the next suitable terminal after the one last assigned,
+     * taking terminals in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The unoccupied gate with the lowest cost, as given by
+     * CostBasedGateAssignment.DEFAULT_COST.
+     */
+    LEAST_COST;
+
+    /**
+     * Returns a new instance of this strategy.
+     * @return gate assignment strategy
+     */
+    public GateAssignmentStrategy create() {
+        switch (this) {
+            case LEAST_OCCUPIED:
+                return new LeastOccupiedGateAssignment();
+            case ROUND_ROBIN:
+                return new RoundRobinGateAssignment();
+            case LEAST_COST:
+                return new CostBasedGateAssignment(CostBasedGateAssignment.DEFAULT_COST);
+            case FIRST_FIT:
+            default:
+                return new FirstFitGateAssignment();
+        }
+    }
+}
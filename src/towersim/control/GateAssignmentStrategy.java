@@ -0,0 +1,51 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Gate;
+import towersim.util.NoSuitableGateException;
+
+/**
+ * Policy for choosing the gate an aircraft parks at when it lands or is added to a control
+ * tower.
+ * <p>
+ * A strategy belongs to one control tower at a time, which tells it whenever a gate becomes
+ * occupied or unoccupied by one of its aircraft, so that strategies can keep an index of
+ * available gates rather than searching every terminal. Other changes, such as adding
+ * terminals or gates or changing emergencies, are reported by ControlTower.getChangeCount().
+ */
+public interface GateAssignmentStrategy {
+
+    /**
+     * Chooses an unoccupied gate, in a terminal that accepts the aircraft's type and is not in
+     * a state of emergency, for the given aircraft. Choosing a gate does not park the aircraft
+     * or otherwise change the control tower.
+     * @param tower - control tower managing the terminals
+     * @param aircraft - aircraft needing a gate
+     * @return gate chosen for the aircraft
+     * @throws NoSuitableGateException if no suitable gate is unoccupied
+     */
+    Gate chooseGate(ControlTower tower, Aircraft aircraft) throws NoSuitableGateException;
+
+    /**
+     * Called by the control tower when one of its aircraft has parked at the given gate.
+     * @param tower - control tower managing the gate
+     * @param gate - gate that is now occupied
+     */
+    default void gateOccupied(ControlTower tower, Gate gate) {
+    }
+
+    /**
+     * Called by the control tower when one of its aircraft has left the given gate.
+     * @param tower - control tower managing the gate
+     * @param gate - gate that is now unoccupied
+     */
+    default void gateReleased(ControlTower tower, Gate gate) {
+    }
+
+    /**
+     * Returns a new strategy making the same choices as this one would, for use by a fork of
+     * the control tower.
+     * @return copy of this strategy
+     */
+    GateAssignmentStrategy copy();
+}
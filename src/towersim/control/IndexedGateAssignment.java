@@ -0,0 +1,154 @@
+package towersim.control;
+
+import towersim.aircraft.AircraftType;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base for gate assignment strategies that keep a count of the unoccupied gates in each
+ * terminal.
+ * <p>
+ * The index is rebuilt from the control tower's terminals whenever the strategy is used with a
+ * different control tower or the control tower reports a change, and is otherwise kept up to
+ * date by the control tower's gateOccupied() and gateReleased() notifications.
+ */
+abstract class IndexedGateAssignment implements GateAssignmentStrategy {
+    /** Control tower the index was built for, or null if not yet built */
+    private ControlTower indexedTower;
+
+    /** Change count of the control tower when the index was built */
+    private long indexedChangeCount;
+
+    /** Index of each gate's terminal in terminals */
+    private final Map<Gate, Integer> terminalOfGate = new IdentityHashMap<>();
+
+    /** Terminals of the control tower when the index was built */
+    protected List<Terminal> terminals;
+
+    /** Number of unoccupied gates in each terminal, indexed as terminals */
+    protected int[] freeGates;
+
+    /** Number of gates in each terminal, indexed as terminals */
+    protected int[] numGates;
+
+    /**
+     * Brings the index up to date with the given control tower, rebuilding it if necessary.
+     * @param tower - control tower the strategy is being used with
+     */
+    protected final void ensureIndexed(ControlTower tower) {
+        if (this.isIndexed(tower)) {
+            return;
+        }
+        this.indexedTower = tower;
+        this.indexedChangeCount = tower.getChangeCount();
+        this.terminals = tower.getTerminals();
+        this.terminalOfGate.clear();
+        this.freeGates = new int[this.terminals.size()];
+        this.numGates = new int[this.terminals.size()];
+        for (int t = 0; t < this.terminals.size(); t++) {
+            for (Gate gate : this.terminals.get(t).getGates()) {
+                this.terminalOfGate.put(gate, t);
+                this.numGates[t]++;
+                if (!gate.isOccupied()) {
+                    this.freeGates[t]++;
+                }
+            }
+        }
+        this.indexBuilt();
+    }
+
+    /**
+     * Called after the index has been rebuilt, for subclasses to build their own index from
+     * terminals and freeGates.
+     */
+    protected abstract void indexBuilt();
+
+    /**
+     * Called after the number of unoccupied gates in a terminal has changed.
+     * @param terminal - index of the terminal in terminals
+     */
+    protected abstract void freeGatesChanged(int terminal);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gateOccupied(ControlTower tower, Gate gate) {
+        this.adjustFreeGates(tower, gate, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gateReleased(ControlTower tower, Gate gate) {
+        this.adjustFreeGates(tower, gate, 1);
+    }
+
+    /**
+     * Returns true if the given terminal can take aircraft of the given type now, i.e. it is
+     * compatible, not in a state of emergency and has an unoccupied gate.
+     * @param terminal - index of the terminal in terminals
+     * @param type - type of aircraft needing a gate
+     * @return true if the terminal has a suitable gate; false otherwise
+     */
+    protected boolean hasSuitableGate(int terminal, AircraftType type) {
+        Terminal candidate = this.terminals.get(terminal);
+        return this.freeGates[terminal] > 0 && accepts(candidate, type)
+                && !candidate.hasEmergency();
+    }
+
+    /**
+     * Returns the index in terminals of the terminal containing the given gate.
+     * @param gate - gate to look up
+     * @return index of the gate's terminal, or -1 if the gate is not in the index
+     */
+    protected int terminalOf(Gate gate) {
+        Integer terminal = this.terminalOfGate.get(gate);
+        return terminal == null ? -1 : terminal;
+    }
+
+    /**
+     * Returns true if the given terminal accepts aircraft of the given type.
+     * @param terminal - terminal to check
+     * @param type - type of aircraft
+     * @return true if the terminal is compatible with the aircraft type; false otherwise
+     */
+    static boolean accepts(Terminal terminal, AircraftType type) {
+        return (terminal instanceof AirplaneTerminal && type == AircraftType.AIRPLANE)
+                || (terminal instanceof HelicopterTerminal && type == AircraftType.HELICOPTER);
+    }
+
+    /**
+     * Returns true if the index is up to date with the given control tower.
+     * @param tower - control tower to check
+     * @return true if the index can be used for the control tower; false otherwise
+     */
+    private boolean isIndexed(ControlTower tower) {
+        return tower == this.indexedTower && tower.getChangeCount() == this.indexedChangeCount;
+    }
+
+    /**
+     * Updates the number of unoccupied gates in the terminal of the given gate, unless the
+     * index is out of date and will be rebuilt anyway.
+     * @param tower - control tower managing the gate
+     * @param gate - gate whose occupancy changed
+     * @param delta - change in the number of unoccupied gates
+     */
+    private void adjustFreeGates(ControlTower tower, Gate gate, int delta) {
+        if (!this.isIndexed(tower)) {
+            return;
+        }
+        int terminal = this.terminalOf(gate);
+        if (terminal >= 0) {
+            this.freeGates[terminal] += delta;
+            this.freeGatesChanged(terminal);
+        }
+    }
+}
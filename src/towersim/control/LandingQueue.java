@@ -14,10 +14,13 @@ import java.util.List;
  * and cargo type.
  */
 public class LandingQueue extends AircraftQueue implements Encodable {
+    /** Percentage of fuel remaining at or below which an aircraft's fuel level is critical */
+    static final int CRITICAL_FUEL_PERCENT = 20;
+
     /**
      * A list of all aircraft in landing queue, in queue order
      */
-    private List<Aircraft> aircraftInLandingQueue;
+    private final List<Aircraft> aircraftInLandingQueue;
 
     /**
      * Constructs a new LandingQueue with an initially empty queue of aircraft.
@@ -35,6 +38,7 @@ public class LandingQueue extends AircraftQueue implements Encodable {
     @Override
     public void addAircraft(Aircraft aircraft) {
         this.aircraftInLandingQueue.add(aircraft);
+        this.markMember(aircraft);
     }
 
     /**
@@ -60,32 +64,39 @@ public class LandingQueue extends AircraftQueue implements Encodable {
         if (this.aircraftInLandingQueue.isEmpty()) {
             return null;
         }
+        return this.aircraftInLandingQueue.get(indexOfFront(this.aircraftInLandingQueue));
+    }
 
+    /**
+     * Returns the index of the aircraft in the given non-empty list that would be at the front of
+     * the queue, according to the rules described in peekAircraft().
+     * @param queueAircraft - aircraft in the order they were added to the queue
+     * @return index of aircraft at front of queue
+     */
+    private static int indexOfFront(List<Aircraft> queueAircraft) {
         // if having aircraft in a state of emergency
-        for (Aircraft emergencyAircraft : this.aircraftInLandingQueue) {
-            if (emergencyAircraft.hasEmergency()) {
-                return emergencyAircraft;
+        for (int i = 0; i < queueAircraft.size(); i++) {
+            if (queueAircraft.get(i).hasEmergency()) {
+                return i;
             }
         }
 
-        // the fuel level that is critical for aircraft
-        int criticalFuel = 20;
         // if having aircraft in a critical fuel level
-        for (Aircraft criticalFuelLevelAircraft : this.aircraftInLandingQueue) {
-            if (criticalFuelLevelAircraft.getFuelPercentRemaining() <= criticalFuel) {
-                return criticalFuelLevelAircraft;
+        for (int i = 0; i < queueAircraft.size(); i++) {
+            if (queueAircraft.get(i).getFuelPercentRemaining() <= CRITICAL_FUEL_PERCENT) {
+                return i;
             }
         }
 
         // if having passenger aircraft
-        for (Aircraft passengerAircraft : this.aircraftInLandingQueue) {
-            if (passengerAircraft instanceof PassengerAircraft) {
-                return passengerAircraft;
+        for (int i = 0; i < queueAircraft.size(); i++) {
+            if (queueAircraft.get(i) instanceof PassengerAircraft) {
+                return i;
             }
         }
 
         // the aircraft that was added to the queue first
-        return this.aircraftInLandingQueue.get(0);
+        return 0;
     }
 
     /**
@@ -99,14 +110,14 @@ public class LandingQueue extends AircraftQueue implements Encodable {
      */
     @Override
     public Aircraft removeAircraft() {
-        if (this.peekAircraft() == null) {
+        if (this.aircraftInLandingQueue.isEmpty()) {
             return null;
-        } else {
-            // local variable aircraftAtFront contains the aircraft being removed
-            Aircraft aircraftAtFront = this.peekAircraft();
-            this.aircraftInLandingQueue.remove(this.peekAircraft());
-            return aircraftAtFront;
         }
+        // local variable aircraftAtFront contains the aircraft being removed
+        Aircraft aircraftAtFront = this.aircraftInLandingQueue.remove(
+                indexOfFront(this.aircraftInLandingQueue));
+        this.unmarkMember(aircraftAtFront);
+        return aircraftAtFront;
     }
 
     /**
@@ -120,24 +131,123 @@ public class LandingQueue extends AircraftQueue implements Encodable {
      */
     @Override
     public List<Aircraft> getAircraftInOrder() {
-        // define a list return all aircrafts in queue, in queue order
-        List<Aircraft> aircraftInQueueOrder = new ArrayList<Aircraft>();
-        // define a new list deep copy the content of aircraft in landing queue
-        List<Aircraft> copyAircraftInQueue = new ArrayList<Aircraft>(this.aircraftInLandingQueue);
-
-        // the number of aircraft in the queue. Using "i < this.numberOfAircraft" will cause
-        // an error
-        int numberOfAircraft = this.aircraftInLandingQueue.size();
-        for (int i = 0; i < numberOfAircraft; i++) {
-            aircraftInQueueOrder.add(this.peekAircraft());
-            this.removeAircraft();
+        // removing the front aircraft never changes which rule applies to the others, so the
+        // queue order is the order aircraft were added, grouped by the first rule that applies
+        List<Aircraft> aircraftInQueueOrder = new ArrayList<Aircraft>(
+                this.aircraftInLandingQueue.size());
+        List<Aircraft> criticalFuelAircraft = new ArrayList<Aircraft>();
+        List<Aircraft> passengerAircraft = new ArrayList<Aircraft>();
+        List<Aircraft> otherAircraft = new ArrayList<Aircraft>();
+        for (Aircraft aircraft : this.aircraftInLandingQueue) {
+            if (aircraft.hasEmergency()) {
+                aircraftInQueueOrder.add(aircraft);
+            } else if (aircraft.getFuelPercentRemaining() <= CRITICAL_FUEL_PERCENT) {
+                criticalFuelAircraft.add(aircraft);
+            } else if (aircraft instanceof PassengerAircraft) {
+                passengerAircraft.add(aircraft);
+            } else {
+                otherAircraft.add(aircraft);
+            }
         }
-        // deep copy the content of copyAircraftInQueue back to the aircraftInLandingQueue
-        this.aircraftInLandingQueue = new ArrayList<Aircraft>(copyAircraftInQueue);
+        aircraftInQueueOrder.addAll(criticalFuelAircraft);
+        aircraftInQueueOrder.addAll(passengerAircraft);
+        aircraftInQueueOrder.addAll(otherAircraft);
 
         return aircraftInQueueOrder;
     }
 
+    /**
+     * Returns the IDs of the aircraft in the queue, in the order given by
+     * getAircraftInOrder(), without building intermediate lists.
+     * @return IDs of the queued aircraft, in queue order
+     */
+    @Override
+    int[] getIdsInOrder() {
+        int size = this.aircraftInLandingQueue.size();
+        byte[] rules = new byte[size];
+        int[] starts = new int[4];
+        for (int i = 0; i < size; i++) {
+            rules[i] = (byte) ruleOf(this.aircraftInLandingQueue.get(i));
+            if (rules[i] < 3) {
+                starts[rules[i] + 1]++;
+            }
+        }
+        // each rule's group starts after the groups of the rules before it
+        for (int rule = 1; rule < 4; rule++) {
+            starts[rule] += starts[rule - 1];
+        }
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[starts[rules[i]]++] = this.aircraftInLandingQueue.get(i).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Returns a list of the first aircraft in the queue, in order, in one pass over the queue
+     * that keeps at most count aircraft for each rule of the queue order. The pass ends early
+     * once count aircraft in a state of emergency have been found.
+     * @param count - largest number of aircraft to return
+     * @return list of at most count aircraft from the front of the queue, in queue order
+     * @throws IllegalArgumentException if count is negative
+     */
+    @Override
+    public List<Aircraft> getFirstAircraftInOrder(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        List<List<Aircraft>> byRule = new ArrayList<List<Aircraft>>(4);
+        for (int rule = 0; rule < 4; rule++) {
+            byRule.add(new ArrayList<Aircraft>());
+        }
+        for (Aircraft aircraft : this.aircraftInLandingQueue) {
+            if (byRule.get(0).size() == count) {
+                break;
+            }
+            List<Aircraft> group = byRule.get(ruleOf(aircraft));
+            if (group.size() < count) {
+                group.add(aircraft);
+            }
+        }
+        List<Aircraft> first = new ArrayList<Aircraft>(
+                Math.min(count, this.aircraftInLandingQueue.size()));
+        for (List<Aircraft> group : byRule) {
+            for (Aircraft aircraft : group) {
+                if (first.size() == count) {
+                    return first;
+                }
+                first.add(aircraft);
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Returns the first rule of the queue order that applies to the given aircraft: 0 for an
+     * emergency, 1 for critical fuel, 2 for a passenger aircraft and 3 otherwise.
+     * @param aircraft - aircraft in the queue
+     * @return rule applying to the aircraft
+     */
+    private static int ruleOf(Aircraft aircraft) {
+        if (aircraft.hasEmergency()) {
+            return 0;
+        } else if (aircraft.getFuelPercentRemaining() <= CRITICAL_FUEL_PERCENT) {
+            return 1;
+        } else if (aircraft instanceof PassengerAircraft) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Returns a list of all aircraft in the queue in the order they were added, which together
+     * with their state determines the queue order.
+     * @return list of all aircraft in queue, in the order they were added
+     */
+    List<Aircraft> getAircraftInArrivalOrder() {
+        return new ArrayList<Aircraft>(this.aircraftInLandingQueue);
+    }
+
     /**
      * Returns true if the given aircraft is in the queue.
      * Specified by:
@@ -147,6 +257,20 @@ public class LandingQueue extends AircraftQueue implements Encodable {
      */
     @Override
     public boolean containsAircraft(Aircraft aircraft) {
+        if (aircraft.getId() != Aircraft.UNASSIGNED_ID) {
+            return this.isMarkedMember(aircraft);
+        }
         return this.aircraftInLandingQueue.contains(aircraft);
     }
+
+    /**
+     * Returns the number of aircraft in the queue.
+     * Overrides:
+     * size in class AircraftQueue
+     * @return number of aircraft waiting in the queue
+     */
+    @Override
+    public int size() {
+        return this.aircraftInLandingQueue.size();
+    }
 }
@@ -0,0 +1,234 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.util.NoSuitableGateException;
+
+import java.util.Arrays;
+
+/**
+ * Chooses the first unoccupied gate in the suitable terminal with the lowest occupancy level,
+ * as given by Terminal.calculateOccupancyLevel(), preferring the terminal added first on ties.
+ * <p>
+ * Terminals are kept in a binary heap per aircraft type keyed on their occupancy level, which
+ * is updated in logarithmic time as gates are occupied and released. Terminals in a state of
+ * emergency stay in the heaps; while the terminal at the top of a heap is in a state of
+ * emergency, the other terminals in the heap are searched instead, which takes linear time.
+ */
+final class LeastOccupiedGateAssignment extends IndexedGateAssignment {
+    /** Heap of terminals that accept airplanes */
+    private TerminalHeap airplaneTerminals;
+
+    /** Heap of terminals that accept helicopters */
+    private TerminalHeap helicopterTerminals;
+
+    /** Heap holding each terminal, or null if it is in neither heap; indexed as terminals */
+    private TerminalHeap[] heapOfTerminal;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Gate chooseGate(ControlTower tower, Aircraft aircraft)
+            throws NoSuitableGateException {
+        this.ensureIndexed(tower);
+        TerminalHeap candidates = aircraft.getCharacteristics().type == AircraftType.AIRPLANE
+                ? this.airplaneTerminals : this.helicopterTerminals;
+        int chosen = candidates.size == 0 ? -1 : candidates.peek();
+        if (chosen >= 0 && this.terminals.get(chosen).hasEmergency()) {
+            chosen = candidates.findWithoutEmergency();
+        }
+        // the least occupied terminal has a free gate if any terminal does
+        if (chosen < 0 || this.freeGates[chosen] == 0) {
+            throw new NoSuitableGateException("No gate available for aircraft");
+        }
+        return this.terminals.get(chosen).findUnoccupiedGate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GateAssignmentStrategy copy() {
+        return new LeastOccupiedGateAssignment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void indexBuilt() {
+        int numTerminals = this.terminals.size();
+        this.airplaneTerminals = new TerminalHeap(numTerminals);
+        this.helicopterTerminals = new TerminalHeap(numTerminals);
+        this.heapOfTerminal = new TerminalHeap[numTerminals];
+        for (int t = 0; t < numTerminals; t++) {
+            Terminal terminal = this.terminals.get(t);
+            if (this.numGates[t] == 0) {
+                continue;
+            }
+            if (accepts(terminal, AircraftType.AIRPLANE)) {
+                this.heapOfTerminal[t] = this.airplaneTerminals;
+            } else if (accepts(terminal, AircraftType.HELICOPTER)) {
+                this.heapOfTerminal[t] = this.helicopterTerminals;
+            }
+            if (this.heapOfTerminal[t] != null) {
+                this.heapOfTerminal[t].add(t);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void freeGatesChanged(int terminal) {
+        if (this.heapOfTerminal[terminal] != null) {
+            this.heapOfTerminal[terminal].update(terminal);
+        }
+    }
+
+    /**
+     * Returns the occupancy level of the given terminal, computed from the index as
+     * Terminal.calculateOccupancyLevel() computes it from the gates.
+     * @param terminal - index of the terminal
+     * @return percentage of occupied gates, 0 to 100
+     */
+    private int occupancyLevel(int terminal) {
+        int occupied = this.numGates[terminal] - this.freeGates[terminal];
+        return (int) Math.round(100 * (double) occupied / this.numGates[terminal]);
+    }
+
+    /**
+     * Returns true if the first terminal should be chosen before the second.
+     * @param first - index of a terminal
+     * @param second - index of another terminal
+     * @return true if first has a lower occupancy level, or the same level and was added first
+     */
+    private boolean before(int first, int second) {
+        int difference = this.occupancyLevel(first) - this.occupancyLevel(second);
+        return difference < 0 || (difference == 0 && first < second);
+    }
+
+    /**
+     * Binary min-heap of terminal indices ordered by before(int, int), which tracks the
+     * position of each terminal so that its key can be updated.
+     */
+    private final class TerminalHeap {
+        /** Terminal indices in heap order */
+        private final int[] heap;
+
+        /** Position of each terminal in heap, or -1 if absent */
+        private final int[] position;
+
+        /** Number of terminals in the heap */
+        private int size;
+
+        /**
+         * Creates a new, empty heap for the given number of terminals.
+         * @param numTerminals - number of terminals in the control tower
+         */
+        private TerminalHeap(int numTerminals) {
+            this.heap = new int[numTerminals];
+            this.position = new int[numTerminals];
+            Arrays.fill(this.position, -1);
+            this.size = 0;
+        }
+
+        /**
+         * Returns the terminal that should be chosen next.
+         * @return index of the terminal at the top of the heap
+         */
+        private int peek() {
+            return this.heap[0];
+        }
+
+        /**
+         * Returns the terminal that should be chosen next among those not in a state of
+         * emergency, by looking at every terminal in the heap.
+         * @return index of the terminal, or -1 if every terminal is in a state of emergency
+         */
+        private int findWithoutEmergency() {
+            int chosen = -1;
+            for (int i = 0; i < this.size; i++) {
+                int terminal = this.heap[i];
+                if (!terminals.get(terminal).hasEmergency()
+                        && (chosen < 0 || before(terminal, chosen))) {
+                    chosen = terminal;
+                }
+            }
+            return chosen;
+        }
+
+        /**
+         * Adds the given terminal to the heap.
+         * @param terminal - index of the terminal
+         */
+        private void add(int terminal) {
+            this.heap[this.size] = terminal;
+            this.position[terminal] = this.size;
+            this.size++;
+            this.siftUp(this.size - 1);
+        }
+
+        /**
+         * Restores the heap order after the key of the given terminal changed.
+         * @param terminal - index of the terminal
+         */
+        private void update(int terminal) {
+            this.siftDown(this.siftUp(this.position[terminal]));
+        }
+
+        /**
+         * Moves the terminal at the given position up until its parent comes before it.
+         * @param index - position in the heap
+         * @return new position of the terminal
+         */
+        private int siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!before(this.heap[index], this.heap[parent])) {
+                    break;
+                }
+                this.swap(index, parent);
+                index = parent;
+            }
+            return index;
+        }
+
+        /**
+         * Moves the terminal at the given position down until it comes before its children.
+         * @param index - position in the heap
+         */
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2; child++) {
+                    if (child < this.size && before(this.heap[child], this.heap[smallest])) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == index) {
+                    return;
+                }
+                this.swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        /**
+         * Swaps the terminals at the given positions.
+         * @param i - position in the heap
+         * @param j - other position in the heap
+         */
+        private void swap(int i, int j) {
+            int terminal = this.heap[i];
+            this.heap[i] = this.heap[j];
+            this.heap[j] = terminal;
+            this.position[this.heap[i]] = i;
+            this.position[this.heap[j]] = j;
+        }
+    }
+}
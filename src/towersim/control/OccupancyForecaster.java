@@ -0,0 +1,236 @@
+package towersim.control;
+
+import towersim.aircraft.AircraftType;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+
+import java.util.List;
+
+/**
+ * Forecasts gate occupancy and queue lengths of a control tower a number of ticks ahead.
+ * <p>
+ * The forecast is made by running a fork of the control tower ahead, so it is exact provided
+ * nothing changes the control tower other than ticking it. The control tower itself is never
+ * changed.
+ * <p>
+ * Forecasts are cached. Queries recompute the forecast only when the control tower has
+ * changed since the last one, as reported by ControlTower.getChangeCount(). If the control
+ * tower has only been ticked, the forecast is still valid for the ticks it already covers, so
+ * the fork is ticked on to extend it by the number of ticks elapsed rather than being
+ * recomputed, making each tick of a live forecast cost about one tick of the control tower.
+ */
+public class OccupancyForecaster {
+    /** Control tower being forecast */
+    private final ControlTower tower;
+
+    /** Number of ticks ahead covered by the forecast */
+    private final int horizon;
+
+    /** Fork of the control tower, at the last tick covered by the forecast; null if stale */
+    private ControlTower fork;
+
+    /** Ticks elapsed of the control tower at the first tick covered by the forecast */
+    private long baseTick;
+
+    /** Change count of the control tower when the forecast was made */
+    private long baseChangeCount;
+
+    /** Terminals of the control tower when the forecast was made */
+    private List<Terminal> terminals;
+
+    /**
+     * Number of occupied gates in each terminal at each tick covered, in a ring of
+     * horizon + 1 rows of one entry per terminal, where the row of a tick is its number of
+     * ticks elapsed modulo horizon + 1
+     */
+    private int[] occupiedGates;
+
+    /** Length of the landing queue at each tick covered, in rows as for occupiedGates */
+    private int[] landingQueueSizes;
+
+    /** Length of the takeoff queue at each tick covered, in rows as for occupiedGates */
+    private int[] takeoffQueueSizes;
+
+    /**
+     * Creates a new forecaster for the given control tower.
+     * @param tower - control tower to forecast
+     * @param horizon - number of ticks ahead to forecast
+     * @throws IllegalArgumentException if horizon is negative
+     */
+    public OccupancyForecaster(ControlTower tower, int horizon) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("Forecast horizon cannot be negative");
+        }
+        this.tower = tower;
+        this.horizon = horizon;
+        this.fork = null;
+        this.landingQueueSizes = new int[horizon + 1];
+        this.takeoffQueueSizes = new int[horizon + 1];
+    }
+
+    /**
+     * Returns the number of ticks ahead covered by forecasts.
+     * @return forecast horizon
+     */
+    public int getHorizon() {
+        return this.horizon;
+    }
+
+    /**
+     * Returns the number of occupied gates that the given terminal will have after the given
+     * number of further ticks.
+     * @param terminal - terminal managed by the control tower
+     * @param ticksAhead - number of ticks ahead, from 0 (now) to the horizon
+     * @return forecast number of occupied gates
+     * @throws IllegalArgumentException if the terminal is not managed by the control tower or
+     * ticksAhead is out of range
+     */
+    public int getOccupiedGates(Terminal terminal, int ticksAhead) {
+        int index = this.indexOf(terminal);
+        return this.occupiedGates[this.row(ticksAhead) * this.terminals.size() + index];
+    }
+
+    /**
+     * Returns the length the landing queue will have after the given number of further ticks.
+     * @param ticksAhead - number of ticks ahead, from 0 (now) to the horizon
+     * @return forecast length of the landing queue
+     * @throws IllegalArgumentException if ticksAhead is out of range
+     */
+    public int getLandingQueueSize(int ticksAhead) {
+        return this.landingQueueSizes[this.row(ticksAhead)];
+    }
+
+    /**
+     * Returns the length the takeoff queue will have after the given number of further ticks.
+     * @param ticksAhead - number of ticks ahead, from 0 (now) to the horizon
+     * @return forecast length of the takeoff queue
+     * @throws IllegalArgumentException if ticksAhead is out of range
+     */
+    public int getTakeoffQueueSize(int ticksAhead) {
+        return this.takeoffQueueSizes[this.row(ticksAhead)];
+    }
+
+    /**
+     * Returns the number of ticks until the given terminal has an unoccupied gate available to
+     * aircraft of the given type.
+     * @param terminal - terminal managed by the control tower
+     * @param type - type of aircraft needing a gate
+     * @return 0 if a gate is available now, the number of ticks until one becomes available, or
+     * -1 if none will be available within the horizon, or the terminal does not accept the type
+     * of aircraft or is in a state of emergency
+     * @throws IllegalArgumentException if the terminal is not managed by the control tower
+     */
+    public int getTicksUntilFreeGate(Terminal terminal, AircraftType type) {
+        int index = this.indexOf(terminal);
+        if (!IndexedGateAssignment.accepts(terminal, type) || terminal.hasEmergency()) {
+            return -1;
+        }
+        int numGates = terminal.getGates().size();
+        for (int ticksAhead = 0; ticksAhead <= this.horizon; ticksAhead++) {
+            int row = (int) ((this.baseTick + ticksAhead) % (this.horizon + 1));
+            if (this.occupiedGates[row * this.terminals.size() + index] < numGates) {
+                return ticksAhead;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of ticks until any terminal has an unoccupied gate available to
+     * aircraft of the given type.
+     * @param type - type of aircraft needing a gate
+     * @return 0 if a gate is available now, the number of ticks until one becomes available, or
+     * -1 if none will be available within the horizon
+     */
+    public int getTicksUntilFreeGate(AircraftType type) {
+        this.update();
+        int earliest = -1;
+        for (Terminal terminal : this.terminals) {
+            int ticks = this.getTicksUntilFreeGate(terminal, type);
+            if (ticks >= 0 && (earliest < 0 || ticks < earliest)) {
+                earliest = ticks;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Returns the index of the given terminal in the forecast, bringing the forecast up to
+     * date first.
+     * @param terminal - terminal managed by the control tower
+     * @return index of the terminal
+     * @throws IllegalArgumentException if the terminal is not managed by the control tower
+     */
+    private int indexOf(Terminal terminal) {
+        this.update();
+        int index = this.terminals.indexOf(terminal);
+        if (index < 0) {
+            throw new IllegalArgumentException("Terminal " + terminal.getTerminalNumber()
+                    + " is not managed by this control tower");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the row of the forecast holding the given number of ticks ahead, bringing the
+     * forecast up to date first.
+     * @param ticksAhead - number of ticks ahead
+     * @return row of the forecast
+     * @throws IllegalArgumentException if ticksAhead is out of range
+     */
+    private int row(int ticksAhead) {
+        if (ticksAhead < 0 || ticksAhead > this.horizon) {
+            throw new IllegalArgumentException("Forecasts cover 0 to " + this.horizon
+                    + " ticks ahead");
+        }
+        this.update();
+        return (int) ((this.baseTick + ticksAhead) % (this.horizon + 1));
+    }
+
+    /**
+     * Brings the forecast up to date with the control tower, extending it if the control tower
+     * has only been ticked since, and recomputing it otherwise.
+     */
+    private void update() {
+        long now = this.tower.getTicksElapsed();
+        if (this.fork != null && this.tower.getChangeCount() == this.baseChangeCount
+                && now >= this.baseTick && now - this.baseTick <= this.horizon) {
+            while (this.baseTick < now) {
+                this.baseTick++;
+                this.fork.tick();
+                this.recordFork();
+            }
+            return;
+        }
+
+        this.fork = this.tower.fork();
+        this.baseTick = now;
+        this.baseChangeCount = this.tower.getChangeCount();
+        this.terminals = this.tower.getTerminals();
+        this.occupiedGates = new int[(this.horizon + 1) * this.terminals.size()];
+        this.recordFork();
+        for (int ticksAhead = 1; ticksAhead <= this.horizon; ticksAhead++) {
+            this.fork.tick();
+            this.recordFork();
+        }
+    }
+
+    /**
+     * Records the state of the fork as the forecast for its current tick.
+     */
+    private void recordFork() {
+        int row = (int) (this.fork.getTicksElapsed() % (this.horizon + 1));
+        List<Terminal> forkTerminals = this.fork.getTerminals();
+        for (int i = 0; i < forkTerminals.size(); i++) {
+            int occupied = 0;
+            for (Gate gate : forkTerminals.get(i).getGates()) {
+                if (gate.isOccupied()) {
+                    occupied++;
+                }
+            }
+            this.occupiedGates[row * forkTerminals.size() + i] = occupied;
+        }
+        this.landingQueueSizes[row] = this.fork.getLandingQueue().size();
+        this.takeoffQueueSizes[row] = this.fork.getTakeoffQueue().size();
+    }
+}
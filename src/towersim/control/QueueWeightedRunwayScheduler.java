@@ -0,0 +1,42 @@
+package towersim.control;
+
+/**
+ * Gives the runway to the queue with the greater weighted length, so that neither queue is
+ * left waiting while the other is empty.
+ * <p>
+ * Landing goes first when the length of the landing queue times the landing weight is at least
+ * the length of the takeoff queue times the takeoff weight; otherwise takeoff goes first. The
+ * other queue uses the slot if the first cannot, so a slot is only left unused when no waiting
+ * aircraft can move.
+ */
+public class QueueWeightedRunwayScheduler implements RunwayScheduler {
+    /** Weight of each aircraft waiting to land */
+    private final double landingWeight;
+
+    /** Weight of each aircraft waiting to take off */
+    private final double takeoffWeight;
+
+    /**
+     * Creates a new queue-weighted scheduler with the given weights.
+     * @param landingWeight - weight of each aircraft waiting to land
+     * @param takeoffWeight - weight of each aircraft waiting to take off
+     * @throws IllegalArgumentException if either weight is negative
+     */
+    public QueueWeightedRunwayScheduler(double landingWeight, double takeoffWeight) {
+        if (landingWeight < 0 || takeoffWeight < 0) {
+            throw new IllegalArgumentException("Queue weights cannot be negative");
+        }
+        this.landingWeight = landingWeight;
+        this.takeoffWeight = takeoffWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RunwayUse chooseRunwayUse(ControlTower tower, long tickNumber) {
+        return tower.getLandingQueue().size() * this.landingWeight
+                >= tower.getTakeoffQueue().size() * this.takeoffWeight
+                ? RunwayUse.LAND_FIRST : RunwayUse.TAKEOFF_FIRST;
+    }
+}
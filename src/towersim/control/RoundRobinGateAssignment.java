@@ -0,0 +1,89 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.Gate;
+import towersim.util.NoSuitableGateException;
+
+/**
+ * Chooses the first unoccupied gate in the next suitable terminal after the one where an
+ * aircraft last parked, wrapping around to the first terminal, so that terminals take
+ * arriving aircraft in turn.
+ */
+final class RoundRobinGateAssignment extends IndexedGateAssignment {
+    /** Index of the terminal to consider first */
+    private int next;
+
+    /**
+     * Creates a new round-robin strategy starting from the first terminal.
+     */
+    RoundRobinGateAssignment() {
+        this(0);
+    }
+
+    /**
+     * Creates a new round-robin strategy starting from the given terminal.
+     * @param next - index of the terminal to consider first
+     */
+    private RoundRobinGateAssignment(int next) {
+        this.next = next;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Gate chooseGate(ControlTower tower, Aircraft aircraft)
+            throws NoSuitableGateException {
+        this.ensureIndexed(tower);
+        AircraftType type = aircraft.getCharacteristics().type;
+        int numTerminals = this.terminals.size();
+        for (int i = 0; i < numTerminals; i++) {
+            int t = (this.next + i) % numTerminals;
+            if (this.hasSuitableGate(t, type)) {
+                return this.terminals.get(t).findUnoccupiedGate();
+            }
+        }
+        throw new NoSuitableGateException("No gate available for aircraft");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The next search starts after the terminal of the gate.
+     */
+    @Override
+    public void gateOccupied(ControlTower tower, Gate gate) {
+        super.gateOccupied(tower, gate);
+        this.ensureIndexed(tower);
+        int terminal = this.terminalOf(gate);
+        if (terminal >= 0) {
+            this.next = (terminal + 1) % this.terminals.size();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GateAssignmentStrategy copy() {
+        return new RoundRobinGateAssignment(this.next);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void indexBuilt() {
+        if (this.next >= this.terminals.size()) {
+            this.next = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void freeGatesChanged(int terminal) {
+    }
+}
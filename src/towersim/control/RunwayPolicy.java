@@ -0,0 +1,48 @@
+package towersim.control;
+
+/**
+ * Built-in runway schedulers that a control tower can be configured with.
+ */
+public enum RunwayPolicy {
+    /**
+     * Every second tick lands an aircraft if possible and otherwise lets one take off; the
+     * other ticks only let an aircraft take off. This is the default.
+     */
+    ALTERNATING,
+
+    /**
+     * The longer queue goes first, and the other queue uses the slot if the first cannot.
+     */
+    QUEUE_WEIGHTED,
+
+    /**
+     * Landing goes first whenever the next aircraft to land has an emergency or critically low
+     * fuel, and the alternating policy is followed otherwise.
+     */
+    FUEL_PRIORITY,
+
+    /**
+     * Landing goes first while gates are plentiful and takeoff while they are scarce, and the
+     * other queue uses the slot if the first cannot.
+     */
+    GATE_ADAPTIVE;
+
+    /**
+     * Returns an instance of this policy.
+     * @return runway scheduler
+     */
+    public RunwayScheduler create() {
+        switch (this) {
+            case QUEUE_WEIGHTED:
+                return new QueueWeightedRunwayScheduler(1, 1);
+            case FUEL_PRIORITY:
+                return new FuelPriorityRunwayScheduler(ALTERNATING.create());
+            case GATE_ADAPTIVE:
+                return new GateAdaptiveRunwayScheduler();
+            case ALTERNATING:
+            default:
+                return (tower, tickNumber) -> tickNumber % 2 == 0
+                        ? RunwayUse.LAND_FIRST : RunwayUse.TAKEOFF_ONLY;
+        }
+    }
+}
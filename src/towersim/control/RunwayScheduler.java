@@ -0,0 +1,21 @@
+package towersim.control;
+
+/**
+ * Policy deciding how a control tower uses its runway on each tick.
+ * <p>
+ * Schedulers are consulted once per tick, after aircraft have finished their AWAY and WAIT
+ * tasks and loading for the tick, and may inspect the control tower's queues and terminals.
+ * They must not change the control tower. A scheduler is shared with forks of its control
+ * tower, so it should not keep state of its own.
+ */
+@FunctionalInterface
+public interface RunwayScheduler {
+
+    /**
+     * Returns how the runway should be used on the current tick.
+     * @param tower - control tower being ticked
+     * @param tickNumber - number of times the control tower has been ticked, including this tick
+     * @return use of the runway on this tick
+     */
+    RunwayUse chooseRunwayUse(ControlTower tower, long tickNumber);
+}
@@ -0,0 +1,258 @@
+package towersim.control;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Throughput and queue waiting time of a control tower's runway, for comparing runway
+ * schedulers.
+ * <p>
+ * Every tick gives the runway one slot, which is used if an aircraft lands or takes off and
+ * unused otherwise. The wait of an aircraft is the number of ticks elapsed from the tick it
+ * joined the landing or takeoff queue to the tick it left it. Aircraft already queued when the
+ * control tower was created are counted from its creation.
+ * <p>
+ * Counts cover the slots since the statistics were last reset, which happens whenever the
+ * control tower's runway scheduler is changed, so they describe the current scheduler.
+ */
+public class RunwayStatistics {
+    /** Value of queuedSince for aircraft that are not waiting in a queue */
+    private static final long NOT_QUEUED = -1;
+
+    /** Tick each aircraft joined its queue, indexed by aircraft ID; NOT_QUEUED if not queued */
+    private long[] queuedSince;
+
+    /** Number of runway slots since the last reset */
+    private long slots;
+
+    /** Number of runway slots in which no aircraft landed or took off */
+    private long unusedSlots;
+
+    /** Number of aircraft landed */
+    private long landings;
+
+    /** Number of aircraft that took off */
+    private long takeoffs;
+
+    /** Total ticks waited in the landing queue by aircraft that landed */
+    private long totalLandingWait;
+
+    /** Longest wait in the landing queue of an aircraft that landed */
+    private long maxLandingWait;
+
+    /** Total ticks waited in the takeoff queue by aircraft that took off */
+    private long totalTakeoffWait;
+
+    /** Longest wait in the takeoff queue of an aircraft that took off */
+    private long maxTakeoffWait;
+
+    /**
+     * Creates new, empty runway statistics.
+     */
+    RunwayStatistics() {
+        this.queuedSince = new long[16];
+        Arrays.fill(this.queuedSince, NOT_QUEUED);
+    }
+
+    /**
+     * Returns an independent copy of these statistics.
+     * @return copy of these statistics
+     */
+    RunwayStatistics copy() {
+        RunwayStatistics copy = new RunwayStatistics();
+        copy.queuedSince = this.queuedSince.clone();
+        copy.slots = this.slots;
+        copy.unusedSlots = this.unusedSlots;
+        copy.landings = this.landings;
+        copy.takeoffs = this.takeoffs;
+        copy.totalLandingWait = this.totalLandingWait;
+        copy.maxLandingWait = this.maxLandingWait;
+        copy.totalTakeoffWait = this.totalTakeoffWait;
+        copy.maxTakeoffWait = this.maxTakeoffWait;
+        return copy;
+    }
+
+    /**
+     * Records that the aircraft with the given ID joined the landing or takeoff queue.
+     * @param id - ID of the aircraft
+     * @param tick - ticks elapsed when the aircraft was queued
+     */
+    void aircraftQueued(int id, long tick) {
+        if (id >= this.queuedSince.length) {
+            int length = this.queuedSince.length;
+            this.queuedSince = Arrays.copyOf(this.queuedSince, Math.max(id + 1, length * 2));
+            Arrays.fill(this.queuedSince, length, this.queuedSince.length, NOT_QUEUED);
+        }
+        this.queuedSince[id] = tick;
+    }
+
+    /**
+     * Records that the aircraft with the given ID landed.
+     * @param id - ID of the aircraft
+     * @param tick - ticks elapsed when the aircraft landed
+     */
+    void aircraftLanded(int id, long tick) {
+        long wait = this.leaveQueue(id, tick);
+        this.landings++;
+        this.totalLandingWait += wait;
+        this.maxLandingWait = Math.max(this.maxLandingWait, wait);
+    }
+
+    /**
+     * Records that the aircraft with the given ID took off.
+     * @param id - ID of the aircraft
+     * @param tick - ticks elapsed when the aircraft took off
+     */
+    void aircraftTookOff(int id, long tick) {
+        long wait = this.leaveQueue(id, tick);
+        this.takeoffs++;
+        this.totalTakeoffWait += wait;
+        this.maxTakeoffWait = Math.max(this.maxTakeoffWait, wait);
+    }
+
+    /**
+     * Records that the aircraft with the given ID has taken over another ID.
+     * @param fromId - previous ID of the aircraft
+     * @param toId - new ID of the aircraft
+     */
+    void aircraftMoved(int fromId, int toId) {
+        if (fromId < this.queuedSince.length) {
+            long since = this.queuedSince[fromId];
+            this.queuedSince[fromId] = NOT_QUEUED;
+            if (since != NOT_QUEUED) {
+                this.aircraftQueued(toId, since);
+            } else if (toId < this.queuedSince.length) {
+                this.queuedSince[toId] = NOT_QUEUED;
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of one runway slot.
+     * @param used - true if an aircraft landed or took off in the slot
+     */
+    void slotEnded(boolean used) {
+        this.slots++;
+        if (!used) {
+            this.unusedSlots++;
+        }
+    }
+
+    /**
+     * Returns the wait of the aircraft with the given ID and marks it as no longer queued.
+     * @param id - ID of the aircraft leaving its queue
+     * @param tick - ticks elapsed when it left the queue
+     * @return ticks waited, or zero if the tick it joined the queue is not known
+     */
+    private long leaveQueue(int id, long tick) {
+        if (id >= this.queuedSince.length || this.queuedSince[id] == NOT_QUEUED) {
+            return 0;
+        }
+        long wait = tick - this.queuedSince[id];
+        this.queuedSince[id] = NOT_QUEUED;
+        return wait;
+    }
+
+    /**
+     * Clears the counts of slots, movements and waits. Aircraft still waiting keep the tick they
+     * joined their queue.
+     */
+    public void reset() {
+        this.slots = 0;
+        this.unusedSlots = 0;
+        this.landings = 0;
+        this.takeoffs = 0;
+        this.totalLandingWait = 0;
+        this.maxLandingWait = 0;
+        this.totalTakeoffWait = 0;
+        this.maxTakeoffWait = 0;
+    }
+
+    /**
+     * Returns the number of runway slots since the statistics were last reset.
+     * @return number of slots
+     */
+    public long getSlots() {
+        return this.slots;
+    }
+
+    /**
+     * Returns the number of runway slots in which no aircraft landed or took off.
+     * @return number of unused slots
+     */
+    public long getUnusedSlots() {
+        return this.unusedSlots;
+    }
+
+    /**
+     * Returns the number of aircraft landed.
+     * @return number of landings
+     */
+    public long getLandings() {
+        return this.landings;
+    }
+
+    /**
+     * Returns the number of aircraft that took off.
+     * @return number of takeoffs
+     */
+    public long getTakeoffs() {
+        return this.takeoffs;
+    }
+
+    /**
+     * Returns the mean number of landings and takeoffs per runway slot, between 0 and 1.
+     * @return movements per slot, or 0 if there have been no slots
+     */
+    public double getMovementsPerSlot() {
+        return this.slots == 0 ? 0.0 : (double) (this.landings + this.takeoffs) / this.slots;
+    }
+
+    /**
+     * Returns the mean number of ticks that landed aircraft waited in the landing queue.
+     * @return mean landing wait, or 0 if no aircraft have landed
+     */
+    public double getMeanLandingWait() {
+        return this.landings == 0 ? 0.0 : (double) this.totalLandingWait / this.landings;
+    }
+
+    /**
+     * Returns the longest number of ticks that a landed aircraft waited in the landing queue.
+     * @return longest landing wait
+     */
+    public long getMaxLandingWait() {
+        return this.maxLandingWait;
+    }
+
+    /**
+     * Returns the mean number of ticks that aircraft which took off waited in the takeoff queue.
+     * @return mean takeoff wait, or 0 if no aircraft have taken off
+     */
+    public double getMeanTakeoffWait() {
+        return this.takeoffs == 0 ? 0.0 : (double) this.totalTakeoffWait / this.takeoffs;
+    }
+
+    /**
+     * Returns the longest number of ticks that an aircraft which took off waited in the takeoff
+     * queue.
+     * @return longest takeoff wait
+     */
+    public long getMaxTakeoffWait() {
+        return this.maxTakeoffWait;
+    }
+
+    /**
+     * Returns the human-readable string representation of these statistics.
+     * For example: "RunwayStatistics: 100 slots, 12 unused, 40 landings (mean wait 3.5, max 9),
+     * 48 takeoffs (mean wait 2.0, max 5), 0.88 movements/slot".
+     * @return string representation of these statistics
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "RunwayStatistics: %d slots, %d unused, %d landings"
+                + " (mean wait %.1f, max %d), %d takeoffs (mean wait %.1f, max %d),"
+                + " %.2f movements/slot", this.slots, this.unusedSlots, this.landings,
+                this.getMeanLandingWait(), this.maxLandingWait, this.takeoffs,
+                this.getMeanTakeoffWait(), this.maxTakeoffWait, this.getMovementsPerSlot());
+    }
+}
@@ -0,0 +1,18 @@
+package towersim.control;
+
+/**
+ * How the runway is used on a single tick. At most one aircraft lands or takes off per tick.
+ */
+public enum RunwayUse {
+    /** Try to land an aircraft; if none can land, let an aircraft take off instead */
+    LAND_FIRST,
+
+    /** Let an aircraft take off; if none is waiting, try to land an aircraft instead */
+    TAKEOFF_FIRST,
+
+    /** Only try to land an aircraft */
+    LAND_ONLY,
+
+    /** Only let an aircraft take off */
+    TAKEOFF_ONLY
+}
@@ -0,0 +1,20 @@
+package towersim.control;
+
+/**
+ * The ways in which a control tower can advance its simulation on each call to tick().
+ * Both modes produce the same observable state and the same save files.
+ */
+public enum SimulationMode {
+    /**
+     * Every aircraft, queue and loading entry is visited on every tick.
+     */
+    TICK_BY_TICK,
+
+    /**
+     * Only aircraft whose state changes on a tick are visited. Future changes, such as the end
+     * of a run of AWAY tasks or the completion of loading, are scheduled in a priority queue of
+     * events, and aircraft part-way through such a run are brought up to date whenever they are
+     * observed through the control tower.
+     */
+    EVENT_DRIVEN
+}
@@ -0,0 +1,197 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.util.DenseIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the TowerSnapshots published by a control tower, sharing every part that is unchanged
+ * since the previous snapshot.
+ * <p>
+ * Each aircraft and terminal is compared with its record in the previous snapshot, and a new
+ * record is only created if its state changed. A block of aircraft records, a queue or the
+ * list of terminals is only copied if one of its elements changed. Only the tick thread uses
+ * the publisher.
+ */
+final class SnapshotPublisher {
+    /** Number of the terminal each parked aircraft is at, indexed by ID; -1 if not parked */
+    private int[] terminalOf;
+
+    /** Number of the gate each parked aircraft is at, indexed by ID; -1 if not parked */
+    private int[] gateOf;
+
+    /** Most recently built snapshot */
+    private TowerSnapshot previous;
+
+    /**
+     * Creates a new publisher that has not built any snapshots.
+     */
+    SnapshotPublisher() {
+        this.terminalOf = new int[0];
+        this.gateOf = new int[0];
+        this.previous = null;
+    }
+
+    /**
+     * Builds a snapshot of the given control tower's current state. Aircraft must be up to
+     * date, i.e. the control tower must have been synchronised.
+     * @param tower - control tower to record
+     * @return snapshot of the control tower
+     */
+    TowerSnapshot build(ControlTower tower) {
+        List<Aircraft> aircraft = tower.getManagedAircraft();
+        int numAircraft = aircraft.size();
+        if (this.terminalOf.length < numAircraft) {
+            int length = Math.max(numAircraft, this.terminalOf.length * 2);
+            this.terminalOf = new int[length];
+            this.gateOf = new int[length];
+            Arrays.fill(this.terminalOf, -1);
+            Arrays.fill(this.gateOf, -1);
+        }
+
+        List<TerminalSnapshot> terminals = this.buildTerminals(tower.getTerminals(),
+                numAircraft);
+        AircraftSnapshot[][] blocks = this.buildBlocks(aircraft, tower.getLoadingMap());
+
+        // clear the gate positions recorded by buildTerminals for the next snapshot
+        for (Terminal terminal : tower.getTerminals()) {
+            for (Gate gate : terminal.getGates()) {
+                int id = parkedId(gate, numAircraft);
+                if (id >= 0) {
+                    this.terminalOf[id] = -1;
+                    this.gateOf[id] = -1;
+                }
+            }
+        }
+
+        TowerSnapshot snapshot = new TowerSnapshot(tower.getTicksElapsed(),
+                tower.getNumLandings(), tower.getNumTakeoffs(), numAircraft, blocks,
+                this.share(tower.getLandingQueue().getIdsInOrder(),
+                        this.previous == null ? null : this.previous.getLandingQueueIds()),
+                this.share(tower.getTakeoffQueue().getIdsInOrder(),
+                        this.previous == null ? null : this.previous.getTakeoffQueueIds()),
+                this.share(keysOf(tower.getLoadingMap()),
+                        this.previous == null ? null : this.previous.getLoadingIds()),
+                terminals);
+        this.previous = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Builds the terminal records, reusing unchanged records and the previous list if no
+     * terminal changed, and records the gate of every parked aircraft.
+     * @param current - terminals of the control tower
+     * @param numAircraft - number of managed aircraft
+     * @return unmodifiable list of terminal records
+     */
+    private List<TerminalSnapshot> buildTerminals(List<Terminal> current,
+            int numAircraft) {
+        List<TerminalSnapshot> old = this.previous == null
+                ? Collections.emptyList() : this.previous.getTerminals();
+        List<TerminalSnapshot> records = new ArrayList<>(current.size());
+        boolean changed = old.size() != current.size();
+        for (int i = 0; i < current.size(); i++) {
+            Terminal terminal = current.get(i);
+            TerminalSnapshot record = i < old.size() ? old.get(i) : null;
+            if (record == null || !record.describes(terminal)) {
+                record = new TerminalSnapshot(terminal);
+                changed = true;
+            }
+            records.add(record);
+            for (Gate gate : terminal.getGates()) {
+                int id = parkedId(gate, numAircraft);
+                if (id >= 0) {
+                    this.terminalOf[id] = terminal.getTerminalNumber();
+                    this.gateOf[id] = gate.getGateNumber();
+                }
+            }
+        }
+        return changed ? Collections.unmodifiableList(records) : old;
+    }
+
+    /**
+     * Builds the blocks of aircraft records, reusing unchanged records and blocks.
+     * @param aircraft - managed aircraft, indexed by ID
+     * @param loadingMap - remaining loading ticks, indexed by aircraft ID
+     * @return blocks of aircraft records
+     */
+    private AircraftSnapshot[][] buildBlocks(List<Aircraft> aircraft, DenseIntMap loadingMap) {
+        int numBlocks = (aircraft.size() + TowerSnapshot.BLOCK_SIZE - 1)
+                >>> TowerSnapshot.BLOCK_BITS;
+        AircraftSnapshot[][] blocks = new AircraftSnapshot[numBlocks][];
+        for (int block = 0; block < numBlocks; block++) {
+            AircraftSnapshot[] old = this.previous == null ? null : this.previous.getBlock(block);
+            AircraftSnapshot[] records = null;
+            int first = block << TowerSnapshot.BLOCK_BITS;
+            int end = Math.min(first + TowerSnapshot.BLOCK_SIZE, aircraft.size());
+            for (int id = first; id < end; id++) {
+                Aircraft current = aircraft.get(id);
+                int loadingTicks = loadingMap.getOrDefault(id, 0);
+                AircraftSnapshot record = old == null ? null : old[id - first];
+                if (record != null && record.describes(current, loadingTicks,
+                        this.terminalOf[id], this.gateOf[id])) {
+                    if (records != null) {
+                        records[id - first] = record;
+                    }
+                    continue;
+                }
+                if (records == null) {
+                    // copy the unchanged records before the first change in this block
+                    records = new AircraftSnapshot[TowerSnapshot.BLOCK_SIZE];
+                    if (old != null) {
+                        System.arraycopy(old, 0, records, 0, id - first);
+                    }
+                }
+                records[id - first] = new AircraftSnapshot(current, loadingTicks,
+                        this.terminalOf[id], this.gateOf[id]);
+            }
+            blocks[block] = records == null ? old : records;
+        }
+        return blocks;
+    }
+
+    /**
+     * Returns the previous array if it holds the same IDs as the current one, so that it is
+     * shared rather than kept twice.
+     * @param current - IDs in the current state
+     * @param old - IDs in the previous snapshot, or null
+     * @return array to publish
+     */
+    private int[] share(int[] current, int[] old) {
+        return old != null && Arrays.equals(current, old) ? old : current;
+    }
+
+    /**
+     * Returns the ID of the aircraft parked at the given gate if it is managed.
+     * @param gate - gate to inspect
+     * @param limit - number of valid IDs
+     * @return aircraft ID, or -1 if the gate is unoccupied or the ID is out of range
+     */
+    private static int parkedId(Gate gate, int limit) {
+        if (!gate.isOccupied()) {
+            return -1;
+        }
+        int id = gate.getAircraftAtGate().getId();
+        return id >= 0 && id < limit ? id : -1;
+    }
+
+    /**
+     * Returns the keys of the given map in ascending order.
+     * @param map - map whose keys to return
+     * @return keys of the map
+     */
+    private static int[] keysOf(DenseIntMap map) {
+        int[] keys = new int[map.size()];
+        int i = 0;
+        for (int key = map.firstKey(); key >= 0; key = map.nextKey(key)) {
+            keys[i++] = key;
+        }
+        return keys;
+    }
+}
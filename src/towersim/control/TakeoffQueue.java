@@ -2,7 +2,9 @@ package towersim.control;
 
 import towersim.aircraft.Aircraft;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -15,13 +17,13 @@ public class TakeoffQueue extends AircraftQueue {
     /**
      * A list of all aircraft in takeoff queue, in queue order
      */
-    private final List<Aircraft> aircraftInTakeoffQueue;
+    private final Deque<Aircraft> aircraftInTakeoffQueue;
 
     /**
      * Constructs a new TakeoffQueue with an initially empty queue of aircraft.
      */
     public TakeoffQueue() {
-        this.aircraftInTakeoffQueue = new ArrayList<Aircraft>();
+        this.aircraftInTakeoffQueue = new ArrayDeque<Aircraft>();
     }
 
     /**
@@ -32,7 +34,8 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public void addAircraft(Aircraft aircraft) {
-        this.aircraftInTakeoffQueue.add(aircraft);
+        this.aircraftInTakeoffQueue.addLast(aircraft);
+        this.markMember(aircraft);
     }
 
     /**
@@ -46,13 +49,8 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public Aircraft peekAircraft() {
-        if (this.aircraftInTakeoffQueue.isEmpty()) {
-            return null;
-        } else {
-            // the first index of the list should be the index of aircraft at front of queue
-            int aircraftAtFront = 0;
-            return this.aircraftInTakeoffQueue.get(aircraftAtFront);
-        }
+        // the head of the deque is the aircraft at front of queue, or null if empty
+        return this.aircraftInTakeoffQueue.peekFirst();
     }
 
     /**
@@ -66,14 +64,12 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public Aircraft removeAircraft() {
-        if (this.aircraftInTakeoffQueue.isEmpty()) {
-            return null;
-        } else {
-            // local variable aircraftAtFront contains the aircraft being removed
-            Aircraft aircraftAtFront = this.peekAircraft();
-            this.aircraftInTakeoffQueue.remove(this.peekAircraft());
-            return aircraftAtFront;
+        // local variable aircraftAtFront contains the aircraft being removed
+        Aircraft aircraftAtFront = this.aircraftInTakeoffQueue.pollFirst();
+        if (aircraftAtFront != null) {
+            this.unmarkMember(aircraftAtFront);
         }
+        return aircraftAtFront;
     }
 
     /**
@@ -87,17 +83,31 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public List<Aircraft> getAircraftInOrder() {
-        // define a list return all aircrafts in queue, in queue order
-        List<Aircraft> aircraftInQueueOrder = new ArrayList<Aircraft>();
+        // the deque is already in FIFO order, so a copy of it is the queue order
+        return new ArrayList<Aircraft>(this.aircraftInTakeoffQueue);
+    }
 
-        // the number of aircraft in the queue. Using "i < this.numberOfAircraft" will cause
-        // an error
-        int numberOfAircraft = this.aircraftInTakeoffQueue.size();
-        for (int i = 0; i < numberOfAircraft; i++) {
-            aircraftInQueueOrder.add(this.peekAircraft());
-            this.removeAircraft();
+    /**
+     * Returns a list of the first aircraft in the queue, in order, without copying the rest of
+     * the queue.
+     * @param count - largest number of aircraft to return
+     * @return list of at most count aircraft from the front of the queue, in queue order
+     * @throws IllegalArgumentException if count is negative
+     */
+    @Override
+    public List<Aircraft> getFirstAircraftInOrder(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        List<Aircraft> first = new ArrayList<Aircraft>(
+                Math.min(count, this.aircraftInTakeoffQueue.size()));
+        for (Aircraft aircraft : this.aircraftInTakeoffQueue) {
+            if (first.size() == count) {
+                break;
+            }
+            first.add(aircraft);
         }
-        return aircraftInQueueOrder;
+        return first;
     }
 
     /**
@@ -109,6 +119,20 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public boolean containsAircraft(Aircraft aircraft) {
+        if (aircraft.getId() != Aircraft.UNASSIGNED_ID) {
+            return this.isMarkedMember(aircraft);
+        }
         return this.aircraftInTakeoffQueue.contains(aircraft);
     }
+
+    /**
+     * Returns the number of aircraft in the queue.
+     * Overrides:
+     * size in class AircraftQueue
+     * @return number of aircraft waiting in the queue
+     */
+    @Override
+    public int size() {
+        return this.aircraftInTakeoffQueue.size();
+    }
 }
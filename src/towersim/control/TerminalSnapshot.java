@@ -0,0 +1,152 @@
+package towersim.control;
+
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+
+import java.util.List;
+
+/**
+ * Immutable record of the state of one terminal and its gates at the end of a tick, as
+ * published in a TowerSnapshot.
+ */
+public final class TerminalSnapshot {
+    /** Number of the terminal */
+    private final int terminalNumber;
+
+    /** Simple class name of the terminal, e.g. AirplaneTerminal */
+    private final String terminalType;
+
+    /** Whether the terminal has declared an emergency */
+    private final boolean emergency;
+
+    /** Percentage of gates occupied */
+    private final int occupancyLevel;
+
+    /** Numbers of the terminal's gates, in the order they were added */
+    private final int[] gateNumbers;
+
+    /** IDs of the aircraft parked at each gate, or -1 for unoccupied gates */
+    private final int[] aircraftIds;
+
+    /**
+     * Creates a snapshot of the given terminal's current state.
+     * @param terminal - terminal to record
+     */
+    TerminalSnapshot(Terminal terminal) {
+        List<Gate> gates = terminal.getGates();
+        this.terminalNumber = terminal.getTerminalNumber();
+        this.terminalType = terminal.getClass().getSimpleName();
+        this.emergency = terminal.hasEmergency();
+        this.occupancyLevel = terminal.calculateOccupancyLevel();
+        this.gateNumbers = new int[gates.size()];
+        this.aircraftIds = new int[gates.size()];
+        for (int i = 0; i < gates.size(); i++) {
+            this.gateNumbers[i] = gates.get(i).getGateNumber();
+            this.aircraftIds[i] = idAtGate(gates.get(i));
+        }
+    }
+
+    /**
+     * Returns true if this snapshot still describes the given terminal, so that it can be
+     * shared by the next TowerSnapshot.
+     * @param terminal - terminal to compare
+     * @return true if the state is unchanged; false otherwise
+     */
+    boolean describes(Terminal terminal) {
+        List<Gate> gates = terminal.getGates();
+        if (this.terminalNumber != terminal.getTerminalNumber()
+                || this.emergency != terminal.hasEmergency()
+                || this.gateNumbers.length != gates.size()) {
+            return false;
+        }
+        for (int i = 0; i < gates.size(); i++) {
+            if (this.gateNumbers[i] != gates.get(i).getGateNumber()
+                    || this.aircraftIds[i] != idAtGate(gates.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ID of the aircraft parked at the given gate.
+     * @param gate - gate to inspect
+     * @return aircraft ID, or -1 if the gate is unoccupied
+     */
+    private static int idAtGate(Gate gate) {
+        return gate.isOccupied() ? gate.getAircraftAtGate().getId() : -1;
+    }
+
+    /**
+     * Returns the number of the terminal.
+     * @return terminal number
+     */
+    public int getTerminalNumber() {
+        return this.terminalNumber;
+    }
+
+    /**
+     * Returns the simple class name of the terminal, i.e. AirplaneTerminal or
+     * HelicopterTerminal.
+     * @return terminal type
+     */
+    public String getTerminalType() {
+        return this.terminalType;
+    }
+
+    /**
+     * Returns true if the terminal had declared an emergency.
+     * @return true if in a state of emergency; false otherwise
+     */
+    public boolean hasEmergency() {
+        return this.emergency;
+    }
+
+    /**
+     * Returns the percentage of the terminal's gates that were occupied, as calculated by
+     * Terminal.calculateOccupancyLevel().
+     * @return occupancy level, 0 to 100
+     */
+    public int getOccupancyLevel() {
+        return this.occupancyLevel;
+    }
+
+    /**
+     * Returns the number of gates in the terminal.
+     * @return number of gates
+     */
+    public int getNumGates() {
+        return this.gateNumbers.length;
+    }
+
+    /**
+     * Returns the number of the gate at the given position in the terminal.
+     * @param index - position of the gate, in the order gates were added
+     * @return gate number
+     */
+    public int getGateNumber(int index) {
+        return this.gateNumbers[index];
+    }
+
+    /**
+     * Returns the ID of the aircraft parked at the gate at the given position, which can be
+     * looked up with TowerSnapshot.getAircraft(int).
+     * @param index - position of the gate, in the order gates were added
+     * @return aircraft ID, or -1 if the gate was unoccupied
+     */
+    public int getAircraftIdAtGate(int index) {
+        return this.aircraftIds[index];
+    }
+
+    /**
+     * Returns the human-readable string representation of this snapshot.
+     * For example: "AirplaneTerminal 1, 3 gates, 33% occupied".
+     * @return string representation of this snapshot
+     */
+    @Override
+    public String toString() {
+        return this.terminalType + " " + this.terminalNumber + ", " + this.gateNumbers.length
+                + " gates, " + this.occupancyLevel + "% occupied"
+                + (this.emergency ? " (emergency)" : "");
+    }
+}
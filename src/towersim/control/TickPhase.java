@@ -0,0 +1,28 @@
+package towersim.control;
+
+/**
+ * Parts of ControlTower.tick() timed by a TickProfiler.
+ */
+public enum TickPhase {
+    /**
+     * Ticking every aircraft and moving aircraft past AWAY and WAIT tasks. In
+     * SimulationMode.EVENT_DRIVEN mode, this is the processing of aircraft whose AWAY or WAIT
+     * run or loading ends on the tick, and includes LOADING.
+     */
+    AIRCRAFT,
+
+    /** Processing loading aircraft with loadAircraft(); tick-by-tick mode only */
+    LOADING,
+
+    /** Landing or taking off aircraft as chosen by the runway scheduler */
+    RUNWAY,
+
+    /** Placing aircraft in their queues */
+    QUEUES,
+
+    /** Publishing the state snapshot, if snapshots are published */
+    SNAPSHOT,
+
+    /** The whole tick */
+    TICK
+}
@@ -0,0 +1,77 @@
+package towersim.control;
+
+import towersim.util.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Records how long each phase of a control tower's ticks takes, in nanoseconds, in a
+ * fixed-size LatencyHistogram per TickPhase.
+ * <p>
+ * A profiler is switched on by setting it on a control tower with
+ * ControlTower.setProfiler(TickProfiler), and off by setting null, at any time; a control
+ * tower without a profiler does not read the clock. Only the thread ticking the control tower
+ * records timings, but the histograms can be read from any thread.
+ */
+public class TickProfiler {
+    /** Histograms of phase durations, indexed by TickPhase ordinal */
+    private final LatencyHistogram[] histograms;
+
+    /**
+     * Creates a new profiler with empty histograms.
+     */
+    public TickProfiler() {
+        this.histograms = new LatencyHistogram[TickPhase.values().length];
+        for (int i = 0; i < this.histograms.length; i++) {
+            this.histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the duration of one occurrence of the given phase.
+     * @param phase - phase timed
+     * @param nanos - duration of the phase, in nanoseconds
+     */
+    void record(TickPhase phase, long nanos) {
+        this.histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns the histogram of the durations of the given phase, in nanoseconds.
+     * @param phase - phase whose durations to return
+     * @return histogram of durations
+     */
+    public LatencyHistogram getHistogram(TickPhase phase) {
+        return this.histograms[phase.ordinal()];
+    }
+
+    /**
+     * Removes every recorded duration. Must only be called by the thread ticking the control
+     * tower, or while it is not being ticked.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : this.histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Returns a table of the number of times each phase was timed and its p50, p99, p999 and
+     * maximum durations in microseconds, one line per phase.
+     * @return human-readable report of the recorded durations
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%-10s %9s %10s %10s %10s %10s%n", "phase (us)", "count", "p50", "p99", "p999",
+                "max"));
+        for (TickPhase phase : TickPhase.values()) {
+            LatencyHistogram histogram = this.getHistogram(phase);
+            report.append(String.format(Locale.ROOT, "%-10s %9d %10.1f %10.1f %10.1f %10.1f%n",
+                    phase, histogram.getCount(), histogram.getValueAtQuantile(0.5) / 1e3,
+                    histogram.getValueAtQuantile(0.99) / 1e3,
+                    histogram.getValueAtQuantile(0.999) / 1e3, histogram.getMax() / 1e3));
+        }
+        return report.toString();
+    }
+}
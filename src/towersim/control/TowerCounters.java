@@ -0,0 +1,354 @@
+package towersim.control;
+
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counters describing a control tower, which any thread can read at any time without locking
+ * and without the control tower being scanned, e.g. for monitoring a running simulation.
+ * <p>
+ * The control tower updates its counters at the end of every tick and when publishCounters()
+ * is called, so between ticks the queue lengths and totals are those after the last tick. The
+ * number of occupied gates in each terminal is kept up to date as aircraft park and leave
+ * during ticks; it is only recounted from the gates after the control tower has been changed
+ * other than by ticking (see ControlTower.getChangeCount()), which also picks up terminals,
+ * gates and emergencies that were added or changed.
+ * <p>
+ * Each value is read on its own, so values read one after another may come from different
+ * ticks.
+ */
+public final class TowerCounters {
+    /** Number of ticks elapsed */
+    private volatile long ticksElapsed;
+
+    /** Number of aircraft waiting in the landing queue */
+    private volatile int landingQueueLength;
+
+    /** Number of aircraft waiting in the takeoff queue */
+    private volatile int takeoffQueueLength;
+
+    /** Number of aircraft loading at gates */
+    private volatile int numLoadingAircraft;
+
+    /** Number of aircraft landed since the control tower was created */
+    private volatile long numLandings;
+
+    /** Number of aircraft that have taken off since the control tower was created */
+    private volatile long numTakeoffs;
+
+    /** Number of attempts to land an aircraft that failed because no gate was suitable */
+    private volatile long numRejectedLandings;
+
+    /** Number of emergencies declared through the control tower */
+    private volatile long numEmergenciesDeclared;
+
+    /** Counters of each terminal; replaced whenever the terminals are recounted */
+    private volatile TerminalCounters terminalCounters;
+
+    /** Index of the terminal each gate belongs to; only used by the thread ticking the tower */
+    private Map<Gate, Integer> terminalOfGate;
+
+    /** Change count of the control tower when its terminals were last counted */
+    private long countedChangeCount;
+
+    /** Whether the terminals must be recounted before the next update */
+    private boolean recountNeeded;
+
+    /**
+     * Creates new counters, which are all zero until first updated.
+     */
+    TowerCounters() {
+        this.terminalCounters = new TerminalCounters(new int[0], new int[0], new boolean[0]);
+        this.terminalOfGate = new IdentityHashMap<>();
+        this.recountNeeded = true;
+    }
+
+    /**
+     * Records that an aircraft left the previous gate, if any, and parked at the given gate, if
+     * any. A gate that does not belong to a counted terminal causes a recount on the next
+     * update.
+     * @param previous - gate the aircraft left, or null
+     * @param gate - gate the aircraft parked at, or null
+     */
+    void gateChanged(Gate previous, Gate gate) {
+        TerminalCounters terminals = this.terminalCounters;
+        if (previous != null) {
+            Integer index = this.terminalOfGate.get(previous);
+            if (index == null) {
+                this.recountNeeded = true;
+            } else {
+                terminals.occupiedGates.getAndDecrement(index);
+            }
+        }
+        if (gate != null) {
+            Integer index = this.terminalOfGate.get(gate);
+            if (index == null) {
+                this.recountNeeded = true;
+            } else {
+                terminals.occupiedGates.getAndIncrement(index);
+            }
+        }
+    }
+
+    /**
+     * Updates every counter from the given control tower, recounting its terminals if it has
+     * been changed other than by ticking since they were last counted.
+     * @param tower - control tower these counters describe
+     */
+    void update(ControlTower tower) {
+        this.countTerminals(tower);
+        this.ticksElapsed = tower.getTicksElapsed();
+        this.landingQueueLength = tower.getLandingQueue().size();
+        this.takeoffQueueLength = tower.getTakeoffQueue().size();
+        this.numLoadingAircraft = tower.getNumLoadingAircraft();
+        this.numLandings = tower.getNumLandings();
+        this.numTakeoffs = tower.getNumTakeoffs();
+        this.numRejectedLandings = tower.getNumRejectedLandings();
+        this.numEmergenciesDeclared = tower.getNumEmergenciesDeclared();
+    }
+
+    /**
+     * Returns the counters of each terminal of the given control tower, first recounting its
+     * terminals if it has been changed other than by ticking since they were last counted, so
+     * that they are indexed as tower.getTerminals() is. Must only be called by the thread
+     * ticking the control tower, e.g. by a runway scheduler during a tick.
+     * @param tower - control tower these counters describe
+     * @return up-to-date terminal counters
+     */
+    TerminalCounters countTerminals(ControlTower tower) {
+        if (this.recountNeeded || tower.getChangeCount() != this.countedChangeCount) {
+            this.recount(tower);
+        }
+        return this.terminalCounters;
+    }
+
+    /**
+     * Counts the gates, occupied gates and emergencies of every terminal of the given control
+     * tower, and publishes the result.
+     * @param tower - control tower these counters describe
+     */
+    private void recount(ControlTower tower) {
+        List<Terminal> terminals = tower.getTerminals();
+        int[] terminalNumbers = new int[terminals.size()];
+        int[] numGates = new int[terminals.size()];
+        boolean[] emergencies = new boolean[terminals.size()];
+        Map<Gate, Integer> gateIndex = new IdentityHashMap<>();
+        TerminalCounters counted = new TerminalCounters(terminalNumbers, numGates, emergencies);
+        for (int i = 0; i < terminals.size(); i++) {
+            Terminal terminal = terminals.get(i);
+            terminalNumbers[i] = terminal.getTerminalNumber();
+            emergencies[i] = terminal.hasEmergency();
+            int occupied = 0;
+            for (Gate gate : terminal.getGates()) {
+                gateIndex.put(gate, i);
+                numGates[i]++;
+                if (gate.isOccupied()) {
+                    occupied++;
+                }
+            }
+            counted.occupiedGates.set(i, occupied);
+        }
+        this.terminalOfGate = gateIndex;
+        this.countedChangeCount = tower.getChangeCount();
+        this.recountNeeded = false;
+        this.terminalCounters = counted;
+    }
+
+    /**
+     * Returns the number of ticks elapsed.
+     * @return ticks elapsed
+     */
+    public long getTicksElapsed() {
+        return this.ticksElapsed;
+    }
+
+    /**
+     * Returns the number of aircraft waiting in the landing queue.
+     * @return length of the landing queue
+     */
+    public int getLandingQueueLength() {
+        return this.landingQueueLength;
+    }
+
+    /**
+     * Returns the number of aircraft waiting in the takeoff queue.
+     * @return length of the takeoff queue
+     */
+    public int getTakeoffQueueLength() {
+        return this.takeoffQueueLength;
+    }
+
+    /**
+     * Returns the number of aircraft loading at gates.
+     * @return number of loading aircraft
+     */
+    public int getNumLoadingAircraft() {
+        return this.numLoadingAircraft;
+    }
+
+    /**
+     * Returns the number of aircraft landed since the control tower was created.
+     * @return number of landings
+     */
+    public long getNumLandings() {
+        return this.numLandings;
+    }
+
+    /**
+     * Returns the number of aircraft that have taken off since the control tower was created.
+     * @return number of takeoffs
+     */
+    public long getNumTakeoffs() {
+        return this.numTakeoffs;
+    }
+
+    /**
+     * Returns the number of attempts to land an aircraft that failed because no suitable gate
+     * was free.
+     * @return number of rejected landings
+     */
+    public long getNumRejectedLandings() {
+        return this.numRejectedLandings;
+    }
+
+    /**
+     * Returns the number of emergencies declared on aircraft and terminals through the control
+     * tower.
+     * @return number of emergencies declared
+     */
+    public long getNumEmergenciesDeclared() {
+        return this.numEmergenciesDeclared;
+    }
+
+    /**
+     * Returns the counters of each terminal, as last counted.
+     * @return terminal counters
+     */
+    public TerminalCounters getTerminalCounters() {
+        return this.terminalCounters;
+    }
+
+    /**
+     * Counters of the terminals of a control tower, indexed in the order the terminals were
+     * added. The terminals, their gates and emergencies are fixed; the number of occupied gates
+     * in each terminal changes as aircraft park and leave.
+     */
+    public static final class TerminalCounters {
+        /** Number of each terminal */
+        private final int[] terminalNumbers;
+
+        /** Number of gates in each terminal */
+        private final int[] numGates;
+
+        /** Whether each terminal had a state of emergency when counted */
+        private final boolean[] emergencies;
+
+        /** Number of occupied gates in each terminal */
+        private final AtomicIntegerArray occupiedGates;
+
+        /**
+         * Creates new terminal counters with no occupied gates.
+         * @param terminalNumbers - number of each terminal
+         * @param numGates - number of gates in each terminal
+         * @param emergencies - whether each terminal has a state of emergency
+         */
+        private TerminalCounters(int[] terminalNumbers, int[] numGates, boolean[] emergencies) {
+            this.terminalNumbers = terminalNumbers;
+            this.numGates = numGates;
+            this.emergencies = emergencies;
+            this.occupiedGates = new AtomicIntegerArray(terminalNumbers.length);
+        }
+
+        /**
+         * Returns the number of terminals.
+         * @return number of terminals
+         */
+        public int getNumTerminals() {
+            return this.terminalNumbers.length;
+        }
+
+        /**
+         * Returns the index of the first terminal with the given number.
+         * @param terminalNumber - number of the terminal to find
+         * @return index of the terminal, or -1 if there is none
+         */
+        public int indexOf(int terminalNumber) {
+            for (int i = 0; i < this.terminalNumbers.length; i++) {
+                if (this.terminalNumbers[i] == terminalNumber) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the number of the terminal at the given index.
+         * @param index - index of the terminal
+         * @return terminal number
+         */
+        public int getTerminalNumber(int index) {
+            return this.terminalNumbers[index];
+        }
+
+        /**
+         * Returns the number of gates in the terminal at the given index.
+         * @param index - index of the terminal
+         * @return number of gates
+         */
+        public int getNumGates(int index) {
+            return this.numGates[index];
+        }
+
+        /**
+         * Returns the number of occupied gates in the terminal at the given index.
+         * @param index - index of the terminal
+         * @return number of occupied gates
+         */
+        public int getNumOccupiedGates(int index) {
+            return this.occupiedGates.get(index);
+        }
+
+        /**
+         * Returns the percentage of occupied gates in the terminal at the given index, rounded
+         * as by Terminal.calculateOccupancyLevel().
+         * @param index - index of the terminal
+         * @return occupancy level, 0 to 100
+         */
+        public int getOccupancyLevel(int index) {
+            if (this.numGates[index] == 0) {
+                return 0;
+            }
+            return (int) Math.round(100 * (double) this.occupiedGates.get(index)
+                    / this.numGates[index]);
+        }
+
+        /**
+         * Returns true if the terminal at the given index had a state of emergency when the
+         * terminals were counted.
+         * @param index - index of the terminal
+         * @return true if in a state of emergency; false otherwise
+         */
+        public boolean hasEmergency(int index) {
+            return this.emergencies[index];
+        }
+
+        /**
+         * Returns the number of terminals that had a state of emergency when counted.
+         * @return number of terminals in a state of emergency
+         */
+        public int getNumEmergencies() {
+            int count = 0;
+            for (boolean emergency : this.emergencies) {
+                if (emergency) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package towersim.control;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable state of a control tower at the end of a tick, which any number of threads can
+ * read without locking while the control tower goes on ticking.
+ * <p>
+ * Snapshots are published by a control tower through a single volatile reference (see
+ * ControlTower.setPublishingSnapshots(boolean)), so a reader that obtains a snapshot sees
+ * every part of it as it was at the end of the same tick. Consecutive snapshots share the
+ * parts that did not change: the records of unchanged aircraft, in blocks of 256 aircraft,
+ * and of unchanged terminals are reused rather than copied.
+ * <p>
+ * Aircraft are identified by their ID in the control tower at the time of the snapshot. The
+ * lists returned by a snapshot are views over its own immutable arrays and cannot be changed.
+ */
+public final class TowerSnapshot {
+    /** Number of bits of an aircraft ID that select its position within a block */
+    static final int BLOCK_BITS = 8;
+
+    /** Number of aircraft records in each block */
+    static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+    /** Ticks elapsed at the control tower */
+    private final long ticksElapsed;
+
+    /** Aircraft landed since the control tower was created */
+    private final long numLandings;
+
+    /** Aircraft that took off since the control tower was created */
+    private final long numTakeoffs;
+
+    /** Number of aircraft managed by the control tower */
+    private final int numAircraft;
+
+    /** Aircraft records in blocks of BLOCK_SIZE, indexed by ID; blocks may be shared */
+    private final AircraftSnapshot[][] blocks;
+
+    /** IDs of the aircraft in the landing queue, in queue order */
+    private final int[] landingQueue;
+
+    /** IDs of the aircraft in the takeoff queue, in queue order */
+    private final int[] takeoffQueue;
+
+    /** IDs of the loading aircraft, in ascending order */
+    private final int[] loading;
+
+    /** Terminals in the order they were added to the control tower */
+    private final List<TerminalSnapshot> terminals;
+
+    /**
+     * Creates a new snapshot from parts assembled by a SnapshotPublisher. The arrays are not
+     * copied and must not be changed afterwards.
+     * @param ticksElapsed - ticks elapsed at the control tower
+     * @param numLandings - aircraft landed since the control tower was created
+     * @param numTakeoffs - aircraft that took off since the control tower was created
+     * @param numAircraft - number of aircraft managed by the control tower
+     * @param blocks - aircraft records in blocks of BLOCK_SIZE
+     * @param landingQueue - IDs of the aircraft in the landing queue, in queue order
+     * @param takeoffQueue - IDs of the aircraft in the takeoff queue, in queue order
+     * @param loading - IDs of the loading aircraft, in ascending order
+     * @param terminals - unmodifiable list of terminal records
+     */
+    TowerSnapshot(long ticksElapsed, long numLandings, long numTakeoffs, int numAircraft,
+            AircraftSnapshot[][] blocks, int[] landingQueue, int[] takeoffQueue, int[] loading,
+            List<TerminalSnapshot> terminals) {
+        this.ticksElapsed = ticksElapsed;
+        this.numLandings = numLandings;
+        this.numTakeoffs = numTakeoffs;
+        this.numAircraft = numAircraft;
+        this.blocks = blocks;
+        this.landingQueue = landingQueue;
+        this.takeoffQueue = takeoffQueue;
+        this.loading = loading;
+        this.terminals = terminals;
+    }
+
+    /**
+     * Returns the block of aircraft records with the given index, for sharing with the next
+     * snapshot.
+     * @param block - index of the block
+     * @return block of aircraft records, or null if this snapshot has no such block
+     */
+    AircraftSnapshot[] getBlock(int block) {
+        return block < this.blocks.length ? this.blocks[block] : null;
+    }
+
+    /**
+     * Returns the IDs of the aircraft in the landing queue, for sharing with the next snapshot.
+     * @return IDs in queue order
+     */
+    int[] getLandingQueueIds() {
+        return this.landingQueue;
+    }
+
+    /**
+     * Returns the IDs of the aircraft in the takeoff queue, for sharing with the next snapshot.
+     * @return IDs in queue order
+     */
+    int[] getTakeoffQueueIds() {
+        return this.takeoffQueue;
+    }
+
+    /**
+     * Returns the IDs of the loading aircraft, for sharing with the next snapshot.
+     * @return IDs in ascending order
+     */
+    int[] getLoadingIds() {
+        return this.loading;
+    }
+
+    /**
+     * Returns the number of ticks that had elapsed at the control tower.
+     * @return ticks elapsed
+     */
+    public long getTicksElapsed() {
+        return this.ticksElapsed;
+    }
+
+    /**
+     * Returns the number of aircraft landed since the control tower was created.
+     * @return number of landings
+     */
+    public long getNumLandings() {
+        return this.numLandings;
+    }
+
+    /**
+     * Returns the number of aircraft that took off since the control tower was created.
+     * @return number of takeoffs
+     */
+    public long getNumTakeoffs() {
+        return this.numTakeoffs;
+    }
+
+    /**
+     * Returns the number of aircraft managed by the control tower.
+     * @return number of aircraft
+     */
+    public int getNumAircraft() {
+        return this.numAircraft;
+    }
+
+    /**
+     * Returns the record of the aircraft with the given ID.
+     * @param id - ID of the aircraft, from 0 to getNumAircraft() - 1
+     * @return aircraft record
+     * @throws IndexOutOfBoundsException if there is no aircraft with the given ID
+     */
+    public AircraftSnapshot getAircraft(int id) {
+        if (id < 0 || id >= this.numAircraft) {
+            throw new IndexOutOfBoundsException("No aircraft with ID " + id);
+        }
+        return this.blocks[id >>> BLOCK_BITS][id & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Returns the records of all aircraft managed by the control tower, indexed by ID.
+     * @return unmodifiable list of aircraft records
+     */
+    public List<AircraftSnapshot> getAircraft() {
+        return new AbstractAircraftList() {
+            @Override
+            public AircraftSnapshot get(int index) {
+                return getAircraft(index);
+            }
+
+            @Override
+            public int size() {
+                return numAircraft;
+            }
+        };
+    }
+
+    /**
+     * Returns the records of the aircraft waiting to land, in queue order.
+     * @return unmodifiable list of aircraft records
+     */
+    public List<AircraftSnapshot> getLandingQueue() {
+        return this.viewOf(this.landingQueue);
+    }
+
+    /**
+     * Returns the records of the aircraft waiting to take off, in queue order.
+     * @return unmodifiable list of aircraft records
+     */
+    public List<AircraftSnapshot> getTakeoffQueue() {
+        return this.viewOf(this.takeoffQueue);
+    }
+
+    /**
+     * Returns the records of the aircraft loading at gates, in ascending order of ID. Their
+     * remaining loading times are given by AircraftSnapshot.getLoadingTicksRemaining().
+     * @return unmodifiable list of aircraft records
+     */
+    public List<AircraftSnapshot> getLoadingAircraft() {
+        return this.viewOf(this.loading);
+    }
+
+    /**
+     * Returns the records of the terminals, in the order they were added to the control tower.
+     * @return unmodifiable list of terminal records
+     */
+    public List<TerminalSnapshot> getTerminals() {
+        return this.terminals;
+    }
+
+    /**
+     * Returns a list view of the records of the aircraft with the given IDs.
+     * @param ids - IDs of the aircraft, in list order
+     * @return unmodifiable list of aircraft records
+     */
+    private List<AircraftSnapshot> viewOf(int[] ids) {
+        return new AbstractAircraftList() {
+            @Override
+            public AircraftSnapshot get(int index) {
+                return getAircraft(ids[index]);
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the human-readable string representation of this snapshot, in the same format
+     * as ControlTower.toString() prefixed with the tick.
+     * For example: "TowerSnapshot at tick 5: 3 terminals, 12 total aircraft (3 LAND,
+     * 4 TAKEOFF, 2 LOAD)".
+     * @return string representation of this snapshot
+     */
+    @Override
+    public String toString() {
+        return "TowerSnapshot at tick " + this.ticksElapsed + ": " + this.terminals.size()
+                + " terminals, " + this.numAircraft + " total aircraft ("
+                + this.landingQueue.length + " LAND, " + this.takeoffQueue.length
+                + " TAKEOFF, " + this.loading.length + " LOAD)";
+    }
+
+    /**
+     * Unmodifiable, random access list of aircraft records.
+     */
+    private abstract static class AbstractAircraftList extends AbstractList<AircraftSnapshot>
+            implements RandomAccess {
+    }
+}
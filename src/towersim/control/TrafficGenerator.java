@@ -0,0 +1,531 @@
+package towersim.control;
+
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.AircraftType;
+import towersim.aircraft.LoadingSchedule;
+import towersim.ground.Terminal;
+import towersim.tasks.TaskType;
+import towersim.util.Centilitres;
+import towersim.util.MalformedSaveException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates synthetic save files describing an airport and its traffic, for testing the
+ * simulation at scale.
+ * <p>
+ * The generator is seeded, so the same seed and settings always produce the same files. The
+ * files are streamed straight to their writers in the format read by
+ * ControlTowerInitialiser.createControlTower(Reader, Reader, Reader, Reader), and are
+ * consistent with the simulation's own state: aircraft parked at gates are waiting or loading,
+ * aircraft that are loading are in the loading map, aircraft waiting to land or take off are in
+ * the landing or takeoff queue, and every other aircraft is away from the airport.
+ * <p>
+ * Nothing is held in memory per aircraft or per gate. Every random choice about an aircraft or
+ * gate is derived from the seed and its index alone, so each file is written by recomputing
+ * the choices in a fresh pass rather than by remembering them. Aircraft are given the callsigns
+ * {@code SYN0}, {@code SYN1}, etc.; those parked at gates come first.
+ */
+public class TrafficGenerator {
+    /** Task cycles used if none are given, taken from the provided saves */
+    private static final List<String> DEFAULT_TASK_PATTERNS = List.of(
+            "LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY,AWAY,AWAY",
+            "LAND,WAIT,LOAD@100,TAKEOFF,AWAY,AWAY,AWAY",
+            "LAND,WAIT,LOAD@50,TAKEOFF,AWAY,AWAY,AWAY",
+            "LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY");
+
+    /** Prefix of every generated callsign */
+    private static final String CALLSIGN_PREFIX = "SYN";
+
+    /** Value mixed into the seed so that gate choices are independent of aircraft choices */
+    private static final long GATE_STREAM = 0x5DEECE66DL;
+
+    /** Seed from which every random choice is derived */
+    private final long seed;
+
+    /** Number of aircraft to generate */
+    private int numAircraft = 1000;
+
+    /** Relative frequency of each aircraft model, indexed by model ordinal */
+    private final double[] modelWeights;
+
+    /** Task cycles that aircraft follow, each as its list of encoded tasks */
+    private final List<String[]> taskPatterns = new ArrayList<>();
+
+    /** Number of airplane terminals to generate */
+    private int numAirplaneTerminals = 10;
+
+    /** Number of helicopter terminals to generate */
+    private int numHelicopterTerminals = 2;
+
+    /** Number of gates in each terminal */
+    private int gatesPerTerminal = Terminal.MAX_NUM_GATES;
+
+    /** Probability that each gate is initially occupied */
+    private double gateOccupancy = 0.5;
+
+    /** Number of ticks elapsed written to the tick file */
+    private long ticksElapsed = 0;
+
+    /**
+     * Creates a new generator with the given seed and default settings: 1000 aircraft of
+     * every model in the catalogue in equal proportion, the task cycles of the provided saves,
+     * 10 airplane terminals and 2 helicopter terminals of 6 gates each, half of which are
+     * occupied.
+     * @param seed - seed from which every random choice is derived
+     */
+    public TrafficGenerator(long seed) {
+        this.seed = seed;
+        this.modelWeights = new double[AircraftCharacteristics.count()];
+        Arrays.fill(this.modelWeights, 1);
+        this.setTaskPatterns(DEFAULT_TASK_PATTERNS);
+    }
+
+    /**
+     * Sets the number of aircraft to generate.
+     * @param numAircraft - number of aircraft
+     * @throws IllegalArgumentException if numAircraft is negative
+     */
+    public void setNumAircraft(int numAircraft) {
+        if (numAircraft < 0) {
+            throw new IllegalArgumentException("Number of aircraft cannot be negative");
+        }
+        this.numAircraft = numAircraft;
+    }
+
+    /**
+     * Sets the relative frequency with which the given model is generated. Models have a
+     * weight of one unless set otherwise; a weight of zero stops the model being generated.
+     * @param model - aircraft model
+     * @param weight - relative frequency of the model
+     * @throws IllegalArgumentException if weight is negative
+     */
+    public void setModelWeight(AircraftCharacteristics model, double weight) {
+        if (!(weight >= 0)) {
+            throw new IllegalArgumentException("Model weight cannot be negative");
+        }
+        this.modelWeights[model.ordinal()] = weight;
+    }
+
+    /**
+     * Sets the task cycles that generated aircraft follow. Each aircraft follows one of the
+     * cycles, chosen at random, starting at a point in the cycle consistent with where the
+     * aircraft is.
+     * @param patterns - encoded task lists, as described in TaskList.encode()
+     * @throws IllegalArgumentException if no patterns are given, a pattern is not a valid task
+     * list or a pattern does not contain an AWAY task
+     */
+    public void setTaskPatterns(List<String> patterns) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("At least one task pattern is required");
+        }
+        List<String[]> parsed = new ArrayList<>();
+        for (String pattern : patterns) {
+            try {
+                ControlTowerInitialiser.readTaskList(pattern);
+            } catch (MalformedSaveException e) {
+                throw new IllegalArgumentException("Invalid task pattern " + pattern);
+            }
+            String[] tasks = pattern.split(",");
+            if (!Arrays.asList(tasks).contains(TaskType.AWAY.name())) {
+                throw new IllegalArgumentException("Task pattern " + pattern
+                        + " must contain an AWAY task");
+            }
+            parsed.add(tasks);
+        }
+        this.taskPatterns.clear();
+        this.taskPatterns.addAll(parsed);
+    }
+
+    /**
+     * Sets the number of airplane and helicopter terminals, and the number of gates in each.
+     * Airplane terminals are numbered first.
+     * @param numAirplaneTerminals - number of airplane terminals
+     * @param numHelicopterTerminals - number of helicopter terminals
+     * @param gatesPerTerminal - number of gates in each terminal
+     * @throws IllegalArgumentException if a number of terminals is negative, or
+     * gatesPerTerminal is negative or greater than Terminal.MAX_NUM_GATES
+     */
+    public void setTerminals(int numAirplaneTerminals, int numHelicopterTerminals,
+            int gatesPerTerminal) {
+        if (numAirplaneTerminals < 0 || numHelicopterTerminals < 0) {
+            throw new IllegalArgumentException("Number of terminals cannot be negative");
+        }
+        if (gatesPerTerminal < 0 || gatesPerTerminal > Terminal.MAX_NUM_GATES) {
+            throw new IllegalArgumentException("Number of gates must be between 0 and "
+                    + Terminal.MAX_NUM_GATES);
+        }
+        this.numAirplaneTerminals = numAirplaneTerminals;
+        this.numHelicopterTerminals = numHelicopterTerminals;
+        this.gatesPerTerminal = gatesPerTerminal;
+    }
+
+    /**
+     * Sets the probability that each gate is initially occupied. Fewer gates are occupied if
+     * there are not enough aircraft, or no models of the right type, to occupy them.
+     * @param gateOccupancy - probability between 0 and 1
+     * @throws IllegalArgumentException if gateOccupancy is not between 0 and 1
+     */
+    public void setGateOccupancy(double gateOccupancy) {
+        if (!(gateOccupancy >= 0 && gateOccupancy <= 1)) {
+            throw new IllegalArgumentException("Gate occupancy must be between 0 and 1");
+        }
+        this.gateOccupancy = gateOccupancy;
+    }
+
+    /**
+     * Sets the number of ticks elapsed written to the tick file.
+     * @param ticksElapsed - number of ticks elapsed
+     * @throws IllegalArgumentException if ticksElapsed is negative
+     */
+    public void setTicksElapsed(long ticksElapsed) {
+        if (ticksElapsed < 0) {
+            throw new IllegalArgumentException("Number of ticks elapsed cannot be negative");
+        }
+        this.ticksElapsed = ticksElapsed;
+    }
+
+    /**
+     * Generates the four save files, closing each writer once it has been written to.
+     * @param tickWriter - writer to which the number of ticks elapsed will be written
+     * @param aircraftWriter - writer to which the list of aircraft will be written
+     * @param queuesWriter - writer to which the takeoff/landing queues and loading map will be
+     *                     written
+     * @param terminalsWithGatesWriter - writer to which the list of terminals and their gates
+     *                                 will be written
+     * @throws IOException if an IOException occurs when writing to the writers
+     * @throws IllegalStateException if aircraft are to be generated but every model has a
+     * weight of zero
+     */
+    public void generate(Writer tickWriter, Writer aircraftWriter, Writer queuesWriter,
+            Writer terminalsWithGatesWriter) throws IOException {
+        Plan plan = new Plan();
+        try (BufferedWriter tick = new BufferedWriter(tickWriter)) {
+            tick.write(Long.toString(this.ticksElapsed));
+        }
+
+        int[] counts = new int[TaskType.values().length];
+        try (BufferedWriter aircraft = new BufferedWriter(aircraftWriter)) {
+            aircraft.write(Integer.toString(this.numAircraft));
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < this.numAircraft; i++) {
+                plan.decide(i);
+                counts[plan.currentTask().ordinal()]++;
+                line.setLength(0);
+                plan.encode(line);
+                aircraft.newLine();
+                aircraft.write(line.toString());
+            }
+        }
+
+        try (BufferedWriter queues = new BufferedWriter(queuesWriter)) {
+            this.writeQueue(queues, plan, "TakeoffQueue", TaskType.TAKEOFF,
+                    counts[TaskType.TAKEOFF.ordinal()]);
+            queues.newLine();
+            this.writeQueue(queues, plan, "LandingQueue", TaskType.LAND,
+                    counts[TaskType.LAND.ordinal()]);
+            queues.newLine();
+            this.writeQueue(queues, plan, "LoadingAircraft", TaskType.LOAD,
+                    counts[TaskType.LOAD.ordinal()]);
+        }
+
+        try (BufferedWriter terminals = new BufferedWriter(terminalsWithGatesWriter)) {
+            terminals.write(Integer.toString(this.numAirplaneTerminals
+                    + this.numHelicopterTerminals));
+            int gateIndex = 0;
+            int airplaneOccupants = 0;
+            int helicopterOccupants = 0;
+            for (int t = 0; t < this.numAirplaneTerminals + this.numHelicopterTerminals; t++) {
+                boolean airplane = t < this.numAirplaneTerminals;
+                terminals.newLine();
+                terminals.write((airplane ? "AirplaneTerminal" : "HelicopterTerminal") + ":"
+                        + (t + 1) + ":false:" + this.gatesPerTerminal);
+                for (int g = 0; g < this.gatesPerTerminal; g++) {
+                    terminals.newLine();
+                    terminals.write((gateIndex + 1) + ":");
+                    if (!this.isGateOccupied(gateIndex++)) {
+                        terminals.write("empty");
+                    } else if (airplane && airplaneOccupants < plan.numAirplaneOccupants) {
+                        terminals.write(CALLSIGN_PREFIX + airplaneOccupants++);
+                    } else if (!airplane && helicopterOccupants < plan.numHelicopterOccupants) {
+                        terminals.write(CALLSIGN_PREFIX
+                                + (plan.numAirplaneOccupants + helicopterOccupants++));
+                    } else {
+                        terminals.write("empty");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the queue or loading map of aircraft whose current task is of the given type.
+     * @param writer - writer to write to
+     * @param plan - plan used to recompute each aircraft
+     * @param name - name written in the header line
+     * @param type - current task type of aircraft in the queue
+     * @param size - number of aircraft in the queue
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    private void writeQueue(BufferedWriter writer, Plan plan, String name, TaskType type,
+            int size) throws IOException {
+        writer.write(name + ":" + size);
+        if (size == 0) {
+            return;
+        }
+        writer.newLine();
+        boolean first = true;
+        for (int i = 0; i < this.numAircraft; i++) {
+            plan.decide(i);
+            if (plan.currentTask() != type) {
+                continue;
+            }
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writer.write(CALLSIGN_PREFIX + i);
+            if (type == TaskType.LOAD) {
+                writer.write(":" + plan.loadingTicksRemaining);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the gate with the given index is chosen to be occupied, provided there is
+     * an aircraft available to occupy it.
+     * @param gateIndex - index of the gate across all terminals
+     * @return true if the gate is chosen to be occupied
+     */
+    private boolean isGateOccupied(int gateIndex) {
+        return this.gateOccupancy > 0
+                && random(GATE_STREAM ^ this.seed, gateIndex).nextDouble() < this.gateOccupancy;
+    }
+
+    /**
+     * Returns a random number generator for the item with the given index, derived from the
+     * given seed. Items can therefore be regenerated in any order.
+     * @param seed - seed of the stream of items
+     * @param index - index of the item
+     * @return random number generator for the item
+     */
+    private static SplittableRandom random(long seed, long index) {
+        // SplitMix64 finaliser, so that neighbouring indices get unrelated generators
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    /**
+     * Random choices made for one aircraft, recomputed from its index whenever needed.
+     * The number of aircraft parked at airplane and helicopter gates is fixed when the plan is
+     * created, as it determines which aircraft are parked.
+     */
+    private class Plan {
+        /** Cumulative model weights over all models, over airplanes and over helicopters */
+        private final double[] allModels;
+        private final double[] airplaneModels;
+        private final double[] helicopterModels;
+
+        /** Indices of the task patterns that can be parked at a gate */
+        private final int[] parkablePatterns;
+
+        /** Number of aircraft parked at airplane gates, which come first */
+        private final int numAirplaneOccupants;
+
+        /** Number of aircraft parked at helicopter gates, which come next */
+        private final int numHelicopterOccupants;
+
+        /** Index of the current aircraft */
+        private int index;
+
+        /** Model of the current aircraft */
+        private AircraftCharacteristics model;
+
+        /** Task pattern of the current aircraft */
+        private String[] pattern;
+
+        /** Index in the pattern of the current aircraft's current task */
+        private int start;
+
+        /** Fuel on board the current aircraft, in centilitres */
+        private long fuel;
+
+        /** Passengers or freight on board the current aircraft */
+        private int cargo;
+
+        /** Loading ticks remaining if the current aircraft is loading */
+        private int loadingTicksRemaining;
+
+        /**
+         * Creates a plan, counting how many aircraft are parked at gates.
+         */
+        private Plan() {
+            TrafficGenerator generator = TrafficGenerator.this;
+            this.allModels = cumulativeWeights(null);
+            this.airplaneModels = cumulativeWeights(AircraftType.AIRPLANE);
+            this.helicopterModels = cumulativeWeights(AircraftType.HELICOPTER);
+            if (generator.numAircraft > 0 && total(this.allModels) == 0) {
+                throw new IllegalStateException("Every aircraft model has a weight of zero");
+            }
+            this.parkablePatterns = IntStream.range(0, generator.taskPatterns.size())
+                    .filter(i -> Arrays.stream(generator.taskPatterns.get(i))
+                            .anyMatch(TrafficGenerator::isParkedTask))
+                    .toArray();
+
+            // count the gates chosen to be occupied, in the order they are written
+            int airplaneGates = 0;
+            int helicopterGates = 0;
+            int airplaneGateCount = generator.numAirplaneTerminals * generator.gatesPerTerminal;
+            int gateCount = airplaneGateCount
+                    + generator.numHelicopterTerminals * generator.gatesPerTerminal;
+            for (int g = 0; g < gateCount; g++) {
+                if (generator.isGateOccupied(g)) {
+                    if (g < airplaneGateCount) {
+                        airplaneGates++;
+                    } else {
+                        helicopterGates++;
+                    }
+                }
+            }
+            boolean canPark = this.parkablePatterns.length > 0;
+            this.numAirplaneOccupants = canPark && total(this.airplaneModels) > 0
+                    ? Math.min(airplaneGates, generator.numAircraft) : 0;
+            this.numHelicopterOccupants = canPark && total(this.helicopterModels) > 0
+                    ? Math.min(helicopterGates, generator.numAircraft - this.numAirplaneOccupants)
+                    : 0;
+        }
+
+        /**
+         * Makes the random choices for the aircraft with the given index.
+         * @param index - index of the aircraft
+         */
+        private void decide(int index) {
+            TrafficGenerator generator = TrafficGenerator.this;
+            SplittableRandom random = random(generator.seed, index);
+            this.index = index;
+            boolean parked = index < this.numAirplaneOccupants + this.numHelicopterOccupants;
+            double[] models = !parked ? this.allModels
+                    : index < this.numAirplaneOccupants ? this.airplaneModels
+                    : this.helicopterModels;
+            this.model = AircraftCharacteristics.fromOrdinal(pick(models, random));
+            this.pattern = generator.taskPatterns.get(parked
+                    ? this.parkablePatterns[random.nextInt(this.parkablePatterns.length)]
+                    : random.nextInt(generator.taskPatterns.size()));
+
+            // parked aircraft start at a WAIT or LOAD task, all others at AWAY, LAND or TAKEOFF
+            int numStarts = 0;
+            for (String task : this.pattern) {
+                numStarts += isParkedTask(task) == parked ? 1 : 0;
+            }
+            int chosen = random.nextInt(numStarts);
+            for (int i = 0; i < this.pattern.length; i++) {
+                if (isParkedTask(this.pattern[i]) == parked && chosen-- == 0) {
+                    this.start = i;
+                    break;
+                }
+            }
+
+            this.fuel = random.nextLong(this.model.fuelCapacityCentilitres + 1);
+            int capacity = this.model.passengerCapacity > 0 ? this.model.passengerCapacity
+                    : this.model.freightCapacity;
+            this.cargo = random.nextInt(capacity + 1);
+            this.loadingTicksRemaining = 0;
+            if (this.currentTask() == TaskType.LOAD) {
+                int loadPercent = Integer.parseInt(this.pattern[this.start].split("@")[1]);
+                LoadingSchedule schedule = this.model.passengerCapacity > 0
+                        ? LoadingSchedule.forPassengers(this.model, loadPercent)
+                        : LoadingSchedule.forFreight(this.model, loadPercent);
+                this.loadingTicksRemaining = 1 + random.nextInt(
+                        Math.max(1, schedule.getLoadingTime()));
+            }
+        }
+
+        /**
+         * Returns the type of the current aircraft's current task.
+         * @return current task type
+         */
+        private TaskType currentTask() {
+            return TaskType.valueOf(this.pattern[this.start].split("@")[0]);
+        }
+
+        /**
+         * Appends the encoded representation of the current aircraft, as described in
+         * Aircraft.encode(), to the given builder.
+         * @param line - builder to append to
+         */
+        private void encode(StringBuilder line) {
+            line.append(CALLSIGN_PREFIX).append(this.index).append(':')
+                    .append(this.model.name()).append(':');
+            for (int i = 0; i < this.pattern.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(this.pattern[(this.start + i) % this.pattern.length]);
+            }
+            line.append(':').append(Centilitres.format(this.fuel)).append(":false:")
+                    .append(this.cargo);
+        }
+
+        /**
+         * Returns the cumulative weights of the models of the given type.
+         * @param type - type of model to include, or null for all models
+         * @return cumulative weights indexed by model ordinal
+         */
+        private double[] cumulativeWeights(AircraftType type) {
+            double[] cumulative = new double[AircraftCharacteristics.count()];
+            double sum = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                if (type == null || AircraftCharacteristics.fromOrdinal(i).type == type) {
+                    sum += TrafficGenerator.this.modelWeights[i];
+                }
+                cumulative[i] = sum;
+            }
+            return cumulative;
+        }
+    }
+
+    /**
+     * Returns the total of the given cumulative weights.
+     * @param cumulative - cumulative weights
+     * @return total weight
+     */
+    private static double total(double[] cumulative) {
+        return cumulative.length == 0 ? 0 : cumulative[cumulative.length - 1];
+    }
+
+    /**
+     * Picks an index at random in proportion to the given cumulative weights.
+     * @param cumulative - cumulative weights, with a positive total
+     * @param random - random number generator
+     * @return index picked
+     */
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble() * total(cumulative);
+        // the first weight to pass the target always belongs to a model with positive weight
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (target < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    /**
+     * Returns true if an aircraft whose current task is the given encoded task is parked at a
+     * gate.
+     * @param task - encoded task
+     * @return true if the task is WAIT or LOAD
+     */
+    private static boolean isParkedTask(String task) {
+        return task.equals(TaskType.WAIT.name()) || task.startsWith(TaskType.LOAD.name());
+    }
+}
@@ -1,35 +1,49 @@
 package towersim.display;
 
-import javafx.animation.*;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.SimpleDoubleProperty;
+import javafx.animation.Interpolator;
 import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
-import javafx.util.Duration;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
 import towersim.aircraft.Aircraft;
 import towersim.aircraft.PassengerAircraft;
-import towersim.control.AircraftQueue;
-import towersim.control.TakeoffQueue;
+import towersim.control.ControlTower;
 import towersim.ground.Gate;
 import towersim.ground.Terminal;
 import towersim.tasks.Task;
 import towersim.tasks.TaskType;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Subclass of the JavaFX Canvas to represent the main elements of the airport graphically.
+ * <p>
+ * Elements that only change when the layout of the airport does, such as the runway, the
+ * frames of the queues and the terminals' gates, are drawn once into a background image. Each
+ * frame then redraws only the regions whose contents changed since the last frame - a queue
+ * slot, a gate, a terminal header or the tick status - by copying their background back from
+ * the image and drawing their new contents over it. Only as many aircraft and terminals as fit
+ * on the canvas are gathered and brought up to date, without copying or synchronising the
+ * whole fleet: the front of each queue, the aircraft away up to the last one shown, and the
+ * aircraft parked at the gates shown. The landing queue, whose order depends on the state of every aircraft in it, is
+ * scanned once without being put in order.
+ * Aircraft are drawn from images of their glyphs and info text held by a SpriteCache.
+ * <p>
+ * The canvas is rendered by the view's render loop, which calls render() on every frame. The
+ * aircraft landing or taking off is animated as part of this, from state advanced by the time
+ * of each frame.
  * @given
  */
 public class AirportCanvas extends Canvas {
@@ -37,8 +51,8 @@ public class AirportCanvas extends Canvas {
     /** View model containing the main model of the application */
     private final ViewModel viewModel;
 
-    /** Mapping of clickable regions (rectangles) to aircraft drawn on the canvas */
-    private final Map<ClickableRegion, Aircraft> drawnAircraft;
+    /** Index of the clickable regions (rectangles) of the aircraft drawn on the canvas */
+    private final ClickableRegionGrid drawnAircraft;
 
     /** Width of an aircraft when drawn on the canvas, in pixels */
     private static final double AIRCRAFT_WIDTH = 75;
@@ -52,42 +66,188 @@ public class AirportCanvas extends Canvas {
     /** Height of an aircraft when drawn on the canvas, in pixels */
     private static final double AIRCRAFT_HEIGHT = AIRCRAFT_WIDTH;
 
-    /** X coordinate of the aircraft being animated on the runway */
-    private final DoubleProperty runwayAnimationX = new SimpleDoubleProperty(0);
+    /** Number of aircraft shown in each queue and in the list of aircraft that are away */
+    private static final int ROW_CAPACITY = 6;
 
-    /** Animation timeline of a landing aircraft */
-    private final Timeline landTimeline;
+    /** Width of the label of an aircraft queue, in pixels */
+    private static final double QUEUE_LABEL_WIDTH = 65;
 
-    /** Animation timeline of an aircraft taking off */
-    private final Timeline takeoffTimeline;
+    /** Width of the label of the list of aircraft that are away, in pixels */
+    private static final double AWAY_LABEL_WIDTH = 85;
 
-    /** A class to represent a rectangular region on the canvas that responds to click events */
-    private static class ClickableRegion {
+    /** Height of the label of a terminal, in pixels */
+    private static final double TERMINAL_LABEL_HEIGHT = 25;
 
-        /** X-coordinate of the region (top left) */
-        private final double xcoord;
-        /** Y-coordinate of the region (top left) */
-        private final double ycoord;
-        /** Width of the region, in pixels */
-        private final double width;
-        /** Height of the region, in pixels */
-        private final double height;
+    /** Margin around each terminal, in pixels */
+    private static final double TERMINAL_MARGIN = 5;
+
+    /** Width of a gate, in pixels */
+    private static final double GATE_WIDTH = AIRCRAFT_WIDTH + 15;
+
+    /** Height of the status bar containing tick information, in pixels */
+    private static final double STATUS_HEIGHT = 20;
+
+    /** Time an aircraft takes to land or take off, in nanoseconds */
+    private static final long RUNWAY_ANIMATION_NANOS = 1_000_000_000L;
+
+    /** Longest time a frame should take to render, in nanoseconds: 60 frames per second */
+    public static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 60;
+
+    /** Landing or takeoff being animated on the runway, or null if there is none */
+    private RunwayAnimation runwayAnimation;
+
+    /** Aircraft shown on the runway, or null if there is none */
+    private Aircraft runwayAircraft;
+
+    /** X coordinate of the aircraft shown on the runway */
+    private double runwayAircraftX;
+
+    /** Statistics of the frames rendered */
+    private final FrameStatistics frameStatistics;
+
+    /** Rendered images of aircraft glyphs and info text */
+    private final SpriteCache sprites;
+
+    /** Elements that only change with the layout of the airport, or null if not yet drawn */
+    private WritableImage background;
+
+    /** Number of pixels of the background image per pixel of the canvas */
+    private double backgroundScale;
+
+    /** Gate numbers of each terminal the background was drawn for */
+    private int[][] backgroundGateNumbers;
+
+    /** Slots of the aircraft shown in the takeoff queue */
+    private final AircraftSlot[] takeoffSlots;
+
+    /** Slots of the aircraft shown in the landing queue */
+    private final AircraftSlot[] landingSlots;
+
+    /** Slots of the aircraft shown as being away */
+    private final AircraftSlot[] awaySlots;
+
+    /** Slot of the aircraft shown on the runway */
+    private final AircraftSlot runwaySlot;
+
+    /** Regions of the terminals shown, in the order they are shown */
+    private TerminalRegion[] terminalRegions;
+
+    /** Number of ticks elapsed shown in the status bar, or -1 if it must be redrawn */
+    private long drawnTicksElapsed;
+
+    /** Control tower the rows of aircraft and terminals below were gathered from */
+    private ControlTower rowsTower;
+
+    /** Number of ticks elapsed when the rows were gathered */
+    private long rowsTicksElapsed;
+
+    /** Number of changes made to the control tower when the rows were gathered */
+    private long rowsChangeCount;
+
+    /** Aircraft shown in the takeoff queue, in queue order */
+    private List<Aircraft> takeoffRow;
+
+    /** Aircraft shown in the landing queue, in queue order */
+    private List<Aircraft> landingRow;
+
+    /** Aircraft shown as being away */
+    private List<Aircraft> awayRow;
+
+    /** Terminals shown, in the order they are shown */
+    private List<Terminal> shownTerminals;
+
+    /** A place on the canvas an aircraft can be drawn at, and what was last drawn there */
+    private static class AircraftSlot {
 
-        /** Creates a new clickable region with the given coordinates and dimensions */
-        public ClickableRegion(double x, double y, double width, double height) {
+        /** X-coordinate of the slot (top left) */
+        private double xcoord;
+        /** Y-coordinate of the slot (top left) */
+        private final double ycoord;
+        /** Color of the text of aircraft drawn in the slot, unless they have an emergency */
+        private final Color textColor;
+
+        /** Whether the fields below describe what the slot shows */
+        private boolean valid;
+        /** X-coordinate the slot was last drawn at */
+        private double drawnX;
+        /** Aircraft last drawn in the slot, or null if the slot was left empty */
+        private Aircraft aircraft;
+        /** Lines of text last drawn below the aircraft */
+        private String[] text;
+        /** Whether the aircraft last drawn had an emergency */
+        private boolean emergency;
+        /** Whether the aircraft last drawn was selected */
+        private boolean selected;
+        /** Clickable region of the aircraft drawn in the slot, reused for every aircraft */
+        private final ClickableRegion region;
+
+        /** Creates a new, empty slot at the given coordinates */
+        public AircraftSlot(double x, double y, Color textColor) {
             this.xcoord = x;
             this.ycoord = y;
-            this.width = width;
-            this.height = height;
+            this.textColor = textColor;
+            this.region = new ClickableRegion(AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT);
         }
+    }
 
-        /**
-         * Returns whether or not the given click event's coordinates fall within this clickable
-         * region
-         */
-        public boolean wasClicked(double clickX, double clickY) {
-            return clickX >= this.xcoord && clickX <= this.xcoord + this.width
-                    && clickY >= this.ycoord && clickY <= this.ycoord + this.height;
+    /** An aircraft landing or taking off on the runway, and how far it has got */
+    private static class RunwayAnimation {
+
+        /** Aircraft landing or taking off */
+        private final Aircraft aircraft;
+        /** Whether the aircraft is taking off, rather than landing */
+        private final boolean takingOff;
+        /** X-coordinate of the aircraft at the start of the animation */
+        private final double fromX;
+        /** X-coordinate of the aircraft at the end of the animation */
+        private final double toX;
+        /** Interpolator giving the position of the aircraft part-way through the animation */
+        private final Interpolator interpolator;
+
+        /** Time of the first frame showing the animation, or -1 if it has not been shown */
+        private long startNanos;
+        /** Fraction of the animation shown so far, from 0 to 1 */
+        private double progress;
+
+        /** Creates a new animation of the given aircraft, not yet shown */
+        public RunwayAnimation(Aircraft aircraft, boolean takingOff, double fromX, double toX,
+                Interpolator interpolator) {
+            this.aircraft = aircraft;
+            this.takingOff = takingOff;
+            this.fromX = fromX;
+            this.toX = toX;
+            this.interpolator = interpolator;
+            this.startNanos = -1;
+            this.progress = 0;
+        }
+    }
+
+    /** The header and gates of a terminal shown on the canvas, and what its header last showed */
+    private static class TerminalRegion {
+
+        /** X-coordinate of the terminal (top left) */
+        private final double xcoord;
+        /** Y-coordinate of the terminal (top left) */
+        private final double ycoord;
+        /** Slots of the aircraft at each of the terminal's gates */
+        private final AircraftSlot[] gateSlots;
+
+        /** Whether the fields below describe what the header shows */
+        private boolean valid;
+        /** Terminal last drawn in the header */
+        private Terminal terminal;
+        /** Whether the terminal last drawn had an emergency */
+        private boolean emergency;
+        /** Number of gates of the terminal last drawn */
+        private int numGates;
+        /** Occupancy level of the terminal last drawn */
+        private int occupancy;
+
+        /** Creates a new terminal region at the given coordinates, with the given gate slots */
+        public TerminalRegion(double x, double y, AircraftSlot[] gateSlots) {
+            this.xcoord = x;
+            this.ycoord = y;
+            this.gateSlots = gateSlots;
         }
     }
 
@@ -103,11 +263,20 @@ public class AirportCanvas extends Canvas {
         super(width, height);
 
         this.viewModel = viewModel;
-        this.drawnAircraft = new HashMap<>();
+        this.drawnAircraft = new ClickableRegionGrid(width, height, AIRCRAFT_WIDTH);
 
         this.runwayStartX = getWidth() / 2 + AIRCRAFT_WIDTH + 5;
         this.runwayWidth = getWidth() / 2 - 2 * 5 - AIRCRAFT_WIDTH;
 
+        this.takeoffSlots = createRowSlots(QUEUE_LABEL_WIDTH, 0);
+        this.landingSlots = createRowSlots(QUEUE_LABEL_WIDTH, AIRCRAFT_HEIGHT);
+        this.awaySlots = createRowSlots(getWidth() / 2 + 5 + AWAY_LABEL_WIDTH, 0);
+        this.runwaySlot = new AircraftSlot(0, AIRCRAFT_HEIGHT + 5, Color.WHITE);
+        this.terminalRegions = new TerminalRegion[0];
+        this.drawnTicksElapsed = -1;
+        this.frameStatistics = new FrameStatistics(FRAME_BUDGET_NANOS);
+        this.sprites = new SpriteCache(AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT);
+
         setOnMouseClicked(event -> {
             /* Discard any click that is not a primary (left mouse button) click */
             if (event.getButton() != MouseButton.PRIMARY) {
@@ -115,12 +284,8 @@ public class AirportCanvas extends Canvas {
             }
             double x = event.getX();
             double y = event.getY();
-            Aircraft clickedAircraft = null;
-            for (Map.Entry<ClickableRegion, Aircraft> entry : drawnAircraft.entrySet()) {
-                if (entry.getKey().wasClicked(x, y)) {
-                    clickedAircraft = entry.getValue();
-                }
-            }
+            ClickableRegion clickedRegion = drawnAircraft.find(x, y);
+            Aircraft clickedAircraft = clickedRegion == null ? null : clickedRegion.getAircraft();
             viewModel.getSelectedAircraft().set(clickedAircraft);
             viewModel.registerChange();
 
@@ -128,57 +293,245 @@ public class AirportCanvas extends Canvas {
             /* Ensures the canvas gains focus when it is clicked */
             addEventFilter(MouseEvent.MOUSE_PRESSED, e -> requestFocus());
         });
+    }
+
+    /* Creates the slots of a row of aircraft, the first of which starts at the given position */
+    private static AircraftSlot[] createRowSlots(double x, double y) {
+        AircraftSlot[] slots = new AircraftSlot[ROW_CAPACITY];
+        for (int i = 0; i < ROW_CAPACITY; ++i) {
+            slots[i] = new AircraftSlot(x + AIRCRAFT_WIDTH * i, y, Color.BLACK);
+        }
+        return slots;
+    }
+
+    /**
+     * Renders a frame of the canvas: advances the runway animation to the time of the frame,
+     * and draws the regions that changed if the view model or the animation did.
+     * <p>
+     * Called on every frame by the view's render loop.
+     *
+     * @param now time of the frame, in nanoseconds
+     * @param changed whether the view model changed since the last frame
+     */
+    public void render(long now, boolean changed) {
+        long start = System.nanoTime();
+        boolean moved = advanceRunwayAnimation(now);
+        if (!changed && !moved) {
+            return;
+        }
+        draw();
+        frameStatistics.recordFrame(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the statistics of the frames rendered and the runway animations they showed.
+     *
+     * @return frame statistics
+     */
+    public FrameStatistics getFrameStatistics() {
+        return frameStatistics;
+    }
 
-        landTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(0),
-                        new KeyValue(runwayAnimationX,
-                                runwayStartX + runwayWidth - AIRCRAFT_WIDTH)
-                ),
-                new KeyFrame(Duration.seconds(1),
-                        "end animation",
-                        new KeyValue(runwayAnimationX, runwayStartX, Interpolator.EASE_OUT)
-                )
-        );
-
-        takeoffTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(0),
-                        new KeyValue(runwayAnimationX,
-                                runwayStartX + runwayWidth - AIRCRAFT_WIDTH - 100)
-                ),
-                new KeyFrame(Duration.seconds(1),
-                        "end animation",
-                        e -> drawRunway(),
-                        new KeyValue(runwayAnimationX, runwayStartX - AIRCRAFT_WIDTH,
-                                Interpolator.EASE_IN)
-                )
-        );
+    /*
+     * Advances the runway animation to the given time, ending it once the time left would be
+     * under half a frame. Returns whether the aircraft on the runway moved, appeared or left.
+     */
+    private boolean advanceRunwayAnimation(long now) {
+        RunwayAnimation animation = runwayAnimation;
+        if (animation == null) {
+            return false;
+        }
+        if (animation.startNanos < 0) {
+            animation.startNanos = now;
+        }
+        long elapsed = now - animation.startNanos;
+        if (elapsed >= RUNWAY_ANIMATION_NANOS - FRAME_BUDGET_NANOS / 2) {
+            // an aircraft that landed stays at the end of the runway until the next animation
+            animation.progress = 1;
+            runwayAnimation = null;
+            runwayAircraft = animation.takingOff ? null : animation.aircraft;
+            runwayAircraftX = animation.toX;
+            frameStatistics.recordAnimationCompleted();
+            return true;
+        }
+        animation.progress = (double) elapsed / RUNWAY_ANIMATION_NANOS;
+        runwayAircraft = animation.aircraft;
+        runwayAircraftX = animation.interpolator.interpolate(animation.fromX, animation.toX,
+                animation.progress);
+        return true;
     }
 
     /**
      * Draws all the relevant elements of the airport onto the canvas.
+     * <p>
+     * Only the regions whose contents changed since the last call are redrawn. The whole
+     * canvas is redrawn the first time, and whenever terminals or gates are added.
      *
      * @given
      */
     public void draw() {
-        this.drawnAircraft.clear();
-
         GraphicsContext gc = getGraphicsContext2D();
+        ControlTower tower = viewModel.getControlTower();
+
+        gatherRows(tower);
+        double scale = getOutputScale();
+        if (background == null || scale != backgroundScale || !isBackgroundOf(shownTerminals)) {
+            drawBackground(scale);
+            gc.drawImage(background, 0, 0, getWidth(), getHeight());
+        }
+
+        Aircraft selected = viewModel.getSelectedAircraft().get();
+        drawRow(gc, takeoffSlots, takeoffRow, selected);
+        drawRow(gc, landingSlots, landingRow, selected);
+        drawRow(gc, awaySlots, awayRow, selected);
+        for (int i = 0; i < terminalRegions.length; ++i) {
+            drawTerminal(gc, terminalRegions[i], shownTerminals.get(i), selected);
+        }
+        runwaySlot.xcoord = runwayAircraftX;
+        drawSlot(gc, runwaySlot, runwayAircraft, selected);
+        drawTickStatus(gc, tower.getTicksElapsed());
+    }
+
+    /*
+     * Gathers the aircraft shown in each queue and as being away, and the terminals shown,
+     * unless the control tower has neither been ticked nor changed since they were last gathered.
+     */
+    private void gatherRows(ControlTower tower) {
+        if (tower == rowsTower && tower.getTicksElapsed() == rowsTicksElapsed
+                && tower.getChangeCount() == rowsChangeCount) {
+            return;
+        }
+        takeoffRow = tower.getTakeoffQueue().getFirstAircraftInOrder(ROW_CAPACITY);
+        landingRow = tower.getLandingQueue().getFirstAircraftInOrder(ROW_CAPACITY);
+        awayRow = tower.getFirstAircraftWithTask(TaskType.AWAY, ROW_CAPACITY);
+
+        // terminals are shown in rows of two, and only rows starting above the status bar show
+        final double rowHeight = TERMINAL_LABEL_HEIGHT + AIRCRAFT_HEIGHT + TERMINAL_MARGIN;
+        int numRows = (int) Math.ceil((getHeight() - STATUS_HEIGHT - getTerminalY(0))
+                / rowHeight);
+        shownTerminals = firstOf(tower.getTerminals(), 2 * Math.max(numRows, 0));
+        // only the aircraft queued or parked at the gates shown are brought up to date
+        for (List<Aircraft> row : List.of(takeoffRow, landingRow)) {
+            for (Aircraft aircraft : row) {
+                tower.synchronise(aircraft);
+            }
+        }
+        for (Terminal terminal : shownTerminals) {
+            for (Gate gate : terminal.getGates()) {
+                if (gate.isOccupied()) {
+                    tower.synchronise(gate.getAircraftAtGate());
+                }
+            }
+        }
+
+        rowsTower = tower;
+        rowsTicksElapsed = tower.getTicksElapsed();
+        rowsChangeCount = tower.getChangeCount();
+    }
+
+    /* Returns a list of at most the given number of elements from the start of the given list */
+    private static <T> List<T> firstOf(List<T> list, int count) {
+        return new ArrayList<>(list.subList(0, Math.min(list.size(), count)));
+    }
+
+    /* Returns the number of pixels the canvas is drawn with per pixel of its width */
+    private double getOutputScale() {
+        Window window = getScene() == null ? null : getScene().getWindow();
+        return window == null ? 1 : window.getOutputScaleX();
+    }
+
+    /* Returns whether the background was drawn for the given terminals' gates */
+    private boolean isBackgroundOf(List<Terminal> terminals) {
+        if (backgroundGateNumbers.length != terminals.size()) {
+            return false;
+        }
+        for (int i = 0; i < terminals.size(); ++i) {
+            List<Gate> gates = terminals.get(i).getGates();
+            if (backgroundGateNumbers[i].length != gates.size()) {
+                return false;
+            }
+            for (int j = 0; j < gates.size(); ++j) {
+                if (backgroundGateNumbers[i][j] != gates.get(j).getGateNumber()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Draws the elements that only change with the layout of the airport into the background
+     * image, and forgets what every region shows, as the image is about to be drawn over them.
+     */
+    private void drawBackground(double scale) {
+        Canvas layer = new Canvas(getWidth(), getHeight());
+        GraphicsContext gc = layer.getGraphicsContext2D();
 
         gc.setFill(Color.DARKGREEN);
         gc.fillRect(0, 0, getWidth(), getHeight());
 
-        drawRunway();
-        drawQueue(viewModel.getControlTower().getTakeoffQueue(), 0, 0);
-        drawQueue(viewModel.getControlTower().getLandingQueue(), 0, AIRCRAFT_HEIGHT);
-        drawAwayAircraft();
-        drawTerminals();
-        drawTickStatus();
+        drawRunway(gc);
+        drawRowFrame(gc, "T/O", 0, 0, QUEUE_LABEL_WIDTH);
+        drawRowFrame(gc, "LND", 0, AIRCRAFT_HEIGHT, QUEUE_LABEL_WIDTH);
+        drawRowFrame(gc, "AWAY", getWidth() / 2 + 5, 0, AWAY_LABEL_WIDTH);
+
+        backgroundGateNumbers = new int[shownTerminals.size()][];
+        terminalRegions = new TerminalRegion[shownTerminals.size()];
+        for (int i = 0; i < shownTerminals.size(); ++i) {
+            List<Gate> gates = shownTerminals.get(i).getGates();
+            double x = getTerminalX(i);
+            double y = getTerminalY(i);
+            drawTerminalFrame(gc, gates, x, y);
+
+            backgroundGateNumbers[i] = new int[gates.size()];
+            AircraftSlot[] gateSlots = new AircraftSlot[gates.size()];
+            for (int j = 0; j < gates.size(); ++j) {
+                backgroundGateNumbers[i][j] = gates.get(j).getGateNumber();
+                gateSlots[j] = new AircraftSlot(x + GATE_WIDTH * (j + 1) - AIRCRAFT_WIDTH,
+                        y + TERMINAL_LABEL_HEIGHT, Color.WHITE);
+            }
+            terminalRegions[i] = new TerminalRegion(x, y, gateSlots);
+        }
+
+        gc.setFill(Color.gray(0.5));
+        gc.fillRect(0, getHeight() - STATUS_HEIGHT, getWidth(), STATUS_HEIGHT);
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setTransform(Transform.scale(scale, scale));
+        background = layer.snapshot(parameters, null);
+        backgroundScale = scale;
+        sprites.setScale(scale);
+
+        drawnAircraft.clear();
+        for (AircraftSlot[] row : List.of(takeoffSlots, landingSlots, awaySlots)) {
+            for (AircraftSlot slot : row) {
+                slot.valid = false;
+            }
+        }
+        runwaySlot.valid = false;
+        drawnTicksElapsed = -1;
     }
 
-    /* Draws the runway */
-    private void drawRunway() {
-        GraphicsContext gc = getGraphicsContext2D();
+    /* Copies the given rectangle of the background image onto the canvas */
+    private void restoreBackground(GraphicsContext gc, double x, double y, double width,
+            double height) {
+        gc.drawImage(background,
+                x * backgroundScale, y * backgroundScale,
+                width * backgroundScale, height * backgroundScale,
+                x, y, width, height);
+    }
+
+    /* Saves the state of the graphics context and restricts drawing to the given rectangle */
+    private static void clip(GraphicsContext gc, double x, double y, double width,
+            double height) {
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
+    }
 
+    /* Draws the runway */
+    private void drawRunway(GraphicsContext gc) {
         final double runwayHeight = AIRCRAFT_HEIGHT;
         final double marginTop = 5;
         final double lineLength = 30;
@@ -209,7 +562,9 @@ public class AirportCanvas extends Canvas {
     }
 
     /**
-     * Performs the animation of the aircraft currently landing or taking off.
+     * Starts the animation of the aircraft currently landing or taking off, which is shown by
+     * the frames rendered over the next second. An animation still in progress is dropped, as
+     * its aircraft has already landed or taken off.
      * <p>
      * Called once per tick of the view model.
      *
@@ -227,254 +582,226 @@ public class AirportCanvas extends Canvas {
             return;
         }
 
-        Aircraft finalAircraftToAnimate = aircraftToAnimate;
-        AnimationTimer timer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                draw();
-
-                drawAircraft(finalAircraftToAnimate,
-                        runwayAnimationX.doubleValue(),
-                        AIRCRAFT_HEIGHT + 5,
-                        Color.WHITE);
-            }
-        };
-        timer.start();
+        if (runwayAnimation != null) {
+            frameStatistics.recordAnimationDropped();
+        }
         if (takingOff) {
-            takeoffTimeline.play();
+            runwayAnimation = new RunwayAnimation(aircraftToAnimate, true,
+                    runwayStartX + runwayWidth - AIRCRAFT_WIDTH - 100,
+                    runwayStartX - AIRCRAFT_WIDTH,
+                    Interpolator.EASE_IN);
         } else {
-            landTimeline.play();
+            runwayAnimation = new RunwayAnimation(aircraftToAnimate, false,
+                    runwayStartX + runwayWidth - AIRCRAFT_WIDTH,
+                    runwayStartX,
+                    Interpolator.EASE_OUT);
         }
+        frameStatistics.recordAnimationStarted();
     }
 
-    /* Draws an aircraft queue */
-    private void drawQueue(AircraftQueue queue, double x, double y) {
-        GraphicsContext gc = getGraphicsContext2D();
-
-        final int queueCapacity = 6;
-        final double labelWidth = 65;
-
+    /* Draws the frame and label of a row of aircraft, such as a queue */
+    private void drawRowFrame(GraphicsContext gc, String labelText, double x, double y,
+            double labelWidth) {
         gc.setFill(Color.WHITE);
-        gc.fillRect(x, y, AIRCRAFT_WIDTH * queueCapacity + labelWidth, AIRCRAFT_HEIGHT);
+        gc.fillRect(x, y, AIRCRAFT_WIDTH * ROW_CAPACITY + labelWidth, AIRCRAFT_HEIGHT);
 
         gc.setStroke(Color.BLACK);
-        gc.strokeRect(x, y, AIRCRAFT_WIDTH * queueCapacity + labelWidth, AIRCRAFT_HEIGHT);
+        gc.strokeRect(x, y, AIRCRAFT_WIDTH * ROW_CAPACITY + labelWidth, AIRCRAFT_HEIGHT);
 
         gc.setFill(Color.BLACK);
         gc.setTextBaseline(VPos.CENTER);
         gc.setTextAlign(TextAlignment.LEFT);
         gc.setFont(Font.font("monospace", FontWeight.BOLD, 30));
-        String labelText;
-        if (queue instanceof TakeoffQueue) {
-            labelText = "T/O";
-        } else {
-            labelText = "LND";
-        }
         gc.fillText(labelText, x + 5, y + AIRCRAFT_HEIGHT / 2);
 
         gc.setStroke(Color.BLACK);
         gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
+    }
 
-        // Draw aircraft in queue
-        var aircraft = queue.getAircraftInOrder();
-
-        for (int i = 0; i < aircraft.size(); ++i) {
-            Aircraft a = aircraft.get(i);
-            drawAircraft(a, x + labelWidth + AIRCRAFT_WIDTH * i, y, Color.BLACK);
+    /* Draws the aircraft of a row, such as a queue, into the slots whose aircraft changed */
+    private void drawRow(GraphicsContext gc, AircraftSlot[] slots, List<Aircraft> aircraft,
+            Aircraft selected) {
+        for (int i = 0; i < slots.length; ++i) {
+            drawSlot(gc, slots[i], i < aircraft.size() ? aircraft.get(i) : null, selected);
         }
     }
 
-    /* Draws the list of aircraft that are currently AWAY */
-    private void drawAwayAircraft() {
-        GraphicsContext gc = getGraphicsContext2D();
-
-        final int capacity = 6;
-        final double labelWidth = 85;
-        final double x = getWidth() / 2 + 5;
-        final double y = 0;
-
-        gc.setFill(Color.WHITE);
-        gc.fillRect(x, y, AIRCRAFT_WIDTH * capacity + labelWidth, AIRCRAFT_HEIGHT);
-
-        gc.setStroke(Color.BLACK);
-        gc.strokeRect(x, y, AIRCRAFT_WIDTH * capacity + labelWidth, AIRCRAFT_HEIGHT);
-
-        gc.setFill(Color.BLACK);
-        gc.setTextBaseline(VPos.CENTER);
-        gc.setTextAlign(TextAlignment.LEFT);
-        gc.setFont(Font.font("monospace", FontWeight.BOLD, 30));
-        gc.fillText("AWAY", x + 5, y + AIRCRAFT_HEIGHT / 2);
-
-        gc.setStroke(Color.BLACK);
-        gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
-
-        // Draw aircraft in queue
-        var aircraft = viewModel.getControlTower().getAircraft().stream()
-                .filter(a -> a.getTaskList().getCurrentTask().getType() == TaskType.AWAY)
-                .collect(Collectors.toList());
-
-        for (int i = 0; i < aircraft.size(); ++i) {
-            Aircraft a = aircraft.get(i);
-            drawAircraft(a, x + labelWidth + AIRCRAFT_WIDTH * i, y, Color.BLACK);
-        }
+    /* Returns the x-coordinate of the top left corner of the terminal shown at the given index */
+    private double getTerminalX(int index) {
+        final double terminalWidth = getWidth() / 2 - (2 * TERMINAL_MARGIN);
+        return TERMINAL_MARGIN + (index % 2 == 1
+                ? terminalWidth + 2 * TERMINAL_MARGIN
+                : 0);
     }
 
-    /* Draws the terminals and their gates */
-    private void drawTerminals() {
-        GraphicsContext gc = getGraphicsContext2D();
+    /* Returns the y-coordinate of the top left corner of the terminal shown at the given index */
+    private double getTerminalY(int index) {
+        final double terminalHeight = TERMINAL_LABEL_HEIGHT + AIRCRAFT_HEIGHT;
+        final double spaceAbove = 2 * AIRCRAFT_HEIGHT + 2 * TERMINAL_MARGIN; // queues + padding
+        return spaceAbove + TERMINAL_MARGIN
+                + ((index / 2) * (terminalHeight + TERMINAL_MARGIN));
+    }
 
-        final double terminalLabelHeight = 25;
+    /* Draws the background of a terminal's header, and its gates without their aircraft */
+    private void drawTerminalFrame(GraphicsContext gc, List<Gate> gates, double terminalStartX,
+            double terminalStartY) {
         final double terminalAircraftHeight = AIRCRAFT_HEIGHT;
-        final double terminalHeight = terminalLabelHeight + terminalAircraftHeight;
-        final double marginBelow = 5;
-        final double marginLeft = 5;
-        final double spaceAbove = 2 * AIRCRAFT_HEIGHT + 2 * marginBelow; // queues + padding
-        final double terminalWidth = getWidth() / 2 - (2 * marginLeft);
+        final double terminalWidth = getWidth() / 2 - (2 * TERMINAL_MARGIN);
 
-        List<Terminal> terminals = this.viewModel.getControlTower().getTerminals();
+        gc.setFill(Color.gray(0.7));
+        gc.fillRect(terminalStartX,
+                terminalStartY,
+                terminalWidth,
+                TERMINAL_LABEL_HEIGHT);
 
-        for (int i = 0; i < terminals.size(); ++i) {
-            Terminal terminal = terminals.get(i);
-
-            final double terminalStartX = marginLeft + (i % 2 == 1
-                    ? terminalWidth + 2 * marginLeft
-                    : 0);
-            final double terminalStartY = spaceAbove + marginBelow
-                    + ((i / 2) * (terminalHeight + marginBelow));
-
-            gc.setFill(Color.gray(0.7));
-            gc.fillRect(terminalStartX,
-                    terminalStartY,
-                    terminalWidth,
-                    terminalLabelHeight);
-
-            if (terminal.hasEmergency()) {
-                gc.setFill(Color.RED);
-            } else {
-                gc.setFill(Color.BLACK);
-            }
-            gc.setTextBaseline(VPos.CENTER);
-            gc.setTextAlign(TextAlignment.CENTER);
-            gc.setFont(Font.font("sans-serif", FontWeight.BOLD, 14));
+        gc.setFill(Color.gray(0.2));
+        gc.fillRect(terminalStartX,
+                terminalStartY + TERMINAL_LABEL_HEIGHT,
+                terminalWidth,
+                terminalAircraftHeight);
 
-            String terminalText = terminal.getClass().getSimpleName() + " "
-                    + terminal.getTerminalNumber();
-            if (terminal.hasEmergency()) {
-                terminalText += " (emergency)";
-            }
-            gc.fillText(terminalText,
-                    terminalStartX + terminalWidth / 2,
-                    terminalStartY + 0.5 * terminalLabelHeight);
+        for (int j = 0; j < gates.size(); ++j) {
+            Gate gate = gates.get(j);
 
-            // Number of gates and max number of gates
-            String numGatesText = terminal.getGates().size() + "/" + Terminal.MAX_NUM_GATES
-                    + " gates";
-            gc.setFill(Color.BLACK);
+            // Draw gate number
+            gc.setFill(Color.WHITE);
             gc.setTextBaseline(VPos.CENTER);
             gc.setTextAlign(TextAlignment.LEFT);
-            gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
-            gc.fillText(numGatesText,
-                    terminalStartX + 2, // 2px left padding
-                    terminalStartY + 0.5 * terminalLabelHeight);
+            gc.setFont(Font.font("monospace", FontWeight.BOLD, 12));
+            gc.fillText(String.valueOf(gate.getGateNumber()),
+                    terminalStartX + 2 + GATE_WIDTH * j, // 2px left padding
+                    terminalStartY + TERMINAL_LABEL_HEIGHT + terminalAircraftHeight / 2.0);
+
+            // Draw dividing line
+            final double gateLineX = terminalStartX + GATE_WIDTH * (j + 1);
+            if (j != Terminal.MAX_NUM_GATES - 1) {
+                gc.setStroke(Color.WHITE);
+                gc.strokeLine(gateLineX,
+                        terminalStartY + TERMINAL_LABEL_HEIGHT,
+                        gateLineX,
+                        terminalStartY + TERMINAL_LABEL_HEIGHT + terminalAircraftHeight);
+            }
+        }
+    }
 
-            // Occupancy level
-            String occupancyText = terminal.calculateOccupancyLevel() + "%";
-            gc.setFill(Color.BLACK);
-            gc.setTextBaseline(VPos.CENTER);
-            gc.setTextAlign(TextAlignment.RIGHT);
-            gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
-            gc.fillText(occupancyText,
-                    terminalStartX + terminalWidth - 2, // 2px right padding
-                    terminalStartY + 0.5 * terminalLabelHeight);
-
-            gc.setFill(Color.gray(0.2));
-            gc.fillRect(terminalStartX,
-                    terminalStartY + terminalLabelHeight,
-                    terminalWidth,
-                    terminalAircraftHeight);
-
-            List<Gate> gates = terminal.getGates();
-            for (int j = 0; j < gates.size(); ++j) {
-                Gate gate = gates.get(j);
-
-                final double gateWidth = AIRCRAFT_WIDTH + 15;
-
-                // Draw gate number
-                gc.setFill(Color.WHITE);
-                gc.setTextBaseline(VPos.CENTER);
-                gc.setTextAlign(TextAlignment.LEFT);
-                gc.setFont(Font.font("monospace", FontWeight.BOLD, 12));
-                gc.fillText(String.valueOf(gate.getGateNumber()),
-                        terminalStartX + 2 + gateWidth * j, // 2px left padding
-                        terminalStartY + terminalLabelHeight + terminalAircraftHeight / 2.0);
-
-                // Draw dividing line
-                final double gateLineX = terminalStartX + gateWidth * (j + 1);
-                if (j != Terminal.MAX_NUM_GATES - 1) {
-                    gc.setStroke(Color.WHITE);
-                    gc.strokeLine(gateLineX,
-                            terminalStartY + terminalLabelHeight,
-                            gateLineX,
-                            terminalStartY + terminalLabelHeight + terminalAircraftHeight);
-                }
+    /* Draws the header of a terminal if it changed, and the aircraft at its gates that changed */
+    private void drawTerminal(GraphicsContext gc, TerminalRegion region, Terminal terminal,
+            Aircraft selected) {
+        List<Gate> gates = terminal.getGates();
+        boolean emergency = terminal.hasEmergency();
+        int occupancy = terminal.calculateOccupancyLevel();
+        if (!region.valid || region.terminal != terminal || region.emergency != emergency
+                || region.numGates != gates.size() || region.occupancy != occupancy) {
+            drawTerminalHeader(gc, terminal, region.xcoord, region.ycoord, emergency,
+                    gates.size(), occupancy);
+            region.valid = true;
+            region.terminal = terminal;
+            region.emergency = emergency;
+            region.numGates = gates.size();
+            region.occupancy = occupancy;
+        }
 
-                // Draw parked aircraft
-                if (gate.isOccupied()) {
-                    drawAircraft(gate.getAircraftAtGate(),
-                            gateLineX - AIRCRAFT_WIDTH,
-                            terminalStartY + terminalLabelHeight,
-                            Color.WHITE);
-                }
-            }
+        for (int j = 0; j < region.gateSlots.length; ++j) {
+            Gate gate = gates.get(j);
+            drawSlot(gc, region.gateSlots[j], gate.isOccupied() ? gate.getAircraftAtGate() : null,
+                    selected);
         }
     }
 
-    /*
-     * Draws an aircraft at the given position on the canvas.
-     *
-     * @param aircraft aircraft to draw
-     * @param x x-coord of top left corner
-     * @param y y-coord of top left corner
-     * @param textColor color to use when drawing aircraft info text
-     */
-    private void drawAircraft(Aircraft aircraft, double x, double y, Color textColor) {
-        GraphicsContext gc = getGraphicsContext2D();
+    /* Draws the text of a terminal's header over its background */
+    private void drawTerminalHeader(GraphicsContext gc, Terminal terminal, double terminalStartX,
+            double terminalStartY, boolean emergency, int numGates, int occupancy) {
+        final double terminalWidth = getWidth() / 2 - (2 * TERMINAL_MARGIN);
 
-        this.drawnAircraft.put(new ClickableRegion(x, y, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT),
-                aircraft);
+        restoreBackground(gc, terminalStartX, terminalStartY, terminalWidth,
+                TERMINAL_LABEL_HEIGHT);
+        clip(gc, terminalStartX, terminalStartY, terminalWidth, TERMINAL_LABEL_HEIGHT);
 
-        if (aircraft instanceof PassengerAircraft) {
-            gc.setFill(Color.CADETBLUE);
+        if (emergency) {
+            gc.setFill(Color.RED);
         } else {
-            gc.setFill(Color.SADDLEBROWN);
+            gc.setFill(Color.BLACK);
         }
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setFont(Font.font("sans-serif", FontWeight.BOLD, 14));
 
-        // Emergency
-        if (aircraft.hasEmergency()) {
-            textColor = Color.RED;
+        String terminalText = terminal.getClass().getSimpleName() + " "
+                + terminal.getTerminalNumber();
+        if (emergency) {
+            terminalText += " (emergency)";
         }
+        gc.fillText(terminalText,
+                terminalStartX + terminalWidth / 2,
+                terminalStartY + 0.5 * TERMINAL_LABEL_HEIGHT);
+
+        // Number of gates and max number of gates
+        String numGatesText = numGates + "/" + Terminal.MAX_NUM_GATES + " gates";
+        gc.setFill(Color.BLACK);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
+        gc.fillText(numGatesText,
+                terminalStartX + 2, // 2px left padding
+                terminalStartY + 0.5 * TERMINAL_LABEL_HEIGHT);
+
+        // Occupancy level
+        String occupancyText = occupancy + "%";
+        gc.setFill(Color.BLACK);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
+        gc.fillText(occupancyText,
+                terminalStartX + terminalWidth - 2, // 2px right padding
+                terminalStartY + 0.5 * TERMINAL_LABEL_HEIGHT);
+
+        gc.restore();
+    }
 
-        // Is selected
-        FontWeight fontWeight = FontWeight.NORMAL;
-        if (Objects.equals(aircraft, viewModel.getSelectedAircraft().get())) {
-            fontWeight = FontWeight.BOLD;
+    /*
+     * Draws the given aircraft in the given slot, or leaves the slot empty if the aircraft is
+     * null, unless the slot already shows it as it is now.
+     *
+     * @param gc graphics context of the canvas
+     * @param slot slot to draw the aircraft in
+     * @param aircraft aircraft to draw, or null
+     * @param selected aircraft currently selected, or null
+     */
+    private void drawSlot(GraphicsContext gc, AircraftSlot slot, Aircraft aircraft,
+            Aircraft selected) {
+        String[] text = aircraft == null ? null : getAircraftText(aircraft);
+        boolean emergency = aircraft != null && aircraft.hasEmergency();
+        boolean isSelected = aircraft != null && Objects.equals(aircraft, selected);
+        if (slot.valid && slot.aircraft == aircraft && slot.drawnX == slot.xcoord
+                && Arrays.equals(slot.text, text) && slot.emergency == emergency
+                && slot.selected == isSelected) {
+            return;
         }
 
-        switch (aircraft.getCharacteristics().type) {
-            case HELICOPTER:
-                drawHelicopter(x, y);
-                break;
-            case AIRPLANE:
-            default:
-                drawAirplane(x, y);
+        if (slot.valid && slot.aircraft != null) {
+            restoreBackground(gc, slot.drawnX, slot.ycoord, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT);
+        }
+        if (aircraft != null) {
+            clip(gc, slot.xcoord, slot.ycoord, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT);
+            drawAircraft(gc, aircraft, slot.xcoord, slot.ycoord, slot.textColor, text,
+                    isSelected);
+            gc.restore();
+            slot.region.set(aircraft, slot.xcoord, slot.ycoord);
+            drawnAircraft.put(slot.region);
+        } else {
+            drawnAircraft.remove(slot.region);
         }
 
-        // Text
-        gc.setFill(textColor);
-        gc.setTextBaseline(VPos.BOTTOM);
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.setFont(Font.font("monospace", fontWeight, 12));
+        slot.valid = true;
+        slot.drawnX = slot.xcoord;
+        slot.aircraft = aircraft;
+        slot.text = text;
+        slot.emergency = emergency;
+        slot.selected = isSelected;
+    }
 
+    /* Returns the lines of text drawn below an aircraft: its callsign, task and occupancy */
+    private static String[] getAircraftText(Aircraft aircraft) {
         Task currentTask = aircraft.getTaskList().getCurrentTask();
         String aircraftTaskLine;
         if (currentTask.getType() == TaskType.LOAD) {
@@ -482,77 +809,63 @@ public class AirportCanvas extends Canvas {
         } else {
             aircraftTaskLine = currentTask.getType().name();
         }
-        String aircraftText = aircraft.getCallsign() + System.lineSeparator()
-                + aircraftTaskLine + System.lineSeparator()
-                + aircraft.calculateOccupancyLevel() + "%";
-        gc.fillText(aircraftText,
-                x + AIRCRAFT_WIDTH / 2,
-                y + AIRCRAFT_HEIGHT);
-    }
-
-    private void drawAirplane(double x, double y) {
-        GraphicsContext gc = getGraphicsContext2D();
-
-        // Wings
-        gc.fillPolygon(new double[] {
-            x + AIRCRAFT_WIDTH / 2 + 8,
-            x + AIRCRAFT_WIDTH / 2 + 8,
-            x + AIRCRAFT_WIDTH / 2 - 10
-        }, new double[] {
-            y + 4,
-            y + 36,
-            y + 22}, 3);
-
-        // Tail
-        gc.fillPolygon(new double[] {
-            x + AIRCRAFT_WIDTH - 4,
-            x + AIRCRAFT_WIDTH - 16,
-            x + AIRCRAFT_WIDTH - 4
-        }, new double[] {
-            y + 22,
-            y + 18,
-            y + 4}, 3);
-
-        // Fuselage
-        gc.fillRoundRect(x + 4,
-                y + 17,
-                AIRCRAFT_WIDTH - 8,
-                8,
-                10,
-                10);
+        return new String[] {
+            aircraft.getCallsign(),
+            aircraftTaskLine,
+            aircraft.calculateOccupancyLevel() + "%"
+        };
     }
 
-    private void drawHelicopter(double x, double y) {
-        GraphicsContext gc = getGraphicsContext2D();
-
-
-        // Fuselage
-        gc.fillOval(x + 15, y + 16, 30, 16);
+    /*
+     * Draws an aircraft at the given position on the canvas, from the images of its glyph and
+     * each line of its info text.
+     *
+     * @param gc graphics context to draw with
+     * @param aircraft aircraft to draw
+     * @param x x-coord of top left corner
+     * @param y y-coord of top left corner
+     * @param textColor color to use when drawing aircraft info text
+     * @param aircraftText lines of aircraft info text
+     * @param selected whether the aircraft is selected
+     */
+    private void drawAircraft(GraphicsContext gc, Aircraft aircraft, double x, double y,
+            Color textColor, String[] aircraftText, boolean selected) {
+        Color fill;
+        if (aircraft instanceof PassengerAircraft) {
+            fill = Color.CADETBLUE;
+        } else {
+            fill = Color.SADDLEBROWN;
+        }
+        gc.drawImage(sprites.getGlyph(aircraft.getCharacteristics().type, fill),
+                x, y, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT);
 
-        // Main rotor
-        gc.fillRect(x + 30 - 1, y + 16 - 4, 3, 4);
-        gc.fillRect(x + 4, y + 10, 50, 3);
+        // Emergency
+        if (aircraft.hasEmergency()) {
+            textColor = Color.RED;
+        }
 
-        // Tail rotor
-        gc.fillRect(x + 30, y + 22, 40, 3);
-        gc.fillRect(x + AIRCRAFT_WIDTH - 14, y + 16, 2, 14);
+        // Text, bold if selected, with the last line at the bottom of the aircraft
+        final double lineHeight = sprites.getLabelHeight();
+        for (int i = 0; i < aircraftText.length; ++i) {
+            gc.drawImage(sprites.getLabel(aircraftText[i], textColor, selected),
+                    x, y + AIRCRAFT_HEIGHT - (aircraftText.length - i) * lineHeight,
+                    AIRCRAFT_WIDTH, lineHeight);
+        }
     }
 
-    /* Draws the status bar containing tick information */
-    private void drawTickStatus() {
-        GraphicsContext gc = getGraphicsContext2D();
-
-        final double height = 20;
-
-        gc.setFill(Color.gray(0.5));
-        gc.fillRect(0, getHeight() - height, getWidth(), height);
+    /* Draws the tick information in the status bar, if it changed */
+    private void drawTickStatus(GraphicsContext gc, long ticksElapsed) {
+        if (ticksElapsed == drawnTicksElapsed) {
+            return;
+        }
+        restoreBackground(gc, 0, getHeight() - STATUS_HEIGHT, getWidth(), STATUS_HEIGHT);
 
         gc.setFill(Color.BLACK);
         gc.setTextBaseline(VPos.CENTER);
         gc.setTextAlign(TextAlignment.CENTER);
         gc.setFont(Font.font("sans-serif", 14));
-        gc.fillText(String.format("%d ticks elapsed",
-                viewModel.getControlTower().getTicksElapsed()),
-                getWidth() / 2, getHeight() - 0.5 * height);
+        gc.fillText(String.format("%d ticks elapsed", ticksElapsed),
+                getWidth() / 2, getHeight() - 0.5 * STATUS_HEIGHT);
+        drawnTicksElapsed = ticksElapsed;
     }
 }
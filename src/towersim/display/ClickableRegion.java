@@ -0,0 +1,117 @@
+package towersim.display;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * A rectangular region on the canvas that responds to click events by selecting the aircraft
+ * drawn in it.
+ * <p>
+ * Each place an aircraft can be drawn at owns one region for as long as the canvas layout lasts,
+ * which is moved and given a new aircraft as the canvas is redrawn, rather than being replaced.
+ */
+final class ClickableRegion {
+
+    /** X-coordinate of the region (top left) */
+    private double xcoord;
+    /** Y-coordinate of the region (top left) */
+    private double ycoord;
+    /** Width of the region, in pixels */
+    private final double width;
+    /** Height of the region, in pixels */
+    private final double height;
+    /** Aircraft drawn in the region */
+    private Aircraft aircraft;
+
+    /** Whether the region is in a ClickableRegionGrid; the cell indices below are only then set */
+    boolean indexed;
+    /** Column of the leftmost grid cell the region overlaps */
+    int minColumn;
+    /** Column of the rightmost grid cell the region overlaps */
+    int maxColumn;
+    /** Row of the topmost grid cell the region overlaps */
+    int minRow;
+    /** Row of the bottommost grid cell the region overlaps */
+    int maxRow;
+
+    /**
+     * Creates a new clickable region with the given dimensions, to be placed by set().
+     *
+     * @param width width of the region, in pixels
+     * @param height height of the region, in pixels
+     */
+    ClickableRegion(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Places the region at the given coordinates, with the given aircraft drawn in it.
+     *
+     * @param aircraft aircraft drawn in the region
+     * @param x x-coordinate of the region (top left)
+     * @param y y-coordinate of the region (top left)
+     */
+    void set(Aircraft aircraft, double x, double y) {
+        this.aircraft = aircraft;
+        this.xcoord = x;
+        this.ycoord = y;
+    }
+
+    /**
+     * Returns the aircraft drawn in the region.
+     *
+     * @return aircraft in the region
+     */
+    Aircraft getAircraft() {
+        return aircraft;
+    }
+
+    /**
+     * Returns the x-coordinate of the region (top left).
+     *
+     * @return x-coordinate, in pixels
+     */
+    double getX() {
+        return xcoord;
+    }
+
+    /**
+     * Returns the y-coordinate of the region (top left).
+     *
+     * @return y-coordinate, in pixels
+     */
+    double getY() {
+        return ycoord;
+    }
+
+    /**
+     * Returns the width of the region.
+     *
+     * @return width, in pixels
+     */
+    double getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the region.
+     *
+     * @return height, in pixels
+     */
+    double getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns whether or not the given click event's coordinates fall within this clickable
+     * region
+     *
+     * @param clickX x-coordinate of the click
+     * @param clickY y-coordinate of the click
+     * @return true if the click was within the region
+     */
+    boolean wasClicked(double clickX, double clickY) {
+        return clickX >= this.xcoord && clickX <= this.xcoord + this.width
+                && clickY >= this.ycoord && clickY <= this.ycoord + this.height;
+    }
+}
@@ -0,0 +1,162 @@
+package towersim.display;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid over the canvas indexing the clickable regions of the aircraft drawn on it.
+ * <p>
+ * Each cell lists the regions overlapping it. With cells at least as large as a region, a region
+ * is in at most four cells, so adding, moving and removing a region and finding the region at a
+ * point take constant time, however many aircraft are drawn.
+ */
+final class ClickableRegionGrid {
+
+    /** Width and height of each cell, in pixels */
+    private final double cellSize;
+
+    /** Number of columns of cells */
+    private final int numColumns;
+
+    /** Number of rows of cells */
+    private final int numRows;
+
+    /** Regions overlapping each cell, by row then column */
+    private final List<List<ClickableRegion>> cells;
+
+    /** Number of regions in the grid */
+    private int size;
+
+    /**
+     * Creates a new, empty grid covering an area of the given dimensions.
+     *
+     * @param width width of the area, in pixels
+     * @param height height of the area, in pixels
+     * @param cellSize width and height of each cell, in pixels
+     */
+    ClickableRegionGrid(double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.numColumns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.numRows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cells = new ArrayList<>(numColumns * numRows);
+        for (int i = 0; i < numColumns * numRows; i++) {
+            cells.add(new ArrayList<>(4));
+        }
+    }
+
+    /**
+     * Adds the given region to the grid, or moves it to the cells it now overlaps if it was
+     * already added and has been placed elsewhere since.
+     *
+     * @param region region to add
+     */
+    void put(ClickableRegion region) {
+        int minColumn = column(region.getX());
+        int maxColumn = column(region.getX() + region.getWidth());
+        int minRow = row(region.getY());
+        int maxRow = row(region.getY() + region.getHeight());
+        if (region.indexed) {
+            if (region.minColumn == minColumn && region.maxColumn == maxColumn
+                    && region.minRow == minRow && region.maxRow == maxRow) {
+                return;
+            }
+            removeFromCells(region);
+        } else {
+            size++;
+        }
+        region.indexed = true;
+        region.minColumn = minColumn;
+        region.maxColumn = maxColumn;
+        region.minRow = minRow;
+        region.maxRow = maxRow;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                cells.get(row * numColumns + column).add(region);
+            }
+        }
+    }
+
+    /**
+     * Removes the given region from the grid, if it was added.
+     *
+     * @param region region to remove
+     */
+    void remove(ClickableRegion region) {
+        if (!region.indexed) {
+            return;
+        }
+        removeFromCells(region);
+        region.indexed = false;
+        size--;
+    }
+
+    /**
+     * Removes every region from the grid.
+     */
+    void clear() {
+        for (List<ClickableRegion> cell : cells) {
+            for (ClickableRegion region : cell) {
+                region.indexed = false;
+            }
+            cell.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns a region in the grid containing the given point.
+     *
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return region containing the point, or null if there is none
+     */
+    ClickableRegion find(double x, double y) {
+        if (!(x >= 0 && y >= 0)) {
+            return null;
+        }
+        int column = (int) (x / cellSize);
+        int row = (int) (y / cellSize);
+        if (column >= numColumns || row >= numRows) {
+            return null;
+        }
+        for (ClickableRegion region : cells.get(row * numColumns + column)) {
+            if (region.wasClicked(x, y)) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of regions in the grid.
+     *
+     * @return number of regions
+     */
+    int size() {
+        return size;
+    }
+
+    /* Removes the given region from the cells it was recorded as overlapping */
+    private void removeFromCells(ClickableRegion region) {
+        for (int row = region.minRow; row <= region.maxRow; row++) {
+            for (int column = region.minColumn; column <= region.maxColumn; column++) {
+                cells.get(row * numColumns + column).remove(region);
+            }
+        }
+    }
+
+    /* Returns the column of the cell containing the given x-coordinate, clamped to the grid */
+    private int column(double x) {
+        return clamp((int) Math.floor(x / cellSize), numColumns);
+    }
+
+    /* Returns the row of the cell containing the given y-coordinate, clamped to the grid */
+    private int row(double y) {
+        return clamp((int) Math.floor(y / cellSize), numRows);
+    }
+
+    /* Clamps the given cell index to between 0 and the given number of cells minus one */
+    private static int clamp(int index, int numCells) {
+        return Math.max(0, Math.min(index, numCells - 1));
+    }
+}
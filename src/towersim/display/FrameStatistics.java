@@ -0,0 +1,168 @@
+package towersim.display;
+
+/**
+ * Statistics of the frames rendered by an AirportCanvas and of the runway animations they
+ * showed.
+ * <p>
+ * Frame times cover the work of drawing a frame onto the canvas, not the time JavaFX takes to
+ * put it on screen. Only frames in which something was drawn are counted.
+ */
+public final class FrameStatistics {
+    /** Longest time a frame may take to render without exceeding the budget, in nanoseconds */
+    private final long budgetNanos;
+
+    /** Number of frames rendered */
+    private long numFrames;
+
+    /** Number of frames that took longer than the budget to render */
+    private long numFramesOverBudget;
+
+    /** Total time taken to render frames, in nanoseconds */
+    private long totalFrameNanos;
+
+    /** Time taken to render the last frame, in nanoseconds */
+    private long lastFrameNanos;
+
+    /** Longest time taken to render a frame, in nanoseconds */
+    private long maxFrameNanos;
+
+    /** Number of runway animations started */
+    private long numAnimationsStarted;
+
+    /** Number of runway animations shown through to their end */
+    private long numAnimationsCompleted;
+
+    /** Number of runway animations replaced by the next tick's before reaching their end */
+    private long numAnimationsDropped;
+
+    /**
+     * Creates new, empty frame statistics.
+     *
+     * @param budgetNanos longest time a frame may take to render without exceeding the budget,
+     *                    in nanoseconds
+     */
+    FrameStatistics(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Records that a frame was rendered.
+     *
+     * @param frameNanos time taken to render the frame, in nanoseconds
+     */
+    void recordFrame(long frameNanos) {
+        numFrames++;
+        totalFrameNanos += frameNanos;
+        lastFrameNanos = frameNanos;
+        maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+        if (frameNanos > budgetNanos) {
+            numFramesOverBudget++;
+        }
+    }
+
+    /** Records that a runway animation was started. */
+    void recordAnimationStarted() {
+        numAnimationsStarted++;
+    }
+
+    /** Records that a runway animation was shown through to its end. */
+    void recordAnimationCompleted() {
+        numAnimationsCompleted++;
+    }
+
+    /** Records that a runway animation was replaced before reaching its end. */
+    void recordAnimationDropped() {
+        numAnimationsDropped++;
+    }
+
+    /**
+     * Returns the longest time a frame may take to render without exceeding the budget.
+     *
+     * @return frame time budget, in nanoseconds
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Returns the number of frames rendered.
+     *
+     * @return number of frames
+     */
+    public long getNumFrames() {
+        return numFrames;
+    }
+
+    /**
+     * Returns the number of frames that took longer than the budget to render.
+     *
+     * @return number of frames over budget
+     */
+    public long getNumFramesOverBudget() {
+        return numFramesOverBudget;
+    }
+
+    /**
+     * Returns the time taken to render the last frame.
+     *
+     * @return last frame time, in nanoseconds, or 0 if no frame was rendered
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Returns the mean time taken to render a frame.
+     *
+     * @return mean frame time, in nanoseconds, or 0 if no frame was rendered
+     */
+    public double getMeanFrameNanos() {
+        return numFrames == 0 ? 0 : (double) totalFrameNanos / numFrames;
+    }
+
+    /**
+     * Returns the longest time taken to render a frame.
+     *
+     * @return longest frame time, in nanoseconds, or 0 if no frame was rendered
+     */
+    public long getMaxFrameNanos() {
+        return maxFrameNanos;
+    }
+
+    /**
+     * Returns the number of runway animations started.
+     *
+     * @return number of animations started
+     */
+    public long getNumAnimationsStarted() {
+        return numAnimationsStarted;
+    }
+
+    /**
+     * Returns the number of runway animations shown through to their end.
+     *
+     * @return number of animations completed
+     */
+    public long getNumAnimationsCompleted() {
+        return numAnimationsCompleted;
+    }
+
+    /**
+     * Returns the number of runway animations replaced by the next tick's animation before
+     * reaching their end, because ticks came faster than the animations could be shown.
+     *
+     * @return number of animations dropped
+     */
+    public long getNumAnimationsDropped() {
+        return numAnimationsDropped;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d frames (%d over budget), mean %.2f ms, max %.2f ms;"
+                        + " %d animations (%d completed, %d dropped)",
+                numFrames, numFramesOverBudget, getMeanFrameNanos() / 1e6,
+                maxFrameNanos / 1e6, numAnimationsStarted, numAnimationsCompleted,
+                numAnimationsDropped);
+    }
+}
@@ -0,0 +1,257 @@
+package towersim.display;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Transform;
+import towersim.aircraft.AircraftType;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Images of the aircraft glyphs and the lines of aircraft info text drawn on an AirportCanvas,
+ * rendered once and then drawn with a single drawImage() call each.
+ * <p>
+ * A glyph is rendered for each aircraft type and fill color the first time it is needed. Lines
+ * of text are rendered for each text, color and weight, and the least recently used are
+ * discarded once more than a fixed number are held, as callsigns come and go with aircraft.
+ * Images are rendered at the output scale of the canvas, and all of them are discarded when it
+ * changes.
+ */
+final class SpriteCache {
+
+    /** Number of rendered lines of text held before the least recently used are discarded */
+    static final int LABEL_CAPACITY = 512;
+
+    /** Size of the font of aircraft info text, in points */
+    private static final double LABEL_FONT_SIZE = 12;
+
+    /** Width of a glyph, and of a line of text, in pixels */
+    private final double spriteWidth;
+
+    /** Height of a glyph, in pixels */
+    private final double spriteHeight;
+
+    /** Height of a line of text, in pixels */
+    private final double labelHeight;
+
+    /** Number of pixels of each image per pixel of the canvas */
+    private double scale;
+
+    /** Rendered glyphs, by aircraft type and fill color */
+    private final Map<AircraftType, Map<Color, WritableImage>> glyphs;
+
+    /** Rendered lines of text, least recently used first */
+    private final LinkedHashMap<LabelKey, WritableImage> labels;
+
+    /** Canvas glyphs are rendered on before being copied into an image */
+    private final Canvas glyphCanvas;
+
+    /** Canvas lines of text are rendered on before being copied into an image */
+    private final Canvas labelCanvas;
+
+    /** The text, color and weight of a rendered line of text */
+    private static final class LabelKey {
+
+        /** Text of the line */
+        private final String text;
+        /** Color of the text */
+        private final Color color;
+        /** Whether the text is bold */
+        private final boolean bold;
+
+        /** Creates a new key for a line of text */
+        LabelKey(String text, Color color, boolean bold) {
+            this.text = text;
+            this.color = color;
+            this.bold = bold;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof LabelKey)) {
+                return false;
+            }
+            LabelKey key = (LabelKey) other;
+            return text.equals(key.text) && color.equals(key.color) && bold == key.bold;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, color, bold);
+        }
+    }
+
+    /**
+     * Creates a new, empty sprite cache for glyphs of the given size.
+     *
+     * @param spriteWidth width of a glyph, and of a line of text, in pixels
+     * @param spriteHeight height of a glyph, in pixels
+     */
+    SpriteCache(double spriteWidth, double spriteHeight) {
+        this.spriteWidth = spriteWidth;
+        this.spriteHeight = spriteHeight;
+        Text sample = new Text("Ag");
+        sample.setFont(getLabelFont(false));
+        this.labelHeight = Math.ceil(sample.getLayoutBounds().getHeight());
+        this.scale = 1;
+        this.glyphs = new EnumMap<>(AircraftType.class);
+        this.labels = new LinkedHashMap<>(LABEL_CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LabelKey, WritableImage> eldest) {
+                return size() > LABEL_CAPACITY;
+            }
+        };
+        this.glyphCanvas = new Canvas(spriteWidth, spriteHeight);
+        this.labelCanvas = new Canvas(spriteWidth, labelHeight);
+    }
+
+    /**
+     * Sets the number of pixels of each image per pixel of the canvas, discarding the images
+     * rendered at another scale.
+     *
+     * @param scale output scale of the canvas
+     */
+    void setScale(double scale) {
+        if (scale != this.scale) {
+            this.scale = scale;
+            glyphs.clear();
+            labels.clear();
+        }
+    }
+
+    /**
+     * Returns the height of a line of aircraft info text.
+     *
+     * @return line height, in pixels
+     */
+    double getLabelHeight() {
+        return labelHeight;
+    }
+
+    /**
+     * Returns the glyph of the given aircraft type in the given fill color, rendering it if
+     * it has not been already.
+     *
+     * @param type type of aircraft
+     * @param fill fill color of the glyph
+     * @return image of the glyph, of the sprite size
+     */
+    WritableImage getGlyph(AircraftType type, Color fill) {
+        Map<Color, WritableImage> byColor = glyphs.computeIfAbsent(type, t -> new HashMap<>());
+        WritableImage glyph = byColor.get(fill);
+        if (glyph == null) {
+            GraphicsContext gc = glyphCanvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, spriteWidth, spriteHeight);
+            gc.setFill(fill);
+            switch (type) {
+                case HELICOPTER:
+                    drawHelicopter(gc, 0, 0);
+                    break;
+                case AIRPLANE:
+                default:
+                    drawAirplane(gc, 0, 0);
+            }
+            glyph = glyphCanvas.snapshot(getSnapshotParameters(), null);
+            byColor.put(fill, glyph);
+        }
+        return glyph;
+    }
+
+    /**
+     * Returns the given line of aircraft info text in the given color and weight, rendering it
+     * if it is not held.
+     *
+     * @param text text of the line
+     * @param color color of the text
+     * @param bold whether the text is bold
+     * @return image of the line, as wide as a glyph and as high as a line, with the text
+     *         centered horizontally
+     */
+    WritableImage getLabel(String text, Color color, boolean bold) {
+        LabelKey key = new LabelKey(text, color, bold);
+        WritableImage label = labels.get(key);
+        if (label == null) {
+            GraphicsContext gc = labelCanvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, spriteWidth, labelHeight);
+            gc.setFill(color);
+            gc.setTextBaseline(VPos.BOTTOM);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setFont(getLabelFont(bold));
+            gc.fillText(text, spriteWidth / 2, labelHeight);
+            label = labelCanvas.snapshot(getSnapshotParameters(), null);
+            labels.put(key, label);
+        }
+        return label;
+    }
+
+    /* Returns the parameters of a snapshot with a transparent background at the current scale */
+    private SnapshotParameters getSnapshotParameters() {
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        return parameters;
+    }
+
+    /* Returns the font of aircraft info text */
+    private static Font getLabelFont(boolean bold) {
+        return Font.font("monospace", bold ? FontWeight.BOLD : FontWeight.NORMAL,
+                LABEL_FONT_SIZE);
+    }
+
+    /* Draws an airplane glyph with its top left corner at the given position */
+    private void drawAirplane(GraphicsContext gc, double x, double y) {
+        // Wings
+        gc.fillPolygon(new double[] {
+            x + spriteWidth / 2 + 8,
+            x + spriteWidth / 2 + 8,
+            x + spriteWidth / 2 - 10
+        }, new double[] {
+            y + 4,
+            y + 36,
+            y + 22}, 3);
+
+        // Tail
+        gc.fillPolygon(new double[] {
+            x + spriteWidth - 4,
+            x + spriteWidth - 16,
+            x + spriteWidth - 4
+        }, new double[] {
+            y + 22,
+            y + 18,
+            y + 4}, 3);
+
+        // Fuselage
+        gc.fillRoundRect(x + 4,
+                y + 17,
+                spriteWidth - 8,
+                8,
+                10,
+                10);
+    }
+
+    /* Draws a helicopter glyph with its top left corner at the given position */
+    private void drawHelicopter(GraphicsContext gc, double x, double y) {
+        // Fuselage
+        gc.fillOval(x + 15, y + 16, 30, 16);
+
+        // Main rotor
+        gc.fillRect(x + 30 - 1, y + 16 - 4, 3, 4);
+        gc.fillRect(x + 4, y + 10, 50, 3);
+
+        // Tail rotor
+        gc.fillRect(x + 30, y + 22, 40, 3);
+        gc.fillRect(x + spriteWidth - 14, y + 16, 2, 14);
+    }
+}
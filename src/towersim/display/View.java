@@ -2,8 +2,8 @@ package towersim.display;
 
 import javafx.animation.AnimationTimer;
 import javafx.beans.binding.Bindings;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.StringProperty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -21,6 +21,7 @@ import towersim.ground.AirplaneTerminal;
 import towersim.ground.Gate;
 import towersim.ground.HelicopterTerminal;
 import towersim.ground.Terminal;
+import towersim.management.SimulationControl;
 import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
@@ -51,8 +52,8 @@ public class View {
     /** Time spent un-paused since last tick, in nanoseconds */
     private long timeSpentUnpaused = 0;
 
-    /** Time interval between ticks of the view model */
-    private final IntegerProperty secondsPerTick = new SimpleIntegerProperty(5);
+    /** Time interval between ticks of the view model, in seconds */
+    private final DoubleProperty secondsPerTick = new SimpleDoubleProperty(5);
 
     /** Maximum number of terminals that can be displayed */
     private static final int MAX_TERMINALS = 6;
@@ -109,7 +110,7 @@ public class View {
         bottomRightPanel.getChildren().add(rightInfoBox);
 
         var bottomPanel = new HBox();
-        var leftInfoBox = createInfoBox(viewModel.getAircraftInfoText(), 9);
+        var leftInfoBox = createInfoBox(viewModel.getAircraftInfoText(), 10);
         bottomPanel.getChildren().add(leftInfoBox);
         bottomPanel.getChildren().add(bottomRightPanel);
 
@@ -165,11 +166,8 @@ public class View {
         emergencyAircraft.disableProperty().bind(viewModel.getSelectedAircraft().isNull());
         emergencyAircraft.setOnAction(e -> {
             var selectedAircraft = viewModel.getSelectedAircraft().get();
-            if (selectedAircraft.hasEmergency()) {
-                selectedAircraft.clearEmergency();
-            } else {
-                selectedAircraft.declareEmergency();
-            }
+            viewModel.getInputRecorder().setEmergency(selectedAircraft,
+                    !selectedAircraft.hasEmergency());
             viewModel.registerChange();
         });
         MenuItem emergencyTerminal = new MenuItem("On a _terminal...");
@@ -181,11 +179,7 @@ public class View {
                 return;
             }
             var terminal = choice.get();
-            if (terminal.hasEmergency()) {
-                terminal.clearEmergency();
-            } else {
-                terminal.declareEmergency();
-            }
+            viewModel.getInputRecorder().setEmergency(terminal, !terminal.hasEmergency());
             viewModel.registerChange();
         });
         Menu emergency = new Menu("Toggle _emergency");
@@ -222,6 +216,23 @@ public class View {
         highSpeed.setMnemonicParsing(true);
         highSpeed.setOnAction(e -> secondsPerTick.set(1));
         highSpeed.disableProperty().bind(secondsPerTick.isEqualTo(1));
+        MenuItem goToTick = new MenuItem("_Go to tick...");
+        goToTick.setMnemonicParsing(true);
+        goToTick.setOnAction(e -> {
+            var history = viewModel.getInputRecorder().getHistory();
+            var tick = getResponse("Go to Tick",
+                    "Please enter a tick from " + history.getEarliestTick() + " to "
+                            + history.getLatestTick(),
+                    "Tick:", (int) viewModel.getControlTower().getTicksElapsed());
+            if (tick.isEmpty()) {
+                return;
+            }
+            try {
+                viewModel.seek(tick.get());
+            } catch (IllegalArgumentException | IllegalStateException ex) {
+                viewModel.createErrorDialog("Cannot go to tick", ex.getMessage());
+            }
+        });
         Menu menuSim = new Menu("_Simulation");
         menuSim.setMnemonicParsing(true);
         Menu speed = new Menu("_Speed");
@@ -231,6 +242,7 @@ public class View {
         speed.getItems().add(highSpeed);
         menuSim.getItems().add(pause);
         menuSim.getItems().add(speed);
+        menuSim.getItems().add(goToTick);
         return menuSim;
     }
 
@@ -275,7 +287,7 @@ public class View {
             } else {
                 newTerminal = new HelicopterTerminal(terminalNumber.get());
             }
-            viewModel.getControlTower().addTerminal(newTerminal);
+            viewModel.getInputRecorder().addTerminal(newTerminal);
             viewModel.getNumTerminals().set(viewModel.getNumTerminals().get() + 1);
             viewModel.registerChange();
         });
@@ -326,7 +338,8 @@ public class View {
                 return;
             }
             try {
-                terminal.addGate(new Gate(gateNumberChoice.get()));
+                viewModel.getInputRecorder().addGate(terminal,
+                        new Gate(gateNumberChoice.get()));
             } catch (NoSpaceException ex) {
                 // ignored (not possible)
             }
@@ -395,7 +408,7 @@ public class View {
             String chosenKey = choice.get();
             Aircraft chosenAircraft = aircraftPresets.get(chosenKey);
             try {
-                viewModel.getControlTower().addAircraft(chosenAircraft);
+                viewModel.getInputRecorder().addAircraft(chosenAircraft);
             } catch (NoSuitableGateException e) {
                 viewModel.createErrorDialog("Cannot create aircraft",
                         "No suitable gate for aircraft " + chosenAircraft);
@@ -554,7 +567,18 @@ public class View {
     }
 
     /**
-     * Initialises the view and begins the timer responsible for performing ticks
+     * Returns a control of this view's simulation for management clients, through which it can
+     * be paused, its speed changed and it can be saved from other threads.
+     *
+     * @return control of the simulation
+     */
+    public SimulationControl createSimulationControl() {
+        return new ViewControl(viewModel, secondsPerTick);
+    }
+
+    /**
+     * Initialises the view and begins the timer responsible for performing ticks and rendering
+     * the canvas, which is the only render loop of the view
      *
      * @given
      */
@@ -564,10 +588,11 @@ public class View {
         new AnimationTimer() {
             @Override
             public void handle(long currentNanoTime) {
-                if (viewModel.isChanged()) {
+                boolean changed = viewModel.isChanged();
+                if (changed) {
                     viewModel.notChanged();
-                    canvas.draw();
                 }
+                canvas.render(currentNanoTime, changed);
 
                 if (viewModel.getPaused().get()) {
                     lastNanoTime = currentNanoTime;
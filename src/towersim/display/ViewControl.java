@@ -0,0 +1,141 @@
+package towersim.display;
+
+import javafx.application.Platform;
+import javafx.beans.property.DoubleProperty;
+import towersim.ground.Terminal;
+import towersim.management.SimulationControl;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Control of the simulation shown by a View, for management clients.
+ * <p>
+ * Every request is carried out on the JavaFX application thread, which ticks the control
+ * tower, and the calling thread waits for it to finish. Changes made this way are shown in the
+ * GUI as if they had been made through its menus, and emergencies are recorded in the input log.
+ */
+final class ViewControl implements SimulationControl {
+    /** View model of the simulation */
+    private final ViewModel viewModel;
+
+    /** Time interval between ticks of the view model, in seconds */
+    private final DoubleProperty secondsPerTick;
+
+    /**
+     * Creates a new control of the simulation of the given view model.
+     *
+     * @param viewModel view model of the simulation
+     * @param secondsPerTick time interval between ticks of the view model
+     */
+    ViewControl(ViewModel viewModel, DoubleProperty secondsPerTick) {
+        this.viewModel = viewModel;
+        this.secondsPerTick = secondsPerTick;
+    }
+
+    @Override
+    public boolean isPaused() {
+        return call(() -> viewModel.getPaused().get());
+    }
+
+    @Override
+    public void setPaused(boolean paused) {
+        call(() -> {
+            if (viewModel.getPaused().get() != paused) {
+                viewModel.togglePaused();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public double getSecondsPerTick() {
+        return call(secondsPerTick::get);
+    }
+
+    @Override
+    public void setSecondsPerTick(double secondsPerTick) {
+        if (!(secondsPerTick >= 0)) {
+            throw new IllegalArgumentException("Seconds per tick must be at least 0");
+        }
+        call(() -> {
+            this.secondsPerTick.set(secondsPerTick);
+            return null;
+        });
+    }
+
+    @Override
+    public void save() throws IOException {
+        try {
+            callChecked(() -> {
+                viewModel.save();
+                return null;
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void setTerminalEmergency(int terminalNumber, boolean declared) {
+        call(() -> {
+            for (Terminal terminal : viewModel.getControlTower().getTerminals()) {
+                if (terminal.getTerminalNumber() == terminalNumber) {
+                    viewModel.getInputRecorder().setEmergency(terminal, declared);
+                    viewModel.getControlTower().publishCounters();
+                    viewModel.registerChange();
+                    return null;
+                }
+            }
+            throw new IllegalArgumentException("No terminal numbered " + terminalNumber);
+        });
+    }
+
+    /**
+     * Carries out the given action on the JavaFX application thread and returns its result,
+     * rethrowing any unchecked exception it throws.
+     *
+     * @param action action to carry out
+     * @param <T> type of result of the action
+     * @return result of the action
+     */
+    private static <T> T call(Callable<T> action) {
+        try {
+            return callChecked(action);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Carries out the given action on the JavaFX application thread, directly if called from
+     * that thread, and waits for its result.
+     *
+     * @param action action to carry out
+     * @param <T> type of result of the action
+     * @return result of the action
+     * @throws ExecutionException if the action threw an exception
+     */
+    private static <T> T callChecked(Callable<T> action) throws ExecutionException {
+        FutureTask<T> task = new FutureTask<>(action);
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the GUI");
+        }
+    }
+}
@@ -7,15 +7,20 @@ import javafx.scene.control.Alert;
 import towersim.aircraft.Aircraft;
 import towersim.control.ControlTower;
 import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerSaver;
+import towersim.control.OccupancyForecaster;
+import towersim.events.TowerEvent;
+import towersim.events.TowerEventConsumer;
+import towersim.events.TowerEventType;
 import towersim.ground.Gate;
-import towersim.ground.Terminal;
+import towersim.replay.InputRecorder;
+import towersim.replay.TickHistory;
 import towersim.tasks.TaskType;
 import towersim.util.MalformedSaveException;
 import towersim.util.NoSuitableGateException;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * View model for the Control Tower Simulation GUI.
@@ -59,11 +64,23 @@ public class ViewModel {
     /** The aircraft currently taking off (i.e. just went from TAKEOFF to AWAY) */
     private final ObjectProperty<Aircraft> aircraftTakingOff = new SimpleObjectProperty<>();
 
-    /** List of all aircraft whose task is TAKEOFF; used in finding aircraftTakingOff */
-    private List<Aircraft> allTakeoffAircraft = new ArrayList<>();
+    /** Landing and takeoff events; used in finding aircraftLanding and aircraftTakingOff */
+    private final TowerEventConsumer runwayEvents;
 
-    /** List of all aircraft whose task is LAND; used in finding aircraftLanding */
-    private List<Aircraft> allLandAircraft = new ArrayList<>();
+    /** Number of ticks between snapshots kept for going back to earlier ticks */
+    private static final int HISTORY_SNAPSHOT_INTERVAL = 50;
+
+    /** Maximum estimated number of bytes of history kept for going back to earlier ticks */
+    private static final long HISTORY_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    /** Number of ticks ahead that gate availability is forecast */
+    private static final int FORECAST_HORIZON = 100;
+
+    /** Recorder through which external inputs are applied to the control tower */
+    private final InputRecorder inputRecorder;
+
+    /** Forecaster of gate availability shown for the selected aircraft */
+    private final OccupancyForecaster forecaster;
 
     /** File path of the tick file that we loaded from */
     private final String defaultTickSaveLocation;
@@ -100,6 +117,12 @@ public class ViewModel {
                 new FileReader(filenames.get(2)),
                 new FileReader(filenames.get(3)));
 
+        this.inputRecorder = new InputRecorder(this.tower);
+        this.inputRecorder.setHistory(new TickHistory(this.tower, HISTORY_SNAPSHOT_INTERVAL,
+                HISTORY_MEMORY_BUDGET));
+        this.forecaster = new OccupancyForecaster(this.tower, FORECAST_HORIZON);
+        this.runwayEvents = this.tower.getEventStream().subscribe(
+                TowerEventType.AIRCRAFT_LANDED, TowerEventType.AIRCRAFT_TOOK_OFF);
         this.numTerminals.set(tower.getTerminals().size());
 
         this.selectedAircraft.addListener((observable, oldValue, newValue) -> {
@@ -110,8 +133,6 @@ public class ViewModel {
             }
         });
         this.loadingInfoText.set(generateLoadingInfoText());
-
-        fillTakeoffLandAircraftLists();
     }
 
     /**
@@ -128,9 +149,7 @@ public class ViewModel {
             @Override
             public void handle(ActionEvent actionEvent) {
                 // declare a state of emergency on all terminals
-                for (Terminal terminal : tower.getTerminals()) {
-                    terminal.declareEmergency();
-                }
+                inputRecorder.droneAlert();
                 // update the GUI
                 registerChange();
             }
@@ -151,9 +170,7 @@ public class ViewModel {
             @Override
             public void handle(ActionEvent actionEvent) {
                 // clear the state of emergency on all terminals
-                for (Terminal terminal : tower.getTerminals()) {
-                    terminal.clearEmergency();
-                }
+                inputRecorder.droneClear();
                 // update the GUI
                 registerChange();
             }
@@ -288,74 +305,8 @@ public class ViewModel {
      */
     public void saveAs(Writer tickWriter, Writer aircraftWriter, Writer queuesWriter,
             Writer terminalsWithGatesWriter) throws IOException {
-        // write the tick
-        BufferedWriter tick = new BufferedWriter(tickWriter);
-        tick.write("" + tower.getTicksElapsed());
-        tick.close();
-
-        // write the aircraft
-        BufferedWriter aircraft = new BufferedWriter(aircraftWriter);
-        // write the number of aircraft
-        aircraft.write("" + tower.getAircraft().size());
-        // write the encoded aircraft
-        if (tower.getAircraft().size() != 0) {
-            aircraft.newLine();
-            for (int i = 0; i < tower.getAircraft().size() - 1; i++) {
-                aircraft.write(tower.getAircraft().get(i).encode());
-                aircraft.newLine();
-            }
-            // after the last aircraft, there should not be a line separator
-            aircraft.write(tower.getAircraft().get(tower.getAircraft().size() - 1).encode());
-        }
-        // the situation when there's no aircraft controlled by tower
-        aircraft.close();
-
-        // write the queues
-        BufferedWriter queues = new BufferedWriter(queuesWriter);
-        // write the takeoff queue
-        queues.write(tower.getTakeoffQueue().encode());
-        queues.newLine();
-        // write the landing queue
-        queues.write(tower.getLandingQueue().encode());
-        queues.newLine();
-        // write the number of aircraft
-        queues.write("LoadingAircraft:");
-        queues.write("" + tower.getLoadingAircraft().size());
-        // write the callsign:ticksRemaining
-        // get all aircrafts controlled by tower
-        List<Aircraft> loadingAircraftOfTower = Arrays.asList(tower.getLoadingAircraft().keySet()
-                .toArray(new Aircraft[0]));
-        if (tower.getLoadingAircraft().size() != 0) {
-            queues.newLine();
-            for (int i = 0; i < loadingAircraftOfTower.size() - 1; i++) {
-                queues.write(loadingAircraftOfTower.get(i).getCallsign() + ":"
-                        + tower.getLoadingAircraft().get(loadingAircraftOfTower.get(i)) + ",");
-            }
-            // after the last loading aircraft, there should not be a ","
-            queues.write(loadingAircraftOfTower.get(loadingAircraftOfTower.size() - 1)
-                    .getCallsign() + ":" + tower.getLoadingAircraft().get(loadingAircraftOfTower
-                    .get(loadingAircraftOfTower.size() - 1)));
-        }
-        // the situation when there's no loading aircraft
-        queues.close();
-
-        // write terminals
-        BufferedWriter terminalsWithGates = new BufferedWriter(terminalsWithGatesWriter);
-        // write the number of terminals
-        terminalsWithGates.write("" + tower.getTerminals().size());
-        // write the encoded terminals with gates
-        if (tower.getTerminals().size() != 0) {
-            terminalsWithGates.newLine();
-            for (int i = 0; i < tower.getTerminals().size() - 1; i++) {
-                terminalsWithGates.write(tower.getTerminals().get(i).encode());
-                terminalsWithGates.newLine();
-            }
-            // after the last terminal with gates, there should not be a line separator
-            terminalsWithGates.write(tower.getTerminals().get(tower.getTerminals().size())
-                    .encode());
-        }
-        // the situation when there's no terminal
-        terminalsWithGates.close();
+        ControlTowerSaver.saveAs(tower, tickWriter, aircraftWriter, queuesWriter,
+                terminalsWithGatesWriter);
     }
 
     /**
@@ -368,13 +319,23 @@ public class ViewModel {
         return tower;
     }
 
+    /**
+     * Returns the recorder through which all external changes to the control tower should be
+     * made, so that they are captured while inputs are being recorded.
+     *
+     * @return input recorder of the control tower
+     */
+    public InputRecorder getInputRecorder() {
+        return inputRecorder;
+    }
+
     /**
      * Ticks the model and updates the state of the GUI.
      *
      * @given
      */
     public void tick() {
-        tower.tick();
+        inputRecorder.tick();
         this.loadingInfoText.set(generateLoadingInfoText());
         if (selectedAircraft.isNotNull().get()) {
             this.aircraftInfoText.set(generateAircraftInfoText(selectedAircraft.get()));
@@ -383,41 +344,43 @@ public class ViewModel {
         registerChange();
     }
 
-    /* Updates the lists of aircraft currently taking off and landing */
-    private void updateTakeoffLandAircraft() {
+    /**
+     * Returns the control tower to its state at the given tick and updates the state of the GUI.
+     * Any tick kept in the control tower's history, as given by
+     * {@link InputRecorder#getHistory()}, can be returned to.
+     *
+     * @param tick number of ticks elapsed to return to
+     * @throws IllegalArgumentException if the tick is no longer kept in the history
+     * @throws IllegalStateException if inputs are being recorded to an input log
+     */
+    public void seek(long tick) {
+        inputRecorder.seek(tick);
+        // aircraft held by the GUI were replaced by copies from the history
+        this.selectedAircraft.set(null);
         this.aircraftTakingOff.set(null);
         this.aircraftLanding.set(null);
-        for (Aircraft aircraft : getControlTower().getAircraft()) {
-            TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
-            if (currentTaskType == TaskType.AWAY && allTakeoffAircraft.contains(aircraft)) {
-                // Aircraft has just taken off
-                this.aircraftTakingOff.set(aircraft);
-            }
-            if ((currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD)
-                    && allLandAircraft.contains(aircraft)) {
-                // Aircraft has just landed
-                this.aircraftLanding.set(aircraft);
-            }
-        }
-        fillTakeoffLandAircraftLists();
+        this.numTerminals.set(tower.getTerminals().size());
+        this.loadingInfoText.set(generateLoadingInfoText());
+        // the events of the ticks replayed by the history describe replaced aircraft
+        runwayEvents.skipPending();
+        registerChange();
     }
 
-    /*
-     * Places all aircraft that have a TAKEOFF task into the list of aircraft taking off;
-     * same for LAND
-     */
-    private void fillTakeoffLandAircraftLists() {
-        this.allTakeoffAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.TAKEOFF);
-        this.allLandAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.LAND);
+    /* Updates the aircraft currently taking off and landing from the events of the last tick */
+    private void updateTakeoffLandAircraft() {
+        this.aircraftTakingOff.set(null);
+        this.aircraftLanding.set(null);
+        runwayEvents.poll(this::onRunwayEvent);
     }
 
-    /* Returns all aircraft in the given list whose current task's type is the given type */
-    private List<Aircraft> findAircraftWithTask(List<Aircraft> aircraft, TaskType taskType) {
-        return aircraft.stream()
-                .filter(a -> a.getTaskList().getCurrentTask().getType() == taskType)
-                .collect(Collectors.toList());
+    /* Records the aircraft that landed or took off in the given event */
+    private void onRunwayEvent(TowerEvent event, boolean endOfBatch) {
+        Aircraft aircraft = tower.getAircraft(event.getAircraftId());
+        if (event.getType() == TowerEventType.AIRCRAFT_TOOK_OFF) {
+            this.aircraftTakingOff.set(aircraft);
+        } else {
+            this.aircraftLanding.set(aircraft);
+        }
     }
 
     /* Generates the formatted information text for the given aircraft */
@@ -432,6 +395,11 @@ public class ViewModel {
         lineJoiner.add("% occupied:\t" + aircraft.calculateOccupancyLevel() + "%");
         lineJoiner.add("Emergency:\t" + aircraft.hasEmergency());
         lineJoiner.add("Task list:   \t" + aircraft.getTaskList().encode());
+        int ticksUntilFreeGate = forecaster.getTicksUntilFreeGate(
+                aircraft.getCharacteristics().type);
+        lineJoiner.add("Free gate:  \t" + (ticksUntilFreeGate < 0
+                ? "none within " + FORECAST_HORIZON + " ticks"
+                : ticksUntilFreeGate == 0 ? "now" : "in " + ticksUntilFreeGate + " ticks"));
 
         return lineJoiner.toString();
     }
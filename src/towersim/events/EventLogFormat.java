@@ -0,0 +1,18 @@
+package towersim.events;
+
+/**
+ * Formats in which an EventLogWriter writes its log.
+ */
+public enum EventLogFormat {
+    /**
+     * Compact binary: a header of EventLogWriter.MAGIC followed by one record of
+     * EventLogWriter.RECORD_SIZE bytes per event, as read by EventLogReader.
+     */
+    BINARY,
+
+    /**
+     * Comma-separated values with a header row and one row per event; fields that do not apply
+     * to an event are left empty.
+     */
+    CSV
+}
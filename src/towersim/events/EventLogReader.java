@@ -0,0 +1,93 @@
+package towersim.events;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the events of a log written by an EventLogWriter in EventLogFormat.BINARY.
+ */
+public final class EventLogReader {
+
+    /** Utility class; not instantiable */
+    private EventLogReader() {
+    }
+
+    /**
+     * Delivers every event in the given binary log to the given handler, in the order they
+     * were logged. The sequence number of each event is the one it was logged with, so
+     * records discarded under OverflowPolicy.COUNT show as gaps. The last event is delivered
+     * with endOfBatch set.
+     * @param in - stream to read the log from
+     * @param handler - handler to deliver the events to
+     * @return number of events read
+     * @throws IOException if the stream fails, or does not hold a complete binary event log
+     */
+    public static long read(InputStream in, TowerEventHandler handler) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] magic = new byte[EventLogWriter.MAGIC.length];
+        try {
+            data.readFully(magic);
+        } catch (EOFException e) {
+            throw new IOException("Not a binary event log", e);
+        }
+        if (!Arrays.equals(magic, EventLogWriter.MAGIC)) {
+            throw new IOException("Not a binary event log");
+        }
+
+        TowerEventType[] types = TowerEventType.values();
+        TowerEvent event = new TowerEvent();
+        byte[] record = new byte[EventLogWriter.RECORD_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(record);
+        boolean pending = false;
+        long count = 0;
+        while (readRecord(data, record)) {
+            if (pending) {
+                handler.onEvent(event, false);
+            }
+            int type = view.get(EventLogWriter.TYPE_OFFSET);
+            if (type < 0 || type >= types.length) {
+                throw new IOException("Unknown event type " + type + " in record " + count);
+            }
+            int length = view.get(EventLogWriter.CALLSIGN_LENGTH_OFFSET);
+            String callsign = length < 0 ? null : new String(record,
+                    EventLogWriter.CALLSIGN_OFFSET, length, StandardCharsets.US_ASCII);
+            event.set(view.getLong(EventLogWriter.SEQUENCE_OFFSET), types[type],
+                    view.getLong(EventLogWriter.TICK_OFFSET),
+                    view.getInt(EventLogWriter.AIRCRAFT_OFFSET), callsign,
+                    view.getInt(EventLogWriter.GATE_OFFSET),
+                    view.getInt(EventLogWriter.TERMINAL_OFFSET));
+            pending = true;
+            count++;
+        }
+        if (pending) {
+            handler.onEvent(event, true);
+        }
+        return count;
+    }
+
+    /**
+     * Reads the next record of a log.
+     * @param data - stream to read from
+     * @param record - array to read the record into
+     * @return true if a record was read; false if the log has ended
+     * @throws IOException if the stream fails or ends part-way through a record
+     */
+    private static boolean readRecord(DataInputStream data, byte[] record) throws IOException {
+        int first = data.read();
+        if (first < 0) {
+            return false;
+        }
+        record[0] = (byte) first;
+        try {
+            data.readFully(record, 1, record.length - 1);
+        } catch (EOFException e) {
+            throw new IOException("Event log ends part-way through a record", e);
+        }
+        return true;
+    }
+}
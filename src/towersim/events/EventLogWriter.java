@@ -0,0 +1,390 @@
+package towersim.events;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes a log of the events happening at a control tower to a stream, e.g. a file, without
+ * the thread ticking the control tower waiting for the stream.
+ * <p>
+ * A control tower set to log with ControlTower.setEventLog(EventLogWriter) appends a
+ * fixed-size record of every event, numbered in sequence, to a ring buffer allocated up front.
+ * A background thread drains the buffer in large sequential writes, either copying the records
+ * out as they are (EventLogFormat.BINARY) or formatting them as rows of text
+ * (EventLogFormat.CSV). The background thread wakes every FLUSH_INTERVAL_MILLIS, and whenever
+ * half the buffer has been filled since it was last woken.
+ * <p>
+ * If events are appended faster than the stream accepts them, the buffer fills up and the
+ * writer's OverflowPolicy decides whether the appending thread waits or the record is lost.
+ * <p>
+ * Only one thread may append records and close the writer. If the stream fails, later records
+ * are discarded and close() throws the failure.
+ */
+public final class EventLogWriter implements Closeable {
+    /** Bytes at the start of a binary log, identifying it and the version of its format */
+    public static final byte[] MAGIC = "TWRLOG01".getBytes(StandardCharsets.US_ASCII);
+
+    /** Size of each record in a binary log, in bytes */
+    public static final int RECORD_SIZE = 48;
+
+    /** Number of records buffered by writers created without a capacity */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** Longest time records wait in the buffer before the background thread writes them */
+    public static final long FLUSH_INTERVAL_MILLIS = 10;
+
+    /** Offset of the sequence number in a record */
+    static final int SEQUENCE_OFFSET = 0;
+
+    /** Offset of the tick in a record */
+    static final int TICK_OFFSET = 8;
+
+    /** Offset of the aircraft ID in a record */
+    static final int AIRCRAFT_OFFSET = 16;
+
+    /** Offset of the gate number in a record */
+    static final int GATE_OFFSET = 20;
+
+    /** Offset of the terminal number in a record */
+    static final int TERMINAL_OFFSET = 24;
+
+    /** Offset of the event type's ordinal in a record */
+    static final int TYPE_OFFSET = 28;
+
+    /** Offset of the length of the callsign in a record, which is -1 for no callsign */
+    static final int CALLSIGN_LENGTH_OFFSET = 29;
+
+    /** Offset of the callsign's characters in a record */
+    static final int CALLSIGN_OFFSET = 32;
+
+    /** Number of characters of a callsign kept in a record; longer callsigns are truncated */
+    static final int CALLSIGN_BYTES = RECORD_SIZE - CALLSIGN_OFFSET;
+
+    /** Header row of a CSV log */
+    private static final String CSV_HEADER =
+            "sequence,tick,type,aircraft_id,callsign,gate,terminal\n";
+
+    /** Number of characters of CSV formatted before they are written */
+    private static final int CSV_CHUNK_CHARS = 64 * 1024;
+
+    /** Time the appending thread waits before checking again for room, in nanoseconds */
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    /** Buffer of records, indexed by record number modulo the capacity */
+    private final byte[] buffer;
+
+    /** View of the buffer used by the appending thread */
+    private final ByteBuffer appendView;
+
+    /** View of the buffer used by the background thread */
+    private final ByteBuffer drainView;
+
+    /** Number of records the buffer holds */
+    private final int capacity;
+
+    /** Format the log is written in */
+    private final EventLogFormat format;
+
+    /** What happens to records appended while the buffer is full */
+    private final OverflowPolicy policy;
+
+    /** Stream the log is written to */
+    private final OutputStream out;
+
+    /** Background thread writing the buffered records to the stream */
+    private final Thread drainer;
+
+    /** Number of records appended to the buffer */
+    private volatile long appended;
+
+    /** Number of records written to the stream, which frees their place in the buffer */
+    private volatile long written;
+
+    /** Number of records discarded because the buffer was full; only written by the appender */
+    private volatile long dropped;
+
+    /** Value of written last read by the appending thread */
+    private long writtenSeen;
+
+    /** Sequence number of the next record */
+    private long nextSequence;
+
+    /** Whether close() has been called */
+    private volatile boolean closing;
+
+    /** Failure writing to the stream, or null if none has happened */
+    private volatile IOException failure;
+
+    /**
+     * Creates a new writer of a log in the given format to the given stream, with a buffer of
+     * DEFAULT_CAPACITY records, and starts its background thread.
+     * @param out - stream to write the log to, which is closed when the writer is closed
+     * @param format - format to write the log in
+     * @param policy - what happens to records appended while the buffer is full
+     * @throws IOException if the header of the log could not be written
+     */
+    public EventLogWriter(OutputStream out, EventLogFormat format, OverflowPolicy policy)
+            throws IOException {
+        this(out, format, policy, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new writer of a log in the given format to the given stream, and starts its
+     * background thread.
+     * @param out - stream to write the log to, which is closed when the writer is closed
+     * @param format - format to write the log in
+     * @param policy - what happens to records appended while the buffer is full
+     * @param capacity - number of records the buffer holds, which must be a power of two
+     * @throws IOException if the header of the log could not be written
+     * @throws IllegalArgumentException if capacity is not a positive power of two
+     */
+    public EventLogWriter(OutputStream out, EventLogFormat format, OverflowPolicy policy,
+            int capacity) throws IOException {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Event log capacity must be a power of two");
+        }
+        this.buffer = new byte[capacity * RECORD_SIZE];
+        this.appendView = ByteBuffer.wrap(this.buffer);
+        this.drainView = ByteBuffer.wrap(this.buffer);
+        this.capacity = capacity;
+        this.format = format;
+        this.policy = policy;
+        this.out = out;
+        if (format == EventLogFormat.BINARY) {
+            out.write(MAGIC);
+        } else {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.US_ASCII));
+        }
+        this.drainer = new Thread(this::drain, "event-log-writer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Appends a record of an event to the log. Must only be called by one thread.
+     * @param type - kind of event
+     * @param tick - number of ticks elapsed when the event happened
+     * @param aircraftId - ID of the aircraft concerned, or -1
+     * @param callsign - callsign of the aircraft concerned, or null
+     * @param gateNumber - number of the gate concerned, or -1
+     * @param terminalNumber - number of the terminal concerned, or -1
+     * @throws IllegalStateException if the writer has been closed
+     */
+    public void append(TowerEventType type, long tick, int aircraftId, String callsign,
+            int gateNumber, int terminalNumber) {
+        if (this.closing) {
+            throw new IllegalStateException("Event log has been closed");
+        }
+        long record = this.appended;
+        if (record - this.writtenSeen >= this.capacity && !this.awaitRoom(record)) {
+            return;
+        }
+        ByteBuffer view = this.appendView;
+        int base = (int) (record & (this.capacity - 1)) * RECORD_SIZE;
+        view.putLong(base + SEQUENCE_OFFSET, this.nextSequence++);
+        view.putLong(base + TICK_OFFSET, tick);
+        view.putInt(base + AIRCRAFT_OFFSET, aircraftId);
+        view.putInt(base + GATE_OFFSET, gateNumber);
+        view.putInt(base + TERMINAL_OFFSET, terminalNumber);
+        view.put(base + TYPE_OFFSET, (byte) type.ordinal());
+        if (callsign == null) {
+            view.put(base + CALLSIGN_LENGTH_OFFSET, (byte) -1);
+        } else {
+            int length = Math.min(callsign.length(), CALLSIGN_BYTES);
+            view.put(base + CALLSIGN_LENGTH_OFFSET, (byte) length);
+            for (int i = 0; i < length; i++) {
+                char c = callsign.charAt(i);
+                view.put(base + CALLSIGN_OFFSET + i, (byte) (c < 128 ? c : '?'));
+            }
+        }
+        // the volatile write publishes the record to the background thread
+        this.appended = record + 1;
+        if (((record + 1) & (this.capacity / 2 - 1)) == 0 && this.capacity > 1) {
+            LockSupport.unpark(this.drainer);
+        }
+    }
+
+    /**
+     * Waits for room in the full buffer, or discards the record, as the overflow policy
+     * decides.
+     * @param record - number of the record to append
+     * @return true if there is room for the record; false if it was discarded
+     */
+    private boolean awaitRoom(long record) {
+        this.writtenSeen = this.written;
+        while (record - this.writtenSeen >= this.capacity) {
+            if (this.policy != OverflowPolicy.BLOCK || this.failure != null) {
+                if (this.policy == OverflowPolicy.COUNT) {
+                    this.nextSequence++;
+                    this.dropped = this.dropped + 1;
+                }
+                return false;
+            }
+            LockSupport.unpark(this.drainer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            this.writtenSeen = this.written;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the records in the buffer to the stream until the writer is closed and the
+     * buffer is empty, or the stream fails. Run by the background thread.
+     */
+    private void drain() {
+        StringBuilder text = new StringBuilder(CSV_CHUNK_CHARS + 256);
+        try {
+            while (true) {
+                long from = this.written;
+                long to = this.appended;
+                if (from == to) {
+                    if (this.closing && this.appended == to) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, FLUSH_INTERVAL_MILLIS * 1_000_000);
+                    continue;
+                }
+                if (this.format == EventLogFormat.BINARY) {
+                    this.writeBinary(from, to);
+                } else {
+                    this.writeCsv(from, to, text);
+                }
+                // the volatile write frees the records' places for the appending thread
+                this.written = to;
+            }
+            this.out.flush();
+        } catch (IOException e) {
+            this.failure = e;
+        }
+    }
+
+    /**
+     * Writes the given records as they are held in the buffer, in at most two writes.
+     * @param from - number of the first record to write
+     * @param to - number of the record after the last one to write
+     * @throws IOException if the stream fails
+     */
+    private void writeBinary(long from, long to) throws IOException {
+        int start = (int) (from & (this.capacity - 1));
+        int count = (int) (to - from);
+        int firstPart = Math.min(count, this.capacity - start);
+        this.out.write(this.buffer, start * RECORD_SIZE, firstPart * RECORD_SIZE);
+        if (firstPart < count) {
+            this.out.write(this.buffer, 0, (count - firstPart) * RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Writes the given records as rows of CSV, in chunks of about CSV_CHUNK_CHARS characters.
+     * @param from - number of the first record to write
+     * @param to - number of the record after the last one to write
+     * @param text - reusable builder for the rows
+     * @throws IOException if the stream fails
+     */
+    private void writeCsv(long from, long to, StringBuilder text) throws IOException {
+        TowerEventType[] types = TowerEventType.values();
+        for (long record = from; record < to; record++) {
+            int base = (int) (record & (this.capacity - 1)) * RECORD_SIZE;
+            ByteBuffer view = this.drainView;
+            text.append(view.getLong(base + SEQUENCE_OFFSET)).append(',')
+                    .append(view.getLong(base + TICK_OFFSET)).append(',')
+                    .append(types[view.get(base + TYPE_OFFSET)]).append(',');
+            appendOptional(text, view.getInt(base + AIRCRAFT_OFFSET)).append(',');
+            int length = view.get(base + CALLSIGN_LENGTH_OFFSET);
+            for (int i = 0; i < length; i++) {
+                text.append((char) view.get(base + CALLSIGN_OFFSET + i));
+            }
+            text.append(',');
+            appendOptional(text, view.getInt(base + GATE_OFFSET)).append(',');
+            appendOptional(text, view.getInt(base + TERMINAL_OFFSET)).append('\n');
+            if (text.length() >= CSV_CHUNK_CHARS) {
+                this.out.write(text.toString().getBytes(StandardCharsets.US_ASCII));
+                text.setLength(0);
+            }
+        }
+        if (text.length() > 0) {
+            this.out.write(text.toString().getBytes(StandardCharsets.US_ASCII));
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * Appends the given value, or nothing if it is -1.
+     * @param text - text to append to
+     * @param value - value to append
+     * @return the text
+     */
+    private static StringBuilder appendOptional(StringBuilder text, int value) {
+        return value == -1 ? text : text.append(value);
+    }
+
+    /**
+     * Returns the number of records the buffer holds.
+     * @return capacity of the buffer, in records
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the format the log is written in.
+     * @return log format
+     */
+    public EventLogFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Returns what happens to records appended while the buffer is full.
+     * @return overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Returns the number of records written to the stream so far.
+     * @return number of records written
+     */
+    public long getWrittenRecords() {
+        return this.written;
+    }
+
+    /**
+     * Returns the number of records discarded because the buffer was full, under
+     * OverflowPolicy.COUNT. Records discarded under OverflowPolicy.DROP are not counted.
+     * @return number of records dropped
+     */
+    public long getDroppedRecords() {
+        return this.dropped;
+    }
+
+    /**
+     * Writes every record appended so far, stops the background thread and closes the stream.
+     * Must only be called by the thread appending records. Has no effect if already closed.
+     * @throws IOException if writing to or closing the stream failed at any time
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closing) {
+            return;
+        }
+        this.closing = true;
+        LockSupport.unpark(this.drainer);
+        try {
+            this.drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the event log", e);
+        } finally {
+            this.out.close();
+        }
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+}
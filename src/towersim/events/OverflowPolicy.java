@@ -0,0 +1,19 @@
+package towersim.events;
+
+/**
+ * What an EventLogWriter does with a record when its buffer is full because the log is being
+ * written more slowly than events happen.
+ */
+public enum OverflowPolicy {
+    /** The thread appending the record waits until there is room, so no record is lost */
+    BLOCK,
+
+    /** The record is discarded without trace */
+    DROP,
+
+    /**
+     * The record is discarded and counted, and its sequence number is skipped, so the log shows
+     * where and how many records were lost
+     */
+    COUNT
+}
@@ -0,0 +1,147 @@
+package towersim.events;
+
+/**
+ * Something that happened at a control tower, as delivered to a TowerEventHandler.
+ * <p>
+ * Events are not allocated per occurrence: the instance passed to a handler is reused for
+ * every event the consumer delivers, so its values are only valid until the handler returns
+ * and it must not be kept. Fields that do not apply to the event's type are -1 or null.
+ */
+public final class TowerEvent {
+    /** Position of the event in the stream */
+    private long sequence;
+
+    /** Kind of event */
+    private TowerEventType type;
+
+    /** Number of ticks elapsed at the control tower when the event happened */
+    private long tick;
+
+    /** ID of the aircraft concerned, or -1 */
+    private int aircraftId;
+
+    /** Callsign of the aircraft concerned, or null */
+    private String callsign;
+
+    /** Number of the gate concerned, or -1 */
+    private int gateNumber;
+
+    /** Number of the terminal concerned, or -1 */
+    private int terminalNumber;
+
+    /**
+     * Creates a new event with no values, to be filled in by a stream.
+     */
+    TowerEvent() {
+        this.set(-1, null, -1, -1, null, -1, -1);
+    }
+
+    /**
+     * Sets every value of this event.
+     * @param sequence - position of the event in the stream
+     * @param type - kind of event
+     * @param tick - number of ticks elapsed when the event happened
+     * @param aircraftId - ID of the aircraft concerned, or -1
+     * @param callsign - callsign of the aircraft concerned, or null
+     * @param gateNumber - number of the gate concerned, or -1
+     * @param terminalNumber - number of the terminal concerned, or -1
+     */
+    void set(long sequence, TowerEventType type, long tick, int aircraftId, String callsign,
+            int gateNumber, int terminalNumber) {
+        this.sequence = sequence;
+        this.type = type;
+        this.tick = tick;
+        this.aircraftId = aircraftId;
+        this.callsign = callsign;
+        this.gateNumber = gateNumber;
+        this.terminalNumber = terminalNumber;
+    }
+
+    /**
+     * Copies every value of the given event into this event.
+     * @param other - event to copy
+     */
+    void copyFrom(TowerEvent other) {
+        this.set(other.sequence, other.type, other.tick, other.aircraftId, other.callsign,
+                other.gateNumber, other.terminalNumber);
+    }
+
+    /**
+     * Returns the position of this event in the stream, counting from 0 for the first event
+     * published.
+     * @return sequence number
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Returns the kind of this event.
+     * @return event type
+     */
+    public TowerEventType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the number of ticks elapsed at the control tower when this event happened.
+     * @return tick of the event
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Returns the ID of the aircraft concerned, which is only valid until the control tower's
+     * set of aircraft next changes.
+     * @return aircraft ID, or -1 if the event does not concern an aircraft
+     */
+    public int getAircraftId() {
+        return this.aircraftId;
+    }
+
+    /**
+     * Returns the callsign of the aircraft concerned.
+     * @return callsign, or null if the event does not concern an aircraft
+     */
+    public String getCallsign() {
+        return this.callsign;
+    }
+
+    /**
+     * Returns the number of the gate concerned, for GATE_ASSIGNED and GATE_RELEASED events.
+     * @return gate number, or -1 if the event does not concern a gate
+     */
+    public int getGateNumber() {
+        return this.gateNumber;
+    }
+
+    /**
+     * Returns the number of the terminal concerned, for emergencies of terminals.
+     * @return terminal number, or -1 if the event does not concern a terminal
+     */
+    public int getTerminalNumber() {
+        return this.terminalNumber;
+    }
+
+    /**
+     * Returns the human-readable string representation of this event.
+     * For example: "#12 tick 5 AIRCRAFT_LANDED ABC123".
+     * @return string representation of this event
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("#").append(this.sequence).append(" tick ")
+                .append(this.tick).append(' ').append(this.type);
+        if (this.callsign != null) {
+            text.append(' ').append(this.callsign);
+        }
+        if (this.gateNumber >= 0) {
+            text.append(" gate ").append(this.gateNumber);
+        }
+        if (this.terminalNumber >= 0) {
+            text.append(" terminal ").append(this.terminalNumber);
+        }
+        return text.toString();
+    }
+}
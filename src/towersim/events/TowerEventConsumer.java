@@ -0,0 +1,131 @@
+package towersim.events;
+
+/**
+ * Subscription to some types of event in a TowerEventStream.
+ * <p>
+ * A consumer keeps its own position in the stream and delivers the events published since its
+ * last poll in one batch. Each consumer must only be polled by one thread at a time, which may
+ * differ from the producer's thread. If the consumer falls more than the stream's capacity
+ * behind, the events overwritten in the meantime are skipped and counted by
+ * getMissedEvents().
+ */
+public final class TowerEventConsumer {
+    /** Stream this consumer reads */
+    private final TowerEventStream stream;
+
+    /** Bit mask of the types of event delivered */
+    private final int typeMask;
+
+    /** Event being delivered to the handler; reused for every event */
+    private TowerEvent held;
+
+    /** Event being read from the stream; reused for every event */
+    private TowerEvent incoming;
+
+    /** Sequence number of the next event to read */
+    private long next;
+
+    /** Number of events overwritten before this consumer could read them */
+    private long missed;
+
+    /**
+     * Creates a new consumer starting at the given position.
+     * @param stream - stream to read
+     * @param typeMask - bit mask of the types of event to deliver
+     * @param start - sequence number of the first event to read
+     */
+    TowerEventConsumer(TowerEventStream stream, int typeMask, long start) {
+        this.stream = stream;
+        this.typeMask = typeMask;
+        this.held = new TowerEvent();
+        this.incoming = new TowerEvent();
+        this.next = start;
+        this.missed = 0;
+    }
+
+    /**
+     * Returns the bit mask of the types of event this consumer delivers.
+     * @return type mask
+     */
+    int getTypeMask() {
+        return this.typeMask;
+    }
+
+    /**
+     * Delivers every event of the subscribed types published since the last poll to the given
+     * handler, in order, and returns how many were delivered.
+     * @param handler - handler to receive the events
+     * @return number of events delivered
+     */
+    public int poll(TowerEventHandler handler) {
+        long available = this.stream.getPublishedCount();
+        int capacity = this.stream.getCapacity();
+        int delivered = 0;
+        boolean holding = false;
+        while (this.next < available) {
+            if (available - this.next > capacity) {
+                this.skipTo(available - capacity);
+            }
+            if (!this.stream.read(this.next, this.incoming)) {
+                // overwritten while reading, so everything older has been overwritten too
+                this.skipTo(Math.max(this.next + 1,
+                        this.stream.getPublishedCount() - capacity));
+                continue;
+            }
+            this.next++;
+            if ((this.incoming.getType().mask() & this.typeMask) == 0) {
+                continue;
+            }
+            // each event is held back until the next is found, to know which ends the batch
+            if (holding) {
+                handler.onEvent(this.held, false);
+                delivered++;
+            }
+            TowerEvent read = this.incoming;
+            this.incoming = this.held;
+            this.held = read;
+            holding = true;
+        }
+        if (holding) {
+            handler.onEvent(this.held, true);
+            delivered++;
+        }
+        return delivered;
+    }
+
+    /**
+     * Discards every event published so far without delivering it, e.g. after the state the
+     * events describe has been replaced.
+     */
+    public void skipPending() {
+        this.next = this.stream.getPublishedCount();
+    }
+
+    /**
+     * Returns the number of events of any type that were overwritten before this consumer
+     * could read them.
+     * @return number of events missed
+     */
+    public long getMissedEvents() {
+        return this.missed;
+    }
+
+    /**
+     * Returns the number of published events this consumer has not yet read, of any type.
+     * @return number of events pending
+     */
+    public long getPendingEvents() {
+        return this.stream.getPublishedCount() - this.next;
+    }
+
+    /**
+     * Moves this consumer forward to the given sequence number, counting the events skipped.
+     * @param sequence - sequence number of the next event to read
+     */
+    private void skipTo(long sequence) {
+        if (sequence > this.next) {
+            this.missed += sequence - this.next;
+            this.next = sequence;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package towersim.events;
+
+/**
+ * Receives the events delivered by a TowerEventConsumer.
+ */
+@FunctionalInterface
+public interface TowerEventHandler {
+
+    /**
+     * Handles one event. The event object is reused for the next event, so it must not be kept
+     * after this method returns.
+     * @param event - event to handle
+     * @param endOfBatch - true if this is the last event available in the current poll, e.g.
+     *                   to update a display once per batch rather than once per event
+     */
+    void onEvent(TowerEvent event, boolean endOfBatch);
+}
@@ -0,0 +1,195 @@
+package towersim.events;
+
+import java.lang.invoke.VarHandle;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Stream of the events happening at a control tower, held in a pre-allocated ring buffer.
+ * <p>
+ * The control tower is the only producer. Any number of consumers, on any threads, subscribe
+ * to the types of event they need and poll for the events published since their last poll,
+ * which are delivered in batches (see TowerEventConsumer). Publishing and delivering an event
+ * allocate nothing: each slot of the ring holds a reusable TowerEvent that is overwritten in
+ * place.
+ * <p>
+ * Only the types that some consumer subscribed to are published, so a stream without
+ * consumers costs one check per event. The producer never waits for consumers: once the ring
+ * is full, the oldest event is overwritten, and a consumer that had not yet read it skips
+ * ahead and counts the events it missed. The capacity should therefore be at least the number
+ * of subscribed events a consumer can expect between polls.
+ * <p>
+ * Each slot is written under a stamp, in the manner of a sequence lock: the producer clears
+ * the stamp, writes the event and then stamps it with its sequence number, and a consumer
+ * only accepts an event whose stamp is unchanged after copying it out.
+ */
+public final class TowerEventStream {
+    /** Capacity of streams created by control towers */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** Ring of slots, indexed by sequence number modulo the capacity */
+    private final Slot[] slots;
+
+    /** Capacity minus one, for indexing the ring */
+    private final int mask;
+
+    /** Number of events published, i.e. the sequence number of the next event */
+    private volatile long cursor;
+
+    /** Bit mask of the types some consumer is subscribed to */
+    private volatile int subscribedTypes;
+
+    /** Consumers subscribed to this stream */
+    private final List<TowerEventConsumer> consumers;
+
+    /**
+     * Creates a new, empty stream with the given capacity.
+     * @param capacity - number of events held by the ring, which must be a power of two
+     * @throws IllegalArgumentException if capacity is not a positive power of two
+     */
+    public TowerEventStream(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Event stream capacity must be a power of two");
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.cursor = 0;
+        this.subscribedTypes = 0;
+        this.consumers = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Returns the number of events the ring holds.
+     * @return capacity of the stream
+     */
+    public int getCapacity() {
+        return this.slots.length;
+    }
+
+    /**
+     * Returns the number of events published since the stream was created.
+     * @return number of events published
+     */
+    public long getPublishedCount() {
+        return this.cursor;
+    }
+
+    /**
+     * Subscribes a new consumer to the given types of event. The consumer receives the events
+     * of those types published after this call.
+     * @param types - types of event to receive
+     * @return new consumer
+     */
+    public synchronized TowerEventConsumer subscribe(Set<TowerEventType> types) {
+        int typeMask = 0;
+        for (TowerEventType type : types) {
+            typeMask |= type.mask();
+        }
+        TowerEventConsumer consumer = new TowerEventConsumer(this, typeMask, this.cursor);
+        this.consumers.add(consumer);
+        this.subscribedTypes |= typeMask;
+        return consumer;
+    }
+
+    /**
+     * Subscribes a new consumer to the given types of event.
+     * @param first - type of event to receive
+     * @param rest - further types of event to receive
+     * @return new consumer
+     */
+    public TowerEventConsumer subscribe(TowerEventType first, TowerEventType... rest) {
+        return this.subscribe(EnumSet.of(first, rest));
+    }
+
+    /**
+     * Subscribes a new consumer to every type of event.
+     * @return new consumer
+     */
+    public TowerEventConsumer subscribeAll() {
+        return this.subscribe(EnumSet.allOf(TowerEventType.class));
+    }
+
+    /**
+     * Removes the given consumer, so that the types of event only it subscribed to are no
+     * longer published.
+     * @param consumer - consumer to remove
+     */
+    public synchronized void unsubscribe(TowerEventConsumer consumer) {
+        if (this.consumers.remove(consumer)) {
+            int typeMask = 0;
+            for (TowerEventConsumer remaining : this.consumers) {
+                typeMask |= remaining.getTypeMask();
+            }
+            this.subscribedTypes = typeMask;
+        }
+    }
+
+    /**
+     * Returns true if some consumer is subscribed to the given type of event, i.e. if events
+     * of that type are published.
+     * @param type - type of event
+     * @return true if the type is published; false otherwise
+     */
+    public boolean isPublished(TowerEventType type) {
+        return (this.subscribedTypes & type.mask()) != 0;
+    }
+
+    /**
+     * Publishes an event, if some consumer is subscribed to its type. Must only be called by
+     * the producer, i.e. the thread ticking the control tower.
+     * @param type - kind of event
+     * @param tick - number of ticks elapsed when the event happened
+     * @param aircraftId - ID of the aircraft concerned, or -1
+     * @param callsign - callsign of the aircraft concerned, or null
+     * @param gateNumber - number of the gate concerned, or -1
+     * @param terminalNumber - number of the terminal concerned, or -1
+     */
+    public void publish(TowerEventType type, long tick, int aircraftId, String callsign,
+            int gateNumber, int terminalNumber) {
+        if ((this.subscribedTypes & type.mask()) == 0) {
+            return;
+        }
+        long sequence = this.cursor;
+        Slot slot = this.slots[(int) (sequence & this.mask)];
+        slot.stamp = -1;
+        // the event must not be written before consumers can see that the slot is changing
+        VarHandle.storeStoreFence();
+        slot.event.set(sequence, type, tick, aircraftId, callsign, gateNumber, terminalNumber);
+        slot.stamp = sequence;
+        this.cursor = sequence + 1;
+    }
+
+    /**
+     * Copies the event with the given sequence number into the given event, if it is still
+     * held by the ring.
+     * @param sequence - sequence number of the event, which must have been published
+     * @param into - event to copy into
+     * @return true if the event was copied; false if it has been overwritten
+     */
+    boolean read(long sequence, TowerEvent into) {
+        Slot slot = this.slots[(int) (sequence & this.mask)];
+        if (slot.stamp != sequence) {
+            return false;
+        }
+        into.copyFrom(slot.event);
+        // the copy must be complete before the stamp is checked again
+        VarHandle.acquireFence();
+        return slot.stamp == sequence;
+    }
+
+    /**
+     * Slot of the ring, holding one event.
+     */
+    private static final class Slot {
+        /** Sequence number of the event held, or -1 while it is being written */
+        private volatile long stamp = -1;
+
+        /** Event held in this slot, overwritten in place */
+        private final TowerEvent event = new TowerEvent();
+    }
+}
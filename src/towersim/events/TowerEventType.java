@@ -0,0 +1,44 @@
+package towersim.events;
+
+/**
+ * Kinds of event published by a control tower (see TowerEventStream).
+ */
+public enum TowerEventType {
+    /** An aircraft landed and parked at a gate */
+    AIRCRAFT_LANDED,
+
+    /** An aircraft took off */
+    AIRCRAFT_TOOK_OFF,
+
+    /** An aircraft started loading at its gate */
+    LOADING_STARTED,
+
+    /** An aircraft finished loading */
+    LOADING_COMPLETED,
+
+    /** An aircraft was parked at a gate */
+    GATE_ASSIGNED,
+
+    /** An aircraft left its gate */
+    GATE_RELEASED,
+
+    /** An aircraft joined the landing queue */
+    LANDING_QUEUE_JOINED,
+
+    /** An aircraft joined the takeoff queue */
+    TAKEOFF_QUEUE_JOINED,
+
+    /** An aircraft or terminal declared a state of emergency */
+    EMERGENCY_DECLARED,
+
+    /** An aircraft or terminal cleared its state of emergency */
+    EMERGENCY_CLEARED;
+
+    /**
+     * Returns the bit representing this type in a set of types.
+     * @return bit mask of this type
+     */
+    int mask() {
+        return 1 << this.ordinal();
+    }
+}
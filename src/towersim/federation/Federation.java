@@ -0,0 +1,238 @@
+package towersim.federation;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ControlTower;
+import towersim.util.NoSuitableGateException;
+import towersim.util.SpscQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A network of airports, each with its own control tower, that exchange aircraft.
+ * <p>
+ * The federation ticks every control tower once per round, spreading the airports over a
+ * number of worker threads with a barrier between rounds. When an aircraft takes off, the
+ * HandoffRouter chooses its destination; unless that is its current airport, the aircraft is
+ * removed from its control tower and handed to the destination, which adds it before its next
+ * tick and the aircraft flies its AWAY tasks there.
+ * <p>
+ * Handoffs travel through one lock-free single-producer, single-consumer queue per ordered
+ * pair of airports, because each airport is only ticked by one thread in a round. The queues
+ * are double-buffered by round parity: aircraft handed off in one round are only read in the
+ * next, and each airport reads its arrivals in order of origin airport. The result of a run is
+ * therefore the same whatever the number of threads.
+ * <p>
+ * Aircraft handed off on the last tick of a run are delivered at the start of the next run.
+ */
+public class Federation {
+    /** Control towers of the airports, indexed by airport */
+    private final List<ControlTower> towers;
+
+    /** Router choosing the destination of aircraft that take off */
+    private final HandoffRouter router;
+
+    /** Handoff queues, indexed by round parity, origin airport and destination airport */
+    private final SpscQueue<Aircraft>[][][] handoffs;
+
+    /** Number of aircraft handed off from each airport; only written by its owning thread */
+    private final long[] numHandoffs;
+
+    /** Number of rounds run so far */
+    private long ticksRun;
+
+    /**
+     * Creates a new federation of the given control towers.
+     * @param towers - control towers of the airports, indexed by airport
+     * @param router - router choosing the destination of aircraft that take off
+     * @throws IllegalArgumentException if no towers are given
+     */
+    public Federation(List<ControlTower> towers, HandoffRouter router) {
+        if (towers.isEmpty()) {
+            throw new IllegalArgumentException("A federation needs at least one airport");
+        }
+        this.towers = new ArrayList<>(towers);
+        this.router = router;
+        int numAirports = towers.size();
+        this.handoffs = createHandoffQueues(numAirports);
+        this.numHandoffs = new long[numAirports];
+        this.ticksRun = 0;
+    }
+
+    /**
+     * Creates an empty handoff queue for each round parity and ordered pair of airports.
+     * @param numAirports - number of airports
+     * @return handoff queues, indexed by round parity, origin airport and destination airport
+     */
+    @SuppressWarnings("unchecked")
+    private static SpscQueue<Aircraft>[][][] createHandoffQueues(int numAirports) {
+        // generic arrays cannot be created, but every element is set to a queue of aircraft
+        SpscQueue<Aircraft>[][][] handoffs =
+                (SpscQueue<Aircraft>[][][]) new SpscQueue<?>[2][numAirports][numAirports];
+        for (SpscQueue<Aircraft>[][] parity : handoffs) {
+            for (SpscQueue<Aircraft>[] origin : parity) {
+                for (int destination = 0; destination < numAirports; destination++) {
+                    origin[destination] = new SpscQueue<>();
+                }
+            }
+        }
+        return handoffs;
+    }
+
+    /**
+     * Returns the number of airports in the federation.
+     * @return number of airports
+     */
+    public int getNumAirports() {
+        return this.towers.size();
+    }
+
+    /**
+     * Returns the control tower of the given airport. It must not be changed while the
+     * federation is running.
+     * @param airport - index of the airport
+     * @return control tower of the airport
+     */
+    public ControlTower getTower(int airport) {
+        return this.towers.get(airport);
+    }
+
+    /**
+     * Returns the number of rounds run so far, i.e. the number of times each control tower has
+     * been ticked by the federation.
+     * @return number of ticks run
+     */
+    public long getTicksRun() {
+        return this.ticksRun;
+    }
+
+    /**
+     * Returns the number of aircraft that have been handed off from the given airport.
+     * @param airport - index of the airport
+     * @return number of handoffs from the airport
+     */
+    public long getNumHandoffs(int airport) {
+        return this.numHandoffs[airport];
+    }
+
+    /**
+     * Ticks every control tower the given number of times, using the given number of threads.
+     * Returns once every round is complete.
+     * @param ticks - number of rounds to run
+     * @param numThreads - number of worker threads; at most one per airport is used
+     * <p>
+     * If ticking a control tower or routing an aircraft fails, the worker that failed breaks the
+     * barrier, every worker stops at the end of its current round and the failure is rethrown
+     * once they all have, leaving the airports part-way through the run.
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws IllegalArgumentException if numThreads is less than one
+     * @throws IllegalStateException if the router chooses an airport that does not exist
+     * @throws RuntimeException if ticking a control tower fails, the exception it threw
+     */
+    public void run(long ticks, int numThreads) throws InterruptedException {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is required");
+        }
+        int numWorkers = Math.min(numThreads, this.towers.size());
+        CyclicBarrier barrier = new CyclicBarrier(numWorkers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long firstRound = this.ticksRun;
+
+        Thread[] workers = new Thread[numWorkers];
+        for (int w = 0; w < numWorkers; w++) {
+            int worker = w;
+            workers[w] = new Thread(() -> {
+                try {
+                    for (long round = firstRound; round < firstRound + ticks
+                            && failure.get() == null; round++) {
+                        // each worker owns every numWorkers-th airport
+                        for (int airport = worker; airport < this.towers.size();
+                                airport += numWorkers) {
+                            this.step(airport, round);
+                        }
+                        barrier.await();
+                    }
+                } catch (BrokenBarrierException | InterruptedException e) {
+                    // another worker failed; its failure is reported instead
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                    breakBarrier(barrier);
+                }
+            }, "federation-worker-" + w);
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Throwable thrown = failure.get();
+        if (thrown instanceof RuntimeException) {
+            throw (RuntimeException) thrown;
+        } else if (thrown != null) {
+            throw (Error) thrown;
+        }
+        this.ticksRun += ticks;
+    }
+
+    /**
+     * Releases the workers waiting at the given barrier, or about to wait at it, after a worker
+     * has failed. Waiting with a timeout of zero breaks the barrier for every worker that waits
+     * at it, unless the caller is the last to arrive, in which case the round completes and the
+     * others find the failure recorded before starting the next.
+     * @param barrier - barrier between rounds
+     */
+    private static void breakBarrier(CyclicBarrier barrier) {
+        try {
+            barrier.await(0, TimeUnit.NANOSECONDS);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            // the barrier is broken, which is the intent
+        } catch (InterruptedException e) {
+            // interrupting a waiting worker also breaks the barrier
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs one round at the given airport: receives the aircraft handed to it in the previous
+     * round, ticks its control tower and hands off the aircraft that took off, if any.
+     * @param airport - index of the airport
+     * @param round - number of the round being run
+     */
+    private void step(int airport, long round) {
+        ControlTower tower = this.towers.get(airport);
+        SpscQueue<Aircraft>[][] arrivals = this.handoffs[(int) ((round + 1) & 1)];
+        for (int origin = 0; origin < this.towers.size(); origin++) {
+            Aircraft arrival;
+            while ((arrival = arrivals[origin][airport].poll()) != null) {
+                try {
+                    tower.addAircraft(arrival);
+                } catch (NoSuitableGateException e) {
+                    // aircraft arrive with an AWAY task, so they never need a gate
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        // at most one aircraft takes off per tick, and it is the front of the takeoff queue
+        Aircraft departing = tower.getTakeoffQueue().peekAircraft();
+        long takeoffs = tower.getNumTakeoffs();
+        tower.tick();
+        if (departing == null || tower.getNumTakeoffs() == takeoffs) {
+            return;
+        }
+        int destination = this.router.destinationOf(airport, departing, round);
+        if (destination < 0 || destination >= this.towers.size()) {
+            throw new IllegalStateException("Router chose invalid airport " + destination
+                    + " for " + departing.getCallsign());
+        }
+        if (destination != airport) {
+            tower.removeAircraft(departing);
+            this.handoffs[(int) (round & 1)][airport][destination].offer(departing);
+            this.numHandoffs[airport]++;
+        }
+    }
+}
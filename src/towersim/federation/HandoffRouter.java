@@ -0,0 +1,34 @@
+package towersim.federation;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Chooses the airport that an aircraft flies to after taking off.
+ * <p>
+ * Routers are called concurrently from the threads ticking different airports, so they must
+ * not rely on shared mutable state. For a federation to be deterministic, the destination must
+ * depend only on the arguments given.
+ */
+@FunctionalInterface
+public interface HandoffRouter {
+
+    /**
+     * Returns the index of the airport the given aircraft is handed off to.
+     * Returning the origin keeps the aircraft at its current airport.
+     * @param origin - index of the airport the aircraft took off from
+     * @param aircraft - aircraft that has just taken off
+     * @param tick - number of ticks the federation had run before this tick
+     * @return index of the destination airport
+     */
+    int destinationOf(int origin, Aircraft aircraft, long tick);
+
+    /**
+     * Returns a router that sends every aircraft on to the next airport, with aircraft from the
+     * last airport returning to the first.
+     * @param numAirports - number of airports in the federation
+     * @return ring router
+     */
+    static HandoffRouter ring(int numAirports) {
+        return (origin, aircraft, tick) -> (origin + 1) % numAirports;
+    }
+}
@@ -0,0 +1,214 @@
+package towersim.management;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerSaver;
+import towersim.ground.Terminal;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Control of a loop that ticks a control tower on one thread without a GUI, e.g. in
+ * HeadlessRunner.
+ * <p>
+ * The loop calls beforeTick() before every tick. It returns at once while the simulation is
+ * running as fast as possible, waits while it is paused or until the next tick is due, and in
+ * every case first carries out the actions requested by other threads, such as saving. Once the
+ * loop has finished, close() fails any actions still requested.
+ */
+public class HeadlessControl implements SimulationControl {
+    /** Control tower ticked by the loop */
+    private final ControlTower tower;
+
+    /** Paths of the tick, aircraft, queues and terminals files to save to, or null */
+    private final String[] saveFiles;
+
+    /** Actions to carry out on the thread ticking the control tower */
+    private final Queue<FutureTask<?>> actions;
+
+    /** Lock guarding the fields below, notified whenever one of them changes */
+    private final Object lock;
+
+    /** Whether the simulation is paused */
+    private boolean paused;
+
+    /** Time between ticks, in seconds */
+    private double secondsPerTick;
+
+    /** Time the last tick started, from System.nanoTime() */
+    private long lastTickNanos;
+
+    /** Whether the loop has finished */
+    private boolean closed;
+
+    /**
+     * Creates a new control of a loop ticking the given control tower as fast as possible.
+     * @param tower - control tower ticked by the loop
+     * @param saveFiles - paths of the tick, aircraft, queues and terminals files that save()
+     *                  writes to, or null if the simulation cannot be saved
+     */
+    public HeadlessControl(ControlTower tower, String[] saveFiles) {
+        this.tower = tower;
+        this.saveFiles = saveFiles == null ? null : saveFiles.clone();
+        this.actions = new ConcurrentLinkedQueue<>();
+        this.lock = new Object();
+        this.paused = false;
+        this.secondsPerTick = 0;
+        this.lastTickNanos = System.nanoTime();
+        this.closed = false;
+    }
+
+    /**
+     * Carries out the requested actions, then waits until the simulation is not paused and the
+     * next tick is due. Must only be called by the thread ticking the control tower.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void beforeTick() throws InterruptedException {
+        while (true) {
+            FutureTask<?> action;
+            while ((action = this.actions.poll()) != null) {
+                action.run();
+            }
+            synchronized (this.lock) {
+                if (!this.actions.isEmpty()) {
+                    continue;
+                }
+                if (this.paused) {
+                    this.lock.wait();
+                    continue;
+                }
+                long now = System.nanoTime();
+                long due = this.lastTickNanos + (long) (this.secondsPerTick * 1e9);
+                if (now - due >= 0) {
+                    this.lastTickNanos = now;
+                    return;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.lock, due - now);
+            }
+        }
+    }
+
+    /**
+     * Records that the loop has finished, failing the actions still requested and any
+     * requested later.
+     */
+    public void close() {
+        synchronized (this.lock) {
+            this.closed = true;
+        }
+        FutureTask<?> action;
+        while ((action = this.actions.poll()) != null) {
+            action.cancel(false);
+        }
+    }
+
+    @Override
+    public boolean isPaused() {
+        synchronized (this.lock) {
+            return this.paused;
+        }
+    }
+
+    @Override
+    public void setPaused(boolean paused) {
+        synchronized (this.lock) {
+            this.paused = paused;
+            this.lock.notifyAll();
+        }
+    }
+
+    @Override
+    public double getSecondsPerTick() {
+        synchronized (this.lock) {
+            return this.secondsPerTick;
+        }
+    }
+
+    @Override
+    public void setSecondsPerTick(double secondsPerTick) {
+        if (!(secondsPerTick >= 0)) {
+            throw new IllegalArgumentException("Seconds per tick must be at least 0");
+        }
+        synchronized (this.lock) {
+            this.secondsPerTick = secondsPerTick;
+            this.lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void save() throws IOException {
+        if (this.saveFiles == null) {
+            throw new UnsupportedOperationException("No files were given to save to");
+        }
+        try {
+            this.call(() -> {
+                ControlTowerSaver.saveAs(this.tower, new FileWriter(this.saveFiles[0]),
+                        new FileWriter(this.saveFiles[1]), new FileWriter(this.saveFiles[2]),
+                        new FileWriter(this.saveFiles[3]));
+                return null;
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void setTerminalEmergency(int terminalNumber, boolean declared) {
+        try {
+            this.call(() -> {
+                for (Terminal terminal : this.tower.getTerminals()) {
+                    if (terminal.getTerminalNumber() == terminalNumber) {
+                        this.tower.setEmergency(terminal, declared);
+                        this.tower.publishCounters();
+                        return null;
+                    }
+                }
+                throw new IllegalArgumentException("No terminal numbered " + terminalNumber);
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Carries out the given action on the thread ticking the control tower, and waits for it
+     * to finish.
+     * @param action - action to carry out
+     * @param <T> type of result of the action
+     * @return result of the action
+     * @throws ExecutionException if the action threw an exception
+     * @throws IllegalStateException if the loop has finished or the waiting thread is
+     * interrupted
+     */
+    private <T> T call(Callable<T> action) throws ExecutionException {
+        FutureTask<T> task = new FutureTask<>(action);
+        synchronized (this.lock) {
+            if (this.closed) {
+                throw new IllegalStateException("The simulation has finished");
+            }
+            this.actions.add(task);
+            this.lock.notifyAll();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the simulation");
+        } catch (CancellationException e) {
+            throw new IllegalStateException("The simulation has finished");
+        }
+    }
+}
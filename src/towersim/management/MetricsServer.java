@@ -0,0 +1,304 @@
+package towersim.management;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import towersim.control.ControlTower;
+import towersim.control.TickPhase;
+import towersim.control.TickProfiler;
+import towersim.control.TowerCounters;
+import towersim.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP endpoint on the loopback interface serving the metrics of a control tower in the
+ * Prometheus text exposition format, at {@code /metrics}.
+ * <p>
+ * Every response is rendered from the control tower's TowerCounters and, if it has one, the
+ * histograms of its TickProfiler, all of which are updated by the thread ticking the control
+ * tower and read here without locking. Requests are handled one at a time on a daemon thread
+ * of the server's own, so a scrape never waits for or holds up a tick; in return its values
+ * may come from consecutive ticks.
+ * <p>
+ * Landings, takeoffs, rejected landings and declared emergencies are exposed as counters, from
+ * which Prometheus derives their rates. Tick phase durations are exposed as a histogram in
+ * seconds, with buckets at powers of two nanoseconds from about one microsecond to 17 seconds.
+ */
+public class MetricsServer {
+    /** Path the metrics are served at */
+    public static final String PATH = "/metrics";
+
+    /** Content type of the Prometheus text exposition format */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** Power of two of the upper bound, in nanoseconds, of the first histogram bucket */
+    private static final int FIRST_BUCKET_POWER = 10;
+
+    /** Power of two of the upper bound, in nanoseconds, of the last finite histogram bucket */
+    private static final int LAST_BUCKET_POWER = 34;
+
+    /** Number of nanoseconds in a second */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** Counters of the control tower */
+    private final TowerCounters counters;
+
+    /** Control tower whose profiler histograms are served */
+    private final ControlTower tower;
+
+    /** Underlying HTTP server */
+    private final HttpServer server;
+
+    /** Thread handling requests */
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new metrics server for the given control tower, bound to the given port on the
+     * loopback interface. The server does not accept requests until started.
+     * @param tower - control tower whose metrics to serve
+     * @param port - port to listen on, or 0 to choose a free port
+     * @throws IOException if the port could not be bound
+     */
+    public MetricsServer(ControlTower tower, int port) throws IOException {
+        this.tower = tower;
+        this.counters = tower.getCounters();
+        this.server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(this.executor);
+        this.server.createContext(PATH, this::handle);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops accepting requests and closes the port, waiting up to the given time for requests
+     * being handled to finish.
+     * @param delaySeconds - longest time to wait, in seconds
+     */
+    public void stop(int delaySeconds) {
+        this.server.stop(delaySeconds);
+        this.executor.shutdown();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return port number
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Responds to a request for the metrics.
+     * @param exchange - request and response
+     * @throws IOException if the response could not be sent
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (!exchange.getRequestURI().getPath().equals(PATH)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = this.render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Returns the current metrics in the Prometheus text exposition format.
+     * @return metrics text
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder();
+        gauge(text, "towersim_ticks_elapsed", "Number of ticks elapsed",
+                this.counters.getTicksElapsed());
+        gauge(text, "towersim_landing_queue_length", "Aircraft waiting to land",
+                this.counters.getLandingQueueLength());
+        gauge(text, "towersim_takeoff_queue_length", "Aircraft waiting to take off",
+                this.counters.getTakeoffQueueLength());
+        gauge(text, "towersim_loading_aircraft", "Aircraft loading at gates",
+                this.counters.getNumLoadingAircraft());
+        counter(text, "towersim_landings_total", "Aircraft landed",
+                this.counters.getNumLandings());
+        counter(text, "towersim_takeoffs_total", "Aircraft that took off",
+                this.counters.getNumTakeoffs());
+        counter(text, "towersim_rejected_landings_total",
+                "Landing attempts that failed because no suitable gate was free",
+                this.counters.getNumRejectedLandings());
+        counter(text, "towersim_emergencies_declared_total",
+                "Emergencies declared on aircraft and terminals",
+                this.counters.getNumEmergenciesDeclared());
+        this.renderTerminals(text);
+        TickProfiler profiler = this.tower.getProfiler();
+        if (profiler != null) {
+            this.renderPhases(text, profiler);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Appends the gate and emergency metrics of every terminal, labelled by terminal number.
+     * @param text - text to append to
+     */
+    private void renderTerminals(StringBuilder text) {
+        TowerCounters.TerminalCounters terminals = this.counters.getTerminalCounters();
+        int numTerminals = terminals.getNumTerminals();
+        header(text, "towersim_terminal_gates", "gauge", "Gates in each terminal");
+        for (int i = 0; i < numTerminals; i++) {
+            sample(text, "towersim_terminal_gates", terminalLabel(terminals, i),
+                    terminals.getNumGates(i));
+        }
+        header(text, "towersim_terminal_occupied_gates", "gauge",
+                "Occupied gates in each terminal");
+        for (int i = 0; i < numTerminals; i++) {
+            sample(text, "towersim_terminal_occupied_gates", terminalLabel(terminals, i),
+                    terminals.getNumOccupiedGates(i));
+        }
+        header(text, "towersim_terminal_emergency", "gauge",
+                "1 if the terminal is in a state of emergency, 0 otherwise");
+        for (int i = 0; i < numTerminals; i++) {
+            sample(text, "towersim_terminal_emergency", terminalLabel(terminals, i),
+                    terminals.hasEmergency(i) ? 1 : 0);
+        }
+        gauge(text, "towersim_terminal_emergencies", "Terminals in a state of emergency",
+                terminals.getNumEmergencies());
+    }
+
+    /**
+     * Appends a histogram of the durations of each tick phase, labelled by phase.
+     * @param text - text to append to
+     * @param profiler - profiler timing the phases
+     */
+    private void renderPhases(StringBuilder text, TickProfiler profiler) {
+        String name = "towersim_tick_phase_duration_seconds";
+        header(text, name, "histogram", "Duration of each phase of a tick");
+        for (TickPhase phase : TickPhase.values()) {
+            LatencyHistogram histogram = profiler.getHistogram(phase);
+            String label = "phase=\"" + phase.name().toLowerCase(Locale.ROOT) + "\"";
+            // the count is the sum of the buckets, so that it always equals the +Inf bucket
+            long cumulative = 0;
+            int bucket = 0;
+            for (int power = FIRST_BUCKET_POWER; power <= LAST_BUCKET_POWER; power++) {
+                long bound = 1L << power;
+                while (bucket < histogram.getNumBuckets()
+                        && histogram.getBucketUpperBound(bucket) < bound) {
+                    cumulative += histogram.getBucketCount(bucket++);
+                }
+                sample(text, name + "_bucket",
+                        label + ",le=\"" + formatDouble(bound / NANOS_PER_SECOND) + "\"",
+                        cumulative);
+            }
+            while (bucket < histogram.getNumBuckets()) {
+                cumulative += histogram.getBucketCount(bucket++);
+            }
+            sample(text, name + "_bucket", label + ",le=\"+Inf\"", cumulative);
+            text.append(name).append("_sum{").append(label).append("} ")
+                    .append(formatDouble(histogram.getTotal() / NANOS_PER_SECOND))
+                    .append('\n');
+            sample(text, name + "_count", label, cumulative);
+        }
+    }
+
+    /**
+     * Returns the label identifying the terminal at the given index.
+     * @param terminals - terminal counters
+     * @param index - index of the terminal
+     * @return label text
+     */
+    private static String terminalLabel(TowerCounters.TerminalCounters terminals, int index) {
+        return "terminal=\"" + terminals.getTerminalNumber(index) + "\"";
+    }
+
+    /**
+     * Appends a gauge with a single unlabelled sample.
+     * @param text - text to append to
+     * @param name - metric name
+     * @param help - description of the metric
+     * @param value - value of the sample
+     */
+    private static void gauge(StringBuilder text, String name, String help, long value) {
+        header(text, name, "gauge", help);
+        sample(text, name, null, value);
+    }
+
+    /**
+     * Appends a counter with a single unlabelled sample.
+     * @param text - text to append to
+     * @param name - metric name, ending in _total
+     * @param help - description of the metric
+     * @param value - value of the sample
+     */
+    private static void counter(StringBuilder text, String name, String help, long value) {
+        header(text, name, "counter", help);
+        sample(text, name, null, value);
+    }
+
+    /**
+     * Appends the HELP and TYPE lines of a metric.
+     * @param text - text to append to
+     * @param name - metric name
+     * @param type - metric type, e.g. gauge
+     * @param help - description of the metric
+     */
+    private static void header(StringBuilder text, String name, String type, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Appends one sample line.
+     * @param text - text to append to
+     * @param name - sample name
+     * @param labels - labels of the sample, separated by commas, or null if unlabelled
+     * @param value - value of the sample
+     */
+    private static void sample(StringBuilder text, String name, String labels, long value) {
+        text.append(name);
+        if (labels != null) {
+            text.append('{').append(labels).append('}');
+        }
+        text.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Formats a floating point value as Prometheus expects, independently of locale.
+     * @param value - value to format
+     * @return formatted value
+     */
+    private static String formatDouble(double value) {
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,54 @@
+package towersim.management;
+
+import java.io.IOException;
+
+/**
+ * Controls the loop that ticks a control tower, e.g. the GUI or a headless run, on behalf of a
+ * management client such as TowerManagement.
+ * <p>
+ * Every method may be called from any thread. Implementations must apply changes to the control
+ * tower on the thread that ticks it, between ticks.
+ */
+public interface SimulationControl {
+
+    /**
+     * Returns true if the simulation is paused.
+     * @return true if paused; false otherwise
+     */
+    boolean isPaused();
+
+    /**
+     * Pauses or resumes the simulation.
+     * @param paused - true to pause; false to resume
+     */
+    void setPaused(boolean paused);
+
+    /**
+     * Returns the time between ticks while the simulation is running, in seconds.
+     * @return seconds per tick; 0 if ticking as fast as possible
+     */
+    double getSecondsPerTick();
+
+    /**
+     * Sets the time between ticks while the simulation is running.
+     * @param secondsPerTick - seconds per tick; 0 to tick as fast as possible
+     * @throws IllegalArgumentException if secondsPerTick is negative or not supported
+     */
+    void setSecondsPerTick(double secondsPerTick);
+
+    /**
+     * Saves the current state of the control tower, and returns once it has been saved.
+     * @throws IOException if the state could not be written
+     * @throws UnsupportedOperationException if the simulation has nowhere to save to
+     */
+    void save() throws IOException;
+
+    /**
+     * Declares or clears a state of emergency on the first terminal with the given number, and
+     * returns once the change has been made.
+     * @param terminalNumber - number of the terminal
+     * @param declared - true to declare an emergency; false to clear it
+     * @throws IllegalArgumentException if the control tower has no terminal with the number
+     */
+    void setTerminalEmergency(int terminalNumber, boolean declared);
+}
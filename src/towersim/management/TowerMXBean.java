@@ -0,0 +1,129 @@
+package towersim.management;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Management interface of a running control tower simulation, for inspecting and controlling it
+ * through JMX, e.g. with JConsole.
+ * <p>
+ * Attributes are read from the control tower's TowerCounters, so reading them never scans the
+ * aircraft or waits for the thread ticking the control tower. Operations are carried out by the
+ * simulation's SimulationControl.
+ */
+public interface TowerMXBean {
+
+    /**
+     * Returns the number of ticks elapsed.
+     * @return ticks elapsed
+     */
+    long getTicksElapsed();
+
+    /**
+     * Returns the number of ticks per second, measured over at least the last second.
+     * @return ticks per second
+     */
+    double getTicksPerSecond();
+
+    /**
+     * Returns the number of aircraft waiting in the landing queue.
+     * @return length of the landing queue
+     */
+    int getLandingQueueLength();
+
+    /**
+     * Returns the number of aircraft waiting in the takeoff queue.
+     * @return length of the takeoff queue
+     */
+    int getTakeoffQueueLength();
+
+    /**
+     * Returns the number of aircraft loading at gates.
+     * @return number of loading aircraft
+     */
+    int getNumLoadingAircraft();
+
+    /**
+     * Returns the occupancy level of each terminal, as a percentage of its gates that are
+     * occupied, by terminal number.
+     * @return occupancy level of each terminal
+     */
+    Map<Integer, Integer> getTerminalOccupancyLevels();
+
+    /**
+     * Returns the number of terminals in a state of emergency.
+     * @return number of terminals in a state of emergency
+     */
+    int getNumTerminalEmergencies();
+
+    /**
+     * Returns the number of aircraft landed since the control tower was created.
+     * @return number of landings
+     */
+    long getNumLandings();
+
+    /**
+     * Returns the number of aircraft that have taken off since the control tower was created.
+     * @return number of takeoffs
+     */
+    long getNumTakeoffs();
+
+    /**
+     * Returns the number of attempts to land an aircraft that failed because no suitable gate
+     * was free.
+     * @return number of rejected landings
+     */
+    long getNumRejectedLandings();
+
+    /**
+     * Returns the number of emergencies declared on aircraft and terminals.
+     * @return number of emergencies declared
+     */
+    long getNumEmergenciesDeclared();
+
+    /**
+     * Returns true if the simulation is paused.
+     * @return true if paused; false otherwise
+     */
+    boolean isPaused();
+
+    /**
+     * Returns the time between ticks while the simulation is running, in seconds.
+     * @return seconds per tick; 0 if ticking as fast as possible
+     */
+    double getSecondsPerTick();
+
+    /**
+     * Sets the time between ticks while the simulation is running.
+     * @param secondsPerTick - seconds per tick; 0 to tick as fast as possible
+     */
+    void setSecondsPerTick(double secondsPerTick);
+
+    /**
+     * Pauses the simulation.
+     */
+    void pause();
+
+    /**
+     * Resumes the simulation.
+     */
+    void resume();
+
+    /**
+     * Saves the current state of the control tower.
+     * @throws IOException if the state could not be written
+     */
+    void save() throws IOException;
+
+    /**
+     * Declares a state of emergency on the terminal with the given number.
+     * @param terminalNumber - number of the terminal
+     */
+    void declareTerminalEmergency(int terminalNumber);
+
+    /**
+     * Clears the state of emergency on the terminal with the given number.
+     * @param terminalNumber - number of the terminal
+     */
+    void clearTerminalEmergency(int terminalNumber);
+}
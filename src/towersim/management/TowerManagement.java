@@ -0,0 +1,208 @@
+package towersim.management;
+
+import towersim.control.ControlTower;
+import towersim.control.TowerCounters;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes a running control tower simulation through JMX as a TowerMXBean.
+ * <p>
+ * Attributes are read from the control tower's TowerCounters, which may be a tick behind the
+ * control tower itself. Operations are passed to the SimulationControl of the loop ticking the
+ * control tower, so they are applied between ticks.
+ */
+public class TowerManagement implements TowerMXBean {
+    /** Domain of the names the management beans are registered under */
+    public static final String DOMAIN = "towersim";
+
+    /** Shortest time over which the number of ticks per second is measured, in nanoseconds */
+    private static final long RATE_INTERVAL_NANOS = 1_000_000_000L;
+
+    /** Counters of the managed control tower */
+    private final TowerCounters counters;
+
+    /** Control of the loop ticking the managed control tower */
+    private final SimulationControl control;
+
+    /** Time the current measurement of ticks per second started, from System.nanoTime() */
+    private long rateStartNanos;
+
+    /** Number of ticks elapsed when the current measurement of ticks per second started */
+    private long rateStartTicks;
+
+    /** Number of ticks per second measured by the last complete measurement */
+    private double ticksPerSecond;
+
+    /** Name this bean is registered under, or null if it is not registered */
+    private ObjectName name;
+
+    /**
+     * Creates a new management bean for the given control tower, ticked by the loop with the
+     * given control.
+     * @param tower - control tower to manage
+     * @param control - control of the loop ticking the control tower
+     */
+    public TowerManagement(ControlTower tower, SimulationControl control) {
+        this.counters = tower.getCounters();
+        this.control = control;
+        this.rateStartNanos = System.nanoTime();
+        this.rateStartTicks = this.counters.getTicksElapsed();
+        this.ticksPerSecond = 0;
+    }
+
+    /**
+     * Registers this bean with the platform MBean server under the name
+     * {@code towersim:type=ControlTower,name=NAME}.
+     * @param simulationName - name distinguishing this simulation from others in the same JVM
+     * @throws JMException if the bean could not be registered, e.g. if the name is taken
+     * @throws IllegalStateException if this bean is already registered
+     */
+    public void register(String simulationName) throws JMException {
+        if (this.name != null) {
+            throw new IllegalStateException("Already registered as " + this.name);
+        }
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=ControlTower,name="
+                + ObjectName.quote(simulationName));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, objectName);
+        this.name = objectName;
+    }
+
+    /**
+     * Unregisters this bean from the platform MBean server. Has no effect if it is not
+     * registered.
+     * @throws JMException if the bean could not be unregistered
+     */
+    public void unregister() throws JMException {
+        if (this.name != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.name);
+            this.name = null;
+        }
+    }
+
+    /**
+     * Returns the name this bean is registered under.
+     * @return registered name, or null if not registered
+     */
+    public ObjectName getName() {
+        return this.name;
+    }
+
+    @Override
+    public long getTicksElapsed() {
+        return this.counters.getTicksElapsed();
+    }
+
+    @Override
+    public synchronized double getTicksPerSecond() {
+        long now = System.nanoTime();
+        long ticks = this.counters.getTicksElapsed();
+        if (now - this.rateStartNanos >= RATE_INTERVAL_NANOS) {
+            this.ticksPerSecond = (ticks - this.rateStartTicks) * 1e9
+                    / (now - this.rateStartNanos);
+            this.rateStartNanos = now;
+            this.rateStartTicks = ticks;
+        }
+        return this.ticksPerSecond;
+    }
+
+    @Override
+    public int getLandingQueueLength() {
+        return this.counters.getLandingQueueLength();
+    }
+
+    @Override
+    public int getTakeoffQueueLength() {
+        return this.counters.getTakeoffQueueLength();
+    }
+
+    @Override
+    public int getNumLoadingAircraft() {
+        return this.counters.getNumLoadingAircraft();
+    }
+
+    @Override
+    public Map<Integer, Integer> getTerminalOccupancyLevels() {
+        TowerCounters.TerminalCounters terminals = this.counters.getTerminalCounters();
+        Map<Integer, Integer> levels = new LinkedHashMap<>();
+        for (int i = 0; i < terminals.getNumTerminals(); i++) {
+            levels.putIfAbsent(terminals.getTerminalNumber(i), terminals.getOccupancyLevel(i));
+        }
+        return levels;
+    }
+
+    @Override
+    public int getNumTerminalEmergencies() {
+        return this.counters.getTerminalCounters().getNumEmergencies();
+    }
+
+    @Override
+    public long getNumLandings() {
+        return this.counters.getNumLandings();
+    }
+
+    @Override
+    public long getNumTakeoffs() {
+        return this.counters.getNumTakeoffs();
+    }
+
+    @Override
+    public long getNumRejectedLandings() {
+        return this.counters.getNumRejectedLandings();
+    }
+
+    @Override
+    public long getNumEmergenciesDeclared() {
+        return this.counters.getNumEmergenciesDeclared();
+    }
+
+    @Override
+    public boolean isPaused() {
+        return this.control.isPaused();
+    }
+
+    @Override
+    public double getSecondsPerTick() {
+        return this.control.getSecondsPerTick();
+    }
+
+    @Override
+    public void setSecondsPerTick(double secondsPerTick) {
+        if (!(secondsPerTick >= 0)) {
+            throw new IllegalArgumentException("Seconds per tick must be at least 0");
+        }
+        this.control.setSecondsPerTick(secondsPerTick);
+    }
+
+    @Override
+    public void pause() {
+        this.control.setPaused(true);
+    }
+
+    @Override
+    public void resume() {
+        this.control.setPaused(false);
+    }
+
+    @Override
+    public void save() throws IOException {
+        this.control.save();
+    }
+
+    @Override
+    public void declareTerminalEmergency(int terminalNumber) {
+        this.control.setTerminalEmergency(terminalNumber, true);
+    }
+
+    @Override
+    public void clearTerminalEmergency(int terminalNumber) {
+        this.control.setTerminalEmergency(terminalNumber, false);
+    }
+}
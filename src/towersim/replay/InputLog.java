@@ -0,0 +1,85 @@
+package towersim.replay;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ControlTower;
+import towersim.ground.Terminal;
+
+import java.util.Map;
+
+/**
+ * Binary format of input logs, and the digest of control tower state recorded in them.
+ * <p>
+ * An input log starts with a header of the int {@link #MAGIC}, the int {@link #VERSION} and
+ * the long number of ticks elapsed when recording started. It is followed by records, each a
+ * one-byte opcode and its operands. Input records apply to the tick that follows them; a
+ * {@link #TICK} record marks the end of a tick and holds the digest of the state after it.
+ * <p>
+ * Aircraft are referred to by their ID, which is their index in ControlTower.getAircraft(),
+ * and terminals by their index in ControlTower.getTerminals(); replay reproduces both exactly.
+ */
+public final class InputLog {
+    /** First four bytes of every input log ("TSIL") */
+    static final int MAGIC = 0x5453494C;
+
+    /** Version of the format written by InputRecorder */
+    static final int VERSION = 1;
+
+    /** End of a tick; operand: long digest of the state after the tick */
+    static final byte TICK = 0;
+
+    /** Drone alert declared on every terminal; no operands */
+    static final byte DRONE_ALERT = 1;
+
+    /** Drone alert cleared on every terminal; no operands */
+    static final byte DRONE_CLEAR = 2;
+
+    /** Emergency set on an aircraft; operands: int aircraft ID, boolean declared */
+    static final byte AIRCRAFT_EMERGENCY = 3;
+
+    /** Emergency set on a terminal; operands: int terminal index, boolean declared */
+    static final byte TERMINAL_EMERGENCY = 4;
+
+    /** Terminal added; operands: boolean helicopter terminal, int terminal number */
+    static final byte ADD_TERMINAL = 5;
+
+    /** Gate added; operands: int terminal index, int gate number */
+    static final byte ADD_GATE = 6;
+
+    /** Aircraft added; operand: UTF aircraft encoded as in the aircraft save file */
+    static final byte ADD_AIRCRAFT = 7;
+
+    private InputLog() {}
+
+    /**
+     * Returns a digest of the entire state of the given control tower: ticks elapsed, aircraft,
+     * queues, loading aircraft, terminals and gates. Equal states have equal digests.
+     * @param tower - control tower to digest
+     * @return digest of the state of the control tower
+     */
+    public static long digest(ControlTower tower) {
+        long digest = tower.getTicksElapsed();
+        for (Aircraft aircraft : tower.getAircraft()) {
+            digest = mix(digest, aircraft.encode().hashCode());
+        }
+        digest = mix(digest, tower.getLandingQueue().encode().hashCode());
+        digest = mix(digest, tower.getTakeoffQueue().encode().hashCode());
+        for (Map.Entry<Aircraft, Integer> entry : tower.getLoadingAircraft().entrySet()) {
+            digest = mix(digest, entry.getKey().getCallsign().hashCode());
+            digest = mix(digest, entry.getValue());
+        }
+        for (Terminal terminal : tower.getTerminals()) {
+            digest = mix(digest, terminal.encode().hashCode());
+        }
+        return digest;
+    }
+
+    /**
+     * Combines a digest with the next value digested.
+     * @param digest - digest so far
+     * @param value - value to add
+     * @return combined digest
+     */
+    private static long mix(long digest, int value) {
+        return (digest ^ value) * 0x9E3779B97F4A7C15L;
+    }
+}
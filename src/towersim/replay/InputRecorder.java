@@ -0,0 +1,290 @@
+package towersim.replay;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ControlTower;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Applies external inputs to a control tower and, while recording, writes them to an input
+ * log so that the run can be reproduced by InputReplayer.
+ * <p>
+ * Every change made to the control tower from outside the simulation (drone alerts,
+ * emergencies, and adding terminals, gates and aircraft) must go through this class, and the
+ * control tower must be ticked through tick(), for the log to be complete. Inputs are only
+ * written once they have been applied successfully, and failures to write the log are thrown as
+ * UncheckedIOException. The log format is described in InputLog.
+ * <p>
+ * Inputs and ticks can also be recorded in a TickHistory, which lets the control tower be
+ * returned to any recent tick.
+ */
+public class InputRecorder implements Closeable {
+    /** Control tower that inputs are applied to */
+    private final ControlTower tower;
+
+    /** Stream the log is written to, or null if not recording */
+    private DataOutputStream out;
+
+    /** History that inputs and ticks are also recorded in, or null if none is kept */
+    private TickHistory history;
+
+    /**
+     * Creates a new recorder for the given control tower, which is not recording.
+     * @param tower - control tower that inputs are applied to
+     */
+    public InputRecorder(ControlTower tower) {
+        this.tower = tower;
+        this.out = null;
+        this.history = null;
+    }
+
+    /**
+     * Sets the history that every subsequent input and tick is recorded in, so that the control
+     * tower can be returned to earlier ticks with seek(long).
+     * @param history - history of this recorder's control tower, or null to keep no history
+     * @throws IllegalArgumentException if the history is of a different control tower
+     */
+    public void setHistory(TickHistory history) {
+        if (history != null && history.getControlTower() != this.tower) {
+            throw new IllegalArgumentException("History is of a different control tower");
+        }
+        this.history = history;
+    }
+
+    /**
+     * Returns the history that inputs and ticks are recorded in.
+     * @return history, or null if none is kept
+     */
+    public TickHistory getHistory() {
+        return this.history;
+    }
+
+    /**
+     * Returns the control tower to its state immediately after the given tick, using the
+     * history. The next input or tick continues the run from there.
+     * @param tick - ticks elapsed to return to
+     * @throws IllegalStateException if no history is kept, or inputs are being recorded to a
+     * log, which cannot represent going back in time
+     * @throws IllegalArgumentException if the tick is not retained by the history
+     */
+    public void seek(long tick) {
+        if (this.history == null) {
+            throw new IllegalStateException("No history is kept for this control tower");
+        }
+        if (this.out != null) {
+            throw new IllegalStateException("Cannot seek while recording an input log");
+        }
+        this.history.seek(tick);
+    }
+
+    /**
+     * Starts recording inputs to the given stream, closing any log currently being recorded.
+     * The log starts at the current tick of the control tower.
+     * @param stream - stream to write the log to; closed when recording stops
+     * @throws IOException if writing the log header fails
+     */
+    public void startRecording(OutputStream stream) throws IOException {
+        this.close();
+        this.out = new DataOutputStream(new BufferedOutputStream(stream));
+        this.out.writeInt(InputLog.MAGIC);
+        this.out.writeInt(InputLog.VERSION);
+        this.out.writeLong(this.tower.getTicksElapsed());
+    }
+
+    /**
+     * Returns true if inputs are currently being recorded.
+     * @return true if recording; false otherwise
+     */
+    public boolean isRecording() {
+        return this.out != null;
+    }
+
+    /**
+     * Stops recording, flushing and closing the log. Has no effect if not recording.
+     * @throws IOException if flushing or closing the log fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.out != null) {
+            DataOutputStream stream = this.out;
+            this.out = null;
+            stream.close();
+        }
+    }
+
+    /**
+     * Declares a state of emergency on every terminal.
+     */
+    public void droneAlert() {
+        for (Terminal terminal : this.tower.getTerminals()) {
+            this.tower.setEmergency(terminal, true);
+        }
+        this.record(InputLog.DRONE_ALERT, out -> { });
+    }
+
+    /**
+     * Clears the state of emergency on every terminal.
+     */
+    public void droneClear() {
+        for (Terminal terminal : this.tower.getTerminals()) {
+            this.tower.setEmergency(terminal, false);
+        }
+        this.record(InputLog.DRONE_CLEAR, out -> { });
+    }
+
+    /**
+     * Declares or clears a state of emergency on the given aircraft.
+     * @param aircraft - aircraft managed by the control tower
+     * @param declared - true to declare an emergency; false to clear it
+     * @throws IllegalArgumentException if the aircraft is not managed by the control tower
+     */
+    public void setEmergency(Aircraft aircraft, boolean declared) {
+        if (!this.tower.isManaged(aircraft)) {
+            throw new IllegalArgumentException(aircraft.getCallsign()
+                    + " is not managed by this control tower");
+        }
+        // the ID of a managed aircraft is its index in the control tower's aircraft
+        int id = aircraft.getId();
+        this.tower.setEmergency(aircraft, declared);
+        this.record(InputLog.AIRCRAFT_EMERGENCY, out -> {
+            out.writeInt(id);
+            out.writeBoolean(declared);
+        });
+    }
+
+    /**
+     * Declares or clears a state of emergency on the given terminal.
+     * @param terminal - terminal managed by the control tower
+     * @param declared - true to declare an emergency; false to clear it
+     * @throws IllegalArgumentException if the terminal is not managed by the control tower
+     */
+    public void setEmergency(Terminal terminal, boolean declared) {
+        int index = this.tower.getTerminals().indexOf(terminal);
+        if (index < 0) {
+            throw new IllegalArgumentException("Terminal " + terminal.getTerminalNumber()
+                    + " is not managed by this control tower");
+        }
+        this.tower.setEmergency(terminal, declared);
+        this.record(InputLog.TERMINAL_EMERGENCY, out -> {
+            out.writeInt(index);
+            out.writeBoolean(declared);
+        });
+    }
+
+    /**
+     * Adds the given terminal, which must have no gates, to the control tower.
+     * @param terminal - terminal to add
+     * @throws IllegalArgumentException if the terminal already has gates
+     */
+    public void addTerminal(Terminal terminal) {
+        if (!terminal.getGates().isEmpty()) {
+            throw new IllegalArgumentException("Terminals must be added before their gates");
+        }
+        this.tower.addTerminal(terminal);
+        this.record(InputLog.ADD_TERMINAL, out -> {
+            out.writeBoolean(terminal instanceof HelicopterTerminal);
+            out.writeInt(terminal.getTerminalNumber());
+        });
+    }
+
+    /**
+     * Adds the given gate to the given terminal.
+     * @param terminal - terminal managed by the control tower
+     * @param gate - gate to add, with no aircraft parked at it
+     * @throws NoSpaceException if the terminal has no room for another gate
+     * @throws IllegalArgumentException if the terminal is not managed by the control tower
+     */
+    public void addGate(Terminal terminal, Gate gate) throws NoSpaceException {
+        int index = this.tower.getTerminals().indexOf(terminal);
+        if (index < 0) {
+            throw new IllegalArgumentException("Terminal " + terminal.getTerminalNumber()
+                    + " is not managed by this control tower");
+        }
+        terminal.addGate(gate);
+        this.tower.markChanged();
+        this.record(InputLog.ADD_GATE, out -> {
+            out.writeInt(index);
+            out.writeInt(gate.getGateNumber());
+        });
+    }
+
+    /**
+     * Adds the given aircraft to the control tower.
+     * @param aircraft - aircraft to add
+     * @throws NoSuitableGateException if the aircraft needs a gate and none is available
+     */
+    public void addAircraft(Aircraft aircraft) throws NoSuitableGateException {
+        this.tower.addAircraft(aircraft);
+        this.record(InputLog.ADD_AIRCRAFT, out -> out.writeUTF(aircraft.encode()));
+    }
+
+    /**
+     * Ticks the control tower and, while recording, records the digest of its new state. The
+     * tick is also recorded in the history, if one is kept.
+     */
+    public void tick() {
+        if (this.history != null) {
+            this.history.beforeTick();
+        }
+        this.tower.tick();
+        if (this.out != null) {
+            this.write(InputLog.TICK, out -> out.writeLong(InputLog.digest(this.tower)));
+        }
+        if (this.history != null) {
+            this.history.afterTick();
+        }
+    }
+
+    /**
+     * Records an input in the log, if recording, and in the history, if one is kept.
+     * @param opcode - opcode of the record
+     * @param operands - writer of the operands of the record
+     * @throws UncheckedIOException if writing the record to the log fails
+     */
+    private void record(byte opcode, Operands operands) {
+        if (this.out != null) {
+            this.write(opcode, operands);
+        }
+        if (this.history != null) {
+            this.history.record(opcode, operands);
+        }
+    }
+
+    /**
+     * Writes a record to the log.
+     * @param opcode - opcode of the record
+     * @param operands - writer of the operands of the record
+     * @throws UncheckedIOException if writing the record fails
+     */
+    private void write(byte opcode, Operands operands) {
+        try {
+            this.out.writeByte(opcode);
+            operands.writeTo(this.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writer of the operands of a record.
+     */
+    @FunctionalInterface
+    interface Operands {
+        /**
+         * Writes the operands to the given stream.
+         * @param out - stream to write to
+         * @throws IOException if writing fails
+         */
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+}
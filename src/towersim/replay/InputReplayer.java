@@ -0,0 +1,158 @@
+package towersim.replay;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Re-applies the inputs of an input log to a control tower as fast as possible.
+ * <p>
+ * The control tower must be loaded from the same save that the recording started from. Each
+ * recorded tick is run without delay, after applying the inputs recorded before it, and the
+ * state after the tick can be checked against the digest recorded in the log. An input that
+ * cannot be applied means the replay has already diverged from the recording.
+ */
+public final class InputReplayer {
+
+    private InputReplayer() {}
+
+    /**
+     * Replays the given input log on the given control tower until the end of the log or the
+     * first divergence from the recording.
+     * @param tower - control tower in the state the recording started from
+     * @param log - input log written by InputRecorder
+     * @param verify - whether to check the state after every tick against its recorded digest
+     * @return outcome of the replay
+     * @throws MalformedSaveException if the log is not a valid input log, or starts at a
+     * different tick from the control tower
+     * @throws IOException if reading the log fails
+     */
+    public static ReplayResult replay(ControlTower tower, InputStream log, boolean verify)
+            throws MalformedSaveException, IOException {
+        long startTime = System.nanoTime();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(log));
+        try {
+            if (in.readInt() != InputLog.MAGIC || in.readInt() != InputLog.VERSION) {
+                throw new MalformedSaveException("Not an input log of a supported version");
+            }
+            long startTick = in.readLong();
+            if (startTick != tower.getTicksElapsed()) {
+                throw new MalformedSaveException("Input log starts at tick " + startTick
+                        + " but the control tower is at tick " + tower.getTicksElapsed());
+            }
+
+            long ticks = 0;
+            long inputs = 0;
+            int opcode;
+            while ((opcode = in.read()) >= 0) {
+                if (opcode == InputLog.TICK) {
+                    long recordedDigest = in.readLong();
+                    tower.tick();
+                    ticks++;
+                    if (verify && InputLog.digest(tower) != recordedDigest) {
+                        return new ReplayResult(ticks, inputs, tower.getTicksElapsed(),
+                                System.nanoTime() - startTime);
+                    }
+                } else if (apply((byte) opcode, in, tower)) {
+                    tower.markChanged();
+                    inputs++;
+                } else {
+                    return new ReplayResult(ticks, inputs, tower.getTicksElapsed(),
+                            System.nanoTime() - startTime);
+                }
+            }
+            return new ReplayResult(ticks, inputs, -1, System.nanoTime() - startTime);
+        } catch (EOFException e) {
+            throw new MalformedSaveException("Input log ends part-way through a record", e);
+        }
+    }
+
+    /**
+     * Reads the operands of an input record and applies it to the control tower.
+     * @param opcode - opcode of the record
+     * @param in - stream positioned at the operands of the record
+     * @param tower - control tower to apply the input to
+     * @return true if the input was applied; false if it cannot be applied to the current
+     * state, i.e. the replay has diverged
+     * @throws MalformedSaveException if the opcode or operands are invalid
+     * @throws IOException if reading the log fails
+     */
+    private static boolean apply(byte opcode, DataInputStream in, ControlTower tower)
+            throws MalformedSaveException, IOException {
+        List<Terminal> terminals = tower.getTerminals();
+        switch (opcode) {
+            case InputLog.DRONE_ALERT:
+                for (Terminal terminal : terminals) {
+                    tower.setEmergency(terminal, true);
+                }
+                return true;
+            case InputLog.DRONE_CLEAR:
+                for (Terminal terminal : terminals) {
+                    tower.setEmergency(terminal, false);
+                }
+                return true;
+            case InputLog.AIRCRAFT_EMERGENCY: {
+                int index = in.readInt();
+                boolean declared = in.readBoolean();
+                List<Aircraft> aircraft = tower.getAircraft();
+                if (index < 0 || index >= aircraft.size()) {
+                    return false;
+                }
+                tower.setEmergency(aircraft.get(index), declared);
+                return true;
+            }
+            case InputLog.TERMINAL_EMERGENCY: {
+                int index = in.readInt();
+                boolean declared = in.readBoolean();
+                if (index < 0 || index >= terminals.size()) {
+                    return false;
+                }
+                tower.setEmergency(terminals.get(index), declared);
+                return true;
+            }
+            case InputLog.ADD_TERMINAL: {
+                boolean helicopter = in.readBoolean();
+                int terminalNumber = in.readInt();
+                tower.addTerminal(helicopter ? new HelicopterTerminal(terminalNumber)
+                        : new AirplaneTerminal(terminalNumber));
+                return true;
+            }
+            case InputLog.ADD_GATE: {
+                int index = in.readInt();
+                int gateNumber = in.readInt();
+                if (index < 0 || index >= terminals.size()) {
+                    return false;
+                }
+                try {
+                    terminals.get(index).addGate(new Gate(gateNumber));
+                } catch (NoSpaceException e) {
+                    return false;
+                }
+                return true;
+            }
+            case InputLog.ADD_AIRCRAFT:
+                try {
+                    tower.addAircraft(ControlTowerInitialiser.readAircraft(in.readUTF()));
+                } catch (NoSuitableGateException e) {
+                    return false;
+                }
+                return true;
+            default:
+                throw new MalformedSaveException("Unknown input log record " + opcode);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package towersim.replay;
+
+import java.util.Locale;
+
+/**
+ * Outcome of replaying an input log with InputReplayer.
+ */
+public final class ReplayResult {
+    /** Number of ticks replayed */
+    private final long ticks;
+
+    /** Number of input records applied */
+    private final long inputs;
+
+    /** Tick after which the state first differed from the log, or -1 if it never did */
+    private final long divergentTick;
+
+    /** Wall-clock time taken by the replay, in nanoseconds */
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new replay result.
+     * @param ticks - number of ticks replayed
+     * @param inputs - number of input records applied
+     * @param divergentTick - ticks elapsed when the state first differed from the log, or -1
+     * @param elapsedNanos - wall-clock time taken, in nanoseconds
+     */
+    public ReplayResult(long ticks, long inputs, long divergentTick, long elapsedNanos) {
+        this.ticks = ticks;
+        this.inputs = inputs;
+        this.divergentTick = divergentTick;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of ticks replayed.
+     * @return ticks replayed
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Returns the number of input records applied.
+     * @return inputs applied
+     */
+    public long getInputs() {
+        return this.inputs;
+    }
+
+    /**
+     * Returns true if every verified tick matched the digest recorded in the log.
+     * @return true if the replay reproduced the recording; false otherwise
+     */
+    public boolean isReproduced() {
+        return this.divergentTick < 0;
+    }
+
+    /**
+     * Returns the number of ticks elapsed at the first tick whose state differed from the log,
+     * or -1 if the replay reproduced the recording. Replay stops at this tick.
+     * @return first divergent tick, or -1
+     */
+    public long getDivergentTick() {
+        return this.divergentTick;
+    }
+
+    /**
+     * Returns the wall-clock time taken by the replay, in nanoseconds.
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the human-readable string representation of this result.
+     * <p>
+     * The format of the string to return is
+     * <pre>
+     * Replayed ticks ticks and inputs inputs in seconds s: status
+     * </pre>
+     * where status is {@code reproduced} or {@code diverged after tick T}.
+     * @return string representation of this result
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "Replayed %d ticks and %d inputs in %.3f s: %s",
+                this.ticks, this.inputs, this.elapsedNanos / 1e9, this.isReproduced()
+                        ? "reproduced" : "diverged after tick " + this.divergentTick);
+    }
+}
@@ -0,0 +1,321 @@
+package towersim.replay;
+
+import towersim.control.ControlTower;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Bounded history of a control tower's run that can return it to any retained tick.
+ * <p>
+ * Every interval ticks, the history takes a snapshot of the control tower with
+ * ControlTower.fork(). Between snapshots it keeps the external inputs made on each tick, in
+ * the format of an input log without digests. Seeking to a tick restores the latest snapshot
+ * at or before it and replays at most interval ticks of inputs forward, so seeking takes time
+ * proportional to the interval rather than to the length of the run.
+ * <p>
+ * Snapshots and their inputs are kept in a ring: once their estimated size exceeds the memory
+ * budget, the oldest are discarded, although the latest snapshot is always kept. Seeking to a
+ * past tick does not discard the ticks after it, so a run can be scrubbed back and forth, but
+ * the first input or tick made after seeking continues the run from there and discards the
+ * later history.
+ * <p>
+ * A history receives its inputs from an InputRecorder; see InputRecorder.setHistory().
+ */
+public class TickHistory {
+    /** Rough number of bytes taken by each aircraft in a snapshot */
+    private static final long ESTIMATED_AIRCRAFT_BYTES = 200;
+
+    /** Rough number of bytes taken by each terminal or gate in a snapshot */
+    private static final long ESTIMATED_GROUND_BYTES = 64;
+
+    /** Control tower whose history is kept */
+    private final ControlTower tower;
+
+    /** Number of ticks between snapshots */
+    private final int interval;
+
+    /** Maximum estimated number of bytes to retain */
+    private final long memoryBudget;
+
+    /** Retained segments, oldest first; each starts with a snapshot */
+    private final ArrayDeque<Segment> segments;
+
+    /** Estimated number of bytes held by the retained segments */
+    private long estimatedBytes;
+
+    /** Ticks elapsed at the end of the recorded history */
+    private long latestTick;
+
+    /** Whether the control tower has been returned to a tick before the end of the history */
+    private boolean seeked;
+
+    /**
+     * Creates a new history of the given control tower, starting with a snapshot of its
+     * current state.
+     * @param tower - control tower whose history to keep
+     * @param interval - number of ticks between snapshots, which bounds the ticks replayed by
+     *                 each seek
+     * @param memoryBudget - maximum estimated number of bytes of snapshots and inputs to retain
+     * @throws IllegalArgumentException if interval is less than one or memoryBudget is negative
+     */
+    public TickHistory(ControlTower tower, int interval, long memoryBudget) {
+        if (interval < 1 || memoryBudget < 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive and memory"
+                    + " budget non-negative");
+        }
+        this.tower = tower;
+        this.interval = interval;
+        this.memoryBudget = memoryBudget;
+        this.segments = new ArrayDeque<>();
+        this.estimatedBytes = 0;
+        this.latestTick = tower.getTicksElapsed();
+        this.seeked = false;
+        this.startSegment();
+    }
+
+    /**
+     * Returns the control tower whose history is kept.
+     * @return control tower
+     */
+    public ControlTower getControlTower() {
+        return this.tower;
+    }
+
+    /**
+     * Returns the earliest tick that can be sought to.
+     * @return ticks elapsed at the oldest retained snapshot
+     */
+    public long getEarliestTick() {
+        return this.segments.getFirst().startTick;
+    }
+
+    /**
+     * Returns the latest tick that can be sought to.
+     * @return ticks elapsed at the end of the recorded history
+     */
+    public long getLatestTick() {
+        return this.latestTick;
+    }
+
+    /**
+     * Returns the estimated number of bytes held by the retained snapshots and inputs.
+     * @return estimated memory use in bytes
+     */
+    public long getEstimatedBytes() {
+        return this.estimatedBytes;
+    }
+
+    /**
+     * Records an input that has just been applied to the control tower.
+     * @param opcode - opcode of the input record
+     * @param operands - writer of the operands of the record
+     */
+    void record(byte opcode, InputRecorder.Operands operands) {
+        this.discardFuture();
+        Segment segment = this.segments.getLast();
+        int before = segment.log.size();
+        try {
+            segment.out.writeByte(opcode);
+            operands.writeTo(segment.out);
+        } catch (IOException e) {
+            // not possible, the log is held in memory
+            throw new UncheckedIOException(e);
+        }
+        this.estimatedBytes += segment.log.size() - before;
+    }
+
+    /**
+     * Prepares for the control tower to be ticked, discarding the history after the current
+     * tick if the control tower has been returned to it. Must be called before every tick
+     * recorded with afterTick(), as the tick the run continues from is only known until then.
+     */
+    void beforeTick() {
+        this.discardFuture();
+    }
+
+    /**
+     * Records that the control tower has just been ticked, taking a snapshot if one is due.
+     */
+    void afterTick() {
+        Segment segment = this.segments.getLast();
+        int before = segment.log.size();
+        try {
+            // the digest is not needed, since replay from a snapshot is not verified
+            segment.out.writeByte(InputLog.TICK);
+            segment.out.writeLong(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segment.endTick(segment.log.size());
+        this.estimatedBytes += segment.log.size() - before + Integer.BYTES;
+        this.latestTick = this.tower.getTicksElapsed();
+        if (this.latestTick - segment.startTick >= this.interval) {
+            this.startSegment();
+        }
+    }
+
+    /**
+     * Returns the control tower to its state immediately after the given tick, before any
+     * inputs made after that tick.
+     * @param tick - ticks elapsed to return to, between getEarliestTick() and getLatestTick()
+     * @throws IllegalArgumentException if the tick is not retained
+     */
+    void seek(long tick) {
+        if (tick < this.getEarliestTick() || tick > this.latestTick) {
+            throw new IllegalArgumentException("Tick " + tick + " is not retained; ticks "
+                    + this.getEarliestTick() + " to " + this.latestTick + " are available");
+        }
+        Segment segment = null;
+        Iterator<Segment> newestFirst = this.segments.descendingIterator();
+        while (segment == null || segment.startTick > tick) {
+            segment = newestFirst.next();
+        }
+
+        this.tower.restore(segment.snapshot);
+        try {
+            InputReplayer.replay(this.tower, new ByteArrayInputStream(segment.log.toByteArray(),
+                    0, segment.tickEnds[(int) (tick - segment.startTick)]), false);
+        } catch (MalformedSaveException | IOException e) {
+            // not possible, the log was written by this history
+            throw new IllegalStateException("Could not replay history", e);
+        }
+        this.seeked = true;
+    }
+
+    /**
+     * If the control tower has been returned to an earlier point, discards the history after
+     * it, so that the run continues from there.
+     */
+    private void discardFuture() {
+        if (!this.seeked) {
+            return;
+        }
+        this.seeked = false;
+        long tick = this.tower.getTicksElapsed();
+        while (this.segments.getLast().startTick > tick) {
+            this.estimatedBytes -= this.segments.removeLast().estimatedBytes();
+        }
+        Segment segment = this.segments.getLast();
+        long before = segment.estimatedBytes();
+        segment.truncate((int) (tick - segment.startTick));
+        this.estimatedBytes -= before - segment.estimatedBytes();
+        this.latestTick = tick;
+    }
+
+    /**
+     * Starts a new segment with a snapshot of the control tower, discarding the oldest segments
+     * if over budget.
+     */
+    private void startSegment() {
+        Segment segment = new Segment(this.tower.fork());
+        this.segments.addLast(segment);
+        this.estimatedBytes += segment.estimatedBytes();
+        while (this.estimatedBytes > this.memoryBudget && this.segments.size() > 1) {
+            this.estimatedBytes -= this.segments.removeFirst().estimatedBytes();
+        }
+    }
+
+    /**
+     * Snapshot of the control tower and the inputs of the ticks that follow it.
+     */
+    private static final class Segment {
+        /** Ticks elapsed when the snapshot was taken */
+        private final long startTick;
+
+        /** Snapshot of the control tower; never changed */
+        private final ControlTower snapshot;
+
+        /** Estimated number of bytes taken by the snapshot */
+        private final long snapshotBytes;
+
+        /** Input log of the ticks since the snapshot */
+        private final TruncatableBuffer log;
+
+        /** Stream writing to the log */
+        private final DataOutputStream out;
+
+        /** Length of the log at the end of each tick, indexed by ticks since the snapshot */
+        private int[] tickEnds;
+
+        /** Number of ticks in the log */
+        private int numTicks;
+
+        /**
+         * Creates a new segment starting with the given snapshot.
+         * @param snapshot - snapshot of the control tower
+         */
+        private Segment(ControlTower snapshot) {
+            this.startTick = snapshot.getTicksElapsed();
+            this.snapshot = snapshot;
+            long ground = snapshot.getTerminals().size();
+            for (Terminal terminal : snapshot.getTerminals()) {
+                ground += terminal.getGates().size();
+            }
+            this.snapshotBytes = snapshot.getAircraft().size() * ESTIMATED_AIRCRAFT_BYTES
+                    + ground * ESTIMATED_GROUND_BYTES;
+            this.log = new TruncatableBuffer();
+            this.out = new DataOutputStream(this.log);
+            try {
+                this.out.writeInt(InputLog.MAGIC);
+                this.out.writeInt(InputLog.VERSION);
+                this.out.writeLong(this.startTick);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.tickEnds = new int[16];
+            this.tickEnds[0] = this.log.size();
+            this.numTicks = 0;
+        }
+
+        /**
+         * Records that a tick ended with the log at the given length.
+         * @param length - length of the log
+         */
+        private void endTick(int length) {
+            this.numTicks++;
+            if (this.numTicks == this.tickEnds.length) {
+                this.tickEnds = Arrays.copyOf(this.tickEnds, this.tickEnds.length * 2);
+            }
+            this.tickEnds[this.numTicks] = length;
+        }
+
+        /**
+         * Discards everything recorded after the end of the given tick.
+         * @param ticks - number of ticks since the snapshot to keep
+         */
+        private void truncate(int ticks) {
+            this.numTicks = ticks;
+            this.log.truncate(this.tickEnds[ticks]);
+        }
+
+        /**
+         * Returns the estimated number of bytes held by this segment.
+         * @return estimated memory use in bytes
+         */
+        private long estimatedBytes() {
+            return this.snapshotBytes + this.log.size() + (long) this.numTicks * Integer.BYTES;
+        }
+    }
+
+    /**
+     * In-memory output stream that can discard what was written after a given point.
+     */
+    private static final class TruncatableBuffer extends ByteArrayOutputStream {
+        /**
+         * Discards the bytes after the given length.
+         * @param length - number of bytes to keep
+         */
+        private void truncate(int length) {
+            this.count = Math.min(this.count, length);
+        }
+    }
+}
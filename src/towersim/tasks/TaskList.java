@@ -80,6 +80,27 @@ public class TaskList implements Encodable {
         return this.tasks.get(this.currentTaskIndex);
     }
 
+    /**
+     * Returns a new task list with the same tasks and the same current task as this one.
+     * Tasks are immutable, so the copy shares them with this task list; moving either list to
+     * its next task does not affect the other.
+     *
+     * @return copy of this task list
+     */
+    public TaskList copy() {
+        return new TaskList(this);
+    }
+
+    /**
+     * Creates a copy of the given task list, sharing its already validated tasks.
+     *
+     * @param original task list to copy
+     */
+    private TaskList(TaskList original) {
+        this.tasks = original.tasks;
+        this.currentTaskIndex = original.currentTaskIndex;
+    }
+
     /**
      * Returns the task in the list that comes after the current task.
      * <p>
@@ -111,6 +132,44 @@ public class TaskList implements Encodable {
         this.currentTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
     }
 
+    /**
+     * Moves the reference to the current task forward by the given number of tasks in the
+     * circular task list, as if moveToNextTask() was called that many times.
+     * @param numTasks - number of tasks to move forward by
+     * @throws IllegalArgumentException if numTasks &lt; 0
+     */
+    public void moveForward(long numTasks) {
+        if (numTasks < 0) {
+            throw new IllegalArgumentException("Cannot move backwards through the task list");
+        }
+        this.currentTaskIndex = (int) ((this.currentTaskIndex + numTasks % this.tasks.size())
+                % this.tasks.size());
+    }
+
+    /**
+     * Returns the number of consecutive tasks, starting with the current task, that have the
+     * same type as the current task.
+     * If every task in the list has the same type, the size of the list is returned.
+     * @return length of the run of tasks of the current type
+     */
+    public int getCurrentRunLength() {
+        TaskType currentType = this.getCurrentTask().getType();
+        int runLength = 1;
+        while (runLength < this.tasks.size() && this.tasks.get((this.currentTaskIndex + runLength)
+                % this.tasks.size()).getType() == currentType) {
+            runLength++;
+        }
+        return runLength;
+    }
+
+    /**
+     * Returns the number of tasks in the task list.
+     * @return number of tasks
+     */
+    public int size() {
+        return this.tasks.size();
+    }
+
     /**
      * Returns the human-readable string representation of this task list.
      * <p>
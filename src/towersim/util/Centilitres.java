@@ -0,0 +1,112 @@
+package towersim.util;
+
+/**
+ * Utility methods for fixed-point fuel amounts, stored as a whole number of centilitres
+ * (hundredths of a litre).
+ * Keeping fuel as an integer makes arithmetic exact, and lets amounts be written and read with
+ * exactly two decimal places without any floating-point or BigDecimal conversion.
+ */
+public final class Centilitres {
+    /** Number of centilitres in one litre */
+    public static final long PER_LITRE = 100;
+
+    /** Utility class; not instantiable */
+    private Centilitres() {
+    }
+
+    /**
+     * Converts the given amount in litres to centilitres, rounding to the nearest centilitre.
+     * @param litres - amount of fuel, in litres
+     * @return amount of fuel, in centilitres
+     */
+    public static long fromLitres(double litres) {
+        return Math.round(litres * PER_LITRE);
+    }
+
+    /**
+     * Converts the given amount in centilitres to litres.
+     * @param centilitres - amount of fuel, in centilitres
+     * @return amount of fuel, in litres
+     */
+    public static double toLitres(long centilitres) {
+        return (double) centilitres / PER_LITRE;
+    }
+
+    /**
+     * Returns the given amount formatted in litres to exactly two decimal places,
+     * e.g. 325000 is formatted as "3250.00".
+     * @param centilitres - amount of fuel, in centilitres
+     * @return amount in litres with two decimal places
+     */
+    public static String format(long centilitres) {
+        StringBuilder builder = new StringBuilder(24);
+        if (centilitres < 0) {
+            builder.append('-');
+        }
+        // the magnitude is split before negating so that Long.MIN_VALUE formats correctly
+        long wholeLitres = Math.abs(centilitres / PER_LITRE);
+        int fraction = (int) Math.abs(centilitres % PER_LITRE);
+        builder.append(wholeLitres).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction).toString();
+    }
+
+    /**
+     * Parses an amount of fuel in litres, such as "3250.00", into centilitres.
+     * <p>
+     * Plain decimal numbers are parsed using integer arithmetic only. Any fractional digits
+     * beyond the second cause the amount to be rounded up to the next centilitre, matching the
+     * way amounts are rounded when formatted. Other forms accepted by
+     * Double.parseDouble(String), such as "3.25e3", are converted using fromLitres(double).
+     * @param text - amount of fuel in litres
+     * @return amount of fuel, in centilitres
+     * @throws NumberFormatException if the text is not a valid number
+     */
+    public static long parse(String text) {
+        int length = text.length();
+        int start = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            start = 1;
+        }
+        long whole = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (!seenPoint) {
+                    if (whole > (Long.MAX_VALUE / PER_LITRE - 9) / 10) {
+                        // too large for exact centilitres; let the general parser decide
+                        return fromLitres(Double.parseDouble(text));
+                    }
+                    whole = whole * 10 + (c - '0');
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else if (c != '0') {
+                    roundUp = true;
+                }
+            } else {
+                return fromLitres(Double.parseDouble(text));
+            }
+        }
+        if (!seenDigit) {
+            throw new NumberFormatException("Not a fuel amount: \"" + text + "\"");
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+        long centilitres = whole * PER_LITRE + fraction + (roundUp ? 1 : 0);
+        return negative ? -centilitres : centilitres;
+    }
+}
@@ -0,0 +1,136 @@
+package towersim.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Mapping from non-negative int keys to int values, backed by arrays indexed by key.
+ * Intended for small, densely allocated keys such as aircraft IDs, so that lookups, insertions
+ * and removals are single array accesses and no boxing takes place.
+ * Keys are iterated in ascending order using firstKey() and nextKey(int).
+ */
+public class DenseIntMap {
+    /** Default number of key slots allocated when the map is created */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Values stored in the map, indexed by key */
+    private int[] values;
+
+    /** Keys currently present in the map */
+    private final BitSet keys;
+
+    /** Number of keys currently present in the map */
+    private int size;
+
+    /**
+     * Creates a new, empty map.
+     */
+    public DenseIntMap() {
+        this.values = new int[DEFAULT_CAPACITY];
+        this.keys = new BitSet(DEFAULT_CAPACITY);
+        this.size = 0;
+    }
+
+    /**
+     * Creates a new map containing the same entries as the given map.
+     * @param other - map to copy
+     */
+    public DenseIntMap(DenseIntMap other) {
+        this.values = Arrays.copyOf(other.values, other.values.length);
+        this.keys = (BitSet) other.keys.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Returns true if the given key is present in the map.
+     * @param key - key to look up
+     * @return true if the key has an associated value; false otherwise
+     */
+    public boolean containsKey(int key) {
+        return key >= 0 && this.keys.get(key);
+    }
+
+    /**
+     * Returns the value associated with the given key, or the given default if the key is not
+     * present in the map.
+     * @param key - key to look up
+     * @param defaultValue - value to return if the key is not present
+     * @return value associated with key, or defaultValue
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        return this.containsKey(key) ? this.values[key] : defaultValue;
+    }
+
+    /**
+     * Associates the given value with the given key, replacing any existing value.
+     * @param key - non-negative key
+     * @param value - value to associate with the key
+     * @throws IllegalArgumentException if key &lt; 0
+     */
+    public void put(int key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key cannot be negative");
+        }
+        if (key >= this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(key + 1, this.values.length * 2));
+        }
+        if (!this.keys.get(key)) {
+            this.keys.set(key);
+            this.size++;
+        }
+        this.values[key] = value;
+    }
+
+    /**
+     * Removes the given key and its value from the map. Has no effect if the key is not present.
+     * @param key - key to remove
+     */
+    public void remove(int key) {
+        if (this.containsKey(key)) {
+            this.keys.clear(key);
+            this.size--;
+        }
+    }
+
+    /**
+     * Removes all entries from the map.
+     */
+    public void clear() {
+        this.keys.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of keys present in the map.
+     * @return number of entries
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if the map contains no entries.
+     * @return true if empty; false otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the smallest key present in the map, or -1 if the map is empty.
+     * @return first key in ascending order
+     */
+    public int firstKey() {
+        return this.keys.nextSetBit(0);
+    }
+
+    /**
+     * Returns the smallest key present in the map that is strictly greater than the given key,
+     * or -1 if there is no such key.
+     * @param key - key to continue iterating from
+     * @return next key in ascending order
+     */
+    public int nextKey(int key) {
+        return this.keys.nextSetBit(key + 1);
+    }
+}
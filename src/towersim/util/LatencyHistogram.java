@@ -0,0 +1,205 @@
+package towersim.util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size histogram of non-negative durations, e.g. in nanoseconds, with log-linear buckets.
+ * <p>
+ * Values are grouped by their power of two, and each power of two is split into
+ * SUB_BUCKETS equal buckets, so a value is known to within 1/SUB_BUCKETS of itself (6.25%)
+ * whatever its magnitude, while the histogram never grows. Recording a value is a few
+ * arithmetic operations and one array update.
+ * <p>
+ * Only one thread may record values, but any thread may read the histogram at any time
+ * without locking. Counts are updated one at a time, so a reader running concurrently with
+ * the writer may see a total that differs slightly from the sum of the buckets.
+ */
+public final class LatencyHistogram {
+    /** Number of bits of a value, below its leading bit, that select its sub-bucket */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** Number of buckets each power of two is split into */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Number of buckets, covering every non-negative long value */
+    private static final int NUM_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Number of values recorded in each bucket */
+    private final AtomicLongArray counts;
+
+    /** Number of values recorded */
+    private volatile long count;
+
+    /** Sum of the values recorded */
+    private volatile long total;
+
+    /** Largest value recorded */
+    private volatile long max;
+
+    /**
+     * Creates a new, empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(NUM_BUCKETS);
+    }
+
+    /**
+     * Records one value. Negative values are recorded as zero. Must only be called by one
+     * thread.
+     * @param value - value to record
+     */
+    public void record(long value) {
+        long v = Math.max(value, 0);
+        int bucket = bucketOf(v);
+        this.counts.setOpaque(bucket, this.counts.getPlain(bucket) + 1);
+        this.total = this.total + v;
+        if (v > this.max) {
+            this.max = v;
+        }
+        this.count = this.count + 1;
+    }
+
+    /**
+     * Removes every recorded value. Must only be called by the thread recording values.
+     */
+    public void reset() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            this.counts.setOpaque(i, 0);
+        }
+        this.count = 0;
+        this.total = 0;
+        this.max = 0;
+    }
+
+    /**
+     * Returns the number of values recorded.
+     * @return number of values
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the sum of the values recorded.
+     * @return total of the values
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     * @return maximum value, or 0 if none has been recorded
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     * @return mean value, or 0 if none has been recorded
+     */
+    public double getMean() {
+        long n = this.count;
+        return n == 0 ? 0.0 : (double) this.total / n;
+    }
+
+    /**
+     * Returns the value below which the given fraction of recorded values fall, to within the
+     * precision of the buckets. The upper bound of the bucket holding that value is returned,
+     * but never more than the largest value recorded.
+     * @param quantile - fraction of values, from 0 to 1, e.g. 0.99 for the 99th percentile
+     * @return value at the quantile, or 0 if none has been recorded
+     * @throws IllegalArgumentException if quantile is not between 0 and 1
+     */
+    public long getValueAtQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        long recorded = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            recorded += this.counts.getOpaque(i);
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * recorded));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += this.counts.getOpaque(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Returns the number of buckets in the histogram.
+     * @return number of buckets
+     */
+    public int getNumBuckets() {
+        return NUM_BUCKETS;
+    }
+
+    /**
+     * Returns the number of values recorded in the given bucket.
+     * @param bucket - index of the bucket, from 0 to getNumBuckets() - 1
+     * @return number of values in the bucket
+     */
+    public long getBucketCount(int bucket) {
+        return this.counts.getOpaque(bucket);
+    }
+
+    /**
+     * Returns the largest value that falls in the given bucket.
+     * @param bucket - index of the bucket, from 0 to getNumBuckets() - 1
+     * @return upper bound of the bucket, inclusive
+     */
+    public long getBucketUpperBound(int bucket) {
+        return upperBoundOf(bucket);
+    }
+
+    /**
+     * Returns the index of the bucket holding the given value.
+     * @param value - non-negative value
+     * @return index of the bucket
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            // small values each have a bucket of their own
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value held by the given bucket.
+     * @param bucket - index of the bucket
+     * @return upper bound of the bucket, inclusive
+     */
+    static long upperBoundOf(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        long subBucket = bucket % SUB_BUCKETS;
+        if (magnitude == 0) {
+            return subBucket;
+        }
+        // for the last bucket the shift wraps to Long.MIN_VALUE, giving Long.MAX_VALUE
+        return ((SUB_BUCKETS + subBucket + 1) << (magnitude - 1)) - 1;
+    }
+
+    /**
+     * Returns the human-readable string representation of this histogram's summary.
+     * For example: "count=100 mean=1520.3 p50=1408 p99=4351 p999=6143 max=6020".
+     * @return string representation of this histogram
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "count=%d mean=%.1f p50=%d p99=%d p999=%d max=%d",
+                this.count, this.getMean(), this.getValueAtQuantile(0.5),
+                this.getValueAtQuantile(0.99), this.getValueAtQuantile(0.999), this.max);
+    }
+}
@@ -0,0 +1,92 @@
+package towersim.util;
+
+/**
+ * Unbounded first-in-first-out queue for handing elements from exactly one producer thread to
+ * exactly one consumer thread without locking.
+ * <p>
+ * The queue is a singly linked list. The producer only writes the tail and the consumer only
+ * reads the head, so they never contend; each link is published with a volatile write, which
+ * makes the element, and everything the producer did before offering it, visible to the
+ * consumer that polls it. The queue never blocks and never fills up.
+ * <p>
+ * Only one thread may call offer(Object) and only one thread may call poll() and isEmpty(),
+ * although these may be different threads, and the threads may change provided the change is
+ * itself safely published (e.g. through a barrier).
+ * @param <T> type of element held in the queue
+ */
+public final class SpscQueue<T> {
+    /** Node preceding the first element; owned by the consumer */
+    private Node<T> head;
+
+    /** Node holding the last element, or the head if the queue is empty; owned by the producer */
+    private Node<T> tail;
+
+    /**
+     * Creates a new, empty queue.
+     */
+    public SpscQueue() {
+        this.head = new Node<>(null);
+        this.tail = this.head;
+    }
+
+    /**
+     * Adds the given element to the back of the queue. Must only be called by the producer.
+     * @param element - element to add, which must not be null
+     * @throws NullPointerException if element is null
+     */
+    public void offer(T element) {
+        if (element == null) {
+            throw new NullPointerException("SpscQueue does not accept null elements");
+        }
+        Node<T> node = new Node<>(element);
+        // the volatile write publishes the node and its element to the consumer
+        this.tail.next = node;
+        this.tail = node;
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue. Must only be called by the
+     * consumer.
+     * @return element at the front, or null if the queue is empty
+     */
+    public T poll() {
+        Node<T> next = this.head.next;
+        if (next == null) {
+            return null;
+        }
+        T element = next.element;
+        // the polled node becomes the new head, so drop its reference to the element
+        next.element = null;
+        this.head = next;
+        return element;
+    }
+
+    /**
+     * Returns true if the queue has no elements available to the consumer. Must only be called
+     * by the consumer.
+     * @return true if empty; false otherwise
+     */
+    public boolean isEmpty() {
+        return this.head.next == null;
+    }
+
+    /**
+     * Link in the queue.
+     * @param <T> type of element held in the node
+     */
+    private static final class Node<T> {
+        /** Element held in this node; null once polled */
+        private T element;
+
+        /** Next node towards the tail, or null if this is the tail */
+        private volatile Node<T> next;
+
+        /**
+         * Creates a new node holding the given element.
+         * @param element - element to hold
+         */
+        private Node(T element) {
+            this.element = element;
+        }
+    }
+}
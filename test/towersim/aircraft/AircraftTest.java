@@ -0,0 +1,120 @@
+package towersim.aircraft;
+
+import org.junit.Test;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.Centilitres;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class AircraftTest {
+    // load percentages of the LOAD tasks tried for each model
+    private static final int[] LOAD_PERCENTS = {0, 1, 10, 33, 50, 67, 99, 100};
+
+    // creates an aircraft of the given model with the given current task
+    private static Aircraft createAircraft(AircraftCharacteristics model, TaskType current,
+            int loadPercent, double fuelAmount) {
+        List<TaskType> cycle = List.of(TaskType.WAIT, TaskType.LOAD, TaskType.TAKEOFF,
+                TaskType.AWAY, TaskType.LAND);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < cycle.size(); i++) {
+            TaskType type = cycle.get((cycle.indexOf(current) + i) % cycle.size());
+            tasks.add(type == TaskType.LOAD ? new Task(type, loadPercent) : new Task(type));
+        }
+        return model.passengerCapacity > 0
+                ? new PassengerAircraft("FUEL01", model, new TaskList(tasks), fuelAmount, 0)
+                : new FreightAircraft("FUEL01", model, new TaskList(tasks), fuelAmount, 0);
+    }
+
+    // the fuel amounts tried for each model, in litres: empty, partly full and full
+    private static double[] startingFuel(AircraftCharacteristics model) {
+        return new double[] {0, Math.floor(model.fuelCapacity / 3) + 0.37,
+                model.fuelCapacity / 2, model.fuelCapacity};
+    }
+
+    // formats an amount of fuel as encode() did when fuel was held as a double
+    private static String oldFormat(double litres) {
+        return new BigDecimal(litres).setScale(2, RoundingMode.UP).toPlainString();
+    }
+
+    @Test
+    public void loadingFillsTheTankAsDoubleArithmeticDid() {
+        for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+            for (int loadPercent : LOAD_PERCENTS) {
+                for (double fuel : startingFuel(model)) {
+                    Aircraft aircraft = createAircraft(model, TaskType.LOAD, loadPercent, fuel);
+                    int loadingTime = aircraft.getLoadingTime();
+                    String context = model + " loading " + loadPercent + "% from " + fuel;
+
+                    double oldFuel = fuel;
+                    for (int tick = 1; tick <= loadingTime; tick++) {
+                        aircraft.tick();
+                        oldFuel = Math.min(model.fuelCapacity,
+                                oldFuel + model.fuelCapacity / loadingTime);
+                        // each tick's share is rounded up by less than a centilitre
+                        double difference = aircraft.getFuelCentilitres()
+                                - oldFuel * Centilitres.PER_LITRE;
+                        assertTrue(context + ", tick " + tick,
+                                difference > -1e-6 && difference < tick);
+                    }
+                    assertEquals(context, model.fuelCapacityCentilitres,
+                            aircraft.getFuelCentilitres());
+                    assertEquals(context, Centilitres.fromLitres(oldFuel),
+                            aircraft.getFuelCentilitres());
+                    assertEquals(context, 100, aircraft.getFuelPercentRemaining());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void awayTicksBurnFuelAsDoubleArithmeticDid() {
+        for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+            for (double fuel : startingFuel(model)) {
+                Aircraft aircraft = createAircraft(model, TaskType.AWAY, 50, fuel);
+                double oldFuel = fuel;
+                for (int tick = 1; tick <= 12; tick++) {
+                    aircraft.tick();
+                    oldFuel = Math.max(0, oldFuel - model.fuelCapacity / 10);
+                    String context = model + " away from " + fuel + ", tick " + tick;
+                    assertEquals(context, Centilitres.fromLitres(oldFuel),
+                            aircraft.getFuelCentilitres());
+                    assertEquals(context, oldFuel, aircraft.getFuelAmount(), 1e-9);
+                    // amounts that doubles held inexactly were rounded up past the amount
+                    if (new BigDecimal(oldFuel).stripTrailingZeros().scale() <= 2) {
+                        assertEquals(context, oldFormat(oldFuel),
+                                Centilitres.format(aircraft.getFuelCentilitres()));
+                    }
+                }
+                assertEquals(0, aircraft.getFuelCentilitres());
+            }
+        }
+    }
+
+    @Test
+    public void fuelIsRoundedToNearestCentilitre() {
+        AircraftCharacteristics model = AircraftCharacteristics.AIRBUS_A320;
+        assertEquals(1000000, createAircraft(model, TaskType.WAIT, 50, 10000.004)
+                .getFuelCentilitres());
+        assertEquals(1000001, createAircraft(model, TaskType.WAIT, 50, 10000.006)
+                .getFuelCentilitres());
+        assertEquals(model.fuelCapacityCentilitres, createAircraft(model, TaskType.WAIT, 50,
+                model.fuelCapacity).getFuelCentilitres());
+    }
+
+    @Test
+    public void hashCodeMatchesObjectsHash() {
+        for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+            Aircraft aircraft = createAircraft(model, TaskType.WAIT, 50, 0);
+            assertEquals(model.name(), Objects.hash(aircraft.getCallsign(), model),
+                    aircraft.hashCode());
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ControlTowerTest {
+    // empty control tower with three airplane terminals of two gates each
+    private ControlTower tower;
+
+    @Before
+    public void setup() throws NoSpaceException {
+        this.tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        for (int number = 1; number <= 3; number++) {
+            Terminal terminal = new AirplaneTerminal(number);
+            terminal.addGate(new Gate(number * 10 + 1));
+            terminal.addGate(new Gate(number * 10 + 2));
+            this.tower.addTerminal(terminal);
+        }
+    }
+
+    // creates an airplane waiting at a gate, which loads and takes off after a few ticks
+    private static Aircraft createParkedAircraft(String callsign) {
+        return new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(
+                        new Task(TaskType.WAIT),
+                        new Task(TaskType.LOAD, 50),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))),
+                10000.00, 0);
+    }
+
+    // creates an airplane with the given current task, followed by a valid task cycle
+    private static Aircraft createAircraft(String callsign, TaskType current) {
+        List<TaskType> cycle = List.of(TaskType.WAIT, TaskType.LOAD, TaskType.TAKEOFF,
+                TaskType.AWAY, TaskType.LAND);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < cycle.size(); i++) {
+            TaskType type = cycle.get((cycle.indexOf(current) + i) % cycle.size());
+            tasks.add(type == TaskType.LOAD ? new Task(type, 50) : new Task(type));
+        }
+        return new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(tasks), 10000.00, 0);
+    }
+
+    // returns the number of the terminal the given aircraft is parked in, or -1 if none
+    private static int terminalNumberOf(ControlTower tower, Aircraft aircraft) {
+        for (Terminal terminal : tower.getTerminals()) {
+            for (Gate gate : terminal.getGates()) {
+                if (gate.getAircraftAtGate() == aircraft) {
+                    return terminal.getTerminalNumber();
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void restoreCarriesOnFromSnapshotGateAssignment() throws NoSuitableGateException {
+        this.tower.setGateAssignmentStrategy(GateAssignment.ROUND_ROBIN.create());
+        ControlTower snapshot = this.tower.fork();
+
+        Aircraft first = createParkedAircraft("ABC001");
+        this.tower.addAircraft(first);
+        assertEquals(1, terminalNumberOf(this.tower, first));
+
+        // the round-robin cursor moved on to terminal 2, but the snapshot's is at terminal 1
+        this.tower.restore(snapshot);
+        assertNotSame(snapshot.getGateAssignmentStrategy(),
+                this.tower.getGateAssignmentStrategy());
+        Aircraft second = createParkedAircraft("ABC002");
+        this.tower.addAircraft(second);
+        assertEquals(1, terminalNumberOf(this.tower, second));
+
+        // the snapshot's strategy is left unchanged by the restored tower's choices
+        Aircraft third = createParkedAircraft("ABC003");
+        ControlTower other = snapshot.fork();
+        other.addAircraft(third);
+        assertEquals(1, terminalNumberOf(other, third));
+    }
+
+    @Test
+    public void removeAircraftKeepsTheOrderAircraftWereAddedIn()
+            throws NoSuitableGateException {
+        Aircraft parked = createAircraft("ABC001", TaskType.WAIT);
+        Aircraft removed = createAircraft("ABC002", TaskType.AWAY);
+        Aircraft landing = createAircraft("ABC003", TaskType.LAND);
+        Aircraft loading = createAircraft("ABC004", TaskType.LOAD);
+        Aircraft takingOff = createAircraft("ABC005", TaskType.TAKEOFF);
+        Aircraft away = createAircraft("ABC006", TaskType.AWAY);
+        for (Aircraft aircraft : List.of(parked, removed, landing, loading, takingOff, away)) {
+            this.tower.addAircraft(aircraft);
+        }
+        int loadingTime = this.tower.getLoadingAircraft().get(loading);
+
+        this.tower.removeAircraft(removed);
+        List<Aircraft> remaining = List.of(parked, landing, loading, takingOff, away);
+        assertEquals(remaining, this.tower.getAircraft());
+        for (int id = 0; id < remaining.size(); id++) {
+            assertEquals(id, remaining.get(id).getId());
+            assertSame(remaining.get(id), this.tower.getAircraft(id));
+        }
+
+        // queue, loading and gate state moved with each aircraft
+        assertTrue(this.tower.getLandingQueue().containsAircraft(landing));
+        assertFalse(this.tower.getLandingQueue().containsAircraft(loading));
+        assertTrue(this.tower.getTakeoffQueue().containsAircraft(takingOff));
+        assertFalse(this.tower.getTakeoffQueue().containsAircraft(away));
+        assertEquals(1, this.tower.getLoadingAircraft().size());
+        assertEquals(loadingTime, (int) this.tower.getLoadingAircraft().get(loading));
+        assertNotNull(this.tower.findGateOfAircraft(parked));
+        assertNotNull(this.tower.findGateOfAircraft(loading));
+        assertNull(this.tower.findGateOfAircraft(away));
+
+        // the removed aircraft can be removed from the end, and added again at the end
+        this.tower.removeAircraft(away);
+        this.tower.addAircraft(removed);
+        assertEquals(List.of(parked, landing, loading, takingOff, removed),
+                this.tower.getAircraft());
+        assertEquals(4, removed.getId());
+    }
+
+    // returns the encodings of the given aircraft
+    private static List<String> encode(List<Aircraft> aircraft) {
+        List<String> encodings = new ArrayList<>();
+        for (Aircraft plane : aircraft) {
+            encodings.add(plane.encode());
+        }
+        return encodings;
+    }
+
+    @Test
+    public void boundedAccessorsMatchFullOnesInEveryMode() {
+        for (SimulationMode mode : SimulationMode.values()) {
+            ControlTower tower = GeneratedTowers.create(47, 200);
+            tower.setSimulationMode(mode);
+            ControlTower expected = GeneratedTowers.create(47, 200);
+            // held from the start, since getting an aircraft by ID synchronises every aircraft
+            List<Aircraft> fleet = tower.getAircraft();
+            for (int tick = 1; tick <= 120; tick++) {
+                tower.tick();
+                expected.tick();
+                if (tick % 7 != 0) {
+                    continue;
+                }
+                String context = mode + ", tick " + tick;
+
+                List<Aircraft> away = new ArrayList<>();
+                Aircraft loading = null;
+                for (Aircraft aircraft : expected.getAircraft()) {
+                    TaskType type = aircraft.getTaskList().getCurrentTask().getType();
+                    if (type == TaskType.AWAY) {
+                        away.add(aircraft);
+                    } else if (type == TaskType.LOAD && loading == null) {
+                        loading = aircraft;
+                    }
+                }
+                for (int count : new int[] {0, 5, fleet.size()}) {
+                    assertEquals(context, encode(away.subList(0, Math.min(count, away.size()))),
+                            encode(tower.getFirstAircraftWithTask(TaskType.AWAY, count)));
+                }
+
+                // a loading aircraft can be brought up to date on its own
+                if (loading != null) {
+                    Aircraft actual = fleet.get(loading.getId());
+                    tower.synchronise(actual);
+                    assertEquals(context, loading.encode(), actual.encode());
+                    assertEquals(context, (int) expected.getLoadingAircraft().get(loading),
+                            tower.getLoadingMap().getOrDefault(actual.getId(), -1));
+                }
+
+                for (AircraftQueue queue : List.of(tower.getLandingQueue(),
+                        tower.getTakeoffQueue())) {
+                    List<Aircraft> inOrder = queue.getAircraftInOrder();
+                    for (int count = 0; count <= inOrder.size() + 1; count++) {
+                        assertEquals(context, inOrder.subList(0, Math.min(count, inOrder.size())),
+                                queue.getFirstAircraftInOrder(count));
+                    }
+                }
+                assertEquals(context, TowerStates.describe(expected),
+                        TowerStates.describe(tower));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void firstAircraftWithTaskRejectsNegativeCount() {
+        this.tower.getFirstAircraftWithTask(TaskType.AWAY, -1);
+    }
+
+    @Test
+    public void forkTicksLikeTheOriginal() {
+        ControlTower original = GeneratedTowers.create(35, 200);
+        ControlTower fork = original.fork();
+        assertEquals(TowerStates.describe(original), TowerStates.describe(fork));
+        for (int tick = 1; tick <= 100; tick++) {
+            original.tick();
+            fork.tick();
+        }
+        assertEquals(TowerStates.describe(original), TowerStates.describe(fork));
+    }
+
+    @Test
+    public void forkIsIndependentOfTheOriginal() {
+        ControlTower original = GeneratedTowers.create(35, 200);
+        String before = TowerStates.describe(original);
+        ControlTower fork = original.fork();
+        fork.setEmergency(fork.getTerminals().get(0), true);
+        fork.setEmergency(fork.getAircraft().get(0), true);
+        for (int tick = 1; tick <= 30; tick++) {
+            fork.tick();
+        }
+        assertEquals(before, TowerStates.describe(original));
+        assertFalse(original.getTerminals().get(0).hasEmergency());
+        assertFalse(original.getAircraft().get(0).hasEmergency());
+        assertNotEquals(before, TowerStates.describe(fork));
+    }
+
+    @Test
+    public void restoreReturnsToTheSnapshot() {
+        ControlTower tower = GeneratedTowers.create(35, 200);
+        ControlTower snapshot = tower.fork();
+        String before = TowerStates.describe(tower);
+        tower.setEmergency(tower.getTerminals().get(1), true);
+        for (int tick = 1; tick <= 30; tick++) {
+            tower.tick();
+        }
+        tower.restore(snapshot);
+        assertEquals(before, TowerStates.describe(tower));
+        assertEquals(before, TowerStates.describe(snapshot));
+
+        // the restored tower runs on as the snapshot would, without changing the snapshot
+        ControlTower other = snapshot.fork();
+        for (int tick = 1; tick <= 50; tick++) {
+            tower.tick();
+            other.tick();
+        }
+        assertEquals(TowerStates.describe(other), TowerStates.describe(tower));
+        assertEquals(before, TowerStates.describe(snapshot));
+    }
+}
@@ -0,0 +1,105 @@
+package towersim.control;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EventDrivenEngineTest {
+    // number of ticks each pair of towers is run for
+    private static final int NUM_TICKS = 300;
+
+    // creates a generated tower advanced by the given mode
+    private static ControlTower createTower(long seed, SimulationMode mode) {
+        ControlTower tower = GeneratedTowers.create(seed, 300);
+        tower.setSimulationMode(mode);
+        return tower;
+    }
+
+    // declares and clears emergencies on the given tick, as a controller might
+    private static void applyInputs(ControlTower tower, int tick) {
+        if (tick % 40 == 10) {
+            tower.setEmergency(tower.getTerminals().get(tick / 40 % 5), true);
+        } else if (tick % 40 == 25) {
+            tower.setEmergency(tower.getTerminals().get(tick / 40 % 5), false);
+        }
+        if (tick % 60 == 30) {
+            int index = tick % tower.getAircraft().size();
+            tower.setEmergency(tower.getAircraft().get(index), true);
+        } else if (tick % 60 == 45) {
+            int index = (tick - 15) % tower.getAircraft().size();
+            tower.setEmergency(tower.getAircraft().get(index), false);
+        }
+    }
+
+    @Test
+    public void matchesTickByTickWhenObservedEveryTick() {
+        for (long seed = 1; seed <= 3; seed++) {
+            ControlTower expected = createTower(seed, SimulationMode.TICK_BY_TICK);
+            ControlTower actual = createTower(seed, SimulationMode.EVENT_DRIVEN);
+            for (int tick = 1; tick <= NUM_TICKS; tick++) {
+                applyInputs(expected, tick);
+                applyInputs(actual, tick);
+                expected.tick();
+                actual.tick();
+                assertEquals("seed " + seed + ", tick " + tick, TowerStates.describe(expected),
+                        TowerStates.describe(actual));
+            }
+        }
+    }
+
+    @Test
+    public void matchesTickByTickWhenObservedRarely() {
+        for (long seed = 1; seed <= 3; seed++) {
+            ControlTower expected = createTower(seed, SimulationMode.TICK_BY_TICK);
+            ControlTower actual = createTower(seed, SimulationMode.EVENT_DRIVEN);
+            for (int tick = 1; tick <= NUM_TICKS; tick++) {
+                expected.tick();
+                actual.tick();
+                // the counts are kept up to date without bringing every aircraft up to date
+                assertEquals(expected.getNumLandings(), actual.getNumLandings());
+                assertEquals(expected.getNumTakeoffs(), actual.getNumTakeoffs());
+                assertEquals(expected.getLandingQueue().size(),
+                        actual.getLandingQueue().size());
+                if (tick % 97 == 0) {
+                    assertEquals("seed " + seed + ", tick " + tick,
+                            TowerStates.describe(expected), TowerStates.describe(actual));
+                }
+            }
+            assertEquals(TowerStates.describe(expected), TowerStates.describe(actual));
+        }
+    }
+
+    @Test
+    public void switchingModesMidRunKeepsTheState() {
+        ControlTower expected = createTower(4, SimulationMode.TICK_BY_TICK);
+        ControlTower actual = createTower(4, SimulationMode.TICK_BY_TICK);
+        for (int tick = 1; tick <= NUM_TICKS; tick++) {
+            if (tick % 50 == 0) {
+                actual.setSimulationMode(actual.getSimulationMode() == SimulationMode.EVENT_DRIVEN
+                        ? SimulationMode.TICK_BY_TICK : SimulationMode.EVENT_DRIVEN);
+            }
+            applyInputs(expected, tick);
+            applyInputs(actual, tick);
+            expected.tick();
+            actual.tick();
+        }
+        assertEquals(TowerStates.describe(expected), TowerStates.describe(actual));
+    }
+
+    @Test
+    public void forkOfEventDrivenTowerMatchesTickByTick() {
+        ControlTower expected = createTower(5, SimulationMode.TICK_BY_TICK);
+        ControlTower actual = createTower(5, SimulationMode.EVENT_DRIVEN);
+        for (int tick = 1; tick <= 100; tick++) {
+            expected.tick();
+            actual.tick();
+        }
+        ControlTower fork = actual.fork();
+        assertEquals(SimulationMode.EVENT_DRIVEN, fork.getSimulationMode());
+        for (int tick = 101; tick <= NUM_TICKS; tick++) {
+            expected.tick();
+            fork.tick();
+        }
+        assertEquals(TowerStates.describe(expected), TowerStates.describe(fork));
+    }
+}
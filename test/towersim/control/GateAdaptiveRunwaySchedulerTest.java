@@ -0,0 +1,117 @@
+package towersim.control;
+
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import static org.junit.Assert.*;
+
+public class GateAdaptiveRunwaySchedulerTest {
+    // seed of the generated traffic
+    private static final long SEED = 40;
+
+    // number of aircraft generated
+    private static final int NUM_AIRCRAFT = 200;
+
+    // chooses the runway use as the gate-adaptive policy did by scanning every gate
+    private static RunwayUse scanGates(ControlTower tower, long tickNumber) {
+        Aircraft next = tower.getLandingQueue().peekAircraft();
+        if (next == null) {
+            return RunwayUse.TAKEOFF_FIRST;
+        }
+        try {
+            tower.findUnoccupiedGate(next);
+        } catch (NoSuitableGateException e) {
+            return RunwayUse.TAKEOFF_FIRST;
+        }
+        AircraftType type = next.getCharacteristics().type;
+        int gates = 0;
+        int freeGates = 0;
+        for (Terminal terminal : tower.getTerminals()) {
+            if (terminal.hasEmergency() || !IndexedGateAssignment.accepts(terminal, type)) {
+                continue;
+            }
+            for (Gate gate : terminal.getGates()) {
+                gates++;
+                if (!gate.isOccupied()) {
+                    freeGates++;
+                }
+            }
+        }
+        return 2 * freeGates >= gates || tickNumber % 2 == 0
+                ? RunwayUse.LAND_FIRST : RunwayUse.TAKEOFF_FIRST;
+    }
+
+    // a gate-adaptive scheduler that checks every choice against a scan of the gates
+    private static final class CheckedScheduler implements RunwayScheduler {
+        private final RunwayScheduler scheduler = new GateAdaptiveRunwayScheduler();
+
+        // number of choices checked
+        private int numChecked;
+
+        @Override
+        public RunwayUse chooseRunwayUse(ControlTower tower, long tickNumber) {
+            RunwayUse use = this.scheduler.chooseRunwayUse(tower, tickNumber);
+            assertEquals("tick " + tickNumber, scanGates(tower, tickNumber), use);
+            this.numChecked++;
+            return use;
+        }
+    }
+
+    @Test
+    public void matchesScanOfGatesInEveryMode() {
+        for (SimulationMode mode : SimulationMode.values()) {
+            ControlTower tower = GeneratedTowers.create(SEED, NUM_AIRCRAFT, 3, 2, 4, 0.75);
+            tower.setSimulationMode(mode);
+            CheckedScheduler scheduler = new CheckedScheduler();
+            tower.setRunwayScheduler(scheduler);
+            for (int tick = 0; tick < 150; tick++) {
+                tower.tick();
+            }
+            assertTrue(mode.toString(), scheduler.numChecked > 0);
+        }
+    }
+
+    @Test
+    public void matchesScanOfGatesAfterChangesBetweenTicks() throws NoSpaceException {
+        ControlTower tower = GeneratedTowers.create(SEED, NUM_AIRCRAFT, 2, 1, 3, 0.9);
+        CheckedScheduler scheduler = new CheckedScheduler();
+        tower.setRunwayScheduler(scheduler);
+        for (int tick = 1; tick <= 120; tick++) {
+            switch (tick) {
+                case 20:
+                    tower.setEmergency(tower.getTerminals().get(0), true);
+                    break;
+                case 40:
+                    tower.setEmergency(tower.getTerminals().get(0), false);
+                    break;
+                case 60:
+                    Terminal terminal = new AirplaneTerminal(50);
+                    for (int gate = 0; gate < 6; gate++) {
+                        terminal.addGate(new Gate(500 + gate));
+                    }
+                    tower.addTerminal(terminal);
+                    break;
+                case 80:
+                    // gates added directly are counted once the change is recorded
+                    tower.getTerminals().get(1).addGate(new Gate(600));
+                    tower.markChanged();
+                    break;
+                default:
+                    break;
+            }
+            tower.tick();
+        }
+        assertTrue(scheduler.numChecked > 0);
+    }
+
+    @Test
+    public void policyCreatesGateAdaptiveScheduler() {
+        assertTrue(RunwayPolicy.GATE_ADAPTIVE.create() instanceof GateAdaptiveRunwayScheduler);
+    }
+}
@@ -0,0 +1,345 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.AircraftType;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GateAssignmentTest {
+    // empty control tower with airplane terminals 1, 3 and 4 and helicopter terminal 2
+    private ControlTower tower;
+
+    // number of aircraft created so far, for unique callsigns
+    private int numCreated;
+
+    @Before
+    public void setup() throws NoSpaceException {
+        this.tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        this.tower.addTerminal(createTerminal(new AirplaneTerminal(1), 2));
+        this.tower.addTerminal(createTerminal(new HelicopterTerminal(2), 2));
+        this.tower.addTerminal(createTerminal(new AirplaneTerminal(3), 3));
+        this.tower.addTerminal(createTerminal(new AirplaneTerminal(4), 2));
+        this.numCreated = 0;
+    }
+
+    // adds the given number of gates, numbered from terminal number * 10 + 1, to a terminal
+    private static Terminal createTerminal(Terminal terminal, int numGates)
+            throws NoSpaceException {
+        for (int gate = 1; gate <= numGates; gate++) {
+            terminal.addGate(new Gate(terminal.getTerminalNumber() * 10 + gate));
+        }
+        return terminal;
+    }
+
+    // creates an aircraft of the given model with the given current task
+    private Aircraft createAircraft(AircraftCharacteristics model, TaskType current) {
+        List<TaskType> cycle = List.of(TaskType.WAIT, TaskType.LOAD, TaskType.TAKEOFF,
+                TaskType.AWAY, TaskType.LAND);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < cycle.size(); i++) {
+            TaskType type = cycle.get((cycle.indexOf(current) + i) % cycle.size());
+            tasks.add(type == TaskType.LOAD ? new Task(type, 10) : new Task(type));
+        }
+        this.numCreated++;
+        return new PassengerAircraft(String.format("GTE%03d", this.numCreated), model,
+                new TaskList(tasks), model.fuelCapacity / 2, 0);
+    }
+
+    // creates an airplane waiting at a gate
+    private Aircraft createAirplane() {
+        return this.createAircraft(AircraftCharacteristics.AIRBUS_A320, TaskType.WAIT);
+    }
+
+    // adds an airplane waiting at a gate, returning the number of the gate it parked at
+    private int parkAirplane() throws NoSuitableGateException {
+        Aircraft aircraft = this.createAirplane();
+        this.tower.addAircraft(aircraft);
+        return this.tower.findGateOfAircraft(aircraft).getGateNumber();
+    }
+
+    // returns the number of the gate the tower would choose for a new airplane
+    private int chooseForAirplane() throws NoSuitableGateException {
+        return this.tower.findUnoccupiedGate(this.createAirplane()).getGateNumber();
+    }
+
+    // the gate chosen by ControlTower.findUnoccupiedGate before strategies were pluggable
+    private static Gate baselineGate(ControlTower tower, Aircraft aircraft)
+            throws NoSuitableGateException {
+        AircraftType aircraftType = aircraft.getCharacteristics().type;
+        for (Terminal terminal : tower.getTerminals()) {
+            if (!terminal.hasEmergency()
+                    && ((terminal instanceof AirplaneTerminal
+                    && aircraftType == AircraftType.AIRPLANE)
+                    || (terminal instanceof HelicopterTerminal
+                    && aircraftType == AircraftType.HELICOPTER))) {
+                try {
+                    return terminal.findUnoccupiedGate();
+                } catch (NoSuitableGateException e) {
+                    // try the next terminal
+                }
+            }
+        }
+        throw new NoSuitableGateException("No gate available for aircraft");
+    }
+
+    // returns the gate chosen by the given strategy, or null if it finds none
+    private static Gate choose(GateAssignmentStrategy strategy, ControlTower tower,
+            Aircraft aircraft) {
+        try {
+            return strategy.chooseGate(tower, aircraft);
+        } catch (NoSuitableGateException e) {
+            return null;
+        }
+    }
+
+    // returns the gate chosen by the baseline search, or null if it finds none
+    private static Gate chooseBaseline(ControlTower tower, Aircraft aircraft) {
+        try {
+            return baselineGate(tower, aircraft);
+        } catch (NoSuitableGateException e) {
+            return null;
+        }
+    }
+
+    @Test
+    public void firstFitTakesFirstGateOfFirstSuitableTerminal()
+            throws NoSuitableGateException {
+        assertTrue(this.tower.getGateAssignmentStrategy() instanceof FirstFitGateAssignment);
+        assertEquals(11, this.parkAirplane());
+        assertEquals(12, this.parkAirplane());
+        assertEquals(31, this.parkAirplane());
+
+        Aircraft helicopter = this.createAircraft(AircraftCharacteristics.ROBINSON_R44,
+                TaskType.WAIT);
+        this.tower.addAircraft(helicopter);
+        assertEquals(21, this.tower.findGateOfAircraft(helicopter).getGateNumber());
+
+        this.tower.setEmergency(this.tower.getTerminals().get(2), true);
+        assertEquals(41, this.chooseForAirplane());
+    }
+
+    @Test
+    public void leastOccupiedTakesLeastOccupiedTerminalFirstAddedOnTies()
+            throws NoSuitableGateException {
+        this.tower.setGateAssignmentStrategy(GateAssignment.LEAST_OCCUPIED.create());
+        // all empty: terminal 1 was added first
+        assertEquals(11, this.parkAirplane());
+        // 50%, 0%, 0%: terminal 3 before terminal 4
+        assertEquals(31, this.parkAirplane());
+        // 50%, 33%, 0%
+        assertEquals(41, this.parkAirplane());
+        // 50%, 33%, 50%
+        assertEquals(32, this.parkAirplane());
+        // 50%, 67%, 50%: terminal 1 before terminal 4
+        assertEquals(12, this.parkAirplane());
+        assertEquals(42, this.parkAirplane());
+        assertEquals(33, this.parkAirplane());
+        try {
+            this.chooseForAirplane();
+            fail("Every airplane gate is occupied");
+        } catch (NoSuitableGateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void terminalEmergencyIsSkippedWithoutMarkingChange()
+            throws NoSuitableGateException, NoSpaceException {
+        for (GateAssignment assignment : GateAssignment.values()) {
+            this.setup();
+            this.tower.setGateAssignmentStrategy(assignment.create());
+            this.parkAirplane();
+            // declared on the terminal itself, so the index is not rebuilt
+            Terminal first = this.tower.getTerminals().get(0);
+            first.declareEmergency();
+            // terminals 3 and 4 fill up while terminal 1 keeps a free gate
+            int parked = 1;
+            try {
+                while (true) {
+                    assertNotEquals(assignment.toString(), 1, this.parkAirplane() / 10);
+                    parked++;
+                }
+            } catch (NoSuitableGateException expected) {
+                // expected
+            }
+            assertTrue(assignment.toString(), parked >= 5);
+            first.clearEmergency();
+            assertEquals(assignment.toString(), 1, this.chooseForAirplane() / 10);
+        }
+    }
+
+    @Test
+    public void roundRobinTakesSuitableTerminalsInTurn() throws NoSuitableGateException {
+        this.tower.setGateAssignmentStrategy(GateAssignment.ROUND_ROBIN.create());
+        assertEquals(11, this.parkAirplane());
+        // the helicopter terminal is skipped
+        assertEquals(31, this.parkAirplane());
+        assertEquals(41, this.parkAirplane());
+        assertEquals(12, this.parkAirplane());
+        assertEquals(32, this.parkAirplane());
+        assertEquals(42, this.parkAirplane());
+        // terminals 1 and 4 are full
+        assertEquals(33, this.parkAirplane());
+        try {
+            this.chooseForAirplane();
+            fail("Every airplane gate is occupied");
+        } catch (NoSuitableGateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void roundRobinCarriesOnAfterHelicopterTerminal() throws NoSuitableGateException {
+        this.tower.setGateAssignmentStrategy(GateAssignment.ROUND_ROBIN.create());
+        Aircraft helicopter = this.createAircraft(AircraftCharacteristics.ROBINSON_R44,
+                TaskType.WAIT);
+        this.tower.addAircraft(helicopter);
+        assertEquals(21, this.tower.findGateOfAircraft(helicopter).getGateNumber());
+        // the next search starts after the helicopter terminal
+        assertEquals(31, this.parkAirplane());
+    }
+
+    @Test
+    public void leastCostTakesCheapestGateFirstAddedOnTies() throws NoSuitableGateException {
+        this.tower.setGateAssignmentStrategy(GateAssignment.LEAST_COST.create());
+        // occupancy with the aircraft parked: 50%, 33%, 50%
+        assertEquals(31, this.parkAirplane());
+        // 50%, 67% + 5, 50%: terminal 1 before terminal 4
+        assertEquals(11, this.parkAirplane());
+        // 100% + 5, 67% + 5, 50%
+        assertEquals(41, this.parkAirplane());
+        // 100% + 5, 67% + 5, 100% + 5
+        assertEquals(32, this.parkAirplane());
+        // 100% + 5, 100% + 10, 100% + 5
+        assertEquals(12, this.parkAirplane());
+    }
+
+    @Test
+    public void costBasedUsesGivenCost() throws NoSuitableGateException {
+        // prefers the last gate of the largest terminal
+        this.tower.setGateAssignmentStrategy(new CostBasedGateAssignment(
+                (terminal, position, aircraft) -> -position));
+        assertEquals(33, this.parkAirplane());
+        // equal costs: the first gate of the first terminal
+        this.tower.setGateAssignmentStrategy(new CostBasedGateAssignment(
+                (terminal, position, aircraft) -> 0));
+        assertEquals(11, this.parkAirplane());
+        assertEquals(12, this.parkAirplane());
+        assertEquals(31, this.parkAirplane());
+    }
+
+    @Test
+    public void releasedGatesAreChosenAgain()
+            throws NoSuitableGateException, NoSpaceException {
+        for (GateAssignment assignment : GateAssignment.values()) {
+            this.setup();
+            this.tower.setGateAssignmentStrategy(assignment.create());
+            Aircraft loading = this.createAircraft(AircraftCharacteristics.AIRBUS_A320,
+                    TaskType.LOAD);
+            this.tower.addAircraft(loading);
+            int loadingGate = this.tower.findGateOfAircraft(loading).getGateNumber();
+            List<Aircraft> waiting = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                Aircraft aircraft = this.createAirplane();
+                this.tower.addAircraft(aircraft);
+                waiting.add(aircraft);
+            }
+            assertNull(assignment + " with every gate occupied",
+                    choose(this.tower.getGateAssignmentStrategy(), this.tower,
+                            this.createAirplane()));
+
+            // the gate is released when the aircraft finishes loading and leaves for takeoff
+            for (int tick = 0; tick < 1000 && this.tower.getLoadingAircraft()
+                    .containsKey(loading); tick++) {
+                this.tower.loadAircraft();
+            }
+            assertNull(this.tower.findGateOfAircraft(loading));
+            assertEquals(assignment + " after loading", loadingGate, this.chooseForAirplane());
+
+            // the gate is released when the aircraft is handed off
+            this.tower.addAircraft(this.createAirplane());
+            Aircraft removed = waiting.get(3);
+            int removedGate = this.tower.findGateOfAircraft(removed).getGateNumber();
+            this.tower.removeAircraft(removed);
+            assertEquals(assignment + " after removal", removedGate,
+                    this.chooseForAirplane());
+
+            // the gate is unavailable while its terminal is in a state of emergency
+            Terminal terminal = this.tower.getTerminals().get(removedGate / 10 - 1);
+            this.tower.setEmergency(terminal, true);
+            assertNull(assignment + " during emergency",
+                    choose(this.tower.getGateAssignmentStrategy(), this.tower,
+                            this.createAirplane()));
+            this.tower.setEmergency(terminal, false);
+            assertEquals(assignment + " after emergency", removedGate,
+                    this.chooseForAirplane());
+        }
+    }
+
+    @Test
+    public void firstFitMatchesBaselineThroughARun() {
+        ControlTower generated = GeneratedTowers.create(39, 400, 4, 2, 5, 0.6);
+        Aircraft airplane = this.createAirplane();
+        Aircraft helicopter = this.createAircraft(AircraftCharacteristics.ROBINSON_R44,
+                TaskType.WAIT);
+        for (int tick = 1; tick <= 300; tick++) {
+            if (tick % 30 == 0) {
+                Terminal terminal = generated.getTerminals().get(tick / 30 % 6);
+                generated.setEmergency(terminal, !terminal.hasEmergency());
+            }
+            generated.tick();
+            for (Aircraft probe : List.of(airplane, helicopter)) {
+                assertSame("tick " + tick, chooseBaseline(generated, probe),
+                        choose(generated.getGateAssignmentStrategy(), generated, probe));
+            }
+        }
+        assertTrue(generated.getNumLandings() > 0);
+        assertTrue(generated.getNumTakeoffs() > 0);
+    }
+
+    @Test
+    public void indexedChoicesMatchFreshStrategyThroughARun() {
+        for (GateAssignment assignment : GateAssignment.values()) {
+            ControlTower generated = GeneratedTowers.create(39, 400, 4, 2, 5, 0.6);
+            generated.setGateAssignmentStrategy(assignment.create());
+            Aircraft airplane = this.createAirplane();
+            Aircraft helicopter = this.createAircraft(AircraftCharacteristics.ROBINSON_R44,
+                    TaskType.WAIT);
+            for (int tick = 1; tick <= 300; tick++) {
+                if (tick % 30 == 0) {
+                    Terminal terminal = generated.getTerminals().get(tick / 30 % 6);
+                    generated.setEmergency(terminal, !terminal.hasEmergency());
+                }
+                generated.tick();
+                for (Aircraft probe : List.of(airplane, helicopter)) {
+                    // a copy has no index yet, so it searches the tower's current gates
+                    GateAssignmentStrategy strategy = generated.getGateAssignmentStrategy();
+                    Gate chosen = choose(strategy, generated, probe);
+                    assertSame(assignment + ", tick " + tick,
+                            choose(strategy.copy(), generated, probe), chosen);
+                    if (chosen != null) {
+                        assertFalse(chosen.isOccupied());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package towersim.control;
+
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Control towers loaded from traffic generated by a TrafficGenerator, for tests that need a
+ * busy airport rather than a hand-written one.
+ */
+public final class GeneratedTowers {
+    private GeneratedTowers() {}
+
+    /**
+     * Creates a control tower from the traffic generated with the given seed.
+     * @param seed - seed of the traffic generator
+     * @param numAircraft - number of aircraft to generate
+     * @param numAirplaneTerminals - number of airplane terminals
+     * @param numHelicopterTerminals - number of helicopter terminals
+     * @param gatesPerTerminal - number of gates in each terminal
+     * @param gateOccupancy - probability that each gate is initially occupied
+     * @return control tower loaded from the generated save files
+     */
+    public static ControlTower create(long seed, int numAircraft, int numAirplaneTerminals,
+            int numHelicopterTerminals, int gatesPerTerminal, double gateOccupancy) {
+        TrafficGenerator generator = new TrafficGenerator(seed);
+        generator.setNumAircraft(numAircraft);
+        generator.setTerminals(numAirplaneTerminals, numHelicopterTerminals, gatesPerTerminal);
+        generator.setGateOccupancy(gateOccupancy);
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminalsWithGates = new StringWriter();
+        try {
+            generator.generate(tick, aircraft, queues, terminalsWithGates);
+            return ControlTowerInitialiser.createControlTower(
+                    new StringReader(tick.toString()),
+                    new StringReader(aircraft.toString()),
+                    new StringReader(queues.toString()),
+                    new StringReader(terminalsWithGates.toString()));
+        } catch (IOException | MalformedSaveException e) {
+            throw new AssertionError("Generated traffic could not be loaded", e);
+        }
+    }
+
+    /**
+     * Creates a control tower from the traffic generated with the given seed, with a mix of
+     * airplane and helicopter terminals that are partly occupied.
+     * @param seed - seed of the traffic generator
+     * @param numAircraft - number of aircraft to generate
+     * @return control tower loaded from the generated save files
+     */
+    public static ControlTower create(long seed, int numAircraft) {
+        return create(seed, numAircraft, 3, 2, 4, 0.5);
+    }
+}
@@ -190,6 +190,35 @@ public class LandingQueueTest {
                 landingQueueForTest.containsAircraft(firstAddedFreightAircraftForTest));
     }
 
+    @Test
+    public void getFirstAircraftInOrderTest1() {
+        // every prefix of the queue order, including more aircraft than are queued
+        landingQueueForTest.addAircraft(firstAddedFreightAircraftForTest);
+        landingQueueForTest.addAircraft(passengerAircraftForTest);
+        landingQueueForTest.addAircraft(emergencyAircraftForTest);
+        landingQueueForTest.addAircraft(secondlyAddedFreightAircraftForTest);
+        landingQueueForTest.addAircraft(lackFuelAircraftForTest);
+        List<Aircraft> inOrder = landingQueueForTest.getAircraftInOrder();
+        for (int count = 0; count <= inOrder.size() + 1; count++) {
+            assertEquals("The first " + count + " aircraft in order should be returned",
+                    inOrder.subList(0, Math.min(count, inOrder.size())),
+                    landingQueueForTest.getFirstAircraftInOrder(count));
+        }
+    }
+
+    @Test
+    public void getFirstAircraftInOrderTest2() {
+        // no aircraft in the queue
+        assertEquals("No aircraft should be in the queue",
+                new ArrayList<Aircraft>(), landingQueueForTest.getFirstAircraftInOrder(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getFirstAircraftInOrderTest3() {
+        // negative count
+        landingQueueForTest.getFirstAircraftInOrder(-1);
+    }
+
     @Test
     public void getAircraftInOrderTest1() {
         // no aircraft in the queue
@@ -0,0 +1,226 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.util.NoSuitableGateException;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SnapshotPublisherTest {
+    // seed of the generated traffic
+    private static final long SEED = 41;
+
+    // number of aircraft generated, filling one block and part of another
+    private static final int NUM_AIRCRAFT = TowerSnapshot.BLOCK_SIZE + 44;
+
+    // generated control tower publishing snapshots
+    private ControlTower tower;
+
+    @Before
+    public void setup() {
+        this.tower = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        this.tower.setPublishingSnapshots(true);
+    }
+
+    // describes an aircraft record
+    private static String describe(AircraftSnapshot record) {
+        return record.getId() + " " + record.getCallsign() + " "
+                + record.getCharacteristics().name() + " " + record.getCurrentTaskType() + " "
+                + record.getFuelAmount() + " " + record.hasEmergency() + " "
+                + record.getLoadingTicksRemaining() + " " + record.getTerminalNumber() + ":"
+                + record.getGateNumber();
+    }
+
+    // describes a terminal record
+    private static String describe(TerminalSnapshot record) {
+        StringBuilder text = new StringBuilder(record.toString());
+        for (int i = 0; i < record.getNumGates(); i++) {
+            text.append(' ').append(record.getGateNumber(i)).append('=')
+                    .append(record.getAircraftIdAtGate(i));
+        }
+        return text.toString();
+    }
+
+    // describes every part of a snapshot
+    private static String describe(TowerSnapshot snapshot) {
+        StringBuilder text = new StringBuilder(snapshot.toString()).append('\n')
+                .append(snapshot.getNumLandings()).append(' ')
+                .append(snapshot.getNumTakeoffs()).append('\n');
+        for (AircraftSnapshot record : snapshot.getAircraft()) {
+            text.append(describe(record)).append('\n');
+        }
+        for (List<AircraftSnapshot> ids : List.of(snapshot.getLandingQueue(),
+                snapshot.getTakeoffQueue(), snapshot.getLoadingAircraft())) {
+            for (AircraftSnapshot record : ids) {
+                text.append(record.getId()).append(' ');
+            }
+            text.append('\n');
+        }
+        for (TerminalSnapshot record : snapshot.getTerminals()) {
+            text.append(describe(record)).append('\n');
+        }
+        return text.toString();
+    }
+
+    // checks that the published snapshot matches one built from scratch
+    private static void assertMatchesTower(ControlTower tower) {
+        tower.synchronise();
+        TowerSnapshot fresh = new SnapshotPublisher().build(tower);
+        assertEquals(describe(fresh), describe(tower.getSnapshot()));
+    }
+
+    // checks that the later snapshot shares exactly the records that did not change
+    private static void assertSharesUnchanged(TowerSnapshot earlier, TowerSnapshot later) {
+        int numBlocks = (later.getNumAircraft() + TowerSnapshot.BLOCK_SIZE - 1)
+                / TowerSnapshot.BLOCK_SIZE;
+        for (int block = 0; block < numBlocks; block++) {
+            boolean blockChanged = false;
+            int first = block * TowerSnapshot.BLOCK_SIZE;
+            int end = Math.min(first + TowerSnapshot.BLOCK_SIZE, later.getNumAircraft());
+            for (int id = first; id < end; id++) {
+                AircraftSnapshot record = later.getAircraft(id);
+                boolean unchanged = id < earlier.getNumAircraft()
+                        && describe(earlier.getAircraft(id)).equals(describe(record));
+                if (unchanged) {
+                    assertSame("aircraft " + id, earlier.getAircraft(id), record);
+                } else {
+                    blockChanged = true;
+                }
+            }
+            if (block < (earlier.getNumAircraft() + TowerSnapshot.BLOCK_SIZE - 1)
+                    / TowerSnapshot.BLOCK_SIZE) {
+                assertEquals("block " + block, !blockChanged,
+                        earlier.getBlock(block) == later.getBlock(block));
+            }
+        }
+
+        boolean terminalsChanged = earlier.getTerminals().size() != later.getTerminals().size();
+        for (int i = 0; i < later.getTerminals().size(); i++) {
+            TerminalSnapshot record = later.getTerminals().get(i);
+            if (i < earlier.getTerminals().size()
+                    && describe(earlier.getTerminals().get(i)).equals(describe(record))) {
+                assertSame("terminal " + i, earlier.getTerminals().get(i), record);
+            } else {
+                terminalsChanged = true;
+            }
+        }
+        assertEquals(!terminalsChanged, earlier.getTerminals() == later.getTerminals());
+    }
+
+    // returns an aircraft that is neither queued nor loading, and so can be removed
+    private Aircraft findRemovable(int fromId) {
+        for (int id = fromId; id < this.tower.getAircraft().size(); id++) {
+            Aircraft aircraft = this.tower.getAircraft(id);
+            if (!this.tower.getLandingQueue().containsAircraft(aircraft)
+                    && !this.tower.getTakeoffQueue().containsAircraft(aircraft)
+                    && !this.tower.getLoadingAircraft().containsKey(aircraft)) {
+                return aircraft;
+            }
+        }
+        throw new AssertionError("No removable aircraft from ID " + fromId);
+    }
+
+    @Test
+    public void unchangedSnapshotIsSharedEntirely() {
+        TowerSnapshot first = this.tower.getSnapshot();
+        this.tower.publishSnapshot();
+        TowerSnapshot second = this.tower.getSnapshot();
+        assertNotSame(first, second);
+        assertSame(first.getBlock(0), second.getBlock(0));
+        assertSame(first.getBlock(1), second.getBlock(1));
+        assertSame(first.getTerminals(), second.getTerminals());
+        assertSame(first.getLandingQueueIds(), second.getLandingQueueIds());
+        assertSame(first.getTakeoffQueueIds(), second.getTakeoffQueueIds());
+        assertSame(first.getLoadingIds(), second.getLoadingIds());
+    }
+
+    @Test
+    public void changedAircraftGetNewRecords() {
+        TowerSnapshot before = this.tower.getSnapshot();
+        int changedId = TowerSnapshot.BLOCK_SIZE + 5;
+        this.tower.setEmergency(this.tower.getAircraft(changedId), true);
+        this.tower.publishSnapshot();
+        TowerSnapshot after = this.tower.getSnapshot();
+
+        assertNotSame(before.getAircraft(changedId), after.getAircraft(changedId));
+        assertFalse(before.getAircraft(changedId).hasEmergency());
+        assertTrue(after.getAircraft(changedId).hasEmergency());
+        // the rest of the changed block and the other block are shared
+        assertSame(before.getAircraft(changedId - 1), after.getAircraft(changedId - 1));
+        assertSame(before.getAircraft(changedId + 1), after.getAircraft(changedId + 1));
+        assertNotSame(before.getBlock(1), after.getBlock(1));
+        assertSame(before.getBlock(0), after.getBlock(0));
+        assertSharesUnchanged(before, after);
+        assertMatchesTower(this.tower);
+    }
+
+    @Test
+    public void ticksShareUnchangedRecordsInEveryMode() {
+        for (SimulationMode mode : SimulationMode.values()) {
+            this.setup();
+            this.tower.setSimulationMode(mode);
+            for (int tick = 0; tick < 40; tick++) {
+                TowerSnapshot before = this.tower.getSnapshot();
+                this.tower.tick();
+                assertSharesUnchanged(before, this.tower.getSnapshot());
+                assertMatchesTower(this.tower);
+            }
+        }
+    }
+
+    @Test
+    public void snapshotsStayCorrectAfterRemovingAircraft() throws NoSuitableGateException {
+        this.tower.tick();
+        // removing from the first block shifts every later aircraft down one ID
+        Aircraft removed = this.findRemovable(3);
+        this.tower.removeAircraft(removed);
+        this.tower.publishSnapshot();
+        assertEquals(NUM_AIRCRAFT - 1, this.tower.getSnapshot().getNumAircraft());
+        assertMatchesTower(this.tower);
+
+        // the last block keeps a stale record beyond the fleet, until another aircraft is added
+        TowerSnapshot shrunk = this.tower.getSnapshot();
+        this.tower.addAircraft(removed);
+        this.tower.publishSnapshot();
+        assertEquals(NUM_AIRCRAFT, this.tower.getSnapshot().getNumAircraft());
+        assertEquals(removed.getCallsign(),
+                this.tower.getSnapshot().getAircraft(NUM_AIRCRAFT - 1).getCallsign());
+        assertSharesUnchanged(shrunk, this.tower.getSnapshot());
+        assertMatchesTower(this.tower);
+
+        // shrinking the fleet to a single block drops the second block
+        while (this.tower.getAircraft().size() > TowerSnapshot.BLOCK_SIZE) {
+            this.tower.removeAircraft(this.findRemovable(0));
+        }
+        this.tower.publishSnapshot();
+        assertMatchesTower(this.tower);
+        for (int tick = 0; tick < 20; tick++) {
+            this.tower.tick();
+            assertMatchesTower(this.tower);
+        }
+    }
+
+    @Test
+    public void snapshotsStayCorrectAfterRestore() {
+        for (int tick = 0; tick < 10; tick++) {
+            this.tower.tick();
+        }
+        ControlTower saved = this.tower.fork();
+        TowerSnapshot atSave = this.tower.getSnapshot();
+        for (int tick = 0; tick < 15; tick++) {
+            this.tower.tick();
+        }
+
+        this.tower.restore(saved);
+        TowerSnapshot restored = this.tower.getSnapshot();
+        assertEquals(describe(atSave), describe(restored));
+        assertMatchesTower(this.tower);
+        for (int tick = 0; tick < 15; tick++) {
+            this.tower.tick();
+            assertMatchesTower(this.tower);
+        }
+    }
+}
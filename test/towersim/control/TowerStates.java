@@ -0,0 +1,40 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+
+import java.util.Map;
+
+/**
+ * Descriptions of the entire state of a control tower, for tests comparing towers that should
+ * have reached the same state. Unlike a digest, the descriptions show where two states differ.
+ */
+public final class TowerStates {
+    private TowerStates() {}
+
+    /**
+     * Returns a description of the ticks elapsed, aircraft, queues, loading aircraft, terminals
+     * and gates of the given control tower, and of its landing and takeoff counts.
+     * @param tower - control tower to describe
+     * @return description of the state, one item per line
+     */
+    public static String describe(ControlTower tower) {
+        StringBuilder state = new StringBuilder();
+        state.append("ticks ").append(tower.getTicksElapsed())
+                .append(", landings ").append(tower.getNumLandings())
+                .append(", takeoffs ").append(tower.getNumTakeoffs()).append('\n');
+        for (Aircraft aircraft : tower.getAircraft()) {
+            state.append(aircraft.encode()).append('\n');
+        }
+        state.append(tower.getLandingQueue().encode()).append('\n');
+        state.append(tower.getTakeoffQueue().encode()).append('\n');
+        for (Map.Entry<Aircraft, Integer> entry : tower.getLoadingAircraft().entrySet()) {
+            state.append(entry.getKey().getCallsign()).append(':').append(entry.getValue())
+                    .append('\n');
+        }
+        for (Terminal terminal : tower.getTerminals()) {
+            state.append(terminal.encode()).append('\n');
+        }
+        return state.toString();
+    }
+}
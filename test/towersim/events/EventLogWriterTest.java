@@ -0,0 +1,336 @@
+package towersim.events;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class EventLogWriterTest {
+    // capacity of the writers whose buffer is filled
+    private static final int CAPACITY = 4;
+
+    // longest time to wait for the background thread, in seconds
+    private static final long TIMEOUT_SECONDS = 10;
+
+    // stream that can be made to hold up every write until opened, or to fail
+    private static final class GatedStream extends OutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // offset and length of each write, in records of the writer's buffer
+        private final List<String> writes = new ArrayList<>();
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch opened = new CountDownLatch(1);
+
+        private volatile boolean gated;
+
+        private volatile IOException failure;
+
+        private volatile boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (this.gated) {
+                this.entered.countDown();
+                try {
+                    this.opened.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            synchronized (this) {
+                this.bytes.write(b, off, len);
+                this.writes.add(off / EventLogWriter.RECORD_SIZE + "+"
+                        + len / EventLogWriter.RECORD_SIZE);
+            }
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+
+        // holds up writes from now on, until opened
+        private void gate() {
+            this.gated = true;
+        }
+
+        // waits until the background thread is held up writing
+        private void awaitEntered() throws InterruptedException {
+            assertTrue(this.entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        private void open() {
+            this.gated = false;
+            this.opened.countDown();
+        }
+
+        private synchronized byte[] toByteArray() {
+            return this.bytes.toByteArray();
+        }
+
+        private synchronized List<String> getWrites() {
+            return new ArrayList<>(this.writes);
+        }
+    }
+
+    // appends an event whose tick and aircraft ID are the given number
+    private static void append(EventLogWriter writer, int number) {
+        writer.append(TowerEventType.GATE_ASSIGNED, number, number, "CS" + number, number, 1);
+    }
+
+    // waits until the writer has written the given number of records
+    private static void awaitWritten(EventLogWriter writer, long records)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (writer.getWrittenRecords() < records) {
+            assertTrue("records written: " + writer.getWrittenRecords(),
+                    System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    // reads a binary log, returning each event as a string
+    private static List<String> readEvents(byte[] log) throws IOException {
+        List<String> events = new ArrayList<>();
+        EventLogReader.read(new ByteArrayInputStream(log),
+                (event, endOfBatch) -> events.add(event.toString()));
+        return events;
+    }
+
+    // returns the sequence numbers of the events in a binary log
+    private static List<Long> readSequences(byte[] log) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        EventLogReader.read(new ByteArrayInputStream(log),
+                (event, endOfBatch) -> sequences.add(event.getSequence()));
+        return sequences;
+    }
+
+    // appends events exercising every optional field and callsign rule
+    private static void appendVariedEvents(EventLogWriter writer) {
+        writer.append(TowerEventType.LANDING_QUEUE_JOINED, 0, 3, "QFA001", -1, -1);
+        writer.append(TowerEventType.GATE_ASSIGNED, 1, 3, "QFA001", 12, 2);
+        writer.append(TowerEventType.EMERGENCY_DECLARED, 2, -1, null, -1, 4);
+        writer.append(TowerEventType.AIRCRAFT_TOOK_OFF, 3, 0, "", -1, -1);
+        writer.append(TowerEventType.LOADING_STARTED, 4, 7, "VERYLONGCALLSIGN1234", 5, 1);
+        writer.append(TowerEventType.GATE_RELEASED, 5, 8, "\u00c901", 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePowerOfTwo() throws IOException {
+        new EventLogWriter(new ByteArrayOutputStream(), EventLogFormat.BINARY,
+                OverflowPolicy.BLOCK, 6);
+    }
+
+    @Test
+    public void binaryLogRoundTripsThroughReader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventLogWriter writer = new EventLogWriter(out, EventLogFormat.BINARY,
+                OverflowPolicy.BLOCK, CAPACITY);
+        appendVariedEvents(writer);
+        writer.close();
+
+        byte[] log = out.toByteArray();
+        assertEquals(EventLogWriter.MAGIC.length + 6 * EventLogWriter.RECORD_SIZE, log.length);
+        assertEquals(List.of(
+                "#0 tick 0 LANDING_QUEUE_JOINED QFA001",
+                "#1 tick 1 GATE_ASSIGNED QFA001 gate 12 terminal 2",
+                "#2 tick 2 EMERGENCY_DECLARED terminal 4",
+                "#3 tick 3 AIRCRAFT_TOOK_OFF ",
+                "#4 tick 4 LOADING_STARTED VERYLONGCALLSIGN gate 5 terminal 1",
+                "#5 tick 5 GATE_RELEASED ?01 gate 0 terminal 0"), readEvents(log));
+
+        List<Integer> aircraftIds = new ArrayList<>();
+        List<Boolean> endsOfBatch = new ArrayList<>();
+        assertEquals(6, EventLogReader.read(new ByteArrayInputStream(log), (event, end) -> {
+            aircraftIds.add(event.getAircraftId());
+            endsOfBatch.add(end);
+        }));
+        assertEquals(List.of(3, 3, -1, 0, 7, 8), aircraftIds);
+        assertEquals(List.of(false, false, false, false, false, true), endsOfBatch);
+    }
+
+    @Test
+    public void csvLogLeavesMissingFieldsEmpty() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventLogWriter writer = new EventLogWriter(out, EventLogFormat.CSV,
+                OverflowPolicy.BLOCK, CAPACITY);
+        appendVariedEvents(writer);
+        writer.close();
+
+        assertEquals("sequence,tick,type,aircraft_id,callsign,gate,terminal\n"
+                + "0,0,LANDING_QUEUE_JOINED,3,QFA001,,\n"
+                + "1,1,GATE_ASSIGNED,3,QFA001,12,2\n"
+                + "2,2,EMERGENCY_DECLARED,,,,4\n"
+                + "3,3,AIRCRAFT_TOOK_OFF,0,,,\n"
+                + "4,4,LOADING_STARTED,7,VERYLONGCALLSIGN,5,1\n"
+                + "5,5,GATE_RELEASED,8,?01,0,0\n",
+                out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void readerRejectsOtherStreams() {
+        for (byte[] log : new byte[][] {new byte[0], "TWRLOG99".getBytes(),
+                "sequence,tick,type\n".getBytes()}) {
+            try {
+                EventLogReader.read(new ByteArrayInputStream(log), (event, end) -> { });
+                fail("read a log of " + log.length + " bytes");
+            } catch (IOException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void binaryRecordsWrappingTheBufferAreWrittenInTwoParts() throws Exception {
+        GatedStream out = new GatedStream();
+        EventLogWriter writer = new EventLogWriter(out, EventLogFormat.BINARY,
+                OverflowPolicy.BLOCK, CAPACITY);
+        append(writer, 0);
+        append(writer, 1);
+        awaitWritten(writer, 2);
+
+        // the background thread is held up writing record 2 while records 3 to 5 wrap around
+        out.gate();
+        append(writer, 2);
+        out.awaitEntered();
+        append(writer, 3);
+        append(writer, 4);
+        append(writer, 5);
+        out.open();
+        writer.close();
+
+        List<String> writes = out.getWrites();
+        // records 3 to 5 are in slots 3, 0 and 1, written as one record then two
+        assertEquals(List.of("3+1", "0+2"), writes.subList(writes.size() - 2, writes.size()));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), readSequences(out.toByteArray()));
+        assertTrue(out.closed);
+    }
+
+    @Test
+    public void blockWaitsForRoom() throws Exception {
+        GatedStream out = new GatedStream();
+        EventLogWriter writer = new EventLogWriter(out, EventLogFormat.BINARY,
+                OverflowPolicy.BLOCK, CAPACITY);
+        out.gate();
+        append(writer, 0);
+        out.awaitEntered();
+
+        AtomicInteger appended = new AtomicInteger();
+        Thread appender = new Thread(() -> {
+            for (int i = 1; i <= 10; i++) {
+                append(writer, i);
+                appended.incrementAndGet();
+            }
+        });
+        appender.start();
+        Thread.sleep(100);
+        // records 1 to 3 fill the buffer behind record 0, and record 4 waits
+        assertTrue(appender.isAlive());
+        assertEquals(3, appended.get());
+
+        out.open();
+        appender.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertFalse(appender.isAlive());
+        writer.close();
+        assertEquals(0, writer.getDroppedRecords());
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L),
+                readSequences(out.toByteArray()));
+    }
+
+    @Test
+    public void dropDiscardsRecordsWithoutTrace() throws Exception {
+        GatedStream out = new GatedStream();
+        EventLogWriter writer = new EventLogWriter(out, EventLogFormat.BINARY,
+                OverflowPolicy.DROP, CAPACITY);
+        out.gate();
+        append(writer, 0);
+        out.awaitEntered();
+        for (int i = 1; i <= 10; i++) {
+            append(writer, i);
+        }
+        out.open();
+        awaitWritten(writer, CAPACITY);
+        append(writer, 11);
+        writer.close();
+
+        assertEquals(0, writer.getDroppedRecords());
+        // records 4 to 10 were dropped, and the next record takes the next sequence number
+        List<String> events = readEvents(out.toByteArray());
+        assertEquals(5, events.size());
+        assertEquals("#3 tick 3 GATE_ASSIGNED CS3 gate 3 terminal 1", events.get(3));
+        assertEquals("#4 tick 11 GATE_ASSIGNED CS11 gate 11 terminal 1", events.get(4));
+    }
+
+    @Test
+    public void countDiscardsRecordsAndSkipsTheirSequenceNumbers() throws Exception {
+        GatedStream out = new GatedStream();
+        EventLogWriter writer = new EventLogWriter(out, EventLogFormat.BINARY,
+                OverflowPolicy.COUNT, CAPACITY);
+        out.gate();
+        append(writer, 0);
+        out.awaitEntered();
+        for (int i = 1; i <= 10; i++) {
+            append(writer, i);
+        }
+        assertEquals(7, writer.getDroppedRecords());
+        out.open();
+        awaitWritten(writer, CAPACITY);
+        append(writer, 11);
+        writer.close();
+
+        assertEquals(7, writer.getDroppedRecords());
+        List<String> events = readEvents(out.toByteArray());
+        assertEquals(5, events.size());
+        assertEquals("#11 tick 11 GATE_ASSIGNED CS11 gate 11 terminal 1", events.get(4));
+    }
+
+    @Test
+    public void closeRethrowsStreamFailure() throws Exception {
+        GatedStream out = new GatedStream();
+        EventLogWriter writer = new EventLogWriter(out, EventLogFormat.CSV,
+                OverflowPolicy.BLOCK, CAPACITY);
+        IOException failure = new IOException("disk full");
+        out.failure = failure;
+        // once the stream has failed, appending to the full buffer does not wait
+        for (int i = 0; i < 5 * CAPACITY; i++) {
+            append(writer, i);
+        }
+        try {
+            writer.close();
+            fail("close() did not throw the stream's failure");
+        } catch (IOException e) {
+            assertSame(failure, e);
+        }
+        assertTrue(out.closed);
+        // closing again has no effect
+        writer.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void appendAfterCloseFails() throws IOException {
+        EventLogWriter writer = new EventLogWriter(new ByteArrayOutputStream(),
+                EventLogFormat.BINARY, OverflowPolicy.DROP, CAPACITY);
+        writer.close();
+        append(writer, 0);
+    }
+}
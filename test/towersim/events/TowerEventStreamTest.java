@@ -0,0 +1,225 @@
+package towersim.events;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class TowerEventStreamTest {
+    // capacity of the stream under test
+    private static final int CAPACITY = 8;
+
+    // callsigns given to published events, chosen by sequence number
+    private static final String[] CALLSIGNS = {"ABC001", "DEF002", "GHI003", null};
+
+    private TowerEventStream stream;
+
+    @Before
+    public void setup() {
+        this.stream = new TowerEventStream(CAPACITY);
+    }
+
+    // publishes an event whose fields are all derived from its sequence number
+    private static void publish(TowerEventStream stream, TowerEventType type) {
+        long sequence = stream.getPublishedCount();
+        stream.publish(type, sequence, (int) sequence, CALLSIGNS[(int) (sequence % 4)],
+                (int) (sequence * 7 % 1000), (int) (sequence ^ 0x5555));
+    }
+
+    // returns true if every field of the event matches its sequence number
+    private static boolean isConsistent(TowerEvent event) {
+        long sequence = event.getSequence();
+        return event.getTick() == sequence
+                && event.getAircraftId() == (int) sequence
+                && event.getCallsign() == CALLSIGNS[(int) (sequence % 4)]
+                && event.getGateNumber() == (int) (sequence * 7 % 1000)
+                && event.getTerminalNumber() == (int) (sequence ^ 0x5555);
+    }
+
+    // handler recording the events delivered as strings, and where each batch ended
+    private static final class RecordingHandler implements TowerEventHandler {
+        private final List<String> events = new ArrayList<>();
+
+        private final List<Boolean> endsOfBatch = new ArrayList<>();
+
+        @Override
+        public void onEvent(TowerEvent event, boolean endOfBatch) {
+            assertTrue(event.toString(), isConsistent(event));
+            this.events.add(event.getSequence() + " " + event.getType());
+            this.endsOfBatch.add(endOfBatch);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePowerOfTwo() {
+        new TowerEventStream(12);
+    }
+
+    @Test
+    public void deliversBatchesInOrder() {
+        TowerEventConsumer consumer = this.stream.subscribeAll();
+        RecordingHandler handler = new RecordingHandler();
+        assertEquals(0, consumer.poll(handler));
+
+        publish(this.stream, TowerEventType.LANDING_QUEUE_JOINED);
+        publish(this.stream, TowerEventType.AIRCRAFT_LANDED);
+        publish(this.stream, TowerEventType.GATE_ASSIGNED);
+        assertEquals(3, consumer.getPendingEvents());
+        assertEquals(3, consumer.poll(handler));
+        assertEquals(List.of("0 LANDING_QUEUE_JOINED", "1 AIRCRAFT_LANDED",
+                "2 GATE_ASSIGNED"), handler.events);
+        // only the last event of the batch ends it
+        assertEquals(List.of(false, false, true), handler.endsOfBatch);
+        assertEquals(0, consumer.getPendingEvents());
+
+        publish(this.stream, TowerEventType.LOADING_STARTED);
+        assertEquals(1, consumer.poll(handler));
+        assertEquals("3 LOADING_STARTED", handler.events.get(3));
+        assertEquals(true, handler.endsOfBatch.get(3));
+        assertEquals(0, consumer.poll(handler));
+        assertEquals(0, consumer.getMissedEvents());
+    }
+
+    @Test
+    public void deliversOnlySubscribedTypes() {
+        TowerEventConsumer landings = this.stream.subscribe(TowerEventType.AIRCRAFT_LANDED,
+                TowerEventType.AIRCRAFT_TOOK_OFF);
+        TowerEventConsumer gates = this.stream.subscribe(TowerEventType.GATE_ASSIGNED);
+        publish(this.stream, TowerEventType.AIRCRAFT_LANDED);
+        publish(this.stream, TowerEventType.GATE_ASSIGNED);
+        publish(this.stream, TowerEventType.AIRCRAFT_TOOK_OFF);
+        // types nobody subscribed to are not published at all
+        publish(this.stream, TowerEventType.EMERGENCY_DECLARED);
+        assertEquals(3, this.stream.getPublishedCount());
+
+        RecordingHandler landingHandler = new RecordingHandler();
+        assertEquals(2, landings.poll(landingHandler));
+        assertEquals(List.of("0 AIRCRAFT_LANDED", "2 AIRCRAFT_TOOK_OFF"), landingHandler.events);
+        assertEquals(List.of(false, true), landingHandler.endsOfBatch);
+
+        RecordingHandler gateHandler = new RecordingHandler();
+        // an event of another type after the last delivered one does not delay the batch end
+        assertEquals(1, gates.poll(gateHandler));
+        assertEquals(List.of("1 GATE_ASSIGNED"), gateHandler.events);
+        assertEquals(List.of(true), gateHandler.endsOfBatch);
+    }
+
+    @Test
+    public void unsubscribeStopsPublishingTypesOnlyItNeeded() {
+        TowerEventConsumer landings = this.stream.subscribe(TowerEventType.AIRCRAFT_LANDED);
+        TowerEventConsumer both = this.stream.subscribe(TowerEventType.AIRCRAFT_LANDED,
+                TowerEventType.AIRCRAFT_TOOK_OFF);
+        assertTrue(this.stream.isPublished(TowerEventType.AIRCRAFT_TOOK_OFF));
+
+        this.stream.unsubscribe(both);
+        assertTrue(this.stream.isPublished(TowerEventType.AIRCRAFT_LANDED));
+        assertFalse(this.stream.isPublished(TowerEventType.AIRCRAFT_TOOK_OFF));
+        publish(this.stream, TowerEventType.AIRCRAFT_TOOK_OFF);
+        assertEquals(0, this.stream.getPublishedCount());
+
+        // unsubscribing twice changes nothing
+        this.stream.unsubscribe(both);
+        assertTrue(this.stream.isPublished(TowerEventType.AIRCRAFT_LANDED));
+        this.stream.unsubscribe(landings);
+        assertFalse(this.stream.isPublished(TowerEventType.AIRCRAFT_LANDED));
+    }
+
+    @Test
+    public void subscriberOnlySeesLaterEvents() {
+        TowerEventConsumer first = this.stream.subscribeAll();
+        publish(this.stream, TowerEventType.AIRCRAFT_LANDED);
+        TowerEventConsumer second = this.stream.subscribeAll();
+        publish(this.stream, TowerEventType.AIRCRAFT_TOOK_OFF);
+
+        RecordingHandler handler = new RecordingHandler();
+        assertEquals(1, second.poll(handler));
+        assertEquals(List.of("1 AIRCRAFT_TOOK_OFF"), handler.events);
+        assertEquals(2, first.poll(new RecordingHandler()));
+    }
+
+    @Test
+    public void countsEventsMissedWhenFallingBehind() {
+        TowerEventConsumer consumer = this.stream.subscribe(TowerEventType.GATE_ASSIGNED);
+        // a second consumer makes the other type published, so it is counted as missed too
+        this.stream.subscribe(TowerEventType.GATE_RELEASED);
+        int published = 3 * CAPACITY + 5;
+        for (int i = 0; i < published; i++) {
+            publish(this.stream, i % 2 == 0 ? TowerEventType.GATE_ASSIGNED
+                    : TowerEventType.GATE_RELEASED);
+        }
+        assertEquals(published, consumer.getPendingEvents());
+
+        RecordingHandler handler = new RecordingHandler();
+        int delivered = consumer.poll(handler);
+        assertEquals(published - CAPACITY, consumer.getMissedEvents());
+        // the newest CAPACITY events are still held, half of them of the subscribed type
+        assertEquals(CAPACITY / 2, delivered);
+        assertEquals((published - CAPACITY + 1) + " GATE_ASSIGNED", handler.events.get(0));
+        assertEquals((published - 1) + " GATE_ASSIGNED",
+                handler.events.get(delivered - 1));
+        assertEquals(true, handler.endsOfBatch.get(delivered - 1));
+
+        // falling exactly the capacity behind misses nothing more
+        for (int i = 0; i < CAPACITY; i++) {
+            publish(this.stream, TowerEventType.GATE_ASSIGNED);
+        }
+        assertEquals(CAPACITY, consumer.poll(handler));
+        assertEquals(published - CAPACITY, consumer.getMissedEvents());
+    }
+
+    @Test
+    public void skipPendingDiscardsPublishedEvents() {
+        TowerEventConsumer consumer = this.stream.subscribeAll();
+        for (int i = 0; i < 3 * CAPACITY; i++) {
+            publish(this.stream, TowerEventType.AIRCRAFT_LANDED);
+        }
+        consumer.skipPending();
+        assertEquals(0, consumer.getPendingEvents());
+        RecordingHandler handler = new RecordingHandler();
+        assertEquals(0, consumer.poll(handler));
+        assertEquals(0, consumer.getMissedEvents());
+
+        publish(this.stream, TowerEventType.AIRCRAFT_TOOK_OFF);
+        assertEquals(1, consumer.poll(handler));
+        assertEquals(List.of((3 * CAPACITY) + " AIRCRAFT_TOOK_OFF"), handler.events);
+    }
+
+    @Test
+    public void concurrentConsumerNeverSeesTornEvents() throws InterruptedException {
+        // a small ring makes the producer overwrite slots while the consumer is copying them
+        TowerEventStream stream = new TowerEventStream(4);
+        TowerEventConsumer consumer = stream.subscribe(TowerEventType.AIRCRAFT_LANDED);
+        long total = 2_000_000;
+        AtomicReference<String> failure = new AtomicReference<>();
+        long[] delivered = new long[1];
+        long[] lastSequence = {-1};
+        TowerEventHandler handler = (event, endOfBatch) -> {
+            if (!isConsistent(event) || event.getSequence() <= lastSequence[0]) {
+                failure.compareAndSet(null, "after #" + lastSequence[0] + ": " + event);
+            }
+            lastSequence[0] = event.getSequence();
+            delivered[0]++;
+        };
+
+        Thread producer = new Thread(() -> {
+            for (long i = 0; i < total; i++) {
+                publish(stream, TowerEventType.AIRCRAFT_LANDED);
+            }
+        });
+        producer.start();
+        while (producer.isAlive()) {
+            consumer.poll(handler);
+        }
+        producer.join();
+        consumer.poll(handler);
+
+        assertNull(failure.get(), failure.get());
+        assertEquals(total - 1, lastSequence[0]);
+        // every event was either delivered or counted as missed
+        assertEquals(total, delivered[0] + consumer.getMissedEvents());
+    }
+}
@@ -0,0 +1,85 @@
+package towersim.federation;
+
+import org.junit.Test;
+import towersim.control.ControlTower;
+import towersim.control.LandingQueue;
+import towersim.control.TakeoffQueue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FederationTest {
+    // the exception thrown by the failing airport's tick
+    private static final RuntimeException TICK_FAILURE = new RuntimeException("tick failed");
+
+    // creates an empty control tower that fails on the given tick, or never if negative
+    private static ControlTower createTower(long failingTick) {
+        return new ControlTower(0, new ArrayList<>(), new LandingQueue(), new TakeoffQueue(),
+                new HashMap<>()) {
+            @Override
+            public void tick() {
+                if (getTicksElapsed() == failingTick) {
+                    throw TICK_FAILURE;
+                }
+                super.tick();
+            }
+        };
+    }
+
+    // creates the given number of airports, of which the one at failingAirport fails
+    private static List<ControlTower> createTowers(int numAirports, int failingAirport,
+            long failingTick) {
+        List<ControlTower> towers = new ArrayList<>();
+        for (int airport = 0; airport < numAirports; airport++) {
+            towers.add(createTower(airport == failingAirport ? failingTick : -1));
+        }
+        return towers;
+    }
+
+    @Test(timeout = 10000)
+    public void runTicksEveryAirport() throws InterruptedException {
+        Federation federation = new Federation(createTowers(5, -1, -1),
+                HandoffRouter.ring(5));
+        federation.run(20, 3);
+        assertEquals(20, federation.getTicksRun());
+        for (int airport = 0; airport < 5; airport++) {
+            assertEquals(20, federation.getTower(airport).getTicksElapsed());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void failingTickIsRethrownWithoutHanging() throws InterruptedException {
+        for (int numThreads = 1; numThreads <= 4; numThreads++) {
+            for (int failingAirport = 0; failingAirport < 4; failingAirport++) {
+                Federation federation = new Federation(createTowers(4, failingAirport, 7),
+                        HandoffRouter.ring(4));
+                try {
+                    federation.run(1000, numThreads);
+                    fail("Expected the failing tick to be rethrown");
+                } catch (RuntimeException e) {
+                    assertSame(TICK_FAILURE, e);
+                }
+                assertEquals(0, federation.getTicksRun());
+                // no airport runs more than one round past the failure
+                for (int airport = 0; airport < 4; airport++) {
+                    assertTrue(federation.getTower(airport).getTicksElapsed() <= 8);
+                }
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void failingFirstTickIsRethrown() throws InterruptedException {
+        Federation federation = new Federation(createTowers(8, 5, 0),
+                HandoffRouter.ring(8));
+        try {
+            federation.run(100, 8);
+            fail("Expected the failing tick to be rethrown");
+        } catch (RuntimeException e) {
+            assertSame(TICK_FAILURE, e);
+        }
+    }
+}
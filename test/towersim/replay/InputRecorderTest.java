@@ -0,0 +1,191 @@
+package towersim.replay;
+
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.control.ControlTower;
+import towersim.control.GeneratedTowers;
+import towersim.control.SimulationMode;
+import towersim.control.TowerStates;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InputRecorderTest {
+    // seed of the generated traffic
+    private static final long SEED = 36;
+
+    // number of aircraft generated
+    private static final int NUM_AIRCRAFT = 150;
+
+    // number of ticks recorded
+    private static final int NUM_TICKS = 60;
+
+    // number of inputs made by record()
+    private static final int NUM_INPUTS = 9;
+
+    // runs the given tower through a scripted session, returning its input log
+    private static byte[] record(ControlTower tower)
+            throws IOException, NoSpaceException, NoSuitableGateException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        InputRecorder recorder = new InputRecorder(tower);
+        recorder.startRecording(log);
+        for (int tick = 1; tick <= NUM_TICKS; tick++) {
+            switch (tick) {
+                case 5:
+                    recorder.droneAlert();
+                    break;
+                case 9:
+                    recorder.droneClear();
+                    break;
+                case 12:
+                    recorder.setEmergency(tower.getAircraft().get(3), true);
+                    recorder.setEmergency(tower.getTerminals().get(1), true);
+                    break;
+                case 20:
+                    recorder.setEmergency(tower.getAircraft().get(3), false);
+                    recorder.setEmergency(tower.getTerminals().get(1), false);
+                    break;
+                case 25:
+                    Terminal terminal = new AirplaneTerminal(99);
+                    recorder.addTerminal(terminal);
+                    recorder.addGate(terminal, new Gate(991));
+                    break;
+                case 30:
+                    recorder.addAircraft(new FreightAircraft("REC001",
+                            AircraftCharacteristics.BOEING_747_8F,
+                            new TaskList(List.of(
+                                    new Task(TaskType.AWAY),
+                                    new Task(TaskType.LAND),
+                                    new Task(TaskType.WAIT),
+                                    new Task(TaskType.LOAD, 40),
+                                    new Task(TaskType.TAKEOFF))),
+                            50000.00, 0));
+                    break;
+                default:
+                    break;
+            }
+            recorder.tick();
+        }
+        recorder.close();
+        return log.toByteArray();
+    }
+
+    @Test
+    public void replayReproducesTheRecording() throws Exception {
+        ControlTower recorded = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        byte[] log = record(recorded);
+
+        ControlTower replayed = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        ReplayResult result = InputReplayer.replay(replayed, new ByteArrayInputStream(log),
+                true);
+        assertTrue(result.toString(), result.isReproduced());
+        assertEquals(-1, result.getDivergentTick());
+        assertEquals(NUM_TICKS, result.getTicks());
+        assertEquals(NUM_INPUTS, result.getInputs());
+        assertEquals(InputLog.digest(recorded), InputLog.digest(replayed));
+        assertEquals(TowerStates.describe(recorded), TowerStates.describe(replayed));
+    }
+
+    @Test
+    public void replayInOtherModeReproducesTheRecording() throws Exception {
+        byte[] log = record(GeneratedTowers.create(SEED, NUM_AIRCRAFT));
+
+        ControlTower replayed = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        replayed.setSimulationMode(SimulationMode.EVENT_DRIVEN);
+        ReplayResult result = InputReplayer.replay(replayed, new ByteArrayInputStream(log),
+                true);
+        assertTrue(result.toString(), result.isReproduced());
+        assertEquals(NUM_TICKS, result.getTicks());
+    }
+
+    @Test
+    public void replayFromAnotherStateDiverges() throws Exception {
+        byte[] log = record(GeneratedTowers.create(SEED, NUM_AIRCRAFT));
+
+        ControlTower other = GeneratedTowers.create(SEED + 1, NUM_AIRCRAFT);
+        ReplayResult result = InputReplayer.replay(other, new ByteArrayInputStream(log), true);
+        assertFalse(result.isReproduced());
+        assertEquals(1, result.getDivergentTick());
+        assertEquals(1, other.getTicksElapsed());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void replayOfTruncatedLogFails() throws Exception {
+        byte[] log = record(GeneratedTowers.create(SEED, NUM_AIRCRAFT));
+        ControlTower replayed = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        InputReplayer.replay(replayed, new ByteArrayInputStream(log, 0, log.length - 3), true);
+    }
+
+    // creates an aircraft equal to the given one, i.e. with the same callsign and model
+    private static Aircraft createDuplicate(Aircraft aircraft) {
+        AircraftCharacteristics model = aircraft.getCharacteristics();
+        TaskList tasks = new TaskList(List.of(
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 40),
+                new Task(TaskType.TAKEOFF)));
+        return model.passengerCapacity > 0
+                ? new PassengerAircraft(aircraft.getCallsign(), model, tasks,
+                        model.fuelCapacity / 2, 0)
+                : new FreightAircraft(aircraft.getCallsign(), model, tasks,
+                        model.fuelCapacity / 2, 0);
+    }
+
+    @Test
+    public void emergencyOnDuplicateCallsignIsReplayedOnTheSameAircraft() throws Exception {
+        ControlTower recorded = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        InputRecorder recorder = new InputRecorder(recorded);
+        recorder.startRecording(log);
+        Aircraft original = recorded.getAircraft(3);
+        Aircraft duplicate = createDuplicate(original);
+        assertEquals(original, duplicate);
+        recorder.addAircraft(duplicate);
+        recorder.setEmergency(duplicate, true);
+        assertTrue(duplicate.hasEmergency());
+        assertFalse(original.hasEmergency());
+        recorder.tick();
+        recorder.close();
+
+        ControlTower replayed = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        ReplayResult result = InputReplayer.replay(replayed,
+                new ByteArrayInputStream(log.toByteArray()), true);
+        assertTrue(result.toString(), result.isReproduced());
+        assertTrue(replayed.getAircraft(duplicate.getId()).hasEmergency());
+        assertFalse(replayed.getAircraft(3).hasEmergency());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emergencyOnUnmanagedAircraftFails() {
+        ControlTower tower = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        // an aircraft equal to a managed one is still not managed
+        new InputRecorder(tower).setEmergency(createDuplicate(tower.getAircraft(3)), true);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void seekWhileRecordingFails() throws IOException {
+        ControlTower tower = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        InputRecorder recorder = new InputRecorder(tower);
+        recorder.setHistory(new TickHistory(tower, 4, Long.MAX_VALUE));
+        recorder.tick();
+        recorder.startRecording(new ByteArrayOutputStream());
+        recorder.seek(0);
+    }
+}
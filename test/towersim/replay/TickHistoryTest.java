@@ -0,0 +1,131 @@
+package towersim.replay;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.control.ControlTower;
+import towersim.control.GateAssignment;
+import towersim.control.GeneratedTowers;
+
+import static org.junit.Assert.*;
+
+public class TickHistoryTest {
+    // seed of the generated traffic
+    private static final long SEED = 37;
+
+    // number of aircraft generated
+    private static final int NUM_AIRCRAFT = 40;
+
+    private ControlTower tower;
+    private InputRecorder recorder;
+    private TickHistory history;
+
+    @Before
+    public void setup() {
+        tower = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        recorder = new InputRecorder(tower);
+        history = new TickHistory(tower, 4, Long.MAX_VALUE);
+        recorder.setHistory(history);
+    }
+
+    // returns the digests after each of the given number of ticks of an untouched tower
+    private static long[] referenceDigests(int numTicks) {
+        return referenceDigests(numTicks, GateAssignment.FIRST_FIT);
+    }
+
+    // returns the digests after each tick of an untouched tower assigning gates as given
+    private static long[] referenceDigests(int numTicks, GateAssignment gateAssignment) {
+        ControlTower reference = GeneratedTowers.create(SEED, NUM_AIRCRAFT);
+        reference.setGateAssignmentStrategy(gateAssignment.create());
+        long[] digests = new long[numTicks + 1];
+        digests[0] = InputLog.digest(reference);
+        for (int tick = 1; tick <= numTicks; tick++) {
+            reference.tick();
+            digests[tick] = InputLog.digest(reference);
+        }
+        return digests;
+    }
+
+    @Test
+    public void seekReproducesEveryTick() {
+        long[] digests = new long[21];
+        digests[0] = InputLog.digest(tower);
+        for (int tick = 1; tick <= 20; tick++) {
+            recorder.tick();
+            digests[tick] = InputLog.digest(tower);
+        }
+        assertEquals(0, history.getEarliestTick());
+        assertEquals(20, history.getLatestTick());
+        for (int tick : new int[] {13, 0, 20, 4, 19, 7, 8, 1}) {
+            recorder.seek(tick);
+            assertEquals(tick, tower.getTicksElapsed());
+            assertEquals("digest after seeking to tick " + tick, digests[tick],
+                    InputLog.digest(tower));
+        }
+        assertArrayEquals(referenceDigests(20), digests);
+    }
+
+    @Test
+    public void seekRestoresGateAssignmentState() {
+        tower.setGateAssignmentStrategy(GateAssignment.ROUND_ROBIN.create());
+        history = new TickHistory(tower, 4, Long.MAX_VALUE);
+        recorder.setHistory(history);
+        long[] expected = referenceDigests(60, GateAssignment.ROUND_ROBIN);
+        for (int tick = 1; tick <= 60; tick++) {
+            recorder.tick();
+        }
+        for (int seekTick : new int[] {50, 33, 21, 9}) {
+            recorder.seek(seekTick);
+            // ticking on chooses the gates the strategy chose in the run seeked into
+            for (int tick = seekTick + 1; tick <= 60; tick++) {
+                recorder.tick();
+                assertEquals("digest after tick " + tick, expected[tick],
+                        InputLog.digest(tower));
+            }
+        }
+    }
+
+    @Test
+    public void seekForwardAfterTickingFromThePast() {
+        for (int tick = 1; tick <= 2; tick++) {
+            recorder.tick();
+        }
+        // the abandoned timeline has an emergency declared after tick 2
+        recorder.setEmergency(tower.getAircraft().get(0), true);
+        for (int tick = 3; tick <= 6; tick++) {
+            recorder.tick();
+        }
+
+        recorder.seek(2);
+        // ticking on from tick 2 diverges from the abandoned timeline without any other input
+        for (int tick = 3; tick <= 6; tick++) {
+            recorder.tick();
+        }
+        assertEquals(6, history.getLatestTick());
+
+        long[] expected = referenceDigests(6);
+        for (int tick = 6; tick >= 0; tick--) {
+            recorder.seek(tick);
+            assertEquals(tick, tower.getTicksElapsed());
+            assertFalse(tower.getAircraft().get(0).hasEmergency());
+            assertEquals("digest after seeking to tick " + tick, expected[tick],
+                    InputLog.digest(tower));
+        }
+        recorder.seek(5);
+        assertEquals(expected[5], InputLog.digest(tower));
+    }
+
+    @Test
+    public void inputAfterSeekDiscardsTheFuture() {
+        for (int tick = 1; tick <= 6; tick++) {
+            recorder.tick();
+        }
+        recorder.seek(3);
+        recorder.droneAlert();
+        assertEquals(3, history.getLatestTick());
+        recorder.tick();
+        assertEquals(4, history.getLatestTick());
+        recorder.seek(3);
+        recorder.seek(4);
+        assertEquals(4, tower.getTicksElapsed());
+    }
+}
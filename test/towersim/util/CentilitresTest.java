@@ -0,0 +1,110 @@
+package towersim.util;
+
+import org.junit.Test;
+import towersim.aircraft.AircraftCharacteristics;
+
+import static org.junit.Assert.*;
+
+public class CentilitresTest {
+
+    @Test
+    public void fromLitresRoundsToNearestCentilitre() {
+        assertEquals(0, Centilitres.fromLitres(0));
+        assertEquals(0, Centilitres.fromLitres(0.004));
+        assertEquals(1, Centilitres.fromLitres(0.006));
+        assertEquals(100, Centilitres.fromLitres(1.004));
+        assertEquals(101, Centilitres.fromLitres(1.006));
+        assertEquals(325000, Centilitres.fromLitres(3250));
+        assertEquals(325099, Centilitres.fromLitres(3250.99));
+        assertEquals(-101, Centilitres.fromLitres(-1.006));
+        // doubles that are not exact centilitres still round to the intended amount
+        assertEquals(29, Centilitres.fromLitres(0.29));
+        assertEquals(110, Centilitres.fromLitres(1.1));
+        assertEquals(15474468, Centilitres.fromLitres(154744.68));
+    }
+
+    @Test
+    public void fromLitresIsExactForCapacities() {
+        for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+            assertEquals(model.name(), model.fuelCapacityCentilitres,
+                    Centilitres.fromLitres(model.fuelCapacity));
+            assertEquals(model.name(), model.fuelCapacity,
+                    Centilitres.toLitres(model.fuelCapacityCentilitres), 0);
+        }
+    }
+
+    @Test
+    public void toLitresRoundTrips() {
+        for (long centilitres = -1000; centilitres <= 100000; centilitres++) {
+            assertEquals(centilitres,
+                    Centilitres.fromLitres(Centilitres.toLitres(centilitres)));
+        }
+        long large = 1L << 40;
+        assertEquals(large, Centilitres.fromLitres(Centilitres.toLitres(large)));
+    }
+
+    @Test
+    public void formatWritesTwoDecimalPlaces() {
+        assertEquals("0.00", Centilitres.format(0));
+        assertEquals("0.01", Centilitres.format(1));
+        assertEquals("0.09", Centilitres.format(9));
+        assertEquals("0.10", Centilitres.format(10));
+        assertEquals("0.99", Centilitres.format(99));
+        assertEquals("1.00", Centilitres.format(100));
+        assertEquals("3250.00", Centilitres.format(325000));
+        assertEquals("154744.68", Centilitres.format(15474468));
+        assertEquals("-0.05", Centilitres.format(-5));
+        assertEquals("-1.00", Centilitres.format(-100));
+        assertEquals("92233720368547758.07", Centilitres.format(Long.MAX_VALUE));
+        assertEquals("-92233720368547758.08", Centilitres.format(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void parseReadsWholeAndFractionalLitres() {
+        assertEquals(325000, Centilitres.parse("3250"));
+        assertEquals(325000, Centilitres.parse("3250.00"));
+        assertEquals(325050, Centilitres.parse("3250.5"));
+        assertEquals(325005, Centilitres.parse("3250.05"));
+        assertEquals(50, Centilitres.parse(".5"));
+        assertEquals(500, Centilitres.parse("5."));
+        assertEquals(250, Centilitres.parse("+2.5"));
+        assertEquals(-250, Centilitres.parse("-2.5"));
+        assertEquals(0, Centilitres.parse("-0"));
+        assertEquals(325000, Centilitres.parse("3.25e3"));
+    }
+
+    @Test
+    public void parseRoundsExtraDigitsUp() {
+        assertEquals(1, Centilitres.parse("0.001"));
+        assertEquals(1, Centilitres.parse("0.0001"));
+        assertEquals(200, Centilitres.parse("1.999"));
+        assertEquals(124, Centilitres.parse("1.2301"));
+        // zeros beyond the second decimal place do not round up
+        assertEquals(1, Centilitres.parse("0.0100"));
+        assertEquals(123, Centilitres.parse("1.23000"));
+        // negative amounts round away from zero, as their magnitude is rounded up
+        assertEquals(-124, Centilitres.parse("-1.234"));
+    }
+
+    @Test
+    public void parseRoundTripsFormat() {
+        for (long centilitres = -1000; centilitres <= 100000; centilitres++) {
+            assertEquals(centilitres, Centilitres.parse(Centilitres.format(centilitres)));
+        }
+        long large = Long.MAX_VALUE / 1000;
+        assertEquals(large, Centilitres.parse(Centilitres.format(large)));
+    }
+
+    @Test
+    public void parseRejectsNonNumbers() {
+        for (String text : new String[] {"", "-", "+", ".", "-.", "abc", "1.2.3", "1,5",
+                "--1", "0x10"}) {
+            try {
+                Centilitres.parse(text);
+                fail("\"" + text + "\" is not a number");
+            } catch (NumberFormatException expected) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package towersim.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DenseIntMapTest {
+    private DenseIntMap map;
+
+    @Before
+    public void setup() {
+        this.map = new DenseIntMap();
+    }
+
+    // returns the keys of the map in iteration order
+    private static List<Integer> keysOf(DenseIntMap map) {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = map.firstKey(); key >= 0; key = map.nextKey(key)) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void emptyMap() {
+        assertTrue(this.map.isEmpty());
+        assertEquals(0, this.map.size());
+        assertEquals(-1, this.map.firstKey());
+        assertFalse(this.map.containsKey(0));
+        assertFalse(this.map.containsKey(-1));
+        assertEquals(7, this.map.getOrDefault(0, 7));
+    }
+
+    @Test
+    public void addRemoveAndAddAgain() {
+        this.map.put(0, 10);
+        this.map.put(1, 11);
+        this.map.put(2, 12);
+        assertEquals(3, this.map.size());
+
+        this.map.remove(1);
+        assertEquals(2, this.map.size());
+        assertFalse(this.map.containsKey(1));
+        assertEquals(-1, this.map.getOrDefault(1, -1));
+        assertEquals(List.of(0, 2), keysOf(this.map));
+
+        // the removed value is not revived when the key is added again
+        this.map.put(1, 21);
+        assertEquals(3, this.map.size());
+        assertEquals(21, this.map.getOrDefault(1, -1));
+        assertEquals(List.of(0, 1, 2), keysOf(this.map));
+
+        // removing a missing key, or replacing a value, leaves the size unchanged
+        this.map.remove(5);
+        this.map.put(2, 22);
+        assertEquals(3, this.map.size());
+        assertEquals(22, this.map.getOrDefault(2, -1));
+    }
+
+    @Test
+    public void growsToLargeKeys() {
+        this.map.put(1000, 1);
+        this.map.put(17, 2);
+        assertEquals(2, this.map.size());
+        assertEquals(1, this.map.getOrDefault(1000, -1));
+        assertEquals(List.of(17, 1000), keysOf(this.map));
+        this.map.remove(1000);
+        this.map.put(1000, 3);
+        assertEquals(3, this.map.getOrDefault(1000, -1));
+    }
+
+    @Test
+    public void zeroValuesAreDistinctFromMissingKeys() {
+        this.map.put(3, 0);
+        assertTrue(this.map.containsKey(3));
+        assertEquals(0, this.map.getOrDefault(3, -1));
+        assertEquals(-1, this.map.getOrDefault(4, -1));
+    }
+
+    @Test
+    public void removeDuringIterationContinuesToNextKey() {
+        for (int key = 0; key < 10; key++) {
+            this.map.put(key, key * key);
+        }
+        List<Integer> visited = new ArrayList<>();
+        for (int key = this.map.firstKey(); key >= 0; key = this.map.nextKey(key)) {
+            visited.add(key);
+            if (key % 2 == 0) {
+                this.map.remove(key);
+            }
+        }
+        assertEquals(10, visited.size());
+        assertEquals(List.of(1, 3, 5, 7, 9), keysOf(this.map));
+    }
+
+    @Test
+    public void clearThenAddAgain() {
+        this.map.put(4, 40);
+        this.map.put(8, 80);
+        this.map.clear();
+        assertTrue(this.map.isEmpty());
+        assertEquals(-1, this.map.firstKey());
+        this.map.put(8, 81);
+        assertEquals(1, this.map.size());
+        assertEquals(81, this.map.getOrDefault(8, -1));
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        this.map.put(1, 10);
+        this.map.put(2, 20);
+        DenseIntMap copy = new DenseIntMap(this.map);
+        copy.remove(1);
+        copy.put(3, 30);
+        this.map.put(2, 21);
+        assertEquals(List.of(1, 2), keysOf(this.map));
+        assertEquals(List.of(2, 3), keysOf(copy));
+        assertEquals(20, copy.getOrDefault(2, -1));
+        assertEquals(2, this.map.size());
+        assertEquals(2, copy.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeKeyIsRejected() {
+        this.map.put(-1, 0);
+    }
+}
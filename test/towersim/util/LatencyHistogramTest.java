@@ -0,0 +1,148 @@
+package towersim.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setup() {
+        this.histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void everyBucketHoldsUpToItsUpperBound() {
+        int last = this.histogram.getNumBuckets() - 1;
+        for (int bucket = 0; bucket <= last; bucket++) {
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertEquals("upper bound " + upper, bucket, LatencyHistogram.bucketOf(upper));
+            assertEquals(upper, this.histogram.getBucketUpperBound(bucket));
+            if (bucket < last) {
+                assertEquals("after upper bound " + upper, bucket + 1,
+                        LatencyHistogram.bucketOf(upper + 1));
+                assertTrue(LatencyHistogram.upperBoundOf(bucket + 1) > upper);
+            }
+        }
+        // the last bucket's bound relies on the shift wrapping to Long.MIN_VALUE
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(last));
+        assertEquals(last, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void smallValuesHaveBucketsOfTheirOwn() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(0, LatencyHistogram.upperBoundOf(0));
+        for (int value = 0; value < LatencyHistogram.SUB_BUCKETS; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.upperBoundOf(value));
+        }
+        // the first power of two above the small values is still split into single values
+        int first = LatencyHistogram.SUB_BUCKETS;
+        assertEquals(first, LatencyHistogram.bucketOf(first));
+        assertEquals(first, LatencyHistogram.upperBoundOf(first));
+        assertEquals(2 * first - 1, LatencyHistogram.upperBoundOf(2 * first - 1));
+        // above that, each bucket holds a range of values
+        assertEquals(2 * first, LatencyHistogram.bucketOf(2 * first + 1));
+        assertEquals(2 * first + 1, LatencyHistogram.upperBoundOf(2 * first));
+    }
+
+    @Test
+    public void bucketsAreWithinOneSubBucketOfTheirValues() {
+        for (int bucket = 0; bucket < this.histogram.getNumBuckets() - 1; bucket++) {
+            long lower = bucket == 0 ? 0 : LatencyHistogram.upperBoundOf(bucket - 1) + 1;
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue("bucket " + bucket,
+                    (upper - lower) * LatencyHistogram.SUB_BUCKETS <= lower);
+        }
+    }
+
+    @Test
+    public void quantilesOfUniformValues() {
+        for (int value = 1; value <= 1000; value++) {
+            this.histogram.record(value);
+        }
+        assertEquals(1000, this.histogram.getCount());
+        assertEquals(500500, this.histogram.getTotal());
+        assertEquals(500.5, this.histogram.getMean(), 0);
+        assertEquals(1000, this.histogram.getMax());
+
+        assertEquals(1, this.histogram.getValueAtQuantile(0));
+        assertEquals(10, this.histogram.getValueAtQuantile(0.01));
+        // 500 is in the bucket from 496 to 511
+        assertEquals(511, this.histogram.getValueAtQuantile(0.5));
+        // 990 is in the bucket from 960 to 991
+        assertEquals(991, this.histogram.getValueAtQuantile(0.99));
+        // the bucket of 1000 reaches 1023, but no value above 1000 was recorded
+        assertEquals(1000, this.histogram.getValueAtQuantile(0.999));
+        assertEquals(1000, this.histogram.getValueAtQuantile(1));
+
+        for (int percent = 1; percent <= 100; percent++) {
+            long exact = 10L * percent;
+            long value = this.histogram.getValueAtQuantile(percent / 100.0);
+            assertTrue(percent + "%: " + value, value >= exact
+                    && value <= exact + exact / LatencyHistogram.SUB_BUCKETS);
+        }
+    }
+
+    @Test
+    public void quantilesOfSkewedValues() {
+        // 90 fast values and 10 slow ones
+        for (int i = 0; i < 90; i++) {
+            this.histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            this.histogram.record(1_000_000);
+        }
+        assertEquals(103, this.histogram.getValueAtQuantile(0.5));
+        assertEquals(103, this.histogram.getValueAtQuantile(0.9));
+        assertEquals(1_000_000, this.histogram.getValueAtQuantile(0.91));
+        assertEquals(1_000_000, this.histogram.getValueAtQuantile(0.99));
+        assertEquals(10, this.histogram.getBucketCount(LatencyHistogram.bucketOf(1_000_000)));
+    }
+
+    @Test
+    public void negativeValuesAreRecordedAsZero() {
+        this.histogram.record(-5);
+        this.histogram.record(Long.MIN_VALUE);
+        assertEquals(2, this.histogram.getCount());
+        assertEquals(0, this.histogram.getTotal());
+        assertEquals(2, this.histogram.getBucketCount(0));
+        assertEquals(0, this.histogram.getValueAtQuantile(1));
+    }
+
+    @Test
+    public void largestValuesFallInLastBucket() {
+        this.histogram.record(Long.MAX_VALUE);
+        int last = this.histogram.getNumBuckets() - 1;
+        assertEquals(1, this.histogram.getBucketCount(last));
+        assertEquals(Long.MAX_VALUE, this.histogram.getValueAtQuantile(0.5));
+        assertEquals(Long.MAX_VALUE, this.histogram.getMax());
+    }
+
+    @Test
+    public void emptyAndResetHistogramsHaveNoValues() {
+        assertEquals(0, this.histogram.getValueAtQuantile(0.5));
+        assertEquals(0, this.histogram.getMean(), 0);
+        this.histogram.record(42);
+        this.histogram.reset();
+        assertEquals(0, this.histogram.getCount());
+        assertEquals(0, this.histogram.getMax());
+        assertEquals(0, this.histogram.getValueAtQuantile(0.5));
+        assertEquals("count=0 mean=0.0 p50=0 p99=0 p999=0 max=0", this.histogram.toString());
+    }
+
+    @Test
+    public void quantileMustBeBetweenZeroAndOne() {
+        for (double quantile : new double[] {-0.01, 1.01, Double.NaN}) {
+            try {
+                this.histogram.getValueAtQuantile(quantile);
+                fail("quantile " + quantile + " was accepted");
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+        }
+    }
+}